@@ -58,6 +58,13 @@ public class ArbitraryLocationProtocol implements JsonPersistingProtocol {
    @Override public String getLocation() {
       return source.getAbsolutePath();
    }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public File getFile() {
+      return source;
+   }//End Method
 
    /**
     * {@inheritDoc}
@@ -9,6 +9,8 @@
  */
 package uk.dangrew.jupa.file.protocol;
 
+import java.io.File;
+
 import org.json.JSONObject;
 
 import uk.dangrew.jupa.json.io.JsonIO;
@@ -77,5 +79,12 @@ public class JarJsonPersistingProtocol implements JsonPersistingProtocol {
    @Override public String getLocation() {
       return protocol.getSource().getAbsolutePath();
    }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public File getFile() {
+      return protocol.getSource();
+   }//End Method
 
 }//End Class
@@ -9,6 +9,8 @@
  */
 package uk.dangrew.jupa.file.protocol;
 
+import java.io.File;
+
 import org.json.JSONObject;
 
 import uk.dangrew.sd.logging.location.FileLocationProtocol;
@@ -32,4 +34,12 @@ public interface JsonPersistingProtocol extends FileLocationProtocol {
     */
    public boolean writeToLocation( JSONObject object );
    
+   /**
+    * Method to get the {@link File} read from and written to, where the location is a {@link File}.
+    * @return the {@link File}, null by default where the location is not a {@link File}.
+    */
+   public default File getFile() {
+      return null;
+   }//End Method
+   
 }//End Interface
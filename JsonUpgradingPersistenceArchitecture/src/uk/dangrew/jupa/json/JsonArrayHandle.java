@@ -0,0 +1,28 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json;
+
+import org.json.JSONArray;
+
+/**
+ * {@link JsonArrayHandle} is a {@link JsonHandle} that is given each {@link JSONArray} for its key whole, in
+ * a single call, rather than being called for each element. The array is not navigated on its behalf, so it
+ * is not told of the array starting or finishing, nor of anything within it.
+ */
+public interface JsonArrayHandle extends JsonHandle {
+
+   /**
+    * Method to handle the given key when found and the whole {@link JSONArray} associated with it.
+    * @param key the key found.
+    * @param array the {@link JSONArray} for the key.
+    */
+   public void handleArray( String key, JSONArray array );
+   
+}//End Interface
@@ -0,0 +1,322 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.bind;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.parse.handle.type.BigDecimalParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.BigIntegerParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.BooleanParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.BooleanPrimitiveParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.DoubleParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.DoublePrimitiveParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.EnumLookup;
+import uk.dangrew.jupa.json.parse.handle.type.EnumParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.IntPrimitiveParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.IntegerParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.LongParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.LongPrimitiveParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.StringParseHandle;
+import uk.dangrew.jupa.json.write.handle.key.JsonValueWriteHandler;
+import uk.dangrew.jupa.json.write.handle.type.JsonWriteHandleImpl;
+
+/**
+ * The {@link JsonFieldBinding} binds a single {@link JsonKey} field of a model to the handles that read and write
+ * it. The field is accessed through {@link MethodHandle}s resolved once, adapted so that primitive fields are set
+ * with their primitive values rather than being boxed and unboxed.
+ */
+class JsonFieldBinding {
+
+   private static final MethodType OBJECT_GETTER = MethodType.methodType( Object.class, Object.class );
+   private static final MethodType OBJECT_SETTER = MethodType.methodType( void.class, Object.class, Object.class );
+   private static final String SEPARATOR = "\\.";
+
+   private final String path;
+   private final String[] keys;
+   private final boolean optional;
+   private final Class< ? > type;
+   private final MethodHandle getter;
+   private final MethodHandle setter;
+
+   /**
+    * Constructs a new {@link JsonFieldBinding}.
+    * @param field the {@link Field} annotated with {@link JsonKey}.
+    * @param key the {@link JsonKey} of the field.
+    * @throws IllegalArgumentException if the field cannot be bound.
+    */
+   JsonFieldBinding( Field field, JsonKey key ) {
+      this.path = key.value();
+      this.keys = keysOf( path, field );
+      this.optional = key.optional();
+      this.type = field.getType();
+
+      int modifiers = field.getModifiers();
+      if ( Modifier.isStatic( modifiers ) || Modifier.isFinal( modifiers ) ) {
+         throw new IllegalArgumentException( describe( field ) + " must not be static or final." );
+      }
+      if ( !isSupported( type ) ) {
+         throw new IllegalArgumentException( describe( field ) + " has unsupported type " + type.getName() + "." );
+      }
+
+      try {
+         field.setAccessible( true );
+         MethodHandles.Lookup lookup = MethodHandles.lookup();
+         this.getter = lookup.unreflectGetter( field ).asType( OBJECT_GETTER );
+         MethodHandle fieldSetter = lookup.unreflectSetter( field );
+         if ( type.isPrimitive() ) {
+            this.setter = fieldSetter.asType( MethodType.methodType( void.class, Object.class, type ) );
+         } else {
+            this.setter = fieldSetter.asType( OBJECT_SETTER );
+         }
+      } catch ( IllegalAccessException | SecurityException exception ) {
+         throw new IllegalArgumentException( describe( field ) + " cannot be accessed.", exception );
+      }
+   }//End Constructor
+
+   /**
+    * Method to split the given path into its keys.
+    * @param path the path.
+    * @param field the {@link Field} the path is for.
+    * @return the keys.
+    */
+   private static String[] keysOf( String path, Field field ) {
+      String[] keys = path.split( SEPARATOR, -1 );
+      for ( String key : keys ) {
+         if ( key.isEmpty() ) {
+            throw new IllegalArgumentException( describe( field ) + " has path '" + path + "' with an empty key." );
+         }
+      }
+      return keys;
+   }//End Method
+
+   /**
+    * Method to describe the given {@link Field} for an error.
+    * @param field the {@link Field}.
+    * @return the description.
+    */
+   private static String describe( Field field ) {
+      return "Field " + field.getDeclaringClass().getName() + "." + field.getName();
+   }//End Method
+
+   /**
+    * Method to determine whether values of the given type can be bound.
+    * @param type the type of the field.
+    * @return true if supported.
+    */
+   static boolean isSupported( Class< ? > type ) {
+      return type == String.class
+               || type == int.class || type == Integer.class
+               || type == long.class || type == Long.class
+               || type == double.class || type == Double.class
+               || type == boolean.class || type == Boolean.class
+               || type == BigDecimal.class || type == BigInteger.class
+               || type.isEnum();
+   }//End Method
+
+   /**
+    * Getter for the path of the key.
+    * @return the path.
+    */
+   String getPath() {
+      return path;
+   }//End Method
+
+   /**
+    * Getter for the keys of the path, from the root.
+    * @return the keys, not to be changed.
+    */
+   String[] getKeys() {
+      return keys;
+   }//End Method
+
+   /**
+    * Getter for the key the value is held against.
+    * @return the key.
+    */
+   String getKey() {
+      return keys[ keys.length - 1 ];
+   }//End Method
+
+   /**
+    * Method to determine whether the key may be absent.
+    * @return true if optional.
+    */
+   boolean isOptional() {
+      return optional;
+   }//End Method
+
+   /**
+    * Method to construct the {@link JsonHandle} that sets the field of the given model from the value parsed.
+    * Absent or null values leave primitive fields unchanged.
+    * @param model the model to set.
+    * @return the {@link JsonHandle}.
+    */
+   JsonHandle readHandle( Object model ) {
+      if ( type == int.class ) {
+         return new IntPrimitiveParseHandle( ( key, value ) -> setInt( model, value ), key -> {} );
+      } else if ( type == long.class ) {
+         return new LongPrimitiveParseHandle( ( key, value ) -> setLong( model, value ), key -> {} );
+      } else if ( type == double.class ) {
+         return new DoublePrimitiveParseHandle( ( key, value ) -> setDouble( model, value ), key -> {} );
+      } else if ( type == boolean.class ) {
+         return new BooleanPrimitiveParseHandle( ( key, value ) -> setBoolean( model, value ), key -> {} );
+      } else if ( type == String.class ) {
+         return new StringParseHandle( ( String value ) -> setObject( model, value ) );
+      } else if ( type == Integer.class ) {
+         return new IntegerParseHandle( ( Integer value ) -> setObject( model, value ) );
+      } else if ( type == Long.class ) {
+         return new LongParseHandle( ( Long value ) -> setObject( model, value ) );
+      } else if ( type == Double.class ) {
+         return new DoubleParseHandle( ( Double value ) -> setObject( model, value ) );
+      } else if ( type == Boolean.class ) {
+         return new BooleanParseHandle( ( Boolean value ) -> setObject( model, value ) );
+      } else if ( type == BigDecimal.class ) {
+         return new BigDecimalParseHandle( ( BigDecimal value ) -> setObject( model, value ) );
+      } else if ( type == BigInteger.class ) {
+         return new BigIntegerParseHandle( ( BigInteger value ) -> setObject( model, value ) );
+      }
+      return enumReadHandle( model );
+   }//End Method
+
+   /**
+    * Method to construct the {@link JsonHandle} that sets an {@link Enum} field.
+    * @param model the model to set.
+    * @return the {@link JsonHandle}.
+    */
+   @SuppressWarnings({ "unchecked", "rawtypes" }) //safe - the type of the field is an enum
+   private JsonHandle enumReadHandle( Object model ) {
+      return enumReadHandle( model, ( Class )type );
+   }//End Method
+
+   /**
+    * Method to construct the {@link JsonHandle} that sets an {@link Enum} field of the given type.
+    * @param model the model to set.
+    * @param enumType the {@link Class} of the {@link Enum}.
+    * @return the {@link JsonHandle}.
+    */
+   private < EnumTypeT extends Enum< EnumTypeT > > JsonHandle enumReadHandle( Object model, Class< EnumTypeT > enumType ) {
+      return new EnumParseHandle<>( EnumLookup.of( enumType ), ( EnumTypeT value ) -> setObject( model, value ) );
+   }//End Method
+
+   /**
+    * Method to construct the {@link JsonHandle} that writes the field of the given model.
+    * @param model the model to write.
+    * @return the {@link JsonHandle}.
+    */
+   JsonHandle writeHandle( Object model ) {
+      return new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> get( model ) ) );
+   }//End Method
+
+   /**
+    * Method to get the value of the field of the given model, in the form to write.
+    * @param model the model.
+    * @return the value, {@link Enum}s by name.
+    */
+   Object get( Object model ) {
+      Object value;
+      try {
+         value = ( Object )getter.invokeExact( model );
+      } catch ( Throwable throwable ) {
+         throw accessFailed( throwable );
+      }
+      if ( value instanceof Enum ) {
+         return ( ( Enum< ? > )value ).name();
+      }
+      return value;
+   }//End Method
+
+   /**
+    * Method to set an int field.
+    * @param model the model.
+    * @param value the value.
+    */
+   private void setInt( Object model, int value ) {
+      try {
+         setter.invokeExact( model, value );
+      } catch ( Throwable throwable ) {
+         throw accessFailed( throwable );
+      }
+   }//End Method
+
+   /**
+    * Method to set a long field.
+    * @param model the model.
+    * @param value the value.
+    */
+   private void setLong( Object model, long value ) {
+      try {
+         setter.invokeExact( model, value );
+      } catch ( Throwable throwable ) {
+         throw accessFailed( throwable );
+      }
+   }//End Method
+
+   /**
+    * Method to set a double field.
+    * @param model the model.
+    * @param value the value.
+    */
+   private void setDouble( Object model, double value ) {
+      try {
+         setter.invokeExact( model, value );
+      } catch ( Throwable throwable ) {
+         throw accessFailed( throwable );
+      }
+   }//End Method
+
+   /**
+    * Method to set a boolean field.
+    * @param model the model.
+    * @param value the value.
+    */
+   private void setBoolean( Object model, boolean value ) {
+      try {
+         setter.invokeExact( model, value );
+      } catch ( Throwable throwable ) {
+         throw accessFailed( throwable );
+      }
+   }//End Method
+
+   /**
+    * Method to set a field holding an {@link Object}.
+    * @param model the model.
+    * @param value the value.
+    */
+   private void setObject( Object model, Object value ) {
+      try {
+         setter.invokeExact( model, value );
+      } catch ( Throwable throwable ) {
+         throw accessFailed( throwable );
+      }
+   }//End Method
+
+   /**
+    * Method to convert a failure to access the field into a {@link RuntimeException} to throw.
+    * @param throwable the failure.
+    * @return the {@link RuntimeException}.
+    */
+   private RuntimeException accessFailed( Throwable throwable ) {
+      if ( throwable instanceof RuntimeException ) {
+         return ( RuntimeException )throwable;
+      }
+      if ( throwable instanceof Error ) {
+         throw ( Error )throwable;
+      }
+      return new IllegalStateException( "Failed to access field for " + path + ".", throwable );
+   }//End Method
+
+}//End Class
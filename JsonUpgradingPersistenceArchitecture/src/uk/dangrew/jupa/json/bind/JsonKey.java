@@ -0,0 +1,37 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.bind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The {@link JsonKey} marks a field of a model as persisted against the key at the end of the given path,
+ * for a {@link JsonModelBinding} to read, write and describe in a {@link uk.dangrew.jupa.json.structure.JsonStructure}.
+ */
+@Retention( RetentionPolicy.RUNTIME )
+@Target( ElementType.FIELD )
+public @interface JsonKey {
+
+   /**
+    * The path to the key from the root object, keys separated by '.', such as 'details.name'.
+    * @return the path.
+    */
+   public String value();
+
+   /**
+    * Whether the key may be absent from the json read.
+    * @return true if optional.
+    */
+   public boolean optional() default false;
+
+}//End Interface
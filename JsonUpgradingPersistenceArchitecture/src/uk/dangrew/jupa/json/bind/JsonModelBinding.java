@@ -0,0 +1,204 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.bind;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.dangrew.jupa.file.protocol.JsonPersistingProtocol;
+import uk.dangrew.jupa.json.marshall.ModelMarshaller;
+import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link JsonModelBinding} binds the {@link JsonKey} fields of a model class to the {@link JsonParser}
+ * registrations that read and write them, and to the {@link JsonStructure} describing them, replacing handles
+ * wired by hand. The fields are resolved once per class and shared, and are read and written through
+ * {@link java.lang.invoke.MethodHandle}s rather than reflection. Keys must be unique across the model, as
+ * they are in a {@link JsonStructure}.
+ */
+public class JsonModelBinding< ModelT > {
+
+   private static final ClassValue< JsonModelBinding< ? > > BINDINGS = new ClassValue< JsonModelBinding< ? > >() {
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override protected JsonModelBinding< ? > computeValue( Class< ? > type ) {
+         return new JsonModelBinding<>( type );
+      }//End Method
+   };
+
+   private final Class< ModelT > modelType;
+   private final List< JsonFieldBinding > fields;
+
+   /**
+    * Method to get the shared {@link JsonModelBinding} for the given model class.
+    * @param modelType the {@link Class} of the model.
+    * @return the {@link JsonModelBinding}.
+    * @throws IllegalArgumentException if a field cannot be bound or keys are not unique.
+    */
+   @SuppressWarnings("unchecked") //safe - computed for the given type
+   public static < ModelT > JsonModelBinding< ModelT > of( Class< ModelT > modelType ) {
+      if ( modelType == null ) {
+         throw new IllegalArgumentException( "Null model type not permitted." );
+      }
+      return ( JsonModelBinding< ModelT > )BINDINGS.get( modelType );
+   }//End Method
+
+   /**
+    * Constructs a new {@link JsonModelBinding} for the {@link JsonKey} fields of the given class and its superclasses.
+    * @param modelType the {@link Class} of the model.
+    */
+   private JsonModelBinding( Class< ModelT > modelType ) {
+      this.modelType = modelType;
+
+      List< JsonFieldBinding > bound = new ArrayList<>();
+      for ( Class< ? > type = modelType; type != null && type != Object.class; type = type.getSuperclass() ) {
+         for ( Field field : type.getDeclaredFields() ) {
+            JsonKey key = field.getAnnotation( JsonKey.class );
+            if ( key != null ) {
+               bound.add( new JsonFieldBinding( field, key ) );
+            }
+         }
+      }
+      if ( bound.isEmpty() ) {
+         throw new IllegalArgumentException( modelType.getName() + " has no fields annotated with JsonKey." );
+      }
+      verifyUniqueKeys( bound );
+      this.fields = Collections.unmodifiableList( bound );
+   }//End Constructor
+
+   /**
+    * Method to verify that each key is reached by a single path, so the {@link JsonStructure} is unambiguous.
+    * @param bound the {@link JsonFieldBinding}s.
+    */
+   private void verifyUniqueKeys( List< JsonFieldBinding > bound ) {
+      Map< String, String > parents = new HashMap<>();
+      Map< String, Boolean > values = new HashMap<>();
+      for ( JsonFieldBinding field : bound ) {
+         String[] keys = field.getKeys();
+         for ( int i = 0; i < keys.length; i++ ) {
+            String parent = i == 0 ? null : keys[ i - 1 ];
+            boolean value = i == keys.length - 1;
+            if ( parents.containsKey( keys[ i ] ) ) {
+               boolean sameParent = parent == null ? parents.get( keys[ i ] ) == null : parent.equals( parents.get( keys[ i ] ) );
+               if ( !sameParent || value || values.get( keys[ i ] ) ) {
+                  throw new IllegalArgumentException(
+                           "Key '" + keys[ i ] + "' of " + modelType.getName() + " is bound more than once."
+                  );
+               }
+            }
+            parents.put( keys[ i ], parent );
+            values.put( keys[ i ], value );
+         }
+      }
+   }//End Method
+
+   /**
+    * Getter for the class of model bound.
+    * @return the {@link Class} of the model.
+    */
+   public Class< ModelT > getModelType() {
+      return modelType;
+   }//End Method
+
+   /**
+    * Getter for the paths of the keys bound, in the order the fields are declared.
+    * @return the paths.
+    */
+   public List< String > getPaths() {
+      List< String > paths = new ArrayList<>();
+      for ( JsonFieldBinding field : fields ) {
+         paths.add( field.getPath() );
+      }
+      return paths;
+   }//End Method
+
+   /**
+    * Method to construct a new {@link JsonStructure} of the keys bound, with an object for each key that
+    * a path continues through.
+    * @return the {@link JsonStructure}.
+    */
+   public JsonStructure structure() {
+      JsonStructure structure = new JsonStructure();
+      for ( JsonFieldBinding field : fields ) {
+         String[] keys = field.getKeys();
+         String parent = structure.root();
+         for ( int i = 0; i < keys.length - 1; i++ ) {
+            structure.child( keys[ i ], parent );
+            parent = keys[ i ];
+         }
+
+         if ( field.isOptional() ) {
+            structure.optionalChild( field.getKey(), parent );
+         } else {
+            structure.value( field.getKey(), parent );
+         }
+      }
+      return structure;
+   }//End Method
+
+   /**
+    * Method to register, with the given {@link JsonParser}, the handles setting the fields of the given model
+    * from the values read.
+    * @param parser the {@link JsonParser} to register with.
+    * @param model the model to set.
+    */
+   public void registerReads( JsonParser parser, ModelT model ) {
+      verifyModel( model );
+      for ( JsonFieldBinding field : fields ) {
+         parser.whenPath( field.getPath(), field.readHandle( model ) );
+      }
+   }//End Method
+
+   /**
+    * Method to register, with the given {@link JsonParser}, the handles writing the fields of the given model
+    * into an object built from {@link #structure()}.
+    * @param parser the {@link JsonParser} to register with.
+    * @param model the model to write.
+    */
+   public void registerWrites( JsonParser parser, ModelT model ) {
+      verifyModel( model );
+      for ( JsonFieldBinding field : fields ) {
+         parser.whenPath( field.getPath(), field.writeHandle( model ) );
+      }
+   }//End Method
+
+   /**
+    * Method to verify the given model can be bound.
+    * @param model the model.
+    */
+   private void verifyModel( ModelT model ) {
+      if ( model == null ) {
+         throw new IllegalArgumentException( "Cannot bind null model." );
+      }
+   }//End Method
+
+   /**
+    * Method to construct a {@link ModelMarshaller} for the given model, with compiled {@link JsonParser}s
+    * registered by {@link #registerReads(JsonParser, Object)} and {@link #registerWrites(JsonParser, Object)}.
+    * @param model the model to marshall.
+    * @param protocol the {@link JsonPersistingProtocol} to read from and write to.
+    * @return the {@link ModelMarshaller}.
+    */
+   public ModelMarshaller marshaller( ModelT model, JsonPersistingProtocol protocol ) {
+      JsonParser readParser = new JsonParser();
+      registerReads( readParser, model );
+      JsonParser writeParser = new JsonParser();
+      registerWrites( writeParser, model );
+      return new ModelMarshaller( structure(), readParser.compile(), writeParser.compile(), protocol );
+   }//End Method
+
+}//End Class
@@ -10,10 +10,28 @@
 package uk.dangrew.jupa.json.io;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.function.Consumer;
 
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import uk.dangrew.jupa.json.parse.JsonFragmentCache;
+import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.parse.JsonRecordListener;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonStructure;
 import uk.dangrew.sd.logging.io.BasicStringIO;
 
 /**
@@ -21,8 +39,13 @@ import uk.dangrew.sd.logging.io.BasicStringIO;
  */
 public class JsonIO {
    
+   static final int DEFAULT_INDENT_FACTOR = 3;
+   static final String WRITING_SUFFIX = ".writing";
+   
    private final BasicStringIO stringIO;
    private final JsonIODigest digest;
+   private final Utf8ChannelWriter output;
+   private int indentFactor;
    
    /**
     * Constructs a new {@link JsonIO}.
@@ -38,9 +61,30 @@ public class JsonIO {
    JsonIO( JsonIODigest digest ) {
       this.stringIO = new BasicStringIO();
       this.digest = digest;
+      this.output = new Utf8ChannelWriter();
+      this.indentFactor = DEFAULT_INDENT_FACTOR;
       this.digest.attachSource( this );
    }//End Constructor
 
+   /**
+    * Method to set the number of spaces each level of the json written is indented by.
+    * @param indentFactor the indent factor, 0 to write compactly without any whitespace.
+    */
+   public void setIndentFactor( int indentFactor ) {
+      if ( indentFactor < 0 ) {
+         throw new IllegalArgumentException( "Indent factor must not be negative." );
+      }
+      this.indentFactor = indentFactor;
+   }//End Method
+   
+   /**
+    * Getter for the number of spaces each level of the json written is indented by.
+    * @return the indent factor, 0 if compact, {@link #DEFAULT_INDENT_FACTOR} by default.
+    */
+   public int getIndentFactor() {
+      return indentFactor;
+   }//End Method
+
    /**
     * Method to read json data from the given {@link File}.
     * @param file the {@link File} to read from.
@@ -60,17 +104,164 @@ public class JsonIO {
    }//End Method
    
    /**
-    * Method to write the given {@link JSONObject} to the given {@link File}.
+    * Method to read json data from the given {@link File}, as UTF-8, passing every byte of the {@link File} through 
+    * the given {@link MessageDigest} as it is read, so that the content can be fingerprinted without reading it twice.
+    * @param file the {@link File} to read from.
+    * @param contentDigest the {@link MessageDigest} to update with the content.
+    * @return the {@link JSONObject} read, or null if anything goes wrong.
+    */
+   public JSONObject read( File file, MessageDigest contentDigest ) {
+      if ( file == null || contentDigest == null ) {
+         throw new NullPointerException( "File and digest must not be null." );
+      }
+      
+      try ( 
+               InputStream stream = new DigestInputStream( new FileInputStream( file ), contentDigest );
+               Reader reader = new InputStreamReader( stream, StandardCharsets.UTF_8 )
+      ) {
+         JSONObject object = new JSONObject( new JSONTokener( reader ) );
+         byte[] remaining = new byte[ 4096 ];
+         while ( stream.read( remaining ) != -1 ) {
+            //digest anything following the object
+         }
+         return object;
+      } catch ( IOException exception ) {
+         return null;
+      } catch ( JSONException exception ) {
+         digest.failedToParseInput( file );
+         return null;
+      }
+   }//End Method
+   
+   /**
+    * Method to parse the json in the given {@link File} directly into the given {@link JsonParser}, reading
+    * incrementally rather than constructing a {@link JSONObject} for the whole file.
+    * @param file the {@link File} to read from.
+    * @param parser the {@link JsonParser} to parse with.
+    * @return true if the whole file was parsed, false if it could not be read or is invalid.
+    */
+   public boolean parse( File file, JsonParser parser ) {
+      if ( file == null || parser == null ) {
+         throw new NullPointerException( "File and parser must not be null." );
+      }
+      
+      try ( InputStream stream = new FileInputStream( file ) ) {
+         parser.parseStream( stream );
+         return true;
+      } catch ( IOException exception ) {
+         return false;
+      } catch ( JSONException exception ) {
+         digest.failedToParseInput( file );
+         return false;
+      }
+   }//End Method
+   
+   /**
+    * Method to parse each json record in the given {@link File}, such as newline delimited json, directly into
+    * the given {@link JsonParser}, as {@link JsonParser#parseRecords(InputStream, JsonRecordListener, boolean)}.
+    * @param file the {@link File} to read from.
+    * @param parser the {@link JsonParser} to parse with.
+    * @param listener the {@link JsonRecordListener} to notify of each record, can be null.
+    * @param skipInvalid whether to skip invalid records rather than stopping.
+    * @return true if the file was read completely, false if it could not be read or an invalid record stopped it.
+    */
+   public boolean parseRecords( File file, JsonParser parser, JsonRecordListener listener, boolean skipInvalid ) {
+      if ( file == null || parser == null ) {
+         throw new NullPointerException( "File and parser must not be null." );
+      }
+      
+      try ( InputStream stream = new FileInputStream( file ) ) {
+         parser.parseRecords( stream, listener, skipInvalid );
+         return true;
+      } catch ( IOException exception ) {
+         return false;
+      } catch ( JSONException exception ) {
+         digest.failedToParseInput( file );
+         return false;
+      }
+   }//End Method
+   
+   /**
+    * Method to write the given {@link JSONObject} to the given {@link File}, as UTF-8, laid out as 
+    * {@link JSONObject#toString(int)} would with the {@link #getIndentFactor()}. The {@link JSONObject} is 
+    * written through buffers reused for every write, rather than first being rendered to a {@link String}, into
+    * a {@link File} beside the given {@link File} that replaces it only once the whole {@link JSONObject} is written,
+    * so the {@link File} is left unchanged if anything goes wrong.
     * @param file the {@link File} to write to.
     * @param object the {@link JSONObject} to write.
     * @return true if written successfully.
     */
    public boolean write( File file, JSONObject object ) {
-      if ( file == null ) {
-         throw new NullPointerException( "File must not be null." );
+      if ( file == null || object == null ) {
+         throw new NullPointerException( "File and object must not be null." );
+      }
+      
+      return write( file, writer -> writer.value( object ) );
+   }//End Method
+   
+   /**
+    * Method to write the given {@link JsonStructure} to the given {@link File} with the given {@link JsonParser}, as
+    * {@link JsonParser#writeStream(JsonStructure, JsonWriter, JsonFragmentCache)}, so that neither a {@link JSONObject}
+    * nor the text of the json is held in memory. The json is laid out with the {@link #getIndentFactor()} and 
+    * written as {@link #write(File, JSONObject)}, leaving the {@link File} unchanged if anything goes wrong.
+    * @param file the {@link File} to write to.
+    * @param parser the {@link JsonParser} with the handles providing the values.
+    * @param structure the {@link JsonStructure} to write.
+    * @param fragments the {@link JsonFragmentCache} to reuse json from, can be null to write every node.
+    * @return true if written successfully.
+    */
+   public boolean writeStream( File file, JsonParser parser, JsonStructure structure, JsonFragmentCache fragments ) {
+      if ( file == null || parser == null || structure == null ) {
+         throw new NullPointerException( "File, parser and structure must not be null." );
+      }
+      
+      return write( file, writer -> parser.writeStream( structure, writer, fragments ) );
+   }//End Method
+   
+   /**
+    * Method to write json to the given {@link File}, as UTF-8, into a {@link File} beside it that replaces it only 
+    * once written in full.
+    * @param file the {@link File} to write to.
+    * @param content the {@link Consumer} writing the json to the {@link JsonWriter} given.
+    * @return true if written successfully.
+    */
+   private boolean write( File file, Consumer< JsonWriter > content ) {
+      createDirectory( file );
+      
+      synchronized ( output ) {
+         File writing = null;
+         boolean written = false;
+         try {
+            writing = new File( file.getPath() + WRITING_SUFFIX );
+            try ( FileOutputStream stream = new FileOutputStream( writing ) ) {
+               output.open( stream.getChannel() );
+               content.accept( new JsonWriter( output, indentFactor ) );
+               output.finish();
+            }
+            Files.move( writing.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            written = true;
+            return true;
+         } catch ( IOException | JSONException exception ) {
+            return false;
+         } finally {
+            output.release();
+            if ( !written && writing != null ) {
+               writing.delete();
+            }
+         }
+      }
+   }//End Method
+   
+   /**
+    * Method to create the directories the given {@link File} is in, the {@link File} itself only being created once
+    * written in full.
+    * @param file the {@link File} to create the directories for.
+    */
+   private void createDirectory( File file ) {
+      File directory = file.getParentFile();
+      if ( directory != null ) {
+         directory.mkdirs();
       }
-      String stringToWrite = object.toString( 3 );
-      return stringIO.write( file, stringToWrite, false );
    }//End Method
 
 }//End Class
@@ -0,0 +1,206 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@link Utf8ChannelWriter} is a {@link Writer} encoding the characters written as UTF-8 to a
+ * {@link WritableByteChannel}. Its character and byte buffers and its encoder are allocated once and reused
+ * for each {@link WritableByteChannel} it is opened on, so writing many files allocates nothing per file.
+ * Characters that cannot be encoded are replaced, as an {@link java.io.OutputStreamWriter} would replace them.
+ */
+class Utf8ChannelWriter extends Writer {
+
+   static final int DEFAULT_BUFFER_SIZE = 8192;
+
+   private final CharsetEncoder encoder;
+   private final CharBuffer chars;
+   private final ByteBuffer bytes;
+   private WritableByteChannel channel;
+
+   /**
+    * Constructs a new {@link Utf8ChannelWriter} with buffers of {@link #DEFAULT_BUFFER_SIZE}.
+    */
+   Utf8ChannelWriter() {
+      this( DEFAULT_BUFFER_SIZE );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link Utf8ChannelWriter}.
+    * @param bufferSize the number of characters to buffer before encoding, at least 2 so that surrogate pairs
+    * can be encoded together.
+    */
+   Utf8ChannelWriter( int bufferSize ) {
+      if ( bufferSize < 2 ) {
+         throw new IllegalArgumentException( "Buffer size must be at least 2." );
+      }
+      this.encoder = StandardCharsets.UTF_8.newEncoder()
+               .onMalformedInput( CodingErrorAction.REPLACE )
+               .onUnmappableCharacter( CodingErrorAction.REPLACE );
+      this.chars = CharBuffer.allocate( bufferSize );
+      this.bytes = ByteBuffer.allocate( ( int )Math.ceil( bufferSize * encoder.maxBytesPerChar() ) );
+   }//End Constructor
+
+   /**
+    * Method to start writing to the given {@link WritableByteChannel}, discarding anything not yet written.
+    * @param channel the {@link WritableByteChannel} to write to.
+    */
+   void open( WritableByteChannel channel ) {
+      if ( channel == null ) {
+         throw new IllegalArgumentException( "Cannot write to null channel." );
+      }
+      this.channel = channel;
+      this.encoder.reset();
+      this.chars.clear();
+      this.bytes.clear();
+   }//End Method
+
+   /**
+    * Method to determine whether a {@link WritableByteChannel} is being written to.
+    * @return true if opened and not yet finished.
+    */
+   boolean isOpen() {
+      return channel != null;
+   }//End Method
+
+   /**
+    * Method to encode and write everything written, ending the encoding, and to stop writing to the
+    * {@link WritableByteChannel}, which is not closed.
+    * @throws IOException if the {@link WritableByteChannel} fails.
+    */
+   void finish() throws IOException {
+      verifyOpen();
+      encode( true );
+      while ( encoder.flush( bytes ).isOverflow() ) {
+         drain();
+      }
+      drain();
+      channel = null;
+   }//End Method
+
+   /**
+    * Method to stop writing to the {@link WritableByteChannel} without writing anything further, such as when
+    * it has failed.
+    */
+   void release() {
+      channel = null;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void write( int character ) throws IOException {
+      verifyOpen();
+      if ( !chars.hasRemaining() ) {
+         encode( false );
+      }
+      chars.put( ( char )character );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void write( char[] buffer, int offset, int length ) throws IOException {
+      verifyOpen();
+      while ( length > 0 ) {
+         if ( !chars.hasRemaining() ) {
+            encode( false );
+         }
+         int portion = Math.min( length, chars.remaining() );
+         chars.put( buffer, offset, portion );
+         offset += portion;
+         length -= portion;
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void write( String string, int offset, int length ) throws IOException {
+      verifyOpen();
+      while ( length > 0 ) {
+         if ( !chars.hasRemaining() ) {
+            encode( false );
+         }
+         int portion = Math.min( length, chars.remaining() );
+         chars.put( string, offset, offset + portion );
+         offset += portion;
+         length -= portion;
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void flush() throws IOException {
+      verifyOpen();
+      encode( false );
+      drain();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    * Finishes writing, as {@link #finish()}, if open. The {@link WritableByteChannel} is not closed.
+    */
+   @Override public void close() throws IOException {
+      if ( channel != null ) {
+         finish();
+      }
+   }//End Method
+
+   /**
+    * Method to verify a {@link WritableByteChannel} is being written to.
+    * @throws IOException if not.
+    */
+   private void verifyOpen() throws IOException {
+      if ( channel == null ) {
+         throw new IOException( "No channel is open." );
+      }
+   }//End Method
+
+   /**
+    * Method to encode the characters buffered, writing the bytes whenever the byte buffer fills. A high surrogate
+    * ending the characters is kept until its pair is written, unless the input is ending. Malformed characters
+    * are replaced rather than reported.
+    * @param endOfInput whether no more characters will be written.
+    * @throws IOException if the {@link WritableByteChannel} fails.
+    */
+   private void encode( boolean endOfInput ) throws IOException {
+      chars.flip();
+      CoderResult result = encoder.encode( chars, bytes, endOfInput );
+      while ( result.isOverflow() ) {
+         drain();
+         result = encoder.encode( chars, bytes, endOfInput );
+      }
+      chars.compact();
+   }//End Method
+
+   /**
+    * Method to write the bytes encoded to the {@link WritableByteChannel}.
+    * @throws IOException if the {@link WritableByteChannel} fails.
+    */
+   private void drain() throws IOException {
+      bytes.flip();
+      while ( bytes.hasRemaining() ) {
+         channel.write( bytes );
+      }
+      bytes.clear();
+   }//End Method
+
+}//End Class
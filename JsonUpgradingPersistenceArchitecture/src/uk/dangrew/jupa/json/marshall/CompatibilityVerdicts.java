@@ -0,0 +1,147 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.marshall;
+
+import java.io.File;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.io.JsonIO;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link CompatibilityVerdicts} keep the verdict that a json {@link File} is compatible with a 
+ * {@link JsonStructure} in a small sidecar {@link File} beside it, as a fingerprint of the size, last modified 
+ * time and content hash of the {@link File} and the {@link JsonStructure#fingerprint()}. While none of these 
+ * change the {@link File} need not be checked again.
+ */
+class CompatibilityVerdicts {
+   
+   static final String SIDECAR_SUFFIX = ".compatibility";
+   static final String CONTENT_ALGORITHM = "SHA-256";
+   static final String SIZE = "size";
+   static final String MODIFIED = "modified";
+   static final String HASH = "hash";
+   static final String STRUCTURE = "structure";
+   
+   private final JsonIO jsonIO;
+   
+   /**
+    * Constructs a new {@link CompatibilityVerdicts}.
+    */
+   CompatibilityVerdicts() {
+      this( new JsonIO() );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link CompatibilityVerdicts}.
+    * @param jsonIO the {@link JsonIO} for reading and writing.
+    */
+   CompatibilityVerdicts( JsonIO jsonIO ) {
+      this.jsonIO = jsonIO;
+   }//End Constructor
+   
+   /**
+    * Method to read the given {@link File}, fingerprinting it against the given {@link JsonStructure} as it is read.
+    * @param file the {@link File} to read.
+    * @param structure the {@link JsonStructure} it should be compatible with.
+    * @param fingerprint the {@link JSONObject} to put the fingerprint into.
+    * @return the {@link JSONObject} read, null if it could not be read.
+    */
+   JSONObject read( File file, JsonStructure structure, JSONObject fingerprint ) {
+      long size = file.length();
+      long modified = file.lastModified();
+      MessageDigest content = contentDigest();
+      
+      JSONObject object = jsonIO.read( file, content );
+      if ( object == null ) {
+         return null;
+      }
+      
+      fingerprint.put( SIZE, size );
+      fingerprint.put( MODIFIED, modified );
+      fingerprint.put( HASH, hex( content.digest() ) );
+      fingerprint.put( STRUCTURE, structure.fingerprint() );
+      return object;
+   }//End Method
+   
+   /**
+    * Method to determine whether the given {@link File} is known to be compatible, having been recorded with the
+    * given fingerprint.
+    * @param file the json {@link File}.
+    * @param fingerprint the fingerprint of the {@link File} as read.
+    * @return true if recorded as compatible with the same fingerprint.
+    */
+   boolean isKnownCompatible( File file, JSONObject fingerprint ) {
+      File sidecar = sidecar( file );
+      if ( !sidecar.exists() ) {
+         return false;
+      }
+      
+      JSONObject recorded = jsonIO.read( sidecar );
+      if ( recorded == null ) {
+         return false;
+      }
+      for ( String key : fingerprint.keySet() ) {
+         if ( !String.valueOf( fingerprint.get( key ) ).equals( String.valueOf( recorded.opt( key ) ) ) ) {
+            return false;
+         }
+      }
+      return true;
+   }//End Method
+   
+   /**
+    * Method to record that the given {@link File} is compatible, with the given fingerprint.
+    * @param file the json {@link File}.
+    * @param fingerprint the fingerprint of the {@link File} as read.
+    * @return true if recorded.
+    */
+   boolean recordCompatible( File file, JSONObject fingerprint ) {
+      return jsonIO.write( sidecar( file ), fingerprint );
+   }//End Method
+   
+   /**
+    * Method to get the sidecar {@link File} for the given json {@link File}.
+    * @param file the json {@link File}.
+    * @return the sidecar {@link File}.
+    */
+   File sidecar( File file ) {
+      return new File( file.getPath() + SIDECAR_SUFFIX );
+   }//End Method
+   
+   /**
+    * Method to construct the {@link MessageDigest} for hashing content.
+    * @return the {@link MessageDigest}.
+    */
+   private MessageDigest contentDigest() {
+      try {
+         return MessageDigest.getInstance( CONTENT_ALGORITHM );
+      } catch ( NoSuchAlgorithmException exception ) {
+         throw new IllegalStateException( CONTENT_ALGORITHM + " should always be available.", exception );
+      }
+   }//End Method
+   
+   /**
+    * Method to convert the given bytes to hexadecimal.
+    * @param bytes the bytes.
+    * @return the hexadecimal {@link String}.
+    */
+   private String hex( byte[] bytes ) {
+      StringBuilder builder = new StringBuilder( bytes.length * 2 );
+      for ( byte value : bytes ) {
+         builder.append( Character.forDigit( ( value >> 4 ) & 0xf, 16 ) );
+         builder.append( Character.forDigit( value & 0xf, 16 ) );
+      }
+      return builder.toString();
+   }//End Method
+
+}//End Class
@@ -11,9 +11,12 @@ package uk.dangrew.jupa.json.marshall;
 
 import org.json.JSONObject;
 import uk.dangrew.jupa.file.protocol.JsonPersistingProtocol;
+import uk.dangrew.jupa.json.io.JsonIO;
 import uk.dangrew.jupa.json.parse.JsonParser;
 import uk.dangrew.jupa.json.structure.JsonStructure;
 
+import java.io.File;
+import java.io.Writer;
 import java.util.function.Supplier;
 
 /**
@@ -25,6 +28,7 @@ public class DynamicModelMarshaller {
     private final Supplier<JsonStructure> structureProvider;
     private final JsonParser parserWithReadHandles;
     private final JsonParser parserWithWriteHandles;
+    private final JsonIO jsonIO;
 
     /**
      * Constructs a new {@link uk.dangrew.jupa.json.marshall.ModelMarshaller}.
@@ -38,6 +42,24 @@ public class DynamicModelMarshaller {
             Supplier<JsonStructure> structureProvider,
             JsonParser parserWithReadHandles,
             JsonParser parserWithWriteHandles
+    ) {
+        this(structureProvider, parserWithReadHandles, parserWithWriteHandles, new JsonIO());
+    }//End Constructor
+
+    /**
+     * Constructs a new {@link uk.dangrew.jupa.json.marshall.ModelMarshaller}.
+     *
+     * @param structureProvider      provider of the {@link JsonStructure} used to build a blank {@link JSONObject} into
+     *                               the required structure.
+     * @param parserWithReadHandles  the {@link JsonParser} for reading.
+     * @param parserWithWriteHandles the {@link JsonParser} for writing.
+     * @param jsonIO                 the {@link JsonIO} for writing to the {@link JsonPersistingProtocol#getFile()}.
+     */
+    DynamicModelMarshaller(
+            Supplier<JsonStructure> structureProvider,
+            JsonParser parserWithReadHandles,
+            JsonParser parserWithWriteHandles,
+            JsonIO jsonIO
     ) {
         if (structureProvider == null || parserWithReadHandles == null || parserWithWriteHandles == null) {
             throw new NullPointerException("No parameters are allowed to be null.");
@@ -46,18 +68,41 @@ public class DynamicModelMarshaller {
         this.structureProvider = structureProvider;
         this.parserWithReadHandles = parserWithReadHandles;
         this.parserWithWriteHandles = parserWithWriteHandles;
+        this.jsonIO = jsonIO;
     }//End Constructor
 
     /**
-     * Method to write to the associated {@link java.io.File}.
+     * Method to write to the associated {@link java.io.File}. Where the {@link JsonPersistingProtocol} provides a
+     * {@link JsonPersistingProtocol#getFile()} it is written in a single pass of the {@link JsonStructure}, as
+     * {@link JsonIO#writeStream(File, JsonParser, JsonStructure, uk.dangrew.jupa.json.parse.JsonFragmentCache)},
+     * without building the {@link JSONObject} or its text in memory. Otherwise the {@link JSONObject} is built and
+     * given to the {@link JsonPersistingProtocol}.
+     *
+     * @param fileProtocol the {@link JsonPersistingProtocol} to write to.
      */
     public void write(JsonPersistingProtocol fileProtocol) {
+        File file = fileProtocol.getFile();
+        if (file != null) {
+            jsonIO.writeStream(file, parserWithWriteHandles, structureProvider.get(), null);
+            return;
+        }
+
         JSONObject objectToWrite = new JSONObject();
         structureProvider.get().build(objectToWrite);
         parserWithWriteHandles.parse(objectToWrite);
         fileProtocol.writeToLocation(objectToWrite);
     }//End Method
 
+    /**
+     * Method to write directly to the given {@link Writer} in a single pass of the {@link JsonStructure},
+     * without building the {@link JSONObject} or its text in memory.
+     *
+     * @param writer the {@link Writer} to write to, which should be buffered. It is flushed but not closed.
+     */
+    public void write(Writer writer) {
+        parserWithWriteHandles.writeStream(structureProvider.get(), writer);
+    }//End Method
+
     /**
      * Method to read from the associated {@link java.io.File}.
      */
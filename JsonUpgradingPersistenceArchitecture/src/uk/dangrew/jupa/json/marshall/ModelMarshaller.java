@@ -9,11 +9,19 @@
  */
 package uk.dangrew.jupa.json.marshall;
 
+import java.io.File;
+import java.io.Writer;
+
 import org.json.JSONObject;
 
 import uk.dangrew.jupa.file.protocol.JsonPersistingProtocol;
+import uk.dangrew.jupa.json.io.JsonIO;
+import uk.dangrew.jupa.json.parse.JsonFragmentCache;
 import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonArrayCheckMode;
 import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.upgrade.JsonUpgrade;
 
 /**
  * The {@link ModelMarshaller} is responsible for marshalling a model, defined in terms of
@@ -25,6 +33,12 @@ public class ModelMarshaller {
    private final JsonParser parserWithReadHandles;
    private final JsonParser parserWithWriteHandles;
    private final JsonPersistingProtocol fileProtocol;
+   private final JsonIO jsonIO;
+   private final JsonFragmentCache fragments;
+   private boolean singlePassRead;
+   private CompatibilityVerdicts verdicts;
+   private JsonUpgrade upgrade;
+   private boolean writingUpgrades;
 
    /**
     * Constructs a new {@link ModelMarshaller}.
@@ -39,6 +53,25 @@ public class ModelMarshaller {
             JsonParser parserWithReadHandles, 
             JsonParser parserWithWriteHandles,
             JsonPersistingProtocol fileProtocol
+   ) {
+      this( structure, parserWithReadHandles, parserWithWriteHandles, fileProtocol, new JsonIO() );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link ModelMarshaller}.
+    * @param structure the {@link JsonStructure} used to build a blank {@link JSONObject} into the 
+    * required structure.
+    * @param parserWithReadHandles the {@link JsonParser} for reading.
+    * @param parserWithWriteHandles the {@link JsonParser} for writing.
+    * @param fileProtocol the {@link JsonPersistingProtocol} for reading and writing.
+    * @param jsonIO the {@link JsonIO} for writing to the {@link JsonPersistingProtocol#getFile()}.
+    */
+   ModelMarshaller( 
+            JsonStructure structure, 
+            JsonParser parserWithReadHandles, 
+            JsonParser parserWithWriteHandles,
+            JsonPersistingProtocol fileProtocol,
+            JsonIO jsonIO
    ) {
       if ( structure == null || parserWithReadHandles == null || parserWithWriteHandles == null || fileProtocol == null ) {
          throw new NullPointerException( "No parameters are allowed to be null." );
@@ -48,31 +81,215 @@ public class ModelMarshaller {
       this.parserWithReadHandles = parserWithReadHandles;
       this.parserWithWriteHandles = parserWithWriteHandles;
       this.fileProtocol = fileProtocol;
+      this.jsonIO = jsonIO;
+      this.fragments = new JsonFragmentCache();
    }//End Constructor
 
    /**
-    * Method to write to the associated {@link java.io.File}.
+    * Getter for the {@link JsonFragmentCache} used by {@link #write()} and {@link #write(Writer)}, with which the nodes 
+    * of the {@link JsonStructure} that change rarely can be tracked, so that they are only written again when changed.
+    * Only used by {@link #write()} where the {@link JsonPersistingProtocol} provides a {@link JsonPersistingProtocol#getFile()}.
+    * @return the {@link JsonFragmentCache}, tracking nothing by default.
+    */
+   public JsonFragmentCache getFragmentCache() {
+      return fragments;
+   }//End Method
+
+   /**
+    * Setter for whether {@link #read()} checks compatibility in the same pass as parsing, as
+    * {@link JsonParser#parse(JSONObject, JsonStructure)}, rather than checking first and then parsing. 
+    * In a single pass the calls to the handles of the read {@link JsonParser} are recorded and only made, in order,
+    * once the whole is known to be compatible, any {@link uk.dangrew.jupa.json.parse.JsonParseSignal}s they throw 
+    * being honoured as when parsing. Note that every call for the whole {@link JSONObject} is held until then, 
+    * memory in proportion to the number of calls on top of the {@link JSONObject} itself, which may be significant
+    * for large files.
+    * @param singlePassRead true to read in a single pass.
+    */
+   public void setSinglePassRead( boolean singlePassRead ) {
+      this.singlePassRead = singlePassRead;
+   }//End Method
+   
+   /**
+    * Getter for whether {@link #read()} checks compatibility in the same pass as parsing.
+    * @return true if reading in a single pass, false by default.
+    */
+   public boolean isSinglePassRead() {
+      return singlePassRead;
+   }//End Method
+
+   /**
+    * Setter for whether {@link #read()} keeps the verdict that the {@link File} read is compatible with the 
+    * {@link JsonStructure}, in a sidecar {@link File} beside it, so that the compatibility check is skipped while 
+    * neither the {@link File} nor the {@link JsonStructure} changes. The {@link File} is hashed as it is read. Only
+    * applies where the {@link JsonPersistingProtocol} provides a {@link JsonPersistingProtocol#getFile()}, and verdicts 
+    * are not kept from checks that sample arrays, as {@link uk.dangrew.jupa.json.structure.JsonArrayCheckPolicy#sampled(int, int, int, int)}.
+    * @param cacheCompatibility true to keep verdicts.
+    */
+   public void setCacheCompatibility( boolean cacheCompatibility ) {
+      this.verdicts = cacheCompatibility ? new CompatibilityVerdicts() : null;
+   }//End Method
+   
+   /**
+    * Getter for whether {@link #read()} keeps compatibility verdicts.
+    * @return true if keeping verdicts, false by default.
+    */
+   public boolean isCacheCompatibility() {
+      return verdicts != null;
+   }//End Method
+
+   /**
+    * Setter for the {@link JsonUpgrade} {@link #read()} upgrades json written for an earlier version of the 
+    * {@link JsonStructure} with, before checking compatibility. Only applies where the {@link JsonPersistingProtocol} 
+    * provides a {@link JsonPersistingProtocol#getFile()}.
+    * @param upgrade the {@link JsonUpgrade}, null to not upgrade.
+    * @param writingUpgrades true to write the upgraded json back to the {@link File} read, so it is only upgraded 
+    * once, false to upgrade as read every time, leaving the {@link File} unchanged.
+    */
+   public void setUpgrade( JsonUpgrade upgrade, boolean writingUpgrades ) {
+      this.upgrade = upgrade;
+      this.writingUpgrades = writingUpgrades;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonUpgrade} applied by {@link #read()}.
+    * @return the {@link JsonUpgrade}, null by default.
+    */
+   public JsonUpgrade getUpgrade() {
+      return upgrade;
+   }//End Method
+   
+   /**
+    * Getter for whether {@link #read()} writes upgraded json back to the {@link File} read.
+    * @return true if writing upgrades, false by default.
+    */
+   public boolean isWritingUpgrades() {
+      return writingUpgrades;
+   }//End Method
+
+   /**
+    * Method to write to the associated {@link java.io.File}. Where the {@link JsonPersistingProtocol} provides a
+    * {@link JsonPersistingProtocol#getFile()} it is written in a single pass of the {@link JsonStructure}, as 
+    * {@link JsonIO#writeStream(File, JsonParser, JsonStructure, JsonFragmentCache)}, without building the 
+    * {@link JSONObject} or its text in memory, nodes tracked by the {@link #getFragmentCache()} being written from
+    * the json cached when last written, unless changed. Otherwise the {@link JSONObject} is built and given to the 
+    * {@link JsonPersistingProtocol}.
     */
    public void write() {
+      File file = fileProtocol.getFile();
+      if ( file != null ) {
+         jsonIO.writeStream( file, parserWithWriteHandles, structure, fragments );
+         return;
+      }
+      
       JSONObject objectToWrite = new JSONObject();
       structure.build( objectToWrite );
       parserWithWriteHandles.parse( objectToWrite );
       fileProtocol.writeToLocation( objectToWrite );
    }//End Method
+   
+   /**
+    * Method to write directly to the given {@link Writer} in a single pass of the {@link JsonStructure}, 
+    * without building the {@link JSONObject} or its text in memory. Nodes tracked by the 
+    * {@link #getFragmentCache()} are written from the json cached when last written, unless changed.
+    * @param writer the {@link Writer} to write to, which should be buffered. It is flushed but not closed.
+    */
+   public void write( Writer writer ) {
+      parserWithWriteHandles.writeStream( structure, new JsonWriter( writer ), fragments );
+   }//End Method
 
    /**
-    * Method to read from the associated {@link java.io.File}.
+    * Method to read from the associated {@link java.io.File}, upgrading it first if outdated and a 
+    * {@link JsonUpgrade} is set.
     */
    public void read() {
+      File file = fileProtocol.getFile();
+      if ( file != null && readUpgrading( file ) ) {
+         return;
+      }
+      
+      if ( verdicts != null && file != null ) {
+         readWithVerdicts( file );
+         return;
+      }
+      
       JSONObject readObject = fileProtocol.readFromLocation();
       if ( readObject == null ) {
          return;
       }
       
-      if ( !structure.isCompatible( readObject ) ) {
+      parseIfCompatible( readObject );
+   }//End Method
+   
+   /**
+    * Method to read the given {@link File} upgraded by the {@link JsonUpgrade}, if outdated. Its version is read once,
+    * and not at all when the {@link JsonStructure} upgraded to is {@link JsonStructure#UNVERSIONED}, as nothing can be 
+    * earlier.
+    * @param file the {@link File} to read.
+    * @return true if read, or failed to be upgraded, false if it should be read as it is.
+    */
+   private boolean readUpgrading( File file ) {
+      if ( upgrade == null || upgrade.getStructure().getVersion() == JsonStructure.UNVERSIONED ) {
+         return false;
+      }
+      Integer version = upgrade.versionOf( file );
+      if ( version == null || version >= upgrade.getStructure().getVersion() ) {
+         return false;
+      }
+      
+      if ( writingUpgrades ) {
+         return !upgrade.upgrade( file, version );
+      }
+      JSONObject upgraded = upgrade.read( file, version );
+      if ( upgraded != null ) {
+         parseIfCompatible( upgraded );
+      }
+      return true;
+   }//End Method
+   
+   /**
+    * Method to read the given {@link File}, only checking compatibility if not already known to be compatible,
+    * keeping the verdict if found to be compatible.
+    * @param file the {@link File} to read.
+    */
+   private void readWithVerdicts( File file ) {
+      JSONObject fingerprint = new JSONObject();
+      JSONObject readObject = verdicts.read( file, structure, fingerprint );
+      if ( readObject == null ) {
          return;
       }
+      
+      if ( verdicts.isKnownCompatible( file, fingerprint ) ) {
+         parserWithReadHandles.parse( readObject );
+      } else if ( parseIfCompatible( readObject ) && isCheckedInFull() ) {
+         verdicts.recordCompatible( file, fingerprint );
+      }
+   }//End Method
+   
+   /**
+    * Method to determine whether the compatibility check made by {@link #parseIfCompatible(JSONObject)} checks every
+    * element of every array, so that its verdict can be kept. Checks sampling large arrays are repeated on every read.
+    * @return true if checked in full.
+    */
+   private boolean isCheckedInFull() {
+      return singlePassRead || structure.getArrayCheckPolicy().getMode() != JsonArrayCheckMode.SAMPLED;
+   }//End Method
+   
+   /**
+    * Method to parse the given {@link JSONObject} with the read {@link JsonParser} if compatible with the
+    * {@link JsonStructure}.
+    * @param readObject the {@link JSONObject} read.
+    * @return true if compatible and parsed.
+    */
+   private boolean parseIfCompatible( JSONObject readObject ) {
+      if ( singlePassRead ) {
+         return parserWithReadHandles.parse( readObject, structure );
+      }
+      
+      if ( !structure.isCompatible( readObject ) ) {
+         return false;
+      }
       parserWithReadHandles.parse( readObject );
+      return true;
    }//End Method
 
 }//End Class
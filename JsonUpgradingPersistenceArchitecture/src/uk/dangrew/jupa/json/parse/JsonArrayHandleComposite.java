@@ -0,0 +1,112 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * The {@link JsonArrayHandleComposite} is a {@link JsonHandleComposite} combining at least one {@link JsonArrayHandle}.
+ * When its key is a {@link JSONArray} the {@link JsonArrayHandle}s are given the {@link JSONArray} whole, first, and the
+ * elements are then navigated for the other {@link JsonHandle}s combined, as though each were registered alone. 
+ * Otherwise every {@link JsonHandle} is called, as by the {@link JsonHandleComposite}.
+ */
+public class JsonArrayHandleComposite extends JsonHandleComposite implements JsonArrayHandle {
+
+   private volatile Split split;
+
+   /**
+    * Constructs a new {@link JsonArrayHandleComposite}.
+    * @param handles the {@link JsonHandle}s to call, in order.
+    */
+   public JsonArrayHandleComposite( JsonHandle... handles ) {
+      super( handles );
+   }//End Constructor
+
+   /**
+    * Method to get the {@link JsonHandle} to navigate the elements of a {@link JSONArray} for, once the given 
+    * {@link JsonArrayHandle} has been given it whole.
+    * @param handle the {@link JsonArrayHandle}.
+    * @return the {@link JsonHandle} for the elements, null if none.
+    */
+   static JsonHandle elementHandleOf( JsonArrayHandle handle ) {
+      if ( handle instanceof JsonArrayHandleComposite ) {
+         return ( ( JsonArrayHandleComposite )handle ).split().elementHandle;
+      }
+      return null;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArray( String key, JSONArray array ) {
+      for ( JsonArrayHandle handle : split().arrayHandles ) {
+         handle.handleArray( key, array );
+      }
+   }//End Method
+
+   /**
+    * Method to get the {@link Split} of the {@link JsonHandle}s currently combined, splitting them again if changed.
+    * @return the {@link Split}.
+    */
+   private Split split() {
+      JsonHandle[] current = handles();
+      Split known = split;
+      if ( known == null || known.source != current ) {
+         known = new Split( current );
+         split = known;
+      }
+      return known;
+   }//End Method
+
+   /**
+    * The {@link Split} divides the {@link JsonHandle}s combined into the {@link JsonArrayHandle}s and the 
+    * {@link JsonHandle} for the elements.
+    */
+   private static class Split {
+
+      private final JsonHandle[] source;
+      private final JsonArrayHandle[] arrayHandles;
+      private final JsonHandle elementHandle;
+
+      /**
+       * Constructs a new {@link Split}.
+       * @param source the {@link JsonHandle}s combined.
+       */
+      private Split( JsonHandle[] source ) {
+         List< JsonArrayHandle > arrayHandles = new ArrayList<>();
+         List< JsonHandle > elementHandles = new ArrayList<>();
+         for ( JsonHandle handle : source ) {
+            if ( handle instanceof JsonArrayHandle ) {
+               arrayHandles.add( ( JsonArrayHandle )handle );
+            } else {
+               elementHandles.add( handle );
+            }
+         }
+         
+         this.source = source;
+         this.arrayHandles = arrayHandles.toArray( new JsonArrayHandle[ arrayHandles.size() ] );
+         if ( elementHandles.isEmpty() ) {
+            this.elementHandle = null;
+         } else if ( elementHandles.size() == 1 ) {
+            this.elementHandle = elementHandles.get( 0 );
+         } else {
+            this.elementHandle = new JsonHandleComposite( elementHandles.toArray( new JsonHandle[ elementHandles.size() ] ) );
+         }
+      }//End Constructor
+
+   }//End Class
+
+}//End Class
@@ -0,0 +1,108 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.json.JSONArray;
+
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * The {@link JsonArrayParallelism} configures a {@link JsonParser} to navigate the elements of large
+ * {@link JSONArray}s in portions on a {@link ForkJoinPool}. Delivery to the {@link JsonHandle}s is either:
+ * <ul>
+ *    <li>ordered, where portions are navigated in parallel but every {@link JsonHandle} call is made on the 
+ *    parsing thread in element order, so {@link JsonHandle}s need not be thread safe. The calls are recorded
+ *    and replayed, so the work of the {@link JsonHandle}s themselves is not parallel;</li>
+ *    <li>unordered, where {@link JsonHandle}s are called directly from the pool threads, in any order, and 
+ *    must therefore be thread safe.</li>
+ * </ul>
+ * Alternatively, a {@link Supplier} of {@link JsonParser}s can provide separate {@link JsonHandle}s for each 
+ * portion, in which case each element is parsed by the supplied {@link JsonParser} as an object in its own right.
+ * In all cases {@link JsonHandle#startedArray(String)} and {@link JsonHandle#finishedArray(String)} are called on 
+ * the parsing thread before and after all elements.
+ */
+public final class JsonArrayParallelism {
+
+   private final int threshold;
+   private final boolean ordered;
+   private final ForkJoinPool pool;
+   private final Supplier< JsonParser > elementParsers;
+
+   /**
+    * Constructs a new {@link JsonArrayParallelism} using the common {@link ForkJoinPool} and the
+    * {@link JsonHandle}s of the {@link JsonParser} it is applied to.
+    * @param threshold the minimum number of elements for an array to be navigated in parallel.
+    * @param ordered whether {@link JsonHandle}s are called in element order on the parsing thread.
+    */
+   public JsonArrayParallelism( int threshold, boolean ordered ) {
+      this( threshold, ordered, ForkJoinPool.commonPool(), null );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonArrayParallelism}.
+    * @param threshold the minimum number of elements for an array to be navigated in parallel.
+    * @param ordered whether {@link JsonHandle}s are called in element order on the parsing thread.
+    * @param pool the {@link ForkJoinPool} to navigate on.
+    * @param elementParsers the {@link Supplier} of a {@link JsonParser} for each portion of an array, null
+    * to use the {@link JsonHandle}s of the {@link JsonParser} the parallelism is applied to.
+    */
+   public JsonArrayParallelism( int threshold, boolean ordered, ForkJoinPool pool, Supplier< JsonParser > elementParsers ) {
+      JsonArrayPortions.verify( threshold, pool );
+      this.threshold = threshold;
+      this.ordered = ordered;
+      this.pool = pool;
+      this.elementParsers = elementParsers;
+   }//End Constructor
+
+   /**
+    * Getter for the minimum number of elements for an array to be navigated in parallel.
+    * @return the threshold.
+    */
+   public int getThreshold() {
+      return threshold;
+   }//End Method
+
+   /**
+    * Getter for whether {@link JsonHandle}s are called in element order on the parsing thread.
+    * @return true if ordered.
+    */
+   public boolean isOrdered() {
+      return ordered;
+   }//End Method
+
+   /**
+    * Getter for the {@link ForkJoinPool} to navigate on.
+    * @return the {@link ForkJoinPool}.
+    */
+   public ForkJoinPool getPool() {
+      return pool;
+   }//End Method
+
+   /**
+    * Getter for the {@link Supplier} of {@link JsonParser}s for each portion.
+    * @return the {@link Supplier}, null if the {@link JsonParser} applied to should be used.
+    */
+   public Supplier< JsonParser > getElementParsers() {
+      return elementParsers;
+   }//End Method
+
+   /**
+    * Method to determine the number of elements in each portion of an array.
+    * @param length the length of the array.
+    * @return the number of elements per portion.
+    */
+   int portionSize( int length ) {
+      return JsonArrayPortions.portionSize( pool, length );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,65 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.json.JSONArray;
+
+/**
+ * The {@link JsonArrayPortions} divide large {@link JSONArray}s into portions of elements processed concurrently
+ * on a {@link ForkJoinPool}, with a number of portions for each thread of the pool so that threads finishing
+ * early can take on more. Parsing and writing divide arrays the same way.
+ */
+final class JsonArrayPortions {
+
+   static final int PORTIONS_PER_THREAD = 4;
+
+   /**
+    * Constructs a new {@link JsonArrayPortions}, not to be used.
+    */
+   private JsonArrayPortions() {}
+
+   /**
+    * Method to verify the configuration for dividing {@link JSONArray}s is valid.
+    * @param threshold the minimum number of elements for an array to be divided.
+    * @param pool the {@link ForkJoinPool} to process the portions on.
+    * @throws IllegalArgumentException if the threshold is not positive or the {@link ForkJoinPool} is null.
+    */
+   static void verify( int threshold, ForkJoinPool pool ) {
+      verifyThreshold( threshold );
+      if ( pool == null ) {
+         throw new IllegalArgumentException( "Cannot use null ForkJoinPool." );
+      }
+   }//End Method
+
+   /**
+    * Method to verify the threshold for dividing {@link JSONArray}s is valid.
+    * @param threshold the minimum number of elements for an array to be divided.
+    * @throws IllegalArgumentException if the threshold is not positive.
+    */
+   static void verifyThreshold( int threshold ) {
+      if ( threshold < 1 ) {
+         throw new IllegalArgumentException( "Threshold must be positive." );
+      }
+   }//End Method
+
+   /**
+    * Method to determine the number of elements in each portion of an array processed on the given {@link ForkJoinPool}.
+    * @param pool the {@link ForkJoinPool} to process the portions on.
+    * @param length the length of the array.
+    * @return the number of elements per portion, at least 1.
+    */
+   static int portionSize( ForkJoinPool pool, int length ) {
+      int portions = pool.getParallelism() * PORTIONS_PER_THREAD;
+      return Math.max( 1, ( length + portions - 1 ) / portions );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,342 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * The {@link JsonEventRecorder} records the calls made to {@link JsonHandle}s so that they can be
+ * replayed later, in the same order, on another thread. Calls are recorded in groups, each being the calls
+ * made for a key as an object or array is started or finished or a value is handled, so that the nesting
+ * is known and {@link JsonParseSignal}s thrown on replay are honoured as they would be when parsing. Calls
+ * are held in arrays reused as the recording grows, rather than as an object per call.
+ */
+class JsonEventRecorder {
+
+   static final int INITIAL_CAPACITY = 64;
+
+   private static final byte STARTED = 0;
+   private static final byte FINISHED = 1;
+   private static final byte VALUE = 2;
+   private static final byte STARTED_OBJECT = 3;
+   private static final byte FINISHED_OBJECT = 4;
+   private static final byte STARTED_ARRAY = 5;
+   private static final byte FINISHED_ARRAY = 6;
+   private static final byte HANDLE_OBJECT = 7;
+   private static final byte HANDLE_ARRAY = 8;
+   private static final byte HANDLE_WHOLE_ARRAY = 9;
+
+   private final Map< JsonHandle, JsonHandle > recordingHandles;
+   private byte[] kinds;
+   private JsonHandle[] handles;
+   private String[] keys;
+   private Object[] values;
+   private int[] indices;
+   private int size;
+   private int calls;
+
+   /**
+    * Constructs a new {@link JsonEventRecorder}.
+    */
+   JsonEventRecorder() {
+      this.recordingHandles = new IdentityHashMap<>();
+      this.kinds = new byte[ INITIAL_CAPACITY ];
+      this.handles = new JsonHandle[ INITIAL_CAPACITY ];
+      this.keys = new String[ INITIAL_CAPACITY ];
+      this.values = new Object[ INITIAL_CAPACITY ];
+      this.indices = new int[ INITIAL_CAPACITY ];
+   }//End Constructor
+
+   /**
+    * Method to get a {@link JsonHandle} that records each call for the given {@link JsonHandle}, being
+    * a {@link JsonArrayHandle} if the given is.
+    * @param handle the {@link JsonHandle} to record for.
+    * @return the recording {@link JsonHandle}.
+    */
+   JsonHandle record( JsonHandle handle ) {
+      return recordingHandles.computeIfAbsent( handle, h ->
+               h instanceof JsonArrayHandle ? new RecordingArrayHandle( ( JsonArrayHandle )h ) : new RecordingHandle( h )
+      );
+   }//End Method
+
+   /**
+    * Method to begin the group of calls made as an object or array is started, being one level deeper until
+    * the matching {@link #groupFinished()}.
+    */
+   void groupStarted() {
+      add( STARTED, null, null, null, 0 );
+   }//End Method
+
+   /**
+    * Method to begin the group of calls made as an object or array is finished.
+    */
+   void groupFinished() {
+      add( FINISHED, null, null, null, 0 );
+   }//End Method
+
+   /**
+    * Method to begin the group of calls made as a value is handled.
+    */
+   void groupValue() {
+      add( VALUE, null, null, null, 0 );
+   }//End Method
+
+   /**
+    * Method to make all recorded calls, in the order recorded, clearing them. Every call in a group is made before
+    * a skipping {@link JsonParseSignal} thrown by one of them is honoured, as when parsing:
+    * {@link JsonParseSignal#SKIP_SUBTREE} on starting skips the calls within, though not the finishing, and
+    * {@link JsonParseSignal#SKIP_SIBLINGS} skips the remaining calls within the enclosing object or array.
+    * @throws JsonParseSignal {@link JsonParseSignal#STOP} if thrown by a call, leaving the remaining calls unmade,
+    * or {@link JsonParseSignal#SKIP_SIBLINGS} if it skipped the remaining calls outside of any group started.
+    */
+   void replay() {
+      try {
+         int depth = 0;
+         boolean skipping = false;
+         int skipTo = 0;
+         boolean skippingSiblings = false;
+
+         int event = 0;
+         while ( event < size ) {
+            byte group = kinds[ event ] > VALUE ? VALUE : kinds[ event ];
+            int first = kinds[ event ] > VALUE ? event : event + 1;
+            int end = first;
+            while ( end < size && kinds[ end ] > VALUE ) {
+               end++;
+            }
+
+            if ( group == STARTED ) {
+               depth++;
+            } else if ( group == FINISHED ) {
+               depth--;
+            }
+            if ( skipping && ( group != FINISHED || depth != skipTo ) ) {
+               event = end;
+               continue;
+            }
+
+            boolean finishingSkipped = skipping;
+            skipping = false;
+            JsonParseSignal skip = callGroup( first, end );
+            event = end;
+
+            if ( group == STARTED && skip != null ) {
+               skipping = true;
+               skipTo = depth - 1;
+               skippingSiblings = skip == JsonParseSignal.SKIP_SIBLINGS;
+            } else if ( skip == JsonParseSignal.SKIP_SIBLINGS || ( finishingSkipped && skippingSiblings ) ) {
+               skipping = true;
+               skipTo = depth - 1;
+               skippingSiblings = false;
+            }
+         }
+
+         if ( skipping && skipTo < 0 ) {
+            throw JsonParseSignal.SKIP_SIBLINGS;
+         }
+      } finally {
+         clear();
+      }
+   }//End Method
+
+   /**
+    * Method to make the calls of a group, making all before any skipping {@link JsonParseSignal} is honoured.
+    * @param from the first call, inclusive.
+    * @param to the last call, exclusive.
+    * @return the skipping {@link JsonParseSignal} thrown, combined as {@link JsonParseSignal#combine(JsonParseSignal, JsonParseSignal)},
+    * null if none.
+    * @throws JsonParseSignal {@link JsonParseSignal#STOP} if thrown by a call.
+    */
+   private JsonParseSignal callGroup( int from, int to ) {
+      JsonParseSignal skip = null;
+      for ( int event = from; event < to; event++ ) {
+         try {
+            call( event );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      return skip;
+   }//End Method
+
+   /**
+    * Method to make the given recorded call.
+    * @param event the index of the call.
+    */
+   private void call( int event ) {
+      JsonHandle handle = handles[ event ];
+      String key = keys[ event ];
+      switch ( kinds[ event ] ) {
+         case STARTED_OBJECT:
+            handle.startedObject( key );
+            break;
+         case FINISHED_OBJECT:
+            handle.finishedObject( key );
+            break;
+         case STARTED_ARRAY:
+            handle.startedArray( key );
+            break;
+         case FINISHED_ARRAY:
+            handle.finishedArray( key );
+            break;
+         case HANDLE_OBJECT:
+            handle.handle( key, ( JSONObject )values[ event ] );
+            break;
+         case HANDLE_ARRAY:
+            handle.handle( key, ( JSONArray )values[ event ], indices[ event ] );
+            break;
+         case HANDLE_WHOLE_ARRAY:
+            ( ( JsonArrayHandle )handle ).handleArray( key, ( JSONArray )values[ event ] );
+            break;
+         default:
+            break;
+      }
+   }//End Method
+
+   /**
+    * Getter for the number of calls recorded.
+    * @return the number of calls.
+    */
+   int size() {
+      return calls;
+   }//End Method
+
+   /**
+    * Method to record an event, growing the arrays if full.
+    * @param kind the kind of event.
+    * @param handle the {@link JsonHandle} to call, null for the start of a group.
+    * @param key the key to call with.
+    * @param value the {@link JSONObject} or {@link JSONArray} to call with, if any.
+    * @param index the index in the {@link JSONArray} to call with, if any.
+    */
+   private void add( byte kind, JsonHandle handle, String key, Object value, int index ) {
+      if ( size == kinds.length ) {
+         int capacity = size * 2;
+         kinds = Arrays.copyOf( kinds, capacity );
+         handles = Arrays.copyOf( handles, capacity );
+         keys = Arrays.copyOf( keys, capacity );
+         values = Arrays.copyOf( values, capacity );
+         indices = Arrays.copyOf( indices, capacity );
+      }
+      kinds[ size ] = kind;
+      handles[ size ] = handle;
+      keys[ size ] = key;
+      values[ size ] = value;
+      indices[ size ] = index;
+      size++;
+      if ( handle != null ) {
+         calls++;
+      }
+   }//End Method
+
+   /**
+    * Method to clear the events recorded, releasing what they refer to.
+    */
+   private void clear() {
+      Arrays.fill( handles, 0, size, null );
+      Arrays.fill( keys, 0, size, null );
+      Arrays.fill( values, 0, size, null );
+      size = 0;
+      calls = 0;
+   }//End Method
+
+   /**
+    * The {@link RecordingHandle} records the calls for a single {@link JsonHandle}.
+    */
+   private class RecordingHandle implements JsonHandle {
+
+      private final JsonHandle handle;
+
+      /**
+       * Constructs a new {@link RecordingHandle}.
+       * @param handle the {@link JsonHandle} to record for.
+       */
+      private RecordingHandle( JsonHandle handle ) {
+         this.handle = handle;
+      }//End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void startedObject( String key ) {
+         add( STARTED_OBJECT, handle, key, null, 0 );
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finishedObject( String key ) {
+         add( FINISHED_OBJECT, handle, key, null, 0 );
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void startedArray( String key ) {
+         add( STARTED_ARRAY, handle, key, null, 0 );
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finishedArray( String key ) {
+         add( FINISHED_ARRAY, handle, key, null, 0 );
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void handle( String key, JSONObject object ) {
+         add( HANDLE_OBJECT, handle, key, object, 0 );
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void handle( String key, JSONArray object, int index ) {
+         add( HANDLE_ARRAY, handle, key, object, index );
+      }//End Method
+
+   }//End Class
+
+   /**
+    * The {@link RecordingArrayHandle} records the calls for a single {@link JsonArrayHandle}.
+    */
+   private class RecordingArrayHandle extends RecordingHandle implements JsonArrayHandle {
+
+      private final JsonArrayHandle handle;
+
+      /**
+       * Constructs a new {@link RecordingArrayHandle}.
+       * @param handle the {@link JsonArrayHandle} to record for.
+       */
+      private RecordingArrayHandle( JsonArrayHandle handle ) {
+         super( handle );
+         this.handle = handle;
+      }//End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void handleArray( String key, JSONArray array ) {
+         add( HANDLE_WHOLE_ARRAY, handle, key, array, 0 );
+      }//End Method
+
+   }//End Class
+
+}//End Class
@@ -0,0 +1,176 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link JsonFragmentCache} holds the json text last written for nodes of a {@link JsonStructure}, so that
+ * {@link JsonParser#writeStream(JsonStructure, uk.dangrew.jupa.json.stream.JsonWriter, JsonFragmentCache)} can
+ * write a subtree that has not changed without calling its {@link uk.dangrew.jupa.json.JsonHandle}s again.
+ * Each node tracked has a version, such as a counter the model increments whenever anything in the subtree
+ * changes, and its text is reused only while the version is unchanged and it is written at the same level
+ * of indentation. A node can also be marked dirty with {@link #invalidate(String)}. Only nodes that are not
+ * within an array are cached, being written once in the json. The {@link JsonFragmentCache} is thread safe,
+ * so that it can be shared by the members of the root written concurrently with a {@link JsonWriteParallelism}.
+ */
+public class JsonFragmentCache {
+
+   private final Map< String, LongSupplier > versions;
+   private final Map< String, Fragment > fragments;
+   private long hits;
+   private long misses;
+
+   /**
+    * Constructs a new {@link JsonFragmentCache}.
+    */
+   public JsonFragmentCache() {
+      this.versions = new HashMap<>();
+      this.fragments = new HashMap<>();
+   }//End Constructor
+
+   /**
+    * Method to track the given node, caching the json written for it while the version is unchanged.
+    * @param node the unique id of the node in the {@link JsonStructure}.
+    * @param version the {@link LongSupplier} of the version of the subtree, which must change when it changes.
+    */
+   public synchronized void track( String node, LongSupplier version ) {
+      if ( node == null || version == null ) {
+         throw new IllegalArgumentException( "Must provide non null node and version." );
+      }
+      versions.put( node, version );
+      fragments.remove( node );
+   }//End Method
+
+   /**
+    * Method to stop tracking the given node, discarding any json cached for it.
+    * @param node the unique id of the node.
+    */
+   public synchronized void untrack( String node ) {
+      versions.remove( node );
+      fragments.remove( node );
+   }//End Method
+
+   /**
+    * Method to determine whether the given node is tracked.
+    * @param node the unique id of the node.
+    * @return true if tracked.
+    */
+   public synchronized boolean isTracked( String node ) {
+      return versions.containsKey( node );
+   }//End Method
+
+   /**
+    * Method to mark the given node dirty, so that it is written again regardless of its version.
+    * @param node the unique id of the node.
+    */
+   public synchronized void invalidate( String node ) {
+      fragments.remove( node );
+   }//End Method
+
+   /**
+    * Method to mark every node dirty.
+    */
+   public synchronized void invalidate() {
+      fragments.clear();
+   }//End Method
+
+   /**
+    * Getter for the number of times json cached has been written.
+    * @return the number of hits.
+    */
+   public synchronized long getHits() {
+      return hits;
+   }//End Method
+
+   /**
+    * Getter for the number of times a tracked node has had to be written again.
+    * @return the number of misses.
+    */
+   public synchronized long getMisses() {
+      return misses;
+   }//End Method
+
+   /**
+    * Method to get the current version of the given node.
+    * @param node the unique id of the node, which must be tracked.
+    * @return the version.
+    */
+   synchronized long version( String node ) {
+      return versions.get( node ).getAsLong();
+   }//End Method
+
+   /**
+    * Method to get the json cached for the given node, if still valid.
+    * @param node the unique id of the node.
+    * @param version the current version of the node.
+    * @param indentFactor the indent factor being written with.
+    * @param level the level of indentation being written at.
+    * @return the json, or null if it must be written again.
+    */
+   synchronized String fragment( String node, long version, int indentFactor, int level ) {
+      Fragment fragment = fragments.get( node );
+      if ( fragment == null
+               || fragment.version != version
+               || fragment.indentFactor != indentFactor
+               || fragment.level != level
+      ) {
+         misses++;
+         return null;
+      }
+      hits++;
+      return fragment.json;
+   }//End Method
+
+   /**
+    * Method to cache the json written for the given node.
+    * @param node the unique id of the node.
+    * @param version the version of the node when written.
+    * @param indentFactor the indent factor written with.
+    * @param level the level of indentation written at.
+    * @param json the json written.
+    */
+   synchronized void store( String node, long version, int indentFactor, int level, String json ) {
+      if ( versions.containsKey( node ) ) {
+         fragments.put( node, new Fragment( version, indentFactor, level, json ) );
+      }
+   }//End Method
+
+   /**
+    * The {@link Fragment} is the json written for a node with the conditions it is valid under.
+    */
+   private static class Fragment {
+
+      private final long version;
+      private final int indentFactor;
+      private final int level;
+      private final String json;
+
+      /**
+       * Constructs a new {@link Fragment}.
+       * @param version the version of the node when written.
+       * @param indentFactor the indent factor written with.
+       * @param level the level of indentation written at.
+       * @param json the json written.
+       */
+      private Fragment( long version, int indentFactor, int level, String json ) {
+         this.version = version;
+         this.indentFactor = indentFactor;
+         this.level = level;
+         this.json = json;
+      }//End Constructor
+
+   }//End Class
+
+}//End Class
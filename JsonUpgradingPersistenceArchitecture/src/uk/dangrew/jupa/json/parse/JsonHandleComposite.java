@@ -0,0 +1,207 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * The {@link JsonHandleComposite} calls each of a number of {@link JsonHandle}s in order, held in a single
+ * flat array so that the cost of each call is a loop however many {@link JsonHandle}s are combined. Any
+ * {@link JsonHandleComposite} combined is flattened into its {@link JsonHandle}s at the time. Changes copy 
+ * the array, so calls in progress are unaffected by them. {@link JsonArrayHandle}s can only be combined in a
+ * {@link JsonArrayHandleComposite}, as chosen by {@link #of(JsonHandle...)}.
+ */
+public class JsonHandleComposite implements JsonHandle {
+
+   private volatile JsonHandle[] handles;
+   
+   /**
+    * Constructs a new {@link JsonHandleComposite}.
+    * @param handles the {@link JsonHandle}s to call, in order.
+    */
+   public JsonHandleComposite( JsonHandle... handles ) {
+      this.handles = new JsonHandle[ 0 ];
+      for ( JsonHandle handle : handles ) {
+         add( handle );
+      }
+   }//End Constructor
+   
+   /**
+    * Method to combine the given {@link JsonHandle}s, in a {@link JsonArrayHandleComposite} if any is a 
+    * {@link JsonArrayHandle} so that it is still given each {@link JSONArray} whole.
+    * @param handles the {@link JsonHandle}s to call, in order.
+    * @return the {@link JsonHandleComposite}.
+    */
+   public static JsonHandleComposite of( JsonHandle... handles ) {
+      for ( JsonHandle handle : handles ) {
+         for ( JsonHandle flattened : flatten( handle ) ) {
+            if ( flattened instanceof JsonArrayHandle ) {
+               return new JsonArrayHandleComposite( handles );
+            }
+         }
+      }
+      return new JsonHandleComposite( handles );
+   }//End Method
+   
+   /**
+    * Method to flatten the given {@link JsonHandle} into those it calls.
+    * @param handle the {@link JsonHandle}.
+    * @return the {@link JsonHandle}s to combine.
+    * @throws IllegalArgumentException if null.
+    */
+   private static JsonHandle[] flatten( JsonHandle handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Cannot combine null JsonHandle." );
+      }
+      if ( handle instanceof JsonHandleComposite ) {
+         return ( ( JsonHandleComposite )handle ).handles;
+      }
+      return new JsonHandle[]{ handle };
+   }//End Method
+   
+   /**
+    * Method to verify the given {@link JsonHandle}s can be combined in this {@link JsonHandleComposite}.
+    * @param added the {@link JsonHandle}s to add.
+    * @throws IllegalArgumentException if any is a {@link JsonArrayHandle} and this is not a {@link JsonArrayHandle}.
+    */
+   private void verifyCombinable( JsonHandle[] added ) {
+      if ( this instanceof JsonArrayHandle ) {
+         return;
+      }
+      for ( JsonHandle handle : added ) {
+         if ( handle instanceof JsonArrayHandle ) {
+            throw new IllegalArgumentException( "Cannot combine JsonArrayHandle outside of a JsonArrayHandleComposite." );
+         }
+      }
+   }//End Method
+   
+   /**
+    * Method to add the given {@link JsonHandle} to be called after those already combined.
+    * @param handle the {@link JsonHandle} to add.
+    * @throws IllegalArgumentException if a {@link JsonArrayHandle} and this is not a {@link JsonArrayHandleComposite}.
+    */
+   public synchronized void add( JsonHandle handle ) {
+      JsonHandle[] added = flatten( handle );
+      verifyCombinable( added );
+      JsonHandle[] combined = Arrays.copyOf( handles, handles.length + added.length );
+      System.arraycopy( added, 0, combined, handles.length, added.length );
+      handles = combined;
+   }//End Method
+   
+   /**
+    * Method to add the given {@link JsonHandle} to be called before those already combined.
+    * @param handle the {@link JsonHandle} to add.
+    * @throws IllegalArgumentException if a {@link JsonArrayHandle} and this is not a {@link JsonArrayHandleComposite}.
+    */
+   public synchronized void addFirst( JsonHandle handle ) {
+      JsonHandle[] added = flatten( handle );
+      verifyCombinable( added );
+      JsonHandle[] combined = Arrays.copyOf( added, added.length + handles.length );
+      System.arraycopy( handles, 0, combined, added.length, handles.length );
+      handles = combined;
+   }//End Method
+   
+   /**
+    * Method to remove the first occurrence of the given {@link JsonHandle}.
+    * @param handle the {@link JsonHandle} to remove.
+    * @return true if removed, false if not combined.
+    */
+   public synchronized boolean remove( JsonHandle handle ) {
+      JsonHandle[] current = handles;
+      for ( int i = 0; i < current.length; i++ ) {
+         if ( current[ i ] == handle ) {
+            JsonHandle[] removed = Arrays.copyOf( current, current.length - 1 );
+            System.arraycopy( current, i + 1, removed, i, current.length - i - 1 );
+            handles = removed;
+            return true;
+         }
+      }
+      return false;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonHandle}s combined.
+    * @return an unmodifiable {@link List} of the {@link JsonHandle}s, in the order called.
+    */
+   public List< JsonHandle > getHandles() {
+      return Collections.unmodifiableList( Arrays.asList( handles ) );
+   }//End Method
+   
+   /**
+    * Getter for the array of {@link JsonHandle}s currently combined, replaced rather than changed when they change.
+    * @return the array, not to be modified.
+    */
+   JsonHandle[] handles() {
+      return handles;
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedObject( String key ) {
+      for ( JsonHandle handle : handles ) {
+         handle.startedObject( key );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedObject( String key ) {
+      for ( JsonHandle handle : handles ) {
+         handle.finishedObject( key );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedArray( String key ) {
+      for ( JsonHandle handle : handles ) {
+         handle.startedArray( key );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedArray( String key ) {
+      for ( JsonHandle handle : handles ) {
+         handle.finishedArray( key );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONObject object ) {
+      for ( JsonHandle handle : handles ) {
+         handle.handle( key, object );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONArray object, int index ) {
+      for ( JsonHandle handle : handles ) {
+         handle.handle( key, object, index );
+      }
+   }//End Method
+
+}//End Class
@@ -0,0 +1,105 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * The {@link JsonHandleDispatch} is an immutable, open addressed table of {@link JsonHandle}s
+ * against their keys. Keys are interned when the table is built so that keys shared with the
+ * json source match by identity, and an unregistered key is rejected as soon as an empty slot
+ * is found. Once constructed it is safe to read from any number of threads.
+ */
+class JsonHandleDispatch {
+
+   private final String[] keys;
+   private final int[] hashes;
+   private final JsonHandle[] values;
+   private final int mask;
+   private final int size;
+
+   /**
+    * Constructs a new {@link JsonHandleDispatch}.
+    * @param handles the {@link JsonHandle}s registered against their keys, copied at construction.
+    */
+   JsonHandleDispatch( Map< String, JsonHandle > handles ) {
+      int capacity = 2;
+      while ( capacity < handles.size() * 2 ) {
+         capacity <<= 1;
+      }
+
+      this.keys = new String[ capacity ];
+      this.hashes = new int[ capacity ];
+      this.values = new JsonHandle[ capacity ];
+      this.mask = capacity - 1;
+
+      int count = 0;
+      for ( Entry< String, JsonHandle > entry : handles.entrySet() ) {
+         if ( entry.getKey() == null || entry.getValue() == null ) {
+            continue;
+         }
+
+         String key = entry.getKey().intern();
+         int hash = spread( key.hashCode() );
+         int index = hash & mask;
+         while ( keys[ index ] != null ) {
+            index = ( index + 1 ) & mask;
+         }
+         keys[ index ] = key;
+         hashes[ index ] = hash;
+         values[ index ] = entry.getValue();
+         count++;
+      }
+      this.size = count;
+   }//End Constructor
+
+   /**
+    * Method to spread the bits of a hash code so that similar keys do not cluster.
+    * @param hash the hash code.
+    * @return the spread hash.
+    */
+   private static int spread( int hash ) {
+      return hash ^ ( hash >>> 16 );
+   }//End Method
+
+   /**
+    * Method to find the {@link JsonHandle} for the given key.
+    * @param key the key to look up.
+    * @return the {@link JsonHandle} registered, or null if there is none.
+    */
+   JsonHandle get( String key ) {
+      if ( key == null ) {
+         return null;
+      }
+
+      int hash = spread( key.hashCode() );
+      int index = hash & mask;
+      String candidate;
+      while ( ( candidate = keys[ index ] ) != null ) {
+         if ( candidate == key || ( hashes[ index ] == hash && candidate.equals( key ) ) ) {
+            return values[ index ];
+         }
+         index = ( index + 1 ) & mask;
+      }
+      return null;
+   }//End Method
+
+   /**
+    * Getter for the number of {@link JsonHandle}s in the table.
+    * @return the number of registrations.
+    */
+   int size() {
+      return size;
+   }//End Method
+
+}//End Class
@@ -0,0 +1,32 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import org.json.JSONObject;
+
+/**
+ * The {@link JsonKeyOrdering} defines the order in which the {@link JsonParser} visits the keys
+ * of each {@link JSONObject} it parses.
+ */
+public enum JsonKeyOrdering {
+
+   /** Keys are visited in alphabetical order, giving a predictable order regardless of source. */
+   ALPHABETICAL,
+   /** 
+    * Keys are visited in the order of the document, as read by {@link JsonParser#parseStream(java.io.Reader)} or
+    * as recorded by the structure written by {@link JsonParser#writeStream(uk.dangrew.jupa.json.structure.JsonStructure, java.io.Writer)}.
+    * A {@link JSONObject} does not keep the order its keys were read in, so {@link JsonParser#parse(JSONObject)} 
+    * cannot honour this and visits keys as {@link #ALPHABETICAL} instead, keeping the order predictable.
+    */
+   DOCUMENT,
+   /** Keys are visited in whatever order is cheapest, with no guarantee. */
+   UNORDERED;
+
+}//End Enum
@@ -0,0 +1,97 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.function.BiConsumer;
+
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * The {@link JsonParseSignal} can be thrown by a {@link JsonHandle} while a {@link JsonParser} is parsing
+ * to end the parse early, or to skip part of the json, such as once a version key has been read. The signals
+ * are shared instances without stack traces, so throwing them costs no more than returning.
+ */
+public final class JsonParseSignal extends RuntimeException {
+
+   private static final long serialVersionUID = 1L;
+
+   /** Stops the parse immediately, no further {@link JsonHandle}s are called and no further input is read. */
+   public static final JsonParseSignal STOP = new JsonParseSignal( "Stop parsing." );
+   
+   /** 
+    * Skips the remaining keys of the object, or elements of the array, containing the key being handled. The
+    * containing object or array is still finished. When thrown on finishing an object or array, the remainder of
+    * the structure containing that object or array is skipped.
+    */
+   public static final JsonParseSignal SKIP_SIBLINGS = new JsonParseSignal( "Skip remaining siblings." );
+   
+   /** 
+    * Skips the object or array that has just been started, when thrown on starting it. It is not navigated, but
+    * is still finished so that every start is matched. Thrown at any other time, only the remainder of the current
+    * call is skipped.
+    */
+   public static final JsonParseSignal SKIP_SUBTREE = new JsonParseSignal( "Skip subtree." );
+   
+   /**
+    * Constructs a new {@link JsonParseSignal}.
+    * @param message the description of the signal.
+    */
+   private JsonParseSignal( String message ) {
+      super( message, null, false, false );
+   }//End Constructor
+   
+   /**
+    * Method to combine a skipping {@link JsonParseSignal} thrown by one of the {@link JsonHandle}s for a key with any
+    * already thrown by another for the same key, so that each is called before the skip is honoured. 
+    * {@link #SKIP_SIBLINGS} is preferred as it skips more, while {@link #STOP} is thrown immediately.
+    * @param skip the skipping {@link JsonParseSignal} already thrown, null if none.
+    * @param signal the {@link JsonParseSignal} thrown.
+    * @return the combined skipping {@link JsonParseSignal}, to throw once all are called.
+    */
+   static JsonParseSignal combine( JsonParseSignal skip, JsonParseSignal signal ) {
+      if ( signal == STOP ) {
+         throw signal;
+      }
+      return skip == SKIP_SIBLINGS ? skip : signal;
+   }//End Method
+   
+   /**
+    * Method to make the given call on the {@link JsonNavigation}s registered for the key and for the path of a key,
+    * calling both before honouring any skipping {@link JsonParseSignal}, as {@link #combine(JsonParseSignal, JsonParseSignal)}.
+    * @param call the call to make, such as {@link JsonNavigation#startedObject(String)}.
+    * @param key the key.
+    * @param handle the {@link JsonNavigation} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonNavigation} registered for the path, can be null.
+    */
+   static void callBoth( 
+            BiConsumer< JsonNavigation, String > call, String key, JsonNavigation handle, JsonNavigation scopedHandle 
+   ) {
+      JsonParseSignal skip = null;
+      if ( handle != null ) {
+         try {
+            call.accept( handle, key );
+         } catch ( JsonParseSignal signal ) {
+            skip = combine( skip, signal );
+         }
+      }
+      if ( scopedHandle != null ) {
+         try {
+            call.accept( scopedHandle, key );
+         } catch ( JsonParseSignal signal ) {
+            skip = combine( skip, signal );
+         }
+      }
+      if ( skip != null ) {
+         throw skip;
+      }
+   }//End Method
+   
+}//End Class
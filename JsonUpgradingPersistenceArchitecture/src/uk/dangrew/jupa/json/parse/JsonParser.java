@@ -9,17 +9,34 @@
  */
 package uk.dangrew.jupa.json.parse;
 
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import uk.dangrew.jupa.json.JsonArrayHandle;
 import uk.dangrew.jupa.json.JsonHandle;
 import uk.dangrew.jupa.json.JsonNavigation;
+import uk.dangrew.jupa.json.stream.JsonToken;
+import uk.dangrew.jupa.json.stream.JsonTokenizer;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.structure.JsonStructureCheck;
+import uk.dangrew.jupa.json.traversal.JsonTraversal;
+import uk.dangrew.jupa.json.traversal.JsonTraversalFrame;
 
 /**
  * The {@link JsonParser} provides a method of parsing a {@link JSONObject} notifying
@@ -28,13 +45,93 @@ import uk.dangrew.jupa.json.JsonNavigation;
 public class JsonParser {
    
    static final Comparator< String > ALPHABETICAL = ( a, b ) -> a.compareTo( b );
-   private Map< String, JsonHandle > handles;
+   private final Map< String, JsonHandle > handles;
+   private final JsonHandleDispatch dispatch;
+   private final Function< String, JsonHandle > lookup;
+   private final JsonPathNode paths;
+   private final JsonSortedKeyCache sortedKeys;
+   private final JsonEventRecorder recorder;
+   private final JsonStructureCheck check;
+   private JsonKeyOrdering keyOrdering;
+   private JsonArrayParallelism arrayParallelism;
+   private JsonWriteParallelism writeParallelism;
+   private JsonStringPool keyPool;
+   private boolean incompatible;
    
    /**
     * Constructs a new {@link JsonParser}.
     */
    public JsonParser() {
       handles = new HashMap<>();
+      dispatch = null;
+      lookup = handles::get;
+      paths = new JsonPathNode();
+      sortedKeys = new JsonSortedKeyCache();
+      recorder = null;
+      check = null;
+      keyOrdering = JsonKeyOrdering.ALPHABETICAL;
+   }//End Constructor
+   
+   /**
+    * Constructs a new compiled {@link JsonParser}.
+    * @param dispatch the {@link JsonHandleDispatch} frozen from the registrations.
+    * @param paths the {@link JsonPathNode} frozen from the path registrations.
+    * @param sortedKeys the {@link JsonSortedKeyCache} to share.
+    * @param keyOrdering the {@link JsonKeyOrdering} to parse with.
+    * @param arrayParallelism the {@link JsonArrayParallelism} to parse with.
+    * @param writeParallelism the {@link JsonWriteParallelism} to write with.
+    * @param keyPool the {@link JsonStringPool} for keys, can be null.
+    */
+   private JsonParser( 
+            JsonHandleDispatch dispatch, 
+            JsonPathNode paths, 
+            JsonSortedKeyCache sortedKeys, 
+            JsonKeyOrdering keyOrdering,
+            JsonArrayParallelism arrayParallelism,
+            JsonWriteParallelism writeParallelism,
+            JsonStringPool keyPool
+   ) {
+      this.handles = null;
+      this.dispatch = dispatch;
+      this.lookup = dispatch::get;
+      this.paths = paths;
+      this.sortedKeys = sortedKeys;
+      this.recorder = null;
+      this.check = null;
+      this.keyOrdering = keyOrdering;
+      this.arrayParallelism = arrayParallelism;
+      this.writeParallelism = writeParallelism;
+      this.keyPool = keyPool;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link JsonParser} to navigate part of an array in parallel, with the configuration
+    * of the given, but navigating sequentially.
+    * @param source the {@link JsonParser} to navigate as.
+    * @param recorder the {@link JsonEventRecorder} to record {@link JsonHandle} calls with, null to call directly.
+    */
+   private JsonParser( JsonParser source, JsonEventRecorder recorder ) {
+      this( source, recorder, null );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link JsonParser} with the configuration of the given, but navigating sequentially.
+    * @param source the {@link JsonParser} to navigate as.
+    * @param recorder the {@link JsonEventRecorder} to record {@link JsonHandle} calls with, null to call directly.
+    * @param check the {@link JsonStructureCheck} to check compatibility with while navigating, can be null.
+    */
+   private JsonParser( JsonParser source, JsonEventRecorder recorder, JsonStructureCheck check ) {
+      this.handles = source.handles;
+      this.dispatch = source.dispatch;
+      this.lookup = source.lookup;
+      this.paths = source.paths;
+      this.sortedKeys = source.sortedKeys;
+      this.recorder = recorder;
+      this.check = check;
+      this.keyOrdering = source.keyOrdering;
+      this.arrayParallelism = null;
+      this.writeParallelism = null;
+      this.keyPool = source.keyPool;
    }//End Constructor
 
    /**
@@ -42,208 +139,987 @@ public class JsonParser {
     * been found.
     * @param key the key to encounter.
     * @param handle the {@link JsonHandle} to trigger.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
     */
    public void when( String key, JsonHandle handle ) {
+      verifyNotCompiled();
       handles.put( key, handle );
    }//End Method
+   
+   /**
+    * Method to define the {@link JsonHandle} to trigger when the key at the end of the given path has
+    * been found, only where it is reached by the path from the root object. Paths are keys separated by '.',
+    * where a key holding an array may be written with '[]', such as 'users[].address.city'. Elements of an 
+    * array are reached through the key of the array. When only paths are registered, parsing skips any 
+    * object or array that no registered path continues into.
+    * @param path the path to the key to encounter.
+    * @param handle the {@link JsonHandle} to trigger.
+    * @throws IllegalArgumentException if the path is null or has an empty key.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
+    */
+   public void whenPath( String path, JsonHandle handle ) {
+      verifyNotCompiled();
+      paths.register( JsonPathNode.keysOf( path ), handle );
+   }//End Method
+   
+   /**
+    * Method to determine whether objects and arrays that no registered path continues into must still be
+    * navigated, because {@link JsonHandle}s are registered against keys or element {@link JsonParser}s
+    * may handle them.
+    * @return true if they should be navigated.
+    */
+   private boolean navigatesUnscoped() {
+      return hasKeyHandles() || ( arrayParallelism != null && arrayParallelism.getElementParsers() != null );
+   }//End Method
+   
+   /**
+    * Method to determine whether any {@link JsonHandle}s are registered against keys regardless of path,
+    * in which case every part of the json must be navigated.
+    * @return true if any are registered.
+    */
+   private boolean hasKeyHandles() {
+      return isCompiled() ? dispatch.size() > 0 : !handles.isEmpty();
+   }//End Method
+   
+   /**
+    * Method to set the {@link JsonKeyOrdering} in which the keys of each {@link JSONObject} are visited
+    * by {@link #parse(JSONObject)}, {@link JsonKeyOrdering#ALPHABETICAL} by default. Alphabetical ordering
+    * of objects with many keys is cached against the set of keys so that objects of the same shape are only 
+    * sorted once, smaller objects being sorted directly. 
+    * {@link #parseStream(Reader)} always visits keys in the order read. {@link JsonKeyOrdering#DOCUMENT} only applies
+    * to the streaming paths, {@link #parse(JSONObject)} visiting keys alphabetically for it as a {@link JSONObject}
+    * does not keep the order read.
+    * @param ordering the {@link JsonKeyOrdering} to use.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
+    */
+   public void setKeyOrdering( JsonKeyOrdering ordering ) {
+      if ( ordering == null ) {
+         throw new IllegalArgumentException( "Cannot use null JsonKeyOrdering." );
+      }
+      verifyNotCompiled();
+      this.keyOrdering = ordering;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonKeyOrdering} used by {@link #parse(JSONObject)}.
+    * @return the {@link JsonKeyOrdering}.
+    */
+   public JsonKeyOrdering getKeyOrdering() {
+      return keyOrdering;
+   }//End Method
+   
+   /**
+    * Method to set the {@link JsonArrayParallelism} for navigating large arrays with {@link #parse(JSONObject)}.
+    * Arrays within the elements of an array navigated in parallel are navigated sequentially. 
+    * Note that when ordered, every {@link JsonHandle} call is recorded by the pool threads and replayed
+    * on the calling thread, so only the traversal is parallel and the work done by the {@link JsonHandle}s
+    * remains sequential, with the recorded calls held in memory until replayed. Where the {@link JsonHandle}s
+    * do the bulk of the work, only unordered delivery or separate element {@link JsonParser}s spread it.
+    * {@link #parseStream(Reader)} always navigates sequentially.
+    * @param parallelism the {@link JsonArrayParallelism}, null to navigate all arrays sequentially, as by default.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
+    */
+   public void setArrayParallelism( JsonArrayParallelism parallelism ) {
+      verifyNotCompiled();
+      this.arrayParallelism = parallelism;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonArrayParallelism} used by {@link #parse(JSONObject)}.
+    * @return the {@link JsonArrayParallelism}, null if arrays are navigated sequentially.
+    */
+   public JsonArrayParallelism getArrayParallelism() {
+      return arrayParallelism;
+   }//End Method
+   
+   /**
+    * Method to set the {@link JsonWriteParallelism} for writing the members of the root concurrently with 
+    * {@link #writeStream(JsonStructure, JsonWriter)}. The json written is the same as written sequentially, but the
+    * {@link JsonHandle}s are called from the pool threads at the same time, so must be thread safe, and are no longer
+    * called in the order of the json: {@link JsonHandle#startedArray(String)} of a divided array is called on the 
+    * calling thread before earlier members are written. Each member of the root, and each element of a divided array, 
+    * is written to a {@link String} before being written out, so the text of the whole json is held in memory.
+    * @param parallelism the {@link JsonWriteParallelism}, null to write sequentially, as by default.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
+    */
+   public void setWriteParallelism( JsonWriteParallelism parallelism ) {
+      verifyNotCompiled();
+      this.writeParallelism = parallelism;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonWriteParallelism} used by {@link #writeStream(JsonStructure, JsonWriter)}.
+    * @return the {@link JsonWriteParallelism}, null if written sequentially.
+    */
+   public JsonWriteParallelism getWriteParallelism() {
+      return writeParallelism;
+   }//End Method
+   
+   /**
+    * Method to set the {@link JsonStringPool} that keys are resolved in before being given to {@link JsonHandle}s,
+    * so that handles retaining keys hold a single instance of each. Keys read by {@link #parseStream(Reader)} 
+    * are otherwise a new {@link String} each time they are read.
+    * @param pool the {@link JsonStringPool}, null to provide keys as parsed, as by default.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
+    */
+   public void setKeyPool( JsonStringPool pool ) {
+      verifyNotCompiled();
+      this.keyPool = pool;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonStringPool} keys are resolved in.
+    * @return the {@link JsonStringPool}, null if keys are provided as parsed.
+    */
+   public JsonStringPool getKeyPool() {
+      return keyPool;
+   }//End Method
+   
+   /**
+    * Method to compile the current {@link #when(String, JsonHandle)}, {@link #whenPath(String, JsonHandle)},
+    * {@link #intercept(String, JsonHandle)}, {@link #setKeyOrdering(JsonKeyOrdering)} and 
+    * {@link #setArrayParallelism(JsonArrayParallelism)}, {@link #setWriteParallelism(JsonWriteParallelism)} and 
+    * {@link #setKeyPool(JsonStringPool)} configuration into a new {@link JsonParser} that cannot be changed. The compiled {@link JsonParser}
+    * resolves each key with a single lookup in an immutable table and can be shared between threads, 
+    * providing the {@link JsonHandle}s themselves are safe to share. This {@link JsonParser} is unaffected 
+    * and can continue to be configured.
+    * @return the compiled {@link JsonParser}.
+    */
+   public JsonParser compile() {
+      if ( isCompiled() ) {
+         return this;
+      }
+      return new JsonParser( new JsonHandleDispatch( handles ), paths.freeze(), sortedKeys, keyOrdering, arrayParallelism, writeParallelism, keyPool );
+   }//End Method
+   
+   /**
+    * Method to determine whether this {@link JsonParser} has been produced by {@link #compile()}.
+    * @return true if compiled and therefore no longer configurable.
+    */
+   public boolean isCompiled() {
+      return dispatch != null;
+   }//End Method
+   
+   /**
+    * Method to verify that registrations can still be changed.
+    * @throws IllegalStateException if compiled.
+    */
+   private void verifyNotCompiled() {
+      if ( isCompiled() ) {
+         throw new IllegalStateException( "Cannot change the handles of a compiled JsonParser." );
+      }
+   }//End Method
 
    /**
     * Method to parse the given {@link JSONObject} according to the {@link #when(String, JsonHandle)}
-    * instructions provided.
+    * instructions provided, visiting keys in the configured {@link JsonKeyOrdering}. The {@link JSONObject}
+    * should not be changed by the {@link JsonHandle}s while being parsed. A {@link JsonHandle} can throw a
+    * {@link JsonParseSignal} to end the parse early or skip part of it.
     * @param jsonObject the {@link JSONObject} to parse.
     */
    public void parse( JSONObject jsonObject ) {
+      traverse( jsonObject ).run();
+   }//End Method
+   
+   /**
+    * Method to prepare the parsing of the given {@link JSONObject}, as {@link #parse(JSONObject)}, as a 
+    * {@link JsonTraversal} that can be run in parts, such as a number of keys at a time on a user interface
+    * thread. Nesting is navigated without recursion, so the depth of the json is not limited by the stack.
+    * @param jsonObject the {@link JSONObject} to parse.
+    * @return the {@link JsonTraversal} that parses when run.
+    */
+   public JsonTraversal traverse( JSONObject jsonObject ) {
       if ( jsonObject == null ) {
          throw new IllegalArgumentException( "Cannot parse null JSONObject." );
       }
       
-      List< String > keys = new ArrayList<>( jsonObject.keySet() );
-      keys.sort( ALPHABETICAL );
+      int root = check == null ? JsonStructureCheck.UNCHECKED : check.root();
+      return new JsonTraversal( new ObjectNavigation( null, jsonObject, null, null, paths, root ) );
+   }//End Method
+   
+   /**
+    * Method to parse the given {@link JSONObject}, as {@link #parse(JSONObject)}, only if it is compatible with
+    * the given {@link JsonStructure}, checking compatibility in the same pass as the {@link JSONObject} is
+    * navigated rather than before it. The calls to the {@link JsonHandle}s are recorded as the {@link JSONObject}
+    * is navigated and only made, in order, once the whole is known to be compatible, so no {@link JsonHandle} is
+    * called for incompatible json. {@link JsonParseSignal}s thrown by the calls are honoured as they are by
+    * {@link #parse(JSONObject)}. Arrays are navigated sequentially. Every call for the whole {@link JSONObject} is 
+    * held until it is known to be compatible, in memory proportional to the number of calls.
+    * @param jsonObject the {@link JSONObject} to parse.
+    * @param structure the {@link JsonStructure} the {@link JSONObject} must be compatible with.
+    * @return true if compatible and parsed, false if incompatible and no {@link JsonHandle} has been called.
+    */
+   public boolean parse( JSONObject jsonObject, JsonStructure structure ) {
+      if ( jsonObject == null || structure == null ) {
+         throw new IllegalArgumentException( "Cannot parse null JSONObject or check against null JsonStructure." );
+      }
+      
+      JsonStructureCheck structureCheck = structure.checker();
+      if ( !structureCheck.accepts( structureCheck.root(), jsonObject ) ) {
+         return false;
+      }
+      
+      JsonEventRecorder events = new JsonEventRecorder();
+      JsonParser checkingParser = new JsonParser( this, events, structureCheck );
+      checkingParser.traverse( jsonObject ).run();
+      if ( checkingParser.incompatible ) {
+         return false;
+      }
+      
+      try {
+         events.replay();
+      } catch ( JsonParseSignal signal ) {
+         //stopped, or the rest of the root skipped - remaining calls are not made
+      }
+      return true;
+   }//End Method
+   
+   /**
+    * Method to parse the json object read from the given {@link Reader} according to the 
+    * {@link #when(String, JsonHandle)} instructions provided, without building a {@link JSONObject} for it.
+    * Keys are encountered in the order they are read rather than alphabetically, and each value is given to 
+    * its {@link JsonHandle} in a {@link JSONObject} or {@link JSONArray} holding only that value, each element of
+    * an array being given with its index and held at that index, as by {@link #parse(JSONObject)}. When a
+    * {@link JsonHandle} throws {@link JsonParseSignal#STOP} nothing more is read from the {@link Reader}, and 
+    * skipped parts are read without being parsed.
+    * @param reader the {@link Reader} to parse.
+    * @throws org.json.JSONException if the input is not a valid json object.
+    */
+   public void parseStream( Reader reader ) {
+      if ( reader == null ) {
+         throw new IllegalArgumentException( "Cannot parse null Reader." );
+      }
       
-      for ( String key : keys ) {
-         handleKey( key, jsonObject );
+      new JsonStreamParser( lookup, paths, !hasKeyHandles(), keyPool ).parse( new JsonTokenizer( reader ) );
+   }//End Method
+   
+   /**
+    * Method to parse the UTF-8 json object read from the given {@link InputStream}, as {@link #parseStream(Reader)}.
+    * @param stream the {@link InputStream} to parse.
+    * @throws org.json.JSONException if the input is not a valid json object.
+    */
+   public void parseStream( InputStream stream ) {
+      if ( stream == null ) {
+         throw new IllegalArgumentException( "Cannot parse null InputStream." );
+      }
+      
+      parseStream( new InputStreamReader( stream, StandardCharsets.UTF_8 ) );
+   }//End Method
+   
+   /**
+    * Method to write the given {@link JsonStructure} to the given {@link JsonWriter} in a single pass, taking 
+    * values from the {@link JsonHandle}s registered, such as {@link uk.dangrew.jupa.json.write.handle.type.JsonWriteHandleImpl}s.
+    * The {@link JsonHandle}s are called as {@link #parse(JSONObject)} would call them for a {@link JSONObject} built
+    * from the {@link JsonStructure}, visiting keys alphabetically when that is the {@link JsonKeyOrdering} and
+    * otherwise in the order the {@link JsonStructure} records them, but neither that {@link JSONObject} nor 
+    * the text of the json is held in memory. Values no {@link JsonHandle} provides are written as null.
+    * @param structure the {@link JsonStructure} to write.
+    * @param writer the {@link JsonWriter} to write to, flushed once written.
+    * @throws JSONException if a value is not valid json or the output fails.
+    */
+   public void writeStream( JsonStructure structure, JsonWriter writer ) {
+      writeStream( structure, writer, null );
+   }//End Method
+   
+   /**
+    * Method to write the given {@link JsonStructure} to the given {@link JsonWriter}, as 
+    * {@link #writeStream(JsonStructure, JsonWriter)}, writing the nodes tracked by the given {@link JsonFragmentCache}
+    * from the json cached for them where unchanged since last written, and caching them otherwise.
+    * @param structure the {@link JsonStructure} to write.
+    * @param writer the {@link JsonWriter} to write to, flushed once written.
+    * @param fragments the {@link JsonFragmentCache}, can be null to write every node.
+    * @throws JSONException if a value is not valid json or the output fails.
+    */
+   public void writeStream( JsonStructure structure, JsonWriter writer, JsonFragmentCache fragments ) {
+      if ( structure == null || writer == null ) {
+         throw new IllegalArgumentException( "Cannot write with null JsonStructure or JsonWriter." );
+      }
+      
+      new JsonStreamWriter( lookup, paths, keyOrdering, fragments, writeParallelism ).write( structure, writer );
+      writer.flush();
+   }//End Method
+   
+   /**
+    * Method to write the given {@link JsonStructure} compactly to the given {@link Writer}, as 
+    * {@link #writeStream(JsonStructure, JsonWriter)}.
+    * @param structure the {@link JsonStructure} to write.
+    * @param writer the {@link Writer} to write to, which should be buffered.
+    * @throws JSONException if a value is not valid json or the output fails.
+    */
+   public void writeStream( JsonStructure structure, Writer writer ) {
+      if ( writer == null ) {
+         throw new IllegalArgumentException( "Cannot write to null Writer." );
+      }
+      
+      writeStream( structure, new JsonWriter( writer ) );
+   }//End Method
+   
+   /**
+    * Method to parse each json object read from the given {@link Reader}, as {@link #parseStream(Reader)}, where
+    * the objects are separated by new lines or simply concatenated. The same buffers are used for every record.
+    * When a {@link JsonHandle} throws {@link JsonParseSignal#STOP} the record is finished and no further records
+    * are read.
+    * @param reader the {@link Reader} to parse.
+    * @param listener the {@link JsonRecordListener} to notify of each record, can be null.
+    * @param skipInvalid whether to skip a record that is not valid json, resuming at the next line, rather than
+    * stopping.
+    * @return the number of records parsed successfully.
+    * @throws JSONException if a record is invalid and they are not being skipped.
+    */
+   public long parseRecords( Reader reader, JsonRecordListener listener, boolean skipInvalid ) {
+      if ( reader == null ) {
+         throw new IllegalArgumentException( "Cannot parse null Reader." );
+      }
+      
+      JsonRecordListener recordListener = listener == null ? new JsonRecordListener() {} : listener;
+      JsonTokenizer tokenizer = new JsonTokenizer( reader );
+      JsonStreamParser streamParser = new JsonStreamParser( lookup, paths, !hasKeyHandles(), keyPool );
+      
+      long record = 0;
+      long parsed = 0;
+      while ( true ) {
+         try {
+            JsonToken first = tokenizer.next();
+            if ( first == JsonToken.END_DOCUMENT ) {
+               return parsed;
+            }
+            
+            recordListener.recordStarted( record );
+            boolean complete = streamParser.parse( first, tokenizer );
+            recordListener.recordFinished( record );
+            parsed++;
+            if ( !complete ) {
+               return parsed;
+            }
+         } catch ( JSONException exception ) {
+            if ( !skipInvalid ) {
+               throw exception;
+            }
+            recordListener.recordSkipped( record, exception );
+            tokenizer.skipToNextLine();
+         }
+         record++;
+      }
+   }//End Method
+   
+   /**
+    * Method to parse each UTF-8 json object read from the given {@link InputStream}, as 
+    * {@link #parseRecords(Reader, JsonRecordListener, boolean)}.
+    * @param stream the {@link InputStream} to parse.
+    * @param listener the {@link JsonRecordListener} to notify of each record, can be null.
+    * @param skipInvalid whether to skip a record that is not valid json rather than stopping.
+    * @return the number of records parsed successfully.
+    * @throws JSONException if a record is invalid and they are not being skipped.
+    */
+   public long parseRecords( InputStream stream, JsonRecordListener listener, boolean skipInvalid ) {
+      if ( stream == null ) {
+         throw new IllegalArgumentException( "Cannot parse null InputStream." );
       }
+      
+      return parseRecords( new InputStreamReader( stream, StandardCharsets.UTF_8 ), listener, skipInvalid );
    }//End Method
    
    /**
-    * Method to handle a key when found. This will identify the {@link JsonHandle} 
-    * and trigger it if appropriate. It will also then navigate along the branches of
-    * the given object.
+    * Method to handle a key when found. This will identify the {@link JsonHandle}s 
+    * and trigger them if appropriate. It will also then navigate along the branches of
+    * the given object, unless no {@link JsonHandle} could be found along them.
     * @param key the key encountered.
     * @param parent the parent of the key.
+    * @param node the node of the parent in the {@link JsonStructureCheck}, if checking.
+    * @param scope the {@link JsonPathNode} reached by the parent, null if no path reaches it.
+    * @param traversal the {@link JsonTraversal} to navigate with.
     */
-   private void handleKey( String key, JSONObject parent ){
-      invokeHandleForObject( key, parent );
+   private void handleKey( String parsedKey, JSONObject parent, int node, JsonPathNode scope, JsonTraversal traversal ){
+      String key = keyPool == null ? parsedKey : keyPool.canonical( parsedKey );
+      JsonPathNode keyScope = scope == null ? null : scope.child( key );
+      JsonHandle handle = deliverTo( lookup.apply( key ) );
+      JsonHandle scopedHandle = keyScope == null ? null : deliverTo( keyScope.handle() );
       
       Object value = parent.get( key );
+      int child = JsonStructureCheck.UNCHECKED;
+      if ( check != null ) {
+         child = check.child( node, key );
+         if ( !check.accepts( child, value ) ) {
+            incompatible( traversal );
+            return;
+         }
+      }
       
       boolean isJsonObject = value instanceof JSONObject;
       boolean isJsonArray = value instanceof JSONArray;
       
-      if ( isJsonObject ) {
-         navigateObject( key, ( JSONObject ) value );
-      } else if ( isJsonArray ) {
-         navigateArray( key, ( JSONArray ) value );
+      if ( !isJsonObject && !isJsonArray ) {
+         invokeHandlesForObject( handle, scopedHandle, key, parent );
+      } else if ( keyScope == null && !navigatesUnscoped() ) {
+         //nothing registered within - skip
+         verifyCompatible( child, value, traversal );
+      } else if ( isJsonObject ) {
+         navigateObject( key, ( JSONObject ) value, handle, scopedHandle, keyScope, child, traversal );
       } else {
-         //nothing to navigate - hit value
+         navigateArray( key, ( JSONArray ) value, handle, scopedHandle, keyScope, child, traversal );
       }
    }//End Method
    
    /**
-    * Method to invoke the handle for the given key.
-    * @param key the key to invoke the handle for.
-    * @param parent the {@link JSONObject} parent for the handle to extract from.
+    * Method to verify that a value that is not navigated is compatible, if checking.
+    * @param node the node of the value in the {@link JsonStructureCheck}.
+    * @param value the value.
+    * @param traversal the {@link JsonTraversal} to stop if incompatible.
     */
-   private void invokeHandleForObject( String key, JSONObject parent ) {
-      if ( !handles.containsKey( key ) ) {
-         return;
+   private void verifyCompatible( int node, Object value, JsonTraversal traversal ) {
+      if ( check != null && !check.isCompatible( node, value ) ) {
+         incompatible( traversal );
       }
-    
-      if ( shouldNotHandleObject( parent.get( key ) ) ) {
-         return;
+   }//End Method
+   
+   /**
+    * Method to record that the json is incompatible, stopping the navigation.
+    * @param traversal the {@link JsonTraversal} to stop.
+    */
+   private void incompatible( JsonTraversal traversal ) {
+      incompatible = true;
+      traversal.stop();
+   }//End Method
+   
+   /**
+    * Method to act on a {@link JsonParseSignal} thrown while a {@link JsonTraversalFrame} is stepped.
+    * @param signal the {@link JsonParseSignal} thrown.
+    * @param traversal the {@link JsonTraversal} stepping the frame.
+    * @return true if the frame has further work, false if it is complete.
+    */
+   private boolean honourSignal( JsonParseSignal signal, JsonTraversal traversal ) {
+      if ( signal == JsonParseSignal.STOP ) {
+         traversal.stop();
+         return false;
       }
-      
-      JsonHandle handle = handles.get( key );
-      handle.handle( key, parent );
+      return signal == JsonParseSignal.SKIP_SUBTREE;
    }//End Method
    
    /**
-    * Method to invoke the handle for the given key.
-    * @param key the key to invoke the handle for.
-    * @param array the {@link JSONObject} parent for the handle to extract from.
-    * @param index the index of the item in the array to extract.
+    * Method to act on a {@link JsonParseSignal} thrown while a {@link JsonTraversalFrame} is finished.
+    * @param signal the {@link JsonParseSignal} thrown.
+    * @param traversal the {@link JsonTraversal} finishing the frame.
     */
-   private void invokeHandleForArray( String key, JSONArray array, int index ) {
-      if ( !handles.containsKey( key ) ) {
-         return;
+   private void honourSignalOnFinish( JsonParseSignal signal, JsonTraversal traversal ) {
+      if ( signal == JsonParseSignal.STOP ) {
+         traversal.stop();
+      } else if ( signal == JsonParseSignal.SKIP_SIBLINGS ) {
+         traversal.completeCurrentFrame();
       }
-
-      if ( shouldNotHandleObject( array.get( index ) ) ) {
-         return;
+   }//End Method
+   
+   /**
+    * Method to get the {@link JsonHandle} to call in place of the given, recording calls if the events
+    * of this {@link JsonParser} are to be replayed.
+    * @param handle the {@link JsonHandle} registered, can be null.
+    * @return the {@link JsonHandle} to call.
+    */
+   private JsonHandle deliverTo( JsonHandle handle ) {
+      if ( recorder == null || handle == null ) {
+         return handle;
       }
-      
-      JsonHandle handle = handles.get( key );
-      handle.handle( key, array, index );
+      return recorder.record( handle );
    }//End Method
    
    /**
-    * Method to determine whether to handle the given {@link Object}.
-    * @param object the {@link Object} in question.
-    * @return true if anything other than a {@link JSONObject} or {@link JSONArray}.
+    * Method to invoke the handles for the given key, both being invoked before any skipping {@link JsonParseSignal}
+    * is honoured.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param key the key to invoke the handles for.
+    * @param parent the {@link JSONObject} parent for the handles to extract from.
     */
-   private boolean shouldNotHandleObject( Object object ) {
-      if ( object instanceof JSONArray ) {
-         return true;
+   private void invokeHandlesForObject( JsonHandle handle, JsonHandle scopedHandle, String key, JSONObject parent ) {
+      if ( recorder != null ) {
+         recorder.groupValue();
       }
-      
-      if ( object instanceof JSONObject ) {
-         return true;
+      JsonParseSignal skip = null;
+      if ( handle != null ) {
+         try {
+            handle.handle( key, parent );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      if ( scopedHandle != null ) {
+         try {
+            scopedHandle.handle( key, parent );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      if ( skip != null ) {
+         throw skip;
+      }
+   }//End Method
+   
+   /**
+    * Method to invoke the handles for the given key, both being invoked before any skipping {@link JsonParseSignal}
+    * is honoured.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param key the key to invoke the handles for.
+    * @param array the {@link JSONArray} for the handles to extract from.
+    * @param index the index of the item in the array to extract.
+    */
+   private void invokeHandlesForArray( JsonHandle handle, JsonHandle scopedHandle, String key, JSONArray array, int index ) {
+      if ( recorder != null ) {
+         recorder.groupValue();
+      }
+      JsonParseSignal skip = null;
+      if ( handle != null ) {
+         try {
+            handle.handle( key, array, index );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      if ( scopedHandle != null ) {
+         try {
+            scopedHandle.handle( key, array, index );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      if ( skip != null ) {
+         throw skip;
       }
-      
-      return false;
    }//End Method
    
    /**
     * Method to process the starting of an object for the given key.
     * @param key the key in question.
+    * @param handle the {@link JsonNavigation} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonNavigation} registered for the path, can be null.
     */
-   private void objectStarted( String key ) {
-      if ( !handles.containsKey( key ) ) {
-         return;
+   private void objectStarted( String key, JsonNavigation handle, JsonNavigation scopedHandle ) {
+      if ( recorder != null ) {
+         recorder.groupStarted();
       }
-      
-      JsonNavigation handle = handles.get( key );
-      handle.startedObject( key );
+      JsonParseSignal.callBoth( JsonNavigation::startedObject, key, handle, scopedHandle );
    }//End Method
    
    /**
     * Method to process the finishing of an object for the given key.
     * @param key the key in question.
+    * @param handle the {@link JsonNavigation} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonNavigation} registered for the path, can be null.
     */
-   private void objectFinished( String key ) {
-      if ( !handles.containsKey( key ) ) {
-         return;
+   private void objectFinished( String key, JsonNavigation handle, JsonNavigation scopedHandle ) {
+      if ( recorder != null ) {
+         recorder.groupFinished();
       }
-      
-      JsonNavigation handle = handles.get( key );
-      handle.finishedObject( key );
+      JsonParseSignal.callBoth( JsonNavigation::finishedObject, key, handle, scopedHandle );
    }//End Method
    
    /**
     * Method to process the starting of an array for the given key.
     * @param key the key in question.
+    * @param handle the {@link JsonNavigation} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonNavigation} registered for the path, can be null.
     */
-   private void arrayStarted( String key ) {
-      if ( !handles.containsKey( key ) ) {
-         return;
+   private void arrayStarted( String key, JsonNavigation handle, JsonNavigation scopedHandle ) {
+      if ( recorder != null ) {
+         recorder.groupStarted();
       }
-      
-      JsonNavigation handle = handles.get( key );
-      handle.startedArray( key );
+      JsonParseSignal.callBoth( JsonNavigation::startedArray, key, handle, scopedHandle );
    }//End Method
    
    /**
     * Method to process the finishing of an array for the given key.
     * @param key the key in question.
+    * @param handle the {@link JsonNavigation} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonNavigation} registered for the path, can be null.
     */
-   private void arrayFinised( String key ) {
-      if ( !handles.containsKey( key ) ) {
-         return;
+   private void arrayFinished( String key, JsonNavigation handle, JsonNavigation scopedHandle ) {
+      if ( recorder != null ) {
+         recorder.groupFinished();
       }
-      
-      JsonNavigation handle = handles.get( key );
-      handle.finishedArray( key );
+      JsonParseSignal.callBoth( JsonNavigation::finishedArray, key, handle, scopedHandle );
    }//End Method
    
    /**
     * Method to navigate through the given {@link JSONObject} to the next set of keys.
     * @param key the key the object is navigating from.
     * @param jsonObject the {@link JSONObject} to navigate through.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the key, null if no path reaches it.
+    * @param node the node of the {@link JSONObject} in the {@link JsonStructureCheck}, if checking.
+    * @param traversal the {@link JsonTraversal} to navigate with.
+    */
+   private void navigateObject( 
+            String key, JSONObject jsonObject, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+            int node, JsonTraversal traversal
+   ) {
+      try {
+         objectStarted( key, handle, scopedHandle );
+      } catch ( JsonParseSignal signal ) {
+         if ( signal != JsonParseSignal.STOP ) {
+            objectFinished( key, handle, scopedHandle );
+         }
+         throw signal;
+      }
+      traversal.push( new ObjectNavigation( key, jsonObject, handle, scopedHandle, scope, node ) );
+   }//End Method
+   
+   /**
+    * Method to give the {@link JSONArray} whole to the given {@link JsonHandle} if it is a {@link JsonArrayHandle}.
+    * @param handle the {@link JsonHandle} registered, can be null.
+    * @param key the key associated with the {@link JSONArray}.
+    * @param jsonArray the {@link JSONArray}.
+    * @return the {@link JsonHandle} to navigate the elements for, null if it has been given the array and has nothing 
+    * else to navigate for, as a {@link JsonArrayHandleComposite} might.
     */
-   private void navigateObject( String key, JSONObject jsonObject ) {
-      objectStarted( key );
-      parse( jsonObject );
-      objectFinished( key );
+   private JsonHandle handleWholeArray( JsonHandle handle, String key, JSONArray jsonArray ) {
+      if ( handle instanceof JsonArrayHandle ) {
+         ( ( JsonArrayHandle )handle ).handleArray( key, jsonArray );
+         return JsonArrayHandleComposite.elementHandleOf( ( JsonArrayHandle )handle );
+      }
+      return handle;
    }//End Method
    
    /**
     * Method to navigate along a {@link JSONArray} to the next set of keys for each element
-    * in the {@link JSONArray}.
+    * in the {@link JSONArray}. {@link JsonArrayHandle}s are given the {@link JSONArray} whole and, 
+    * when no other {@link JsonHandle} is registered for the key or path, the elements are not navigated.
     * @param key the key associated with the {@link JSONArray}.
     * @param jsonArray the {@link JSONArray} navigate through.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the key, null if no path reaches it.
+    * @param node the node of the {@link JSONArray} in the {@link JsonStructureCheck}, if checking.
+    * @param traversal the {@link JsonTraversal} to navigate with.
     */
-   private void navigateArray( String key, JSONArray jsonArray ) {
-      arrayStarted( key );
-      for ( int i = 0; i < jsonArray.length(); i++ ) {
-         invokeHandleForArray( key, jsonArray, i );
-         
-         Object arrayObject = jsonArray.get( i );
-         if ( arrayObject instanceof JSONArray ) {
-            navigateArray( key, ( JSONArray ) arrayObject );
-            
-         } else if ( arrayObject instanceof JSONObject ) {
-            navigateObject( key, ( JSONObject )arrayObject );
+   private void navigateArray( 
+            String key, JSONArray jsonArray, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+            int node, JsonTraversal traversal
+   ) {
+      if ( handle instanceof JsonArrayHandle || scopedHandle instanceof JsonArrayHandle ) {
+         if ( recorder != null ) {
+            recorder.groupValue();
+         }
+         JsonParseSignal skip = null;
+         try {
+            handle = handleWholeArray( handle, key, jsonArray );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+            handle = null;
+         }
+         try {
+            scopedHandle = handleWholeArray( scopedHandle, key, jsonArray );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+            scopedHandle = null;
+         }
+         if ( skip != null ) {
+            throw skip;
+         }
+         if ( handle == null && scopedHandle == null ) {
+            verifyCompatible( node, jsonArray, traversal );
+            return;
+         }
+      }
+      
+      try {
+         arrayStarted( key, handle, scopedHandle );
+      } catch ( JsonParseSignal signal ) {
+         if ( signal != JsonParseSignal.STOP ) {
+            arrayFinished( key, handle, scopedHandle );
          }
+         throw signal;
+      }
+      if ( arrayParallelism != null && jsonArray.length() >= arrayParallelism.getThreshold() ) {
+         navigateElementsInParallel( key, jsonArray, handle, scopedHandle, scope );
+         arrayFinished( key, handle, scopedHandle );
+      } else {
+         traversal.push( new ElementNavigation( key, jsonArray, 0, jsonArray.length(), handle, scopedHandle, scope, true, node ) );
+      }
+   }//End Method
+   
+   /**
+    * Method to navigate the elements of the given {@link JSONArray} in portions on the {@link java.util.concurrent.ForkJoinPool}
+    * of the {@link JsonArrayParallelism}, returning once all have been navigated. When ordered, the calls recorded 
+    * for each portion are made on this thread, in order, as soon as the portion completes. A skipping
+    * {@link JsonParseSignal} is honoured within the portion it is thrown in, though when ordered 
+    * {@link JsonParseSignal#SKIP_SIBLINGS} for an element also skips the portions following, as when navigating 
+    * sequentially. {@link JsonParseSignal#STOP}, or anything else thrown by a portion, abandons all portions.
+    * @param key the key associated with the {@link JSONArray}.
+    * @param jsonArray the {@link JSONArray} navigate through.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the key, null if no path reaches it.
+    */
+   private void navigateElementsInParallel( 
+            String key, JSONArray jsonArray, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope 
+   ) {
+      JsonArrayParallelism parallelism = arrayParallelism;
+      int length = jsonArray.length();
+      int portion = parallelism.portionSize( length );
+      
+      List< ForkJoinTask< JsonEventRecorder > > tasks = new ArrayList<>();
+      for ( int from = 0; from < length; from += portion ) {
+         int start = from;
+         int end = Math.min( length, from + portion );
+         tasks.add( parallelism.getPool().submit( 
+                  () -> navigatePortion( parallelism, key, jsonArray, start, end, handle, scopedHandle, scope ) 
+         ) );
+      }
+      
+      try {
+         for ( ForkJoinTask< JsonEventRecorder > task : tasks ) {
+            JsonEventRecorder recorded = task.join();
+            if ( recorded != null ) {
+               recorded.replay();
+            }
+         }
+      } catch ( Throwable throwable ) {
+         tasks.forEach( task -> task.cancel( false ) );
+         if ( throwable != JsonParseSignal.SKIP_SIBLINGS ) {
+            throw throwable;
+         }
+      }
+   }//End Method
+   
+   /**
+    * Method to navigate a portion of a {@link JSONArray} as part of parallel navigation.
+    * @param parallelism the {@link JsonArrayParallelism} in use.
+    * @param key the key associated with the {@link JSONArray}.
+    * @param jsonArray the {@link JSONArray} navigate through.
+    * @param from the first index, inclusive.
+    * @param to the last index, exclusive.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the key, null if no path reaches it.
+    * @return the {@link JsonEventRecorder} holding the calls to make, null if made directly.
+    * @throws JsonParseSignal {@link JsonParseSignal#STOP} if the portion was stopped.
+    */
+   private JsonEventRecorder navigatePortion( 
+            JsonArrayParallelism parallelism,
+            String key, JSONArray jsonArray, int from, int to, 
+            JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope 
+   ) {
+      JsonEventRecorder portionRecorder = parallelism.isOrdered() ? new JsonEventRecorder() : null;
+      
+      JsonTraversalFrame portionNavigation;
+      if ( parallelism.getElementParsers() == null ) {
+         JsonParser portionParser = new JsonParser( this, portionRecorder );
+         portionNavigation = portionParser.new ElementNavigation( 
+                  key, jsonArray, from, to, 
+                  portionParser.deliverTo( handle ), portionParser.deliverTo( scopedHandle ), scope, false,
+                  JsonStructureCheck.UNCHECKED
+         );
+      } else {
+         JsonParser portionParser = new JsonParser( parallelism.getElementParsers().get(), portionRecorder );
+         portionNavigation = portionParser.new ElementNavigation( 
+                  key, jsonArray, from, to, 
+                  portionParser.deliverTo( portionParser.lookup.apply( key ) ), null, portionParser.paths, false,
+                  JsonStructureCheck.UNCHECKED
+         );
+      }
+      JsonTraversal portionTraversal = new JsonTraversal( portionNavigation );
+      portionTraversal.run();
+      if ( portionTraversal.isStopped() ) {
+         throw JsonParseSignal.STOP;
       }
-      arrayFinised( key );
+      return portionRecorder;
    }//End Method
 
    /**
     * Method to intercept the existing {@link JsonHandle} if one exists. This will call the given
     * before the existing for each type of handling. If there is nothing to intercept, this becomes
-    * a {@link #when(String, JsonHandle)} call.
+    * a {@link #when(String, JsonHandle)} call. Interceptors are combined in a new {@link JsonHandleComposite} 
+    * with the existing, flattened, so that any number of interceptions are called in a single loop. Where either is a
+    * {@link JsonArrayHandle} they are combined as {@link JsonHandleComposite#of(JsonHandle...)}, so that it is still
+    * given each {@link JSONArray} whole, before the elements are navigated for the others.
     * @param key the key to intercept.
     * @param interceptor the {@link JsonHandle} to intercept with.
+    * @throws IllegalStateException if this {@link JsonParser} has been compiled.
     */
    public void intercept( String key, JsonHandle interceptor ) {
+      verifyNotCompiled();
       if ( !handles.containsKey( key ) ) {
          when( key, interceptor );
          return;
       }
       
       JsonHandle existing = handles.get( key );
-      JsonHandle interceptHandler = new JsonHandleInterceptor( existing, interceptor );
-      when( key, interceptHandler );
+      when( key, JsonHandleComposite.of( interceptor, existing ) );
    }//End Method
 
+   /**
+    * The {@link ObjectNavigation} navigates the keys of a {@link JSONObject}, one key per step.
+    */
+   private class ObjectNavigation implements JsonTraversalFrame {
+      
+      private final String key;
+      private final JSONObject jsonObject;
+      private final JsonHandle handle;
+      private final JsonHandle scopedHandle;
+      private final JsonPathNode scope;
+      private final int node;
+      private final String[] orderedKeys;
+      private final Iterator< String > unorderedKeys;
+      private int index;
+      private JsonTraversal traversal;
+      
+      /**
+       * Constructs a new {@link ObjectNavigation}.
+       * @param key the key the object is navigating from, null for the root.
+       * @param jsonObject the {@link JSONObject} to navigate through.
+       * @param handle the {@link JsonHandle} registered for the key, can be null.
+       * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+       * @param scope the {@link JsonPathNode} reached by the object, null if no path reaches it.
+       * @param node the node of the object in the {@link JsonStructureCheck}, if checking.
+       */
+      private ObjectNavigation( 
+               String key, JSONObject jsonObject, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+               int node
+      ) {
+         this.key = key;
+         this.jsonObject = jsonObject;
+         this.handle = handle;
+         this.scopedHandle = scopedHandle;
+         this.scope = scope;
+         this.node = node;
+         if ( keyOrdering != JsonKeyOrdering.UNORDERED ) {
+            this.orderedKeys = sortedKeys.sortedKeys( jsonObject.keySet() );
+            this.unorderedKeys = null;
+         } else {
+            this.orderedKeys = null;
+            this.unorderedKeys = jsonObject.keySet().iterator();
+         }
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         this.traversal = traversal;
+         String next;
+         if ( orderedKeys != null ) {
+            if ( index == orderedKeys.length ) {
+               return false;
+            }
+            next = orderedKeys[ index++ ];
+         } else {
+            if ( !unorderedKeys.hasNext() ) {
+               return false;
+            }
+            next = unorderedKeys.next();
+         }
+         
+         try {
+            handleKey( next, jsonObject, node, scope, traversal );
+         } catch ( JsonParseSignal signal ) {
+            return honourSignal( signal, traversal );
+         }
+         return true;
+      }//End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finish() {
+         try {
+            objectFinished( key, handle, scopedHandle );
+         } catch ( JsonParseSignal signal ) {
+            honourSignalOnFinish( signal, traversal );
+         }
+      }//End Method
+      
+   }//End Class
+   
+   /**
+    * The {@link ElementNavigation} navigates the elements of a {@link JSONArray}, one element per step.
+    */
+   private class ElementNavigation implements JsonTraversalFrame {
+      
+      private final String key;
+      private final JSONArray jsonArray;
+      private final int to;
+      private final JsonHandle handle;
+      private final JsonHandle scopedHandle;
+      private final JsonPathNode scope;
+      private final boolean finishesArray;
+      private final int element;
+      private int index;
+      private JsonTraversal traversal;
+      
+      /**
+       * Constructs a new {@link ElementNavigation}.
+       * @param key the key associated with the {@link JSONArray}.
+       * @param jsonArray the {@link JSONArray} navigate through.
+       * @param from the first index, inclusive.
+       * @param to the last index, exclusive.
+       * @param handle the {@link JsonHandle} registered for the key, can be null.
+       * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+       * @param scope the {@link JsonPathNode} reached by the key, null if no path reaches it.
+       * @param finishesArray whether completing the elements finishes the array.
+       * @param node the node of the {@link JSONArray} in the {@link JsonStructureCheck}, if checking.
+       */
+      private ElementNavigation( 
+               String key, JSONArray jsonArray, int from, int to, 
+               JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope, boolean finishesArray, int node
+      ) {
+         this.key = key;
+         this.jsonArray = jsonArray;
+         this.index = from;
+         this.to = to;
+         this.handle = handle;
+         this.scopedHandle = scopedHandle;
+         this.scope = scope;
+         this.finishesArray = finishesArray;
+         this.element = check == null ? JsonStructureCheck.UNCHECKED : check.element( node );
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         this.traversal = traversal;
+         if ( index == to ) {
+            return false;
+         }
+         
+         int i = index++;
+         Object arrayObject = jsonArray.get( i );
+         if ( check != null && !check.accepts( element, arrayObject ) ) {
+            incompatible( traversal );
+            return false;
+         }
+         
+         try {
+            if ( arrayObject instanceof JSONArray ) {
+               navigateArray( key, ( JSONArray ) arrayObject, handle, scopedHandle, scope, element, traversal );
+               
+            } else if ( arrayObject instanceof JSONObject ) {
+               navigateObject( key, ( JSONObject )arrayObject, handle, scopedHandle, scope, element, traversal );
+               
+            } else {
+               invokeHandlesForArray( handle, scopedHandle, key, jsonArray, i );
+            }
+         } catch ( JsonParseSignal signal ) {
+            return honourSignal( signal, traversal );
+         }
+         return true;
+      }//End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finish() {
+         if ( !finishesArray ) {
+            return;
+         }
+         
+         try {
+            arrayFinished( key, handle, scopedHandle );
+         } catch ( JsonParseSignal signal ) {
+            honourSignalOnFinish( signal, traversal );
+         }
+      }//End Method
+      
+   }//End Class
+   
 }//End Class
@@ -0,0 +1,126 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * The {@link JsonPathNode} is a node in the trie of paths registered with a {@link JsonParser}, holding
+ * the {@link JsonHandle} for the path ending at the node and the nodes for each key the path continues with.
+ * Paths are keys separated by '.', where a key may be followed by '[]' to indicate it holds an array. As
+ * the elements of an array are associated with the key of the array, '[]' does not change the path.
+ */
+class JsonPathNode {
+
+   static final String SEPARATOR = "\\.";
+   static final String ARRAY_SUFFIX = "[]";
+
+   private final Map< String, JsonPathNode > children;
+   private JsonHandle handle;
+
+   /**
+    * Constructs a new {@link JsonPathNode}.
+    */
+   JsonPathNode() {
+      this( new HashMap<>(), null );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonPathNode}.
+    * @param children the {@link JsonPathNode}s for the keys that follow.
+    * @param handle the {@link JsonHandle} for the path, can be null.
+    */
+   private JsonPathNode( Map< String, JsonPathNode > children, JsonHandle handle ) {
+      this.children = children;
+      this.handle = handle;
+   }//End Constructor
+
+   /**
+    * Method to split the given path into the keys it is made of.
+    * @param path the path, such as 'users[].address.city'.
+    * @return the keys of the path.
+    * @throws IllegalArgumentException if the path is null or contains an empty key.
+    */
+   static String[] keysOf( String path ) {
+      if ( path == null ) {
+         throw new IllegalArgumentException( "Cannot use null path." );
+      }
+
+      String[] keys = path.split( SEPARATOR, -1 );
+      for ( int i = 0; i < keys.length; i++ ) {
+         String key = keys[ i ];
+         while ( key.endsWith( ARRAY_SUFFIX ) ) {
+            key = key.substring( 0, key.length() - ARRAY_SUFFIX.length() );
+         }
+         if ( key.isEmpty() ) {
+            throw new IllegalArgumentException( "Path '" + path + "' contains an empty key." );
+         }
+         keys[ i ] = key;
+      }
+      return keys;
+   }//End Method
+
+   /**
+    * Method to register the given {@link JsonHandle} against the path made of the given keys,
+    * replacing any already registered.
+    * @param keys the keys of the path, relative to this node.
+    * @param handle the {@link JsonHandle} to register.
+    */
+   void register( String[] keys, JsonHandle handle ) {
+      JsonPathNode node = this;
+      for ( String key : keys ) {
+         node = node.children.computeIfAbsent( key, k -> new JsonPathNode() );
+      }
+      node.handle = handle;
+   }//End Method
+
+   /**
+    * Method to get the {@link JsonPathNode} for the given key following this node.
+    * @param key the key.
+    * @return the {@link JsonPathNode}, or null if no path continues with the key.
+    */
+   JsonPathNode child( String key ) {
+      return children.get( key );
+   }//End Method
+
+   /**
+    * Getter for the {@link JsonHandle} registered for the path ending at this node.
+    * @return the {@link JsonHandle}, can be null.
+    */
+   JsonHandle handle() {
+      return handle;
+   }//End Method
+
+   /**
+    * Method to determine whether any paths continue from this node.
+    * @return true if there are none.
+    */
+   boolean isLeaf() {
+      return children.isEmpty();
+   }//End Method
+
+   /**
+    * Method to produce an unmodifiable copy of this node and all that follow it.
+    * @return the copied {@link JsonPathNode}.
+    */
+   JsonPathNode freeze() {
+      Map< String, JsonPathNode > frozen = new HashMap<>();
+      for ( Entry< String, JsonPathNode > entry : children.entrySet() ) {
+         frozen.put( entry.getKey(), entry.getValue().freeze() );
+      }
+      return new JsonPathNode( Collections.unmodifiableMap( frozen ), handle );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,46 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import org.json.JSONException;
+
+/**
+ * The {@link JsonRecordListener} is notified of the boundaries of each record when a {@link JsonParser}
+ * parses a stream of many json objects, such as newline delimited json.
+ */
+public interface JsonRecordListener {
+
+   /**
+    * Method called before any key of a record is handled.
+    * @param record the zero based index of the record in the stream.
+    */
+   public default void recordStarted( long record ) {
+      //nothing to do by default
+   }//End Method
+
+   /**
+    * Method called once every key of a record has been handled.
+    * @param record the zero based index of the record in the stream.
+    */
+   public default void recordFinished( long record ) {
+      //nothing to do by default
+   }//End Method
+
+   /**
+    * Method called when a record is invalid and has been skipped, the remainder of its line being discarded.
+    * Handles may have been called for the part of the record before the problem.
+    * @param record the zero based index of the record in the stream.
+    * @param exception the {@link JSONException} describing the problem.
+    */
+   public default void recordSkipped( long record, JSONException exception ) {
+      //nothing to do by default
+   }//End Method
+
+}//End Interface
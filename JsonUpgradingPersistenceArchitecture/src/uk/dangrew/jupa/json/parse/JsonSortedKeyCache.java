@@ -0,0 +1,97 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link JsonSortedKeyCache} holds the alphabetically sorted keys for each shape of key set
+ * encountered, so that objects with the same keys, such as the elements of an array, are only
+ * sorted once. The number of shapes held is bounded, beyond which keys are sorted as needed.
+ * Finding a shape hashes and compares every key, so only objects with many keys are worth caching,
+ * objects with fewer keys being sorted directly.
+ */
+class JsonSortedKeyCache {
+
+   static final int DEFAULT_CAPACITY = 256;
+   static final int DEFAULT_MINIMUM_KEYS = 16;
+   private static final String[] NO_KEYS = new String[ 0 ];
+
+   private final Map< Set< String >, String[] > cache;
+   private final int capacity;
+   private final int minimumKeys;
+
+   /**
+    * Constructs a new {@link JsonSortedKeyCache}.
+    */
+   JsonSortedKeyCache() {
+      this( DEFAULT_CAPACITY, DEFAULT_MINIMUM_KEYS );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonSortedKeyCache}.
+    * @param capacity the maximum number of key set shapes to hold.
+    * @param minimumKeys the minimum number of keys for a shape to be cached.
+    */
+   JsonSortedKeyCache( int capacity, int minimumKeys ) {
+      this.cache = new ConcurrentHashMap<>();
+      this.capacity = capacity;
+      this.minimumKeys = minimumKeys;
+   }//End Constructor
+
+   /**
+    * Method to get the given keys sorted alphabetically. The array provided is shared and must not be modified.
+    * @param keys the {@link Set} of keys.
+    * @return the sorted keys.
+    */
+   String[] sortedKeys( Set< String > keys ) {
+      if ( keys.isEmpty() ) {
+         return NO_KEYS;
+      }
+      if ( keys.size() < minimumKeys ) {
+         return sort( keys );
+      }
+
+      String[] sorted = cache.get( keys );
+      if ( sorted != null ) {
+         return sorted;
+      }
+
+      sorted = sort( keys );
+      if ( cache.size() < capacity ) {
+         cache.putIfAbsent( new HashSet<>( keys ), sorted );
+      }
+      return sorted;
+   }//End Method
+
+   /**
+    * Method to sort the given keys alphabetically into a new array.
+    * @param keys the {@link Set} of keys.
+    * @return the sorted keys.
+    */
+   private static String[] sort( Set< String > keys ) {
+      String[] sorted = keys.toArray( new String[ keys.size() ] );
+      Arrays.sort( sorted, JsonParser.ALPHABETICAL );
+      return sorted;
+   }//End Method
+
+   /**
+    * Getter for the number of key set shapes held.
+    * @return the number of shapes.
+    */
+   int size() {
+      return cache.size();
+   }//End Method
+
+}//End Class
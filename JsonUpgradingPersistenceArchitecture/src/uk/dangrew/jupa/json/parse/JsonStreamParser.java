@@ -0,0 +1,454 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.JsonNavigation;
+import uk.dangrew.jupa.json.stream.JsonToken;
+import uk.dangrew.jupa.json.stream.JsonTokenizer;
+
+/**
+ * The {@link JsonStreamParser} drives the {@link JsonHandle}s of a {@link JsonParser} directly from
+ * the {@link JsonToken}s of a {@link JsonTokenizer}, so that no {@link JSONObject} is built for the input.
+ * Each value is presented to its {@link JsonHandle} in a single entry {@link JSONObject}, or a {@link JSONArray}
+ * holding only the element at its index in the array, so existing handles work unchanged. The {@link JsonHandle}s for each open object and array are resolved once
+ * when it starts, and those that no registered path continues into can be skipped without being parsed.
+ * A {@link JsonParseSignal} thrown by a {@link JsonHandle} is honoured by reading past the skipped input, or
+ * by reading nothing further when stopped. The values of an array for a {@link JsonArrayHandle} are collected
+ * as they are read, with {@link JSONObject#NULL} in place of any object or array, and given to it whole at the end.
+ */
+class JsonStreamParser {
+
+   private final Function< String, JsonHandle > handles;
+   private final JsonPathNode paths;
+   private final boolean prune;
+   private final JsonStringPool keyPool;
+   private final JSONObject objectHolder;
+   private final ElementHolder arrayHolder;
+
+   private String[] keys;
+   private boolean[] arrays;
+   private JsonHandle[] keyHandles;
+   private JsonHandle[] scopedHandles;
+   private JsonPathNode[] scopes;
+   private JsonArrayHandle[] arrayHandles;
+   private JsonArrayHandle[] scopedArrayHandles;
+   private JSONArray[] collected;
+   private int[] nextIndices;
+   private int depth;
+
+   /**
+    * Constructs a new {@link JsonStreamParser} for {@link JsonHandle}s registered only against keys.
+    * @param handles the lookup of {@link JsonHandle}s registered against their keys.
+    */
+   JsonStreamParser( Function< String, JsonHandle > handles ) {
+      this( handles, new JsonPathNode(), false, null );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonStreamParser}.
+    * @param handles the lookup of {@link JsonHandle}s registered against their keys.
+    * @param paths the {@link JsonPathNode} at the root of the registered paths.
+    * @param prune whether to skip objects and arrays that no registered path continues into.
+    * @param keyPool the {@link JsonStringPool} to resolve keys in, null to use keys as read.
+    */
+   JsonStreamParser( Function< String, JsonHandle > handles, JsonPathNode paths, boolean prune, JsonStringPool keyPool ) {
+      this.handles = handles;
+      this.paths = paths;
+      this.prune = prune;
+      this.keyPool = keyPool;
+      this.objectHolder = new JSONObject();
+      this.arrayHolder = new ElementHolder();
+      this.keys = new String[ 16 ];
+      this.arrays = new boolean[ 16 ];
+      this.keyHandles = new JsonHandle[ 16 ];
+      this.scopedHandles = new JsonHandle[ 16 ];
+      this.scopes = new JsonPathNode[ 16 ];
+      this.arrayHandles = new JsonArrayHandle[ 16 ];
+      this.scopedArrayHandles = new JsonArrayHandle[ 16 ];
+      this.collected = new JSONArray[ 16 ];
+      this.nextIndices = new int[ 16 ];
+   }//End Constructor
+
+   /**
+    * Method to parse the next object from the given {@link JsonTokenizer}, reading only as far as its end.
+    * @param tokenizer the {@link JsonTokenizer} to read from.
+    * @return true if the object was parsed, false if a {@link JsonHandle} stopped the parse part way.
+    * @throws JSONException if the input is not a valid json object.
+    */
+   boolean parse( JsonTokenizer tokenizer ) {
+      return parse( tokenizer.next(), tokenizer );
+   }//End Method
+
+   /**
+    * Method to parse the object starting with the given {@link JsonToken}, already read from the given
+    * {@link JsonTokenizer}, reading only as far as its end.
+    * @param first the first {@link JsonToken} of the object.
+    * @param tokenizer the {@link JsonTokenizer} to read from.
+    * @return true if the object was parsed, false if a {@link JsonHandle} stopped the parse part way.
+    * @throws JSONException if the input is not a valid json object.
+    */
+   boolean parse( JsonToken first, JsonTokenizer tokenizer ) {
+      if ( first != JsonToken.START_OBJECT ) {
+         throw new JSONException( "A JSONObject text must begin with '{'" );
+      }
+
+      depth = 0;
+      push( null, false, null, null, paths );
+      String key = null;
+      JsonToken skippedTo = null;
+
+      while ( depth > 0 ) {
+         JsonToken token = skippedTo == null ? tokenizer.next() : skippedTo;
+         skippedTo = null;
+         try {
+            switch ( token ) {
+               case KEY:
+                  key = keyPool == null ? tokenizer.text() : keyPool.canonical( tokenizer.text() );
+                  break;
+               case START_OBJECT:
+               case START_ARRAY:
+                  startStructure( key, token == JsonToken.START_ARRAY, tokenizer );
+                  break;
+               case END_OBJECT:
+                  depth--;
+                  if ( depth > 0 ) {
+                     objectFinished( depth );
+                  }
+                  break;
+               case END_ARRAY:
+                  depth--;
+                  arrayCollected( depth );
+                  arrayFinished( depth );
+                  break;
+               case END_DOCUMENT:
+                  throw new JSONException( "Unexpected end of input" );
+               default:
+                  handleValue( key, tokenizer );
+            }
+         } catch ( JsonParseSignal signal ) {
+            if ( signal == JsonParseSignal.STOP ) {
+               return false;
+            } else if ( signal == JsonParseSignal.SKIP_SIBLINGS ) {
+               skippedTo = skipSiblings( tokenizer );
+            }
+         }
+      }
+      return true;
+   }//End Method
+   
+   /**
+    * Method to read past the remainder of the innermost open object or array.
+    * @param tokenizer the {@link JsonTokenizer} to read from.
+    * @return the {@link JsonToken} ending the object or array, yet to be processed.
+    * @throws JSONException if the input ends first.
+    */
+   private JsonToken skipSiblings( JsonTokenizer tokenizer ) {
+      JsonToken token;
+      do {
+         token = tokenizer.next();
+         if ( token == JsonToken.END_DOCUMENT ) {
+            throw new JSONException( "Unexpected end of input" );
+         }
+      } while ( tokenizer.depth() >= depth );
+      return token;
+   }//End Method
+
+   /**
+    * Method to start navigating an object or array, or to skip it if nothing is registered within it.
+    * @param key the last key read.
+    * @param array whether an array has started.
+    * @param tokenizer the {@link JsonTokenizer} positioned on the start.
+    */
+   private void startStructure( String key, boolean array, JsonTokenizer tokenizer ) {
+      int parent = depth - 1;
+      if ( arrays[ parent ] ) {
+         nextIndices[ parent ]++;
+         if ( collected[ parent ] != null ) {
+            collected[ parent ].put( JSONObject.NULL );
+            if ( keyHandles[ parent ] == null && scopedHandles[ parent ] == null ) {
+               tokenizer.skipValue();
+               return;
+            }
+         }
+         push( keys[ parent ], array, keyHandles[ parent ], scopedHandles[ parent ], scopes[ parent ] );
+      } else {
+         JsonPathNode scope = scopes[ parent ] == null ? null : scopes[ parent ].child( key );
+         if ( scope == null && prune ) {
+            tokenizer.skipValue();
+            return;
+         }
+         push( key, array, handles.apply( key ), scope == null ? null : scope.handle(), scope );
+      }
+
+      try {
+         if ( array ) {
+            arrayStarted( depth - 1 );
+         } else {
+            objectStarted( depth - 1 );
+         }
+      } catch ( JsonParseSignal signal ) {
+         depth--;
+         if ( signal == JsonParseSignal.STOP ) {
+            throw signal;
+         }
+         if ( signal == JsonParseSignal.SKIP_SUBTREE ) {
+            tokenizer.skipValue();
+         }
+         if ( array ) {
+            arrayFinished( depth );
+         } else {
+            objectFinished( depth );
+         }
+         if ( signal != JsonParseSignal.SKIP_SUBTREE ) {
+            throw signal;
+         }
+      }
+   }//End Method
+
+   /**
+    * Method to record the start of an object or array.
+    * @param key the key associated.
+    * @param array whether it is an array.
+    * @param handle the {@link JsonHandle} registered for the key.
+    * @param scopedHandle the {@link JsonHandle} registered for the path.
+    * @param scope the {@link JsonPathNode} reached, null if no path reaches it.
+    */
+   private void push( String key, boolean array, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope ) {
+      if ( depth == keys.length ) {
+         int expanded = depth * 2;
+         keys = Arrays.copyOf( keys, expanded );
+         arrays = Arrays.copyOf( arrays, expanded );
+         keyHandles = Arrays.copyOf( keyHandles, expanded );
+         scopedHandles = Arrays.copyOf( scopedHandles, expanded );
+         scopes = Arrays.copyOf( scopes, expanded );
+         arrayHandles = Arrays.copyOf( arrayHandles, expanded );
+         scopedArrayHandles = Arrays.copyOf( scopedArrayHandles, expanded );
+         collected = Arrays.copyOf( collected, expanded );
+         nextIndices = Arrays.copyOf( nextIndices, expanded );
+      }
+      keys[ depth ] = key;
+      arrays[ depth ] = array;
+      keyHandles[ depth ] = handle;
+      scopedHandles[ depth ] = scopedHandle;
+      scopes[ depth ] = scope;
+      arrayHandles[ depth ] = null;
+      scopedArrayHandles[ depth ] = null;
+      collected[ depth ] = null;
+      nextIndices[ depth ] = 0;
+      
+      if ( array && ( handle instanceof JsonArrayHandle || scopedHandle instanceof JsonArrayHandle ) ) {
+         if ( handle instanceof JsonArrayHandle ) {
+            arrayHandles[ depth ] = ( JsonArrayHandle )handle;
+            keyHandles[ depth ] = JsonArrayHandleComposite.elementHandleOf( arrayHandles[ depth ] );
+         }
+         if ( scopedHandle instanceof JsonArrayHandle ) {
+            scopedArrayHandles[ depth ] = ( JsonArrayHandle )scopedHandle;
+            scopedHandles[ depth ] = JsonArrayHandleComposite.elementHandleOf( scopedArrayHandles[ depth ] );
+         }
+         collected[ depth ] = new JSONArray();
+      }
+      depth++;
+   }//End Method
+   
+   /**
+    * Method to give the values collected for the array at the given level to its {@link JsonArrayHandle}s.
+    * @param level the level of the array.
+    */
+   private void arrayCollected( int level ) {
+      JSONArray values = collected[ level ];
+      if ( values == null ) {
+         return;
+      }
+      
+      collected[ level ] = null;
+      JsonParseSignal skip = null;
+      if ( arrayHandles[ level ] != null ) {
+         try {
+            arrayHandles[ level ].handleArray( keys[ level ], values );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      if ( scopedArrayHandles[ level ] != null ) {
+         try {
+            scopedArrayHandles[ level ].handleArray( keys[ level ], values );
+         } catch ( JsonParseSignal signal ) {
+            skip = JsonParseSignal.combine( skip, signal );
+         }
+      }
+      if ( skip != null ) {
+         throw skip;
+      }
+   }//End Method
+
+   /**
+    * Method to present the current value of the {@link JsonTokenizer} to the {@link JsonHandle}s for it.
+    * @param key the last key read.
+    * @param tokenizer the {@link JsonTokenizer} positioned on the value.
+    */
+   private void handleValue( String key, JsonTokenizer tokenizer ) {
+      int parent = depth - 1;
+      if ( arrays[ parent ] ) {
+         int index = nextIndices[ parent ]++;
+         boolean delivered = keyHandles[ parent ] != null || scopedHandles[ parent ] != null;
+         if ( collected[ parent ] == null && !delivered ) {
+            return;
+         }
+         
+         Object value = tokenizer.value();
+         if ( collected[ parent ] != null ) {
+            collected[ parent ].put( value );
+         }
+         if ( !delivered ) {
+            return;
+         }
+         arrayHolder.hold( index, value );
+         JsonParseSignal skip = handleArrayValue( null, keyHandles[ parent ], keys[ parent ] );
+         skip = handleArrayValue( skip, scopedHandles[ parent ], keys[ parent ] );
+         if ( skip != null ) {
+            throw skip;
+         }
+         return;
+      } 
+
+      JsonHandle handle = handles.apply( key );
+      JsonPathNode scope = scopes[ parent ] == null ? null : scopes[ parent ].child( key );
+      JsonHandle scopedHandle = scope == null ? null : scope.handle();
+      if ( handle == null && scopedHandle == null ) {
+         return;
+      }
+      
+      objectHolder.put( key, tokenizer.value() );
+      JsonParseSignal skip;
+      try {
+         skip = handleObjectValue( null, handle, key );
+         skip = handleObjectValue( skip, scopedHandle, key );
+      } finally {
+         objectHolder.remove( key );
+      }
+      if ( skip != null ) {
+         throw skip;
+      }
+   }//End Method
+   
+   /**
+    * Method to present the value in the object holder to the given {@link JsonHandle}.
+    * @param skip the skipping {@link JsonParseSignal} already thrown for the value, null if none.
+    * @param handle the {@link JsonHandle}, can be null.
+    * @param key the key of the value.
+    * @return the skipping {@link JsonParseSignal} to honour once all {@link JsonHandle}s are called, null if none.
+    */
+   private JsonParseSignal handleObjectValue( JsonParseSignal skip, JsonHandle handle, String key ) {
+      if ( handle != null ) {
+         try {
+            handle.handle( key, objectHolder );
+         } catch ( JsonParseSignal signal ) {
+            return JsonParseSignal.combine( skip, signal );
+         }
+      }
+      return skip;
+   }//End Method
+   
+   /**
+    * Method to present the value in the array holder to the given {@link JsonHandle}.
+    * @param skip the skipping {@link JsonParseSignal} already thrown for the value, null if none.
+    * @param handle the {@link JsonHandle}, can be null.
+    * @param key the key of the array.
+    * @return the skipping {@link JsonParseSignal} to honour once all {@link JsonHandle}s are called, null if none.
+    */
+   private JsonParseSignal handleArrayValue( JsonParseSignal skip, JsonHandle handle, String key ) {
+      if ( handle != null ) {
+         try {
+            handle.handle( key, arrayHolder, arrayHolder.index );
+         } catch ( JsonParseSignal signal ) {
+            return JsonParseSignal.combine( skip, signal );
+         }
+      }
+      return skip;
+   }//End Method
+
+   /**
+    * Method to process the starting of the object at the given level.
+    * @param level the level of the object.
+    */
+   private void objectStarted( int level ) {
+      JsonParseSignal.callBoth( JsonNavigation::startedObject, keys[ level ], keyHandles[ level ], scopedHandles[ level ] );
+   }//End Method
+
+   /**
+    * Method to process the finishing of the object at the given level.
+    * @param level the level of the object.
+    */
+   private void objectFinished( int level ) {
+      JsonParseSignal.callBoth( JsonNavigation::finishedObject, keys[ level ], keyHandles[ level ], scopedHandles[ level ] );
+   }//End Method
+
+   /**
+    * Method to process the starting of the array at the given level.
+    * @param level the level of the array.
+    */
+   private void arrayStarted( int level ) {
+      JsonParseSignal.callBoth( JsonNavigation::startedArray, keys[ level ], keyHandles[ level ], scopedHandles[ level ] );
+   }//End Method
+
+   /**
+    * Method to process the finishing of the array at the given level.
+    * @param level the level of the array.
+    */
+   private void arrayFinished( int level ) {
+      JsonParseSignal.callBoth( JsonNavigation::finishedArray, keys[ level ], keyHandles[ level ], scopedHandles[ level ] );
+   }//End Method
+
+   /**
+    * The {@link ElementHolder} is the {@link JSONArray} given to {@link JsonHandle}s for elements, holding only the
+    * element being handled, at its index in the array, so that it is read as from the whole {@link JSONArray}
+    * without the elements before it being held.
+    */
+   private static class ElementHolder extends JSONArray {
+
+      private int index;
+      private Object value;
+
+      /**
+       * Method to hold the given element.
+       * @param index the index of the element in the array.
+       * @param value the value of the element.
+       */
+      private void hold( int index, Object value ) {
+         this.index = index;
+         this.value = value;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public Object opt( int index ) {
+         return index == this.index ? value : null;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public int length() {
+         return index + 1;
+      }//End Method
+
+   }//End Class
+
+}//End Class
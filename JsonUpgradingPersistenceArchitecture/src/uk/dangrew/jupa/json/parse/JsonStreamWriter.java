@@ -0,0 +1,739 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.traversal.JsonTraversal;
+import uk.dangrew.jupa.json.traversal.JsonTraversalFrame;
+import uk.dangrew.jupa.json.write.handle.type.JsonArrayWriteHandle;
+
+/**
+ * The {@link JsonStreamWriter} writes a {@link JsonStructure} directly to a {@link JsonWriter}, taking each value
+ * from the {@link JsonHandle}s of a {@link JsonParser} as it is reached, so that neither the placeholder
+ * {@link JSONObject} nor the text of the whole json is built. The {@link JsonHandle}s are called as
+ * {@link JsonParser#parse(JSONObject)} would call them for the built structure, each value being given to its
+ * {@link JsonHandle} in a single entry {@link JSONObject} or capturing {@link JSONArray}. A value no
+ * {@link JsonHandle} provides is written as null. Nodes tracked by a {@link JsonFragmentCache} are written
+ * from the json cached for them while unchanged, their {@link JsonHandle}s not being called. A key with a
+ * {@link JsonArrayWriteHandle} is written as an array of the elements it writes, regardless of the size and
+ * contents the {@link JsonStructure} records for it. With a {@link JsonWriteParallelism} the members of the root
+ * are written concurrently, each by a separate {@link JsonStreamWriter}, and concatenated in order. The output is the
+ * same, but the {@link JsonHandle}s are then called concurrently and out of order, and the json of every member, and 
+ * of every element of a divided array, is held in memory as text until written out.
+ */
+class JsonStreamWriter {
+
+   private final Function< String, JsonHandle > handles;
+   private final JsonPathNode paths;
+   private final boolean alphabetical;
+   private final Map< String, String[] > orderedChildren;
+   private final JSONObject objectHolder;
+   private final ElementHolder arrayHolder;
+   private final JsonFragmentCache fragments;
+   private final JsonWriteParallelism parallelism;
+   private final AtomicBoolean cancelled;
+
+   private JsonStructure structure;
+   private JsonWriter writer;
+
+   /**
+    * Constructs a new {@link JsonStreamWriter}.
+    * @param handles the lookup of {@link JsonHandle}s registered against their keys.
+    * @param paths the {@link JsonPathNode} at the root of the registered paths.
+    * @param ordering the {@link JsonKeyOrdering} to visit keys in, alphabetical or otherwise in the order
+    * the structure records them.
+    */
+   JsonStreamWriter( Function< String, JsonHandle > handles, JsonPathNode paths, JsonKeyOrdering ordering ) {
+      this( handles, paths, ordering, null, null );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonStreamWriter}.
+    * @param handles the lookup of {@link JsonHandle}s registered against their keys.
+    * @param paths the {@link JsonPathNode} at the root of the registered paths.
+    * @param ordering the {@link JsonKeyOrdering} to visit keys in, alphabetical or otherwise in the order
+    * the structure records them.
+    * @param fragments the {@link JsonFragmentCache} to reuse and cache json with, can be null.
+    * @param parallelism the {@link JsonWriteParallelism} to write the members of the root with, null to write
+    * sequentially.
+    */
+   JsonStreamWriter(
+            Function< String, JsonHandle > handles, JsonPathNode paths, JsonKeyOrdering ordering,
+            JsonFragmentCache fragments, JsonWriteParallelism parallelism
+   ) {
+      this.handles = handles;
+      this.paths = paths;
+      this.alphabetical = ordering == JsonKeyOrdering.ALPHABETICAL;
+      this.orderedChildren = new HashMap<>();
+      this.objectHolder = new JSONObject();
+      this.arrayHolder = new ElementHolder();
+      this.fragments = fragments;
+      this.parallelism = parallelism;
+      this.cancelled = new AtomicBoolean();
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonStreamWriter} to write part of the {@link JsonStructure} of the given on a pool
+    * thread, with the configuration of the given, but writing sequentially.
+    * @param source the {@link JsonStreamWriter} to write as.
+    */
+   private JsonStreamWriter( JsonStreamWriter source ) {
+      this.handles = source.handles;
+      this.paths = source.paths;
+      this.alphabetical = source.alphabetical;
+      this.orderedChildren = new HashMap<>();
+      this.objectHolder = new JSONObject();
+      this.arrayHolder = new ElementHolder();
+      this.fragments = source.fragments;
+      this.parallelism = null;
+      this.cancelled = source.cancelled;
+      this.structure = source.structure;
+   }//End Constructor
+
+   /**
+    * Method to write the given {@link JsonStructure} as a json object, starting with its version if versioned.
+    * @param structure the {@link JsonStructure} to write.
+    * @param writer the {@link JsonWriter} to write to.
+    * @throws org.json.JSONException if a value is not valid json or the output fails.
+    */
+   void write( JsonStructure structure, JsonWriter writer ) {
+      this.structure = structure;
+      this.writer = writer;
+      this.orderedChildren.clear();
+
+      writer.startObject();
+      if ( structure.getVersion() != JsonStructure.UNVERSIONED ) {
+         writer.key( JsonStructure.VERSION_KEY ).value( structure.getVersion() );
+      }
+      if ( parallelism == null ) {
+         new JsonTraversal( new ChildrenWrite( structure.root(), null, null, null, paths, false, null ) ).run();
+      } else {
+         writeInParallel();
+      }
+   }//End Method
+
+   /**
+    * Method to write the members of the root concurrently, each being written on the pool to a separate
+    * {@link JsonWriter} at the level of the root's members, or divided into portions of elements, and then
+    * written in order as fragments. If writing any fails, every other member and portion is cancelled, those
+    * already running stopping before their next element, and the failure rethrown.
+    */
+   private void writeInParallel() {
+      String[] members = childrenOf( structure.root() );
+      int level = writer.level();
+      List< Object > parts = new ArrayList<>( members.length );
+      try {
+         for ( String member : members ) {
+            parts.add( fork( member, level ) );
+         }
+
+         for ( int i = 0; i < members.length; i++ ) {
+            writer.key( members[ i ] );
+            Object part = parts.get( i );
+            if ( part instanceof DividedArray ) {
+               ( ( DividedArray )part ).write();
+            } else if ( part instanceof String ) {
+               writer.fragment( ( String )part );
+            } else {
+               writer.fragment( ( String )( ( ForkJoinTask< ? > )part ).join() );
+            }
+         }
+      } catch ( Throwable throwable ) {
+         cancelled.set( true );
+         parts.forEach( this::cancel );
+         throw throwable;
+      }
+      writer.endObject();
+   }//End Method
+
+   /**
+    * Method to cancel the given part of the root being written on the pool.
+    * @param part the part, as {@link #fork(String, int)}.
+    */
+   private void cancel( Object part ) {
+      if ( part instanceof DividedArray ) {
+         ( ( DividedArray )part ).cancel();
+      } else if ( part instanceof ForkJoinTask ) {
+         ( ( ForkJoinTask< ? > )part ).cancel( false );
+      }
+   }//End Method
+
+   /**
+    * Method to verify the write has not been cancelled, as a pool thread does before each member or element.
+    * @throws CancellationException if cancelled.
+    */
+   private void verifyNotCancelled() {
+      if ( cancelled.get() ) {
+         throw new CancellationException( "Write failed elsewhere." );
+      }
+   }//End Method
+
+   /**
+    * Method to start writing the given member of the root on the pool.
+    * @param member the member.
+    * @param level the level the member is written at.
+    * @return the {@link ForkJoinTask} writing the member, the {@link DividedArray} writing its elements, or the
+    * json cached for it.
+    */
+   private Object fork( String member, int level ) {
+      int indentFactor = writer.getIndentFactor();
+      JsonPathNode scope = paths == null ? null : paths.child( member );
+      JsonHandle handle = handles.apply( member );
+      JsonHandle scopedHandle = scope == null ? null : scope.handle();
+
+      if ( arrayHandle( handle, scopedHandle ) != null
+               || !structure.isArray( member )
+               || structure.arraySize( member ) < parallelism.getThreshold()
+      ) {
+         return parallelism.getPool().submit( () -> new JsonStreamWriter( this ).writeAlone( member, indentFactor, level ) );
+      }
+
+      long version = 0;
+      boolean tracked = fragments != null && fragments.isTracked( member );
+      if ( tracked ) {
+         version = fragments.version( member );
+         String cached = fragments.fragment( member, version, indentFactor, level );
+         if ( cached != null ) {
+            return cached;
+         }
+      }
+      return new DividedArray( member, handle, scopedHandle, scope, tracked, version, indentFactor, level );
+   }//End Method
+
+   /**
+    * Method to write the given member of the root on its own, as a pool thread does.
+    * @param member the member.
+    * @param indentFactor the indent factor to write with.
+    * @param level the level the member is written at.
+    * @return the json written for the value of the member.
+    */
+   private String writeAlone( String member, int indentFactor, int level ) {
+      verifyNotCancelled();
+      StringWriter output = new StringWriter();
+      writer = new JsonWriter( output, indentFactor, level );
+      JsonTraversal traversal = new JsonTraversal();
+      writeValue( member, paths, false, traversal );
+      traversal.run();
+      return output.toString();
+   }//End Method
+
+   /**
+    * Method to write the given range of elements of an array on their own, as a pool thread does.
+    * @param element the node of each element, null if the elements are values.
+    * @param key the key of the array.
+    * @param from the index of the first element.
+    * @param to the index after the last element.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the array, null if no path reaches it.
+    * @param indentFactor the indent factor to write with.
+    * @param level the level the elements are written at.
+    * @return the json written for each element.
+    */
+   private String[] writeElementsAlone(
+            String element, String key, int from, int to,
+            JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope, int indentFactor, int level
+   ) {
+      String[] written = new String[ to - from ];
+      for ( int index = from; index < to; index++ ) {
+         verifyNotCancelled();
+         StringWriter output = new StringWriter();
+         writer = new JsonWriter( output, indentFactor, level );
+         JsonTraversal traversal = new JsonTraversal();
+         writeElement( element, key, index, handle, scopedHandle, scope, traversal );
+         traversal.run();
+         written[ index - from ] = output.toString();
+      }
+      return written;
+   }//End Method
+
+   /**
+    * Method to get the children of the given node in the order to visit them.
+    * @param node the node.
+    * @return the children.
+    */
+   private String[] childrenOf( String node ) {
+      String[] children = orderedChildren.get( node );
+      if ( children == null ) {
+         Collection< String > recorded = structure.children( node );
+         children = recorded.toArray( new String[ recorded.size() ] );
+         if ( alphabetical ) {
+            Arrays.sort( children, JsonParser.ALPHABETICAL );
+         }
+         orderedChildren.put( node, children );
+      }
+      return children;
+   }//End Method
+
+   /**
+    * Method to write the member of an object for the given node.
+    * @param node the node, being the key of the member.
+    * @param scope the {@link JsonPathNode} reached by the object, null if no path reaches it.
+    * @param repeated whether the object is within an array, being written for each element.
+    * @param traversal the {@link JsonTraversal} to write nested structures with.
+    */
+   private void writeMember( String node, JsonPathNode scope, boolean repeated, JsonTraversal traversal ) {
+      writer.key( node );
+      writeValue( node, scope, repeated, traversal );
+   }//End Method
+
+   /**
+    * Method to write the value of the member of an object for the given node.
+    * @param node the node, being the key of the member.
+    * @param scope the {@link JsonPathNode} reached by the object, null if no path reaches it.
+    * @param repeated whether the object is within an array, being written for each element.
+    * @param traversal the {@link JsonTraversal} to write nested structures with.
+    */
+   private void writeValue( String node, JsonPathNode scope, boolean repeated, JsonTraversal traversal ) {
+      Capture capture = null;
+      if ( fragments != null && !repeated && fragments.isTracked( node ) ) {
+         long version = fragments.version( node );
+         String cached = fragments.fragment( node, version, writer.getIndentFactor(), writer.level() );
+         if ( cached != null ) {
+            writer.fragment( cached );
+            return;
+         }
+         capture = new Capture( node, version, writer.level(), writer.startCapture() );
+      }
+
+      JsonPathNode keyScope = scope == null ? null : scope.child( node );
+      JsonHandle handle = handles.apply( node );
+      JsonHandle scopedHandle = keyScope == null ? null : keyScope.handle();
+
+      JsonArrayWriteHandle arrayHandle = arrayHandle( handle, scopedHandle );
+      if ( arrayHandle != null ) {
+         writer.startArray();
+         arrayHandle.writeElements( node, writer::value );
+         writer.endArray();
+         captured( capture );
+      } else if ( structure.isArray( node ) ) {
+         writeArray( node, node, handle, scopedHandle, keyScope, traversal, capture );
+      } else if ( !structure.children( node ).isEmpty() ) {
+         writeObject( node, node, handle, scopedHandle, keyScope, repeated, traversal, capture );
+      } else {
+         objectHolder.remove( node );
+         if ( handle != null ) {
+            handle.handle( node, objectHolder );
+         }
+         if ( scopedHandle != null ) {
+            scopedHandle.handle( node, objectHolder );
+         }
+         writer.value( objectHolder.remove( node ) );
+         captured( capture );
+      }
+   }//End Method
+
+   /**
+    * Method to find the {@link JsonArrayWriteHandle} to write a whole array with, preferring that registered
+    * for the path.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @return the {@link JsonArrayWriteHandle}, null if neither is one.
+    */
+   private static JsonArrayWriteHandle arrayHandle( JsonHandle handle, JsonHandle scopedHandle ) {
+      if ( scopedHandle instanceof JsonArrayWriteHandle ) {
+         return ( JsonArrayWriteHandle )scopedHandle;
+      } else if ( handle instanceof JsonArrayWriteHandle ) {
+         return ( JsonArrayWriteHandle )handle;
+      }
+      return null;
+   }//End Method
+
+   /**
+    * Method to cache the json captured for a node, if captured.
+    * @param capture the {@link Capture} of the node, can be null.
+    */
+   private void captured( Capture capture ) {
+      if ( capture == null ) {
+         return;
+      }
+      fragments.store( capture.node, capture.version, writer.getIndentFactor(), capture.level, writer.endCapture( capture.mark ) );
+   }//End Method
+
+   /**
+    * Method to write the element of an array for the given node.
+    * @param node the node of the element.
+    * @param key the key of the array.
+    * @param index the index of the element.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the array, null if no path reaches it.
+    * @param traversal the {@link JsonTraversal} to write nested structures with.
+    */
+   private void writeElement(
+            String node, String key, int index,
+            JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope, JsonTraversal traversal
+   ) {
+      if ( node != null && structure.isArray( node ) ) {
+         writeArray( node, key, handle, scopedHandle, scope, traversal, null );
+      } else if ( node != null && !structure.children( node ).isEmpty() ) {
+         writeObject( node, key, handle, scopedHandle, scope, true, traversal, null );
+      } else {
+         arrayHolder.captured = null;
+         if ( handle != null ) {
+            handle.handle( key, arrayHolder, index );
+         }
+         if ( scopedHandle != null ) {
+            scopedHandle.handle( key, arrayHolder, index );
+         }
+         writer.value( arrayHolder.captured );
+      }
+   }//End Method
+
+   /**
+    * Method to write an object for the given node.
+    * @param node the node of the object.
+    * @param key the key associated with the object.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the object, null if no path reaches it.
+    * @param repeated whether the object is within an array, being written for each element.
+    * @param traversal the {@link JsonTraversal} to write the children with.
+    * @param capture the {@link Capture} of the object, null if not captured.
+    */
+   private void writeObject(
+            String node, String key, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+            boolean repeated, JsonTraversal traversal, Capture capture
+   ) {
+      if ( handle != null ) {
+         handle.startedObject( key );
+      }
+      if ( scopedHandle != null ) {
+         scopedHandle.startedObject( key );
+      }
+      writer.startObject();
+      traversal.push( new ChildrenWrite( node, key, handle, scopedHandle, scope, repeated, capture ) );
+   }//End Method
+
+   /**
+    * Method to write an array for the given node.
+    * @param node the node of the array.
+    * @param key the key associated with the array.
+    * @param handle the {@link JsonHandle} registered for the key, can be null.
+    * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+    * @param scope the {@link JsonPathNode} reached by the array, null if no path reaches it.
+    * @param traversal the {@link JsonTraversal} to write the elements with.
+    * @param capture the {@link Capture} of the array, null if not captured.
+    */
+   private void writeArray(
+            String node, String key, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+            JsonTraversal traversal, Capture capture
+   ) {
+      int size = structure.arraySize( node );
+      String element = elementOf( node );
+
+      if ( handle != null ) {
+         handle.startedArray( key );
+      }
+      if ( scopedHandle != null ) {
+         scopedHandle.startedArray( key );
+      }
+      writer.startArray();
+      traversal.push( new ElementsWrite( element, key, size, handle, scopedHandle, scope, capture ) );
+   }//End Method
+
+   /**
+    * Method to get the node of each element of the given array.
+    * @param node the node of the array.
+    * @return the node of the elements, null if the elements are values.
+    */
+   private String elementOf( String node ) {
+      Collection< String > children = structure.children( node );
+      if ( children.size() > 1 ) {
+         throw new IllegalStateException( node + " should have at most one child." );
+      }
+      return children.isEmpty() ? null : children.iterator().next();
+   }//End Method
+
+   /**
+    * The {@link ElementHolder} is the {@link JSONArray} given to {@link JsonHandle}s for elements, capturing
+    * the value put at any index rather than holding it.
+    */
+   private static class ElementHolder extends JSONArray {
+
+      private Object captured;
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public JSONArray put( Object value ) {
+         captured = value;
+         return this;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public JSONArray put( int index, Object value ) {
+         captured = value;
+         return this;
+      }//End Method
+
+   }//End Class
+
+   /**
+    * The {@link Capture} records the json of a tracked node being captured, to cache once written.
+    */
+   private static class Capture {
+
+      private final String node;
+      private final long version;
+      private final int level;
+      private final int mark;
+
+      /**
+       * Constructs a new {@link Capture}.
+       * @param node the node captured.
+       * @param version the version of the node.
+       * @param level the level of indentation the node is written at.
+       * @param mark the mark the capture started at.
+       */
+      private Capture( String node, long version, int level, int mark ) {
+         this.node = node;
+         this.version = version;
+         this.level = level;
+         this.mark = mark;
+      }//End Constructor
+
+   }//End Class
+
+   /**
+    * The {@link DividedArray} writes an array member of the root whose elements are written in portions on the
+    * pool, calling {@link JsonHandle#startedArray(String)} before the portions start.
+    */
+   private class DividedArray {
+
+      private final String node;
+      private final JsonHandle handle;
+      private final JsonHandle scopedHandle;
+      private final boolean tracked;
+      private final long version;
+      private final List< ForkJoinTask< String[] > > portions;
+
+      /**
+       * Constructs a new {@link DividedArray}, starting the portions of elements on the pool.
+       * @param node the node of the array.
+       * @param handle the {@link JsonHandle} registered for the key, can be null.
+       * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+       * @param scope the {@link JsonPathNode} reached by the array, null if no path reaches it.
+       * @param tracked whether the array is tracked by the {@link JsonFragmentCache}.
+       * @param version the version of the array, if tracked.
+       * @param indentFactor the indent factor to write with.
+       * @param level the level the array is written at.
+       */
+      private DividedArray(
+               String node, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+               boolean tracked, long version, int indentFactor, int level
+      ) {
+         this.node = node;
+         this.handle = handle;
+         this.scopedHandle = scopedHandle;
+         this.tracked = tracked;
+         this.version = version;
+         this.portions = new ArrayList<>();
+
+         int size = structure.arraySize( node );
+         String element = elementOf( node );
+         if ( handle != null ) {
+            handle.startedArray( node );
+         }
+         if ( scopedHandle != null ) {
+            scopedHandle.startedArray( node );
+         }
+
+         int portionSize = parallelism.portionSize( size );
+         for ( int start = 0; start < size; start += portionSize ) {
+            int from = start;
+            int to = Math.min( size, start + portionSize );
+            portions.add( parallelism.getPool().submit( () -> new JsonStreamWriter( JsonStreamWriter.this ).writeElementsAlone( 
+                     element, node, from, to, handle, scopedHandle, scope, indentFactor, level + 1 
+            ) ) );
+         }
+      }//End Constructor
+
+      /**
+       * Method to write the array, each element being written as a fragment once its portion is written.
+       */
+      private void write() {
+         Capture capture = tracked ? new Capture( node, version, writer.level(), writer.startCapture() ) : null;
+         writer.startArray();
+         for ( ForkJoinTask< String[] > portion : portions ) {
+            for ( String element : portion.join() ) {
+               writer.fragment( element );
+            }
+         }
+         writer.endArray();
+         captured( capture );
+         if ( handle != null ) {
+            handle.finishedArray( node );
+         }
+         if ( scopedHandle != null ) {
+            scopedHandle.finishedArray( node );
+         }
+      }//End Method
+
+      /**
+       * Method to cancel the portions of elements not yet written.
+       */
+      private void cancel() {
+         portions.forEach( portion -> portion.cancel( false ) );
+      }//End Method
+
+   }//End Class
+
+   /**
+    * The {@link ChildrenWrite} writes the members of an object, one member per step.
+    */
+   private class ChildrenWrite implements JsonTraversalFrame {
+
+      private final String[] children;
+      private final String key;
+      private final JsonHandle handle;
+      private final JsonHandle scopedHandle;
+      private final JsonPathNode scope;
+      private final boolean repeated;
+      private final Capture capture;
+      private int index;
+
+      /**
+       * Constructs a new {@link ChildrenWrite}.
+       * @param node the node of the object.
+       * @param key the key associated with the object, null for the root.
+       * @param handle the {@link JsonHandle} registered for the key, can be null.
+       * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+       * @param scope the {@link JsonPathNode} reached by the object, null if no path reaches it.
+       * @param repeated whether the object is within an array.
+       * @param capture the {@link Capture} of the object, null if not captured.
+       */
+      private ChildrenWrite(
+               String node, String key, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+               boolean repeated, Capture capture
+      ) {
+         this.children = childrenOf( node );
+         this.key = key;
+         this.handle = handle;
+         this.scopedHandle = scopedHandle;
+         this.scope = scope;
+         this.repeated = repeated;
+         this.capture = capture;
+      }//End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( index == children.length ) {
+            return false;
+         }
+         writeMember( children[ index++ ], scope, repeated, traversal );
+         return true;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finish() {
+         writer.endObject();
+         captured( capture );
+         if ( key == null ) {
+            return;
+         }
+         if ( handle != null ) {
+            handle.finishedObject( key );
+         }
+         if ( scopedHandle != null ) {
+            scopedHandle.finishedObject( key );
+         }
+      }//End Method
+
+   }//End Class
+
+   /**
+    * The {@link ElementsWrite} writes the elements of an array, one element per step.
+    */
+   private class ElementsWrite implements JsonTraversalFrame {
+
+      private final String element;
+      private final String key;
+      private final int size;
+      private final JsonHandle handle;
+      private final JsonHandle scopedHandle;
+      private final JsonPathNode scope;
+      private final Capture capture;
+      private int index;
+
+      /**
+       * Constructs a new {@link ElementsWrite}.
+       * @param element the node of each element, null if the elements are values.
+       * @param key the key associated with the array.
+       * @param size the number of elements.
+       * @param handle the {@link JsonHandle} registered for the key, can be null.
+       * @param scopedHandle the {@link JsonHandle} registered for the path, can be null.
+       * @param scope the {@link JsonPathNode} reached by the array, null if no path reaches it.
+       * @param capture the {@link Capture} of the array, null if not captured.
+       */
+      private ElementsWrite(
+               String element, String key, int size, JsonHandle handle, JsonHandle scopedHandle, JsonPathNode scope,
+               Capture capture
+      ) {
+         this.element = element;
+         this.key = key;
+         this.size = size;
+         this.handle = handle;
+         this.scopedHandle = scopedHandle;
+         this.scope = scope;
+         this.capture = capture;
+      }//End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( index >= size ) {
+            return false;
+         }
+         writeElement( element, key, index++, handle, scopedHandle, scope, traversal );
+         return true;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finish() {
+         writer.endArray();
+         captured( capture );
+         if ( handle != null ) {
+            handle.finishedArray( key );
+         }
+         if ( scopedHandle != null ) {
+            scopedHandle.finishedArray( key );
+         }
+      }//End Method
+
+   }//End Class
+
+}//End Class
@@ -0,0 +1,140 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link JsonStringPool} is a bounded pool of canonical {@link String}s, so that values and keys
+ * repeated throughout json resolve to a single instance rather than each being retained separately.
+ * Each {@link String} has one slot, chosen by its hash, and a different {@link String} for the same slot
+ * replaces it, so the pool never grows beyond its capacity. {@link String}s longer than the maximum length
+ * are not pooled as they are rarely repeated. It is safe to share between threads, where a race at worst
+ * results in a {@link String} not being pooled.
+ */
+public class JsonStringPool {
+
+   static final int DEFAULT_CAPACITY = 4096;
+   static final int DEFAULT_MAXIMUM_LENGTH = 64;
+
+   private final String[] slots;
+   private final int mask;
+   private final int maximumLength;
+   private final LongAdder hits;
+   private final LongAdder misses;
+
+   /**
+    * Constructs a new {@link JsonStringPool} with a default capacity and maximum length.
+    */
+   public JsonStringPool() {
+      this( DEFAULT_CAPACITY, DEFAULT_MAXIMUM_LENGTH );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonStringPool}.
+    * @param capacity the number of {@link String}s to hold at most, rounded up to a power of two.
+    * @param maximumLength the length of the longest {@link String} to pool.
+    */
+   public JsonStringPool( int capacity, int maximumLength ) {
+      if ( capacity < 1 || capacity > 1 << 30 ) {
+         throw new IllegalArgumentException( "Capacity must be between 1 and 2^30." );
+      }
+      if ( maximumLength < 0 ) {
+         throw new IllegalArgumentException( "Maximum length must not be negative." );
+      }
+
+      int size = Integer.highestOneBit( capacity );
+      if ( size < capacity ) {
+         size <<= 1;
+      }
+      this.slots = new String[ size ];
+      this.mask = size - 1;
+      this.maximumLength = maximumLength;
+      this.hits = new LongAdder();
+      this.misses = new LongAdder();
+   }//End Constructor
+
+   /**
+    * Method to get the canonical instance of the given {@link String}, pooling it if there is none.
+    * @param value the {@link String}, can be null.
+    * @return the equal {@link String} already pooled, or the given.
+    */
+   public String canonical( String value ) {
+      if ( value == null || value.length() > maximumLength ) {
+         return value;
+      }
+
+      int hash = value.hashCode();
+      int index = ( hash ^ ( hash >>> 16 ) ) & mask;
+      String pooled = slots[ index ];
+      if ( pooled != null && ( pooled == value || pooled.equals( value ) ) ) {
+         hits.increment();
+         return pooled;
+      }
+
+      misses.increment();
+      slots[ index ] = value;
+      return value;
+   }//End Method
+
+   /**
+    * Getter for the number of {@link String}s the pool can hold.
+    * @return the capacity.
+    */
+   public int getCapacity() {
+      return slots.length;
+   }//End Method
+
+   /**
+    * Getter for the length of the longest {@link String} pooled.
+    * @return the maximum length.
+    */
+   public int getMaximumLength() {
+      return maximumLength;
+   }//End Method
+
+   /**
+    * Getter for the number of {@link String}s resolved to an instance already pooled.
+    * @return the number of hits.
+    */
+   public long getHits() {
+      return hits.sum();
+   }//End Method
+
+   /**
+    * Getter for the number of {@link String}s not already pooled, excluding those too long to be pooled.
+    * @return the number of misses.
+    */
+   public long getMisses() {
+      return misses.sum();
+   }//End Method
+
+   /**
+    * Getter for the proportion of {@link String}s resolved to an instance already pooled.
+    * @return the hit rate, between 0 and 1, 0 if nothing has been pooled.
+    */
+   public double getHitRate() {
+      long hitCount = hits.sum();
+      long total = hitCount + misses.sum();
+      return total == 0 ? 0 : ( double )hitCount / total;
+   }//End Method
+
+   /**
+    * Method to empty the pool and reset its statistics.
+    */
+   public void clear() {
+      for ( int i = 0; i < slots.length; i++ ) {
+         slots[ i ] = null;
+      }
+      hits.reset();
+      misses.reset();
+   }//End Method
+
+}//End Class
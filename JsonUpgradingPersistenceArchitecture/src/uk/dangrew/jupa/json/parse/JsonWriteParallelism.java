@@ -0,0 +1,78 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import java.util.concurrent.ForkJoinPool;
+
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link JsonWriteParallelism} configures a {@link JsonParser} to write the independent members of the root
+ * of a {@link JsonStructure} concurrently on a {@link ForkJoinPool} with 
+ * {@link JsonParser#writeStream(JsonStructure, uk.dangrew.jupa.json.stream.JsonWriter)}. Each member is written 
+ * separately and the json written for each is then concatenated in the order of the {@link JsonStructure}, so the
+ * output is identical to that written sequentially. Members that are arrays of at least the threshold number of
+ * elements are further divided into portions of elements written concurrently. The {@link JsonHandle}s of 
+ * different members, and of different elements of a divided array, are called from the pool threads at the same 
+ * time and must therefore be thread safe and not depend on being called in element order, 
+ * {@link JsonHandle#startedArray(String)} and {@link JsonHandle#finishedArray(String)} of a divided array being
+ * called before and after all its elements.
+ */
+public final class JsonWriteParallelism {
+
+   private final int threshold;
+   private final ForkJoinPool pool;
+
+   /**
+    * Constructs a new {@link JsonWriteParallelism} using the common {@link ForkJoinPool}.
+    * @param threshold the minimum number of elements for an array member of the root to be divided.
+    */
+   public JsonWriteParallelism( int threshold ) {
+      this( threshold, ForkJoinPool.commonPool() );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonWriteParallelism}.
+    * @param threshold the minimum number of elements for an array member of the root to be divided.
+    * @param pool the {@link ForkJoinPool} to write on.
+    */
+   public JsonWriteParallelism( int threshold, ForkJoinPool pool ) {
+      JsonArrayPortions.verify( threshold, pool );
+      this.threshold = threshold;
+      this.pool = pool;
+   }//End Constructor
+
+   /**
+    * Getter for the minimum number of elements for an array member of the root to be divided.
+    * @return the threshold.
+    */
+   public int getThreshold() {
+      return threshold;
+   }//End Method
+
+   /**
+    * Getter for the {@link ForkJoinPool} to write on.
+    * @return the {@link ForkJoinPool}.
+    */
+   public ForkJoinPool getPool() {
+      return pool;
+   }//End Method
+
+   /**
+    * Method to determine the number of elements in each portion of an array.
+    * @param length the length of the array.
+    * @return the number of elements per portion.
+    */
+   int portionSize( int length ) {
+      return JsonArrayPortions.portionSize( pool, length );
+   }//End Method
+
+}//End Class
@@ -10,6 +10,7 @@
 package uk.dangrew.jupa.json.parse.handle.type;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -20,7 +21,8 @@ import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 import uk.dangrew.jupa.json.parse.handle.key.JsonValueParseHandler;
 
 /**
- * {@link BigDecimal} {@link JsonParseHandleImpl}.
+ * {@link BigDecimal} {@link JsonParseHandleImpl}. Values already held as {@link BigDecimal}s, {@link BigInteger}s
+ * or integral {@link Number}s are converted directly, without passing through their text.
  */
 public class BigDecimalParseHandle extends JsonParseHandleImpl< BigDecimal > {
    
@@ -48,11 +50,33 @@ public class BigDecimalParseHandle extends JsonParseHandleImpl< BigDecimal > {
       this( new JsonValueParseHandler<>( handle ) );
    }//End Constructor
    
+   /**
+    * Method to convert the given json value to a {@link BigDecimal}.
+    * @param value the value, can be null.
+    * @return the {@link BigDecimal}, or null if the value is not a number.
+    */
+   static BigDecimal convert( Object value ) {
+      if ( value instanceof BigDecimal ) {
+         return ( BigDecimal )value;
+      } else if ( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+         return BigDecimal.valueOf( ( ( Number )value ).longValue() );
+      } else if ( value instanceof BigInteger ) {
+         return new BigDecimal( ( BigInteger )value );
+      } else if ( value instanceof Number || value instanceof String ) {
+         try {
+            return new BigDecimal( value.toString() );
+         } catch ( NumberFormatException exception ) {
+            return null;
+         }
+      }
+      return null;
+   }//End Method
+   
    /**
     * {@inheritDoc}
     */
    @Override public void handleKeyPresent( String key, JSONObject object ) {
-      BigDecimal value = object.optBigDecimal( key, null );
+      BigDecimal value = convert( object.opt( key ) );
       super.handle( key, value );
    }//End Method
    
@@ -60,7 +84,7 @@ public class BigDecimalParseHandle extends JsonParseHandleImpl< BigDecimal > {
     * {@inheritDoc}
     */
    @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
-      BigDecimal value = array.optBigDecimal( index, null );
+      BigDecimal value = convert( array.opt( index ) );
       super.handle( key, value );
    }//End Method
 
@@ -20,7 +20,8 @@ import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 import uk.dangrew.jupa.json.parse.handle.key.JsonValueParseHandler;
 
 /**
- * {@link BigInteger} {@link JsonParseHandleImpl}.
+ * {@link BigInteger} {@link JsonParseHandleImpl}. Values already held as {@link BigInteger}s or integral
+ * {@link Number}s are converted directly, without passing through their text.
  */
 public class BigIntegerParseHandle extends JsonParseHandleImpl< BigInteger > {
    
@@ -48,11 +49,31 @@ public class BigIntegerParseHandle extends JsonParseHandleImpl< BigInteger > {
       this( new JsonValueParseHandler<>( handle ) );
    }//End Constructor
    
+   /**
+    * Method to convert the given json value to a {@link BigInteger}.
+    * @param value the value, can be null.
+    * @return the {@link BigInteger}, or null if the value is not an integer.
+    */
+   static BigInteger convert( Object value ) {
+      if ( value instanceof BigInteger ) {
+         return ( BigInteger )value;
+      } else if ( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+         return BigInteger.valueOf( ( ( Number )value ).longValue() );
+      } else if ( value instanceof Number || value instanceof String ) {
+         try {
+            return new BigInteger( value.toString() );
+         } catch ( NumberFormatException exception ) {
+            return null;
+         }
+      }
+      return null;
+   }//End Method
+   
    /**
     * {@inheritDoc}
     */
    @Override public void handleKeyPresent( String key, JSONObject object ) {
-      BigInteger value = object.optBigInteger( key, null );
+      BigInteger value = convert( object.opt( key ) );
       super.handle( key, value );
    }//End Method
    
@@ -60,7 +81,7 @@ public class BigIntegerParseHandle extends JsonParseHandleImpl< BigInteger > {
     * {@inheritDoc}
     */
    @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
-      BigInteger value = array.optBigInteger( index, null );
+      BigInteger value = convert( array.opt( index ) );
       super.handle( key, value );
    }//End Method
 
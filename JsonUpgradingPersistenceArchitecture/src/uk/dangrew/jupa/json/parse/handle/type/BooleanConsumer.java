@@ -0,0 +1,24 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+/**
+ * The {@link BooleanConsumer} accepts a {@code boolean} without boxing it, as the 
+ * {@link java.util.function.IntConsumer} does for {@code int}.
+ */
+public interface BooleanConsumer {
+
+   /**
+    * Method to accept the given value.
+    * @param value the value.
+    */
+   public void accept( boolean value );
+   
+}//End Interface
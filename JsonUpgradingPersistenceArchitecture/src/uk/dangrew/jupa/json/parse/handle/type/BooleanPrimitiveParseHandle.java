@@ -0,0 +1,83 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * {@code boolean} {@link PrimitiveParseHandleImpl}, providing values without boxing them.
+ */
+public class BooleanPrimitiveParseHandle extends PrimitiveParseHandleImpl {
+
+   private final ObjBooleanConsumer< String > handle;
+   
+   /**
+    * Constructs a new {@link BooleanPrimitiveParseHandle}.
+    * @param handle the {@link ObjBooleanConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    * @param navigation the {@link JsonNavigation} to notify of objects and arrays, can be null.
+    */
+   public BooleanPrimitiveParseHandle( ObjBooleanConsumer< String > handle, Consumer< String > absentHandle, JsonNavigation navigation ) {
+      super( absentHandle, navigation );
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link BooleanPrimitiveParseHandle}.
+    * @param handle the {@link ObjBooleanConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    */
+   public BooleanPrimitiveParseHandle( ObjBooleanConsumer< String > handle, Consumer< String > absentHandle ) {
+      this( handle, absentHandle, null );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link BooleanPrimitiveParseHandle} ignoring missing values.
+    * @param handle the {@link BooleanConsumer} of the value.
+    */
+   public BooleanPrimitiveParseHandle( BooleanConsumer handle ) {
+      this( ignoreKey( handle ), JsonNavigation.DO_NOTHING_CONSUMER );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link BooleanConsumer} to ignore the key.
+    * @param handle the {@link BooleanConsumer} of the value.
+    * @return the {@link ObjBooleanConsumer} of the key and value.
+    */
+   private static ObjBooleanConsumer< String > ignoreKey( BooleanConsumer handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, v ) -> handle.accept( v );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleKeyPresent( String key, JSONObject object ) {
+      handle.accept( key, object.optBoolean( key ) );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
+      handle.accept( key, array.optBoolean( index ) );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,79 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.json.JSONArray;
+
+/**
+ * {@code double[]} {@link PrimitiveArrayParseHandleImpl}, decoding each value as {@link JSONArray#optDouble(int)} would.
+ */
+public class DoubleArrayParseHandle extends PrimitiveArrayParseHandleImpl {
+
+   private final IntFunction< double[] > buffers;
+   private final PrimitiveArrayConsumer< double[] > handle;
+   
+   /**
+    * Constructs a new {@link DoubleArrayParseHandle} that fills buffers provided for each array.
+    * @param buffers the {@link IntFunction} providing a buffer of at least the given length, such as one reused.
+    * @param handle the {@link PrimitiveArrayConsumer} of the values.
+    */
+   public DoubleArrayParseHandle( IntFunction< double[] > buffers, PrimitiveArrayConsumer< double[] > handle ) {
+      if ( buffers == null || handle == null ) {
+         throw new IllegalArgumentException( "Null buffers or handle is not permitted." );
+      }
+      this.buffers = buffers;
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link DoubleArrayParseHandle} that allocates an array of the exact length for each array.
+    * @param handle the {@link PrimitiveArrayConsumer} of the values.
+    */
+   public DoubleArrayParseHandle( PrimitiveArrayConsumer< double[] > handle ) {
+      this( double[]::new, handle );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link DoubleArrayParseHandle} that allocates an array of the exact length for each array.
+    * @param handle the {@link Consumer} of the values.
+    */
+   public DoubleArrayParseHandle( Consumer< double[] > handle ) {
+      this( ignoreKey( handle ) );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link Consumer} to ignore the key and length.
+    * @param handle the {@link Consumer} of the values.
+    * @return the {@link PrimitiveArrayConsumer}.
+    */
+   private static PrimitiveArrayConsumer< double[] > ignoreKey( Consumer< double[] > handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, values, length ) -> handle.accept( values );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArray( String key, JSONArray array ) {
+      int length = array.length();
+      double[] values = buffers.apply( length );
+      verifyBuffer( values == null ? -1 : values.length, length );
+      for ( int i = 0; i < length; i++ ) {
+         values[ i ] = array.optDouble( i );
+      }
+      handle.accept( key, values, length );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,85 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * {@code double} {@link PrimitiveParseHandleImpl}, providing values without boxing them.
+ */
+public class DoublePrimitiveParseHandle extends PrimitiveParseHandleImpl {
+
+   private final ObjDoubleConsumer< String > handle;
+   
+   /**
+    * Constructs a new {@link DoublePrimitiveParseHandle}.
+    * @param handle the {@link ObjDoubleConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    * @param navigation the {@link JsonNavigation} to notify of objects and arrays, can be null.
+    */
+   public DoublePrimitiveParseHandle( ObjDoubleConsumer< String > handle, Consumer< String > absentHandle, JsonNavigation navigation ) {
+      super( absentHandle, navigation );
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link DoublePrimitiveParseHandle}.
+    * @param handle the {@link ObjDoubleConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    */
+   public DoublePrimitiveParseHandle( ObjDoubleConsumer< String > handle, Consumer< String > absentHandle ) {
+      this( handle, absentHandle, null );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link DoublePrimitiveParseHandle} ignoring missing values.
+    * @param handle the {@link DoubleConsumer} of the value.
+    */
+   public DoublePrimitiveParseHandle( DoubleConsumer handle ) {
+      this( ignoreKey( handle ), JsonNavigation.DO_NOTHING_CONSUMER );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link DoubleConsumer} to ignore the key.
+    * @param handle the {@link DoubleConsumer} of the value.
+    * @return the {@link ObjDoubleConsumer} of the key and value.
+    */
+   private static ObjDoubleConsumer< String > ignoreKey( DoubleConsumer handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, v ) -> handle.accept( v );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleKeyPresent( String key, JSONObject object ) {
+      handle.accept( key, object.optDouble( key ) );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
+      handle.accept( key, array.optDouble( index ) );
+   }//End Method
+   
+}//End Class
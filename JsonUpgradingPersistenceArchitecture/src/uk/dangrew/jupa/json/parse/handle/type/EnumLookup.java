@@ -0,0 +1,189 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@link EnumLookup} is an immutable table of the constants of an {@link Enum} against their names,
+ * built once per {@link Enum} type and shared by every {@link EnumParseHandle} of that type. Values are
+ * resolved with a single hash probe and an unrecognised value results in null, rather than the exception
+ * {@link Enum#valueOf(Class, String)} would throw. A case insensitive form and aliases for constants can
+ * be derived from the shared table, matching exact names first.
+ */
+public final class EnumLookup< EnumTypeT extends Enum< EnumTypeT > > {
+
+   private static final ClassValue< EnumLookup< ? > > LOOKUPS = new ClassValue< EnumLookup< ? > >() {
+
+      /**
+       * {@inheritDoc}
+       */
+      @SuppressWarnings({ "unchecked", "rawtypes" }) //safe - only requested for enum types
+      @Override protected EnumLookup< ? > computeValue( Class< ? > type ) {
+         return new EnumLookup( type );
+      }//End Method
+   };
+
+   private final Class< EnumTypeT > enumType;
+   private final Map< String, EnumTypeT > exact;
+   private final Map< String, EnumTypeT > folded;
+   private final EnumLookup< EnumTypeT > caseInsensitive;
+
+   /**
+    * Method to get the shared {@link EnumLookup} for the given {@link Enum} type.
+    * @param enumType the {@link Class} of the {@link Enum}.
+    * @return the {@link EnumLookup}, matching exact names only.
+    */
+   @SuppressWarnings("unchecked") //safe - computed for the given type
+   public static < EnumTypeT extends Enum< EnumTypeT > > EnumLookup< EnumTypeT > of( Class< EnumTypeT > enumType ) {
+      if ( enumType == null ) {
+         throw new IllegalArgumentException( "Null enum type not permitted." );
+      }
+      if ( !enumType.isEnum() ) {
+         throw new IllegalArgumentException( "Type " + enumType.getName() + " is not an enum." );
+      }
+      return ( EnumLookup< EnumTypeT > )LOOKUPS.get( enumType );
+   }//End Method
+
+   /**
+    * Constructs a new {@link EnumLookup} of the constant names of the given type.
+    * @param enumType the {@link Class} of the {@link Enum}.
+    */
+   private EnumLookup( Class< EnumTypeT > enumType ) {
+      this.enumType = enumType;
+
+      Map< String, EnumTypeT > names = new LinkedHashMap<>();
+      for ( EnumTypeT constant : enumType.getEnumConstants() ) {
+         names.put( constant.name(), constant );
+      }
+      this.exact = Collections.unmodifiableMap( names );
+      this.folded = null;
+      this.caseInsensitive = new EnumLookup<>( enumType, exact, fold( exact, new HashMap<>() ) );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link EnumLookup}.
+    * @param enumType the {@link Class} of the {@link Enum}.
+    * @param exact the constants against the names to match exactly, in declaration order followed by any aliases.
+    * @param folded the constants against lower case names, null if case should not be ignored.
+    */
+   private EnumLookup( Class< EnumTypeT > enumType, Map< String, EnumTypeT > exact, Map< String, EnumTypeT > folded ) {
+      this.enumType = enumType;
+      this.exact = exact;
+      this.folded = folded;
+      this.caseInsensitive = folded == null ? null : this;
+   }//End Constructor
+
+   /**
+    * Method to add the given names to the given case insensitive names, keeping any already present, so
+    * that where names differ only in case the first in iteration order is kept.
+    * @param names the constants against their names, in declaration order followed by any aliases.
+    * @param folded the constants against lower case names to add to.
+    * @return the folded names.
+    */
+   private static < EnumTypeT > Map< String, EnumTypeT > fold( Map< String, EnumTypeT > names, Map< String, EnumTypeT > folded ) {
+      for ( Map.Entry< String, EnumTypeT > entry : names.entrySet() ) {
+         folded.putIfAbsent( entry.getKey().toLowerCase( Locale.ROOT ), entry.getValue() );
+      }
+      return folded;
+   }//End Method
+
+   /**
+    * Getter for the type of {@link Enum} looked up.
+    * @return the {@link Class} of the {@link Enum}.
+    */
+   public Class< EnumTypeT > getEnumType() {
+      return enumType;
+   }//End Method
+
+   /**
+    * Method to determine whether this {@link EnumLookup} ignores the case of names.
+    * @return true if case is ignored.
+    */
+   public boolean isCaseInsensitive() {
+      return folded != null;
+   }//End Method
+
+   /**
+    * Method to get the {@link EnumLookup} matching names regardless of case. Exact matches take precedence
+    * and where names differ only in case, the first declared is used.
+    * @return the case insensitive {@link EnumLookup}, shared for the type when no aliases are present.
+    */
+   public EnumLookup< EnumTypeT > caseInsensitive() {
+      if ( caseInsensitive != null ) {
+         return caseInsensitive;
+      }
+      return new EnumLookup<>( enumType, exact, fold( exact, new HashMap<>() ) );
+   }//End Method
+
+   /**
+    * Method to derive an {@link EnumLookup} that also maps the given alias to the given constant. The alias
+    * ignores case if this {@link EnumLookup} does.
+    * @param alias the alternative name.
+    * @param constant the constant the alias refers to.
+    * @return a new {@link EnumLookup}, this is not changed.
+    */
+   public EnumLookup< EnumTypeT > withAlias( String alias, EnumTypeT constant ) {
+      if ( alias == null ) {
+         throw new IllegalArgumentException( "Null alias not permitted." );
+      }
+      if ( constant == null ) {
+         throw new IllegalArgumentException( "Null constant not permitted." );
+      }
+
+      Map< String, EnumTypeT > aliased = new LinkedHashMap<>( exact );
+      aliased.put( alias, constant );
+      aliased = Collections.unmodifiableMap( aliased );
+
+      if ( folded == null ) {
+         return new EnumLookup<>( enumType, aliased, null );
+      }
+      Map< String, EnumTypeT > aliasedFolded = new HashMap<>( folded );
+      aliasedFolded.put( alias.toLowerCase( Locale.ROOT ), constant );
+      return new EnumLookup<>( enumType, aliased, aliasedFolded );
+   }//End Method
+
+   /**
+    * Method to find the constant for the given name.
+    * @param name the name to look up.
+    * @return the constant, or null if the name is not recognised.
+    */
+   public EnumTypeT lookup( String name ) {
+      if ( name == null ) {
+         return null;
+      }
+
+      EnumTypeT constant = exact.get( name );
+      if ( constant == null && folded != null ) {
+         constant = folded.get( name.toLowerCase( Locale.ROOT ) );
+      }
+      return constant;
+   }//End Method
+
+   /**
+    * Method to find the constant for the given json value, which is either the constant itself or its name.
+    * @param value the value to look up, can be null.
+    * @return the constant, or null if the value is not recognised.
+    */
+   public EnumTypeT lookup( Object value ) {
+      if ( value == null ) {
+         return null;
+      }
+      if ( enumType.isInstance( value ) ) {
+         return enumType.cast( value );
+      }
+      return lookup( value.toString() );
+   }//End Method
+
+}//End Class
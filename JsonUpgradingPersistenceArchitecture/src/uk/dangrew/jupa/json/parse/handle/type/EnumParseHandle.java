@@ -19,11 +19,11 @@ import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 import uk.dangrew.jupa.json.parse.handle.key.JsonValueParseHandler;
 
 /**
- * {@link Enum} {@link JsonParseHandleImpl}.
+ * {@link Enum} {@link JsonParseHandleImpl}, resolving values through an {@link EnumLookup}.
  */
 public class EnumParseHandle< EnumTypeT extends Enum< EnumTypeT > > extends JsonParseHandleImpl< EnumTypeT > {
    
-   private final Class< EnumTypeT > enumType;
+   private final EnumLookup< EnumTypeT > lookup;
    
    /**
     * Constructs a new {@link EnumParseHandle}.
@@ -31,12 +31,7 @@ public class EnumParseHandle< EnumTypeT extends Enum< EnumTypeT > > extends Json
     * @param handle the {@link JsonKeyParseHandle} associated.
     */
    public EnumParseHandle( Class< EnumTypeT > enumType, JsonKeyParseHandle< EnumTypeT > handle ) {
-      super( handle );
-
-      if ( enumType == null ) {
-         throw new IllegalArgumentException( "Null enum type not permitted." );
-      }
-      this.enumType = enumType;
+      this( EnumLookup.of( enumType ), handle );
    }//End Constructor
    
    /**
@@ -57,11 +52,43 @@ public class EnumParseHandle< EnumTypeT extends Enum< EnumTypeT > > extends Json
       this( enumType, new JsonValueParseHandler<>( handle ) );
    }//End Constructor
    
+   /**
+    * Constructs a new {@link EnumParseHandle}.
+    * @param lookup the {@link EnumLookup} to resolve values with.
+    * @param handle the {@link JsonKeyParseHandle} associated.
+    */
+   public EnumParseHandle( EnumLookup< EnumTypeT > lookup, JsonKeyParseHandle< EnumTypeT > handle ) {
+      super( handle );
+
+      if ( lookup == null ) {
+         throw new IllegalArgumentException( "Null enum lookup not permitted." );
+      }
+      this.lookup = lookup;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link EnumParseHandle} with the given method in a {@link JsonValueParseHandler}.
+    * @param lookup the {@link EnumLookup} to resolve values with.
+    * @param handle the handle to use in a {@link JsonValueParseHandler}.
+    */
+   public EnumParseHandle( EnumLookup< EnumTypeT > lookup, BiConsumer< String, EnumTypeT > handle ) {
+      this( lookup, new JsonValueParseHandler<>( handle ) );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link EnumParseHandle} with the given method in a {@link JsonValueParseHandler}.
+    * @param lookup the {@link EnumLookup} to resolve values with.
+    * @param handle the handle to use in a {@link JsonValueParseHandler}.
+    */
+   public EnumParseHandle( EnumLookup< EnumTypeT > lookup, Consumer< EnumTypeT > handle ) {
+      this( lookup, new JsonValueParseHandler<>( handle ) );
+   }//End Constructor
+   
    /**
     * {@inheritDoc}
     */
    @Override public void handleKeyPresent( String key, JSONObject object ) {
-      EnumTypeT value = object.optEnum( enumType, key );
+      EnumTypeT value = lookup.lookup( object.opt( key ) );
       super.handle( key, value );
    }//End Method
    
@@ -69,7 +96,7 @@ public class EnumParseHandle< EnumTypeT extends Enum< EnumTypeT > > extends Json
     * {@inheritDoc}
     */
    @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
-      EnumTypeT value = array.optEnum( enumType, index );
+      EnumTypeT value = lookup.lookup( array.opt( index ) );
       super.handle( key, value );
    }//End Method
 
@@ -0,0 +1,79 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.json.JSONArray;
+
+/**
+ * {@code int[]} {@link PrimitiveArrayParseHandleImpl}, decoding each value as {@link JSONArray#optInt(int)} would.
+ */
+public class IntArrayParseHandle extends PrimitiveArrayParseHandleImpl {
+
+   private final IntFunction< int[] > buffers;
+   private final PrimitiveArrayConsumer< int[] > handle;
+   
+   /**
+    * Constructs a new {@link IntArrayParseHandle} that fills buffers provided for each array.
+    * @param buffers the {@link IntFunction} providing a buffer of at least the given length, such as one reused.
+    * @param handle the {@link PrimitiveArrayConsumer} of the values.
+    */
+   public IntArrayParseHandle( IntFunction< int[] > buffers, PrimitiveArrayConsumer< int[] > handle ) {
+      if ( buffers == null || handle == null ) {
+         throw new IllegalArgumentException( "Null buffers or handle is not permitted." );
+      }
+      this.buffers = buffers;
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link IntArrayParseHandle} that allocates an array of the exact length for each array.
+    * @param handle the {@link PrimitiveArrayConsumer} of the values.
+    */
+   public IntArrayParseHandle( PrimitiveArrayConsumer< int[] > handle ) {
+      this( int[]::new, handle );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link IntArrayParseHandle} that allocates an array of the exact length for each array.
+    * @param handle the {@link Consumer} of the values.
+    */
+   public IntArrayParseHandle( Consumer< int[] > handle ) {
+      this( ignoreKey( handle ) );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link Consumer} to ignore the key and length.
+    * @param handle the {@link Consumer} of the values.
+    * @return the {@link PrimitiveArrayConsumer}.
+    */
+   private static PrimitiveArrayConsumer< int[] > ignoreKey( Consumer< int[] > handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, values, length ) -> handle.accept( values );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArray( String key, JSONArray array ) {
+      int length = array.length();
+      int[] values = buffers.apply( length );
+      verifyBuffer( values == null ? -1 : values.length, length );
+      for ( int i = 0; i < length; i++ ) {
+         values[ i ] = array.optInt( i );
+      }
+      handle.accept( key, values, length );
+   }//End Method
+   
+}//End Class
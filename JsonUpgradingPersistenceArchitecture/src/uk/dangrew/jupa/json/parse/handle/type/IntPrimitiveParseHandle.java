@@ -0,0 +1,85 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * {@code int} {@link PrimitiveParseHandleImpl}, providing values without boxing them.
+ */
+public class IntPrimitiveParseHandle extends PrimitiveParseHandleImpl {
+
+   private final ObjIntConsumer< String > handle;
+   
+   /**
+    * Constructs a new {@link IntPrimitiveParseHandle}.
+    * @param handle the {@link ObjIntConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    * @param navigation the {@link JsonNavigation} to notify of objects and arrays, can be null.
+    */
+   public IntPrimitiveParseHandle( ObjIntConsumer< String > handle, Consumer< String > absentHandle, JsonNavigation navigation ) {
+      super( absentHandle, navigation );
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link IntPrimitiveParseHandle}.
+    * @param handle the {@link ObjIntConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    */
+   public IntPrimitiveParseHandle( ObjIntConsumer< String > handle, Consumer< String > absentHandle ) {
+      this( handle, absentHandle, null );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link IntPrimitiveParseHandle} ignoring missing values.
+    * @param handle the {@link IntConsumer} of the value.
+    */
+   public IntPrimitiveParseHandle( IntConsumer handle ) {
+      this( ignoreKey( handle ), JsonNavigation.DO_NOTHING_CONSUMER );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link IntConsumer} to ignore the key.
+    * @param handle the {@link IntConsumer} of the value.
+    * @return the {@link ObjIntConsumer} of the key and value.
+    */
+   private static ObjIntConsumer< String > ignoreKey( IntConsumer handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, v ) -> handle.accept( v );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleKeyPresent( String key, JSONObject object ) {
+      handle.accept( key, object.optInt( key ) );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
+      handle.accept( key, array.optInt( index ) );
+   }//End Method
+   
+}//End Class
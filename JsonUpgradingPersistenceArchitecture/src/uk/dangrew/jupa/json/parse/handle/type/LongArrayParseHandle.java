@@ -0,0 +1,79 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.json.JSONArray;
+
+/**
+ * {@code long[]} {@link PrimitiveArrayParseHandleImpl}, decoding each value as {@link JSONArray#optLong(int)} would.
+ */
+public class LongArrayParseHandle extends PrimitiveArrayParseHandleImpl {
+
+   private final IntFunction< long[] > buffers;
+   private final PrimitiveArrayConsumer< long[] > handle;
+   
+   /**
+    * Constructs a new {@link LongArrayParseHandle} that fills buffers provided for each array.
+    * @param buffers the {@link IntFunction} providing a buffer of at least the given length, such as one reused.
+    * @param handle the {@link PrimitiveArrayConsumer} of the values.
+    */
+   public LongArrayParseHandle( IntFunction< long[] > buffers, PrimitiveArrayConsumer< long[] > handle ) {
+      if ( buffers == null || handle == null ) {
+         throw new IllegalArgumentException( "Null buffers or handle is not permitted." );
+      }
+      this.buffers = buffers;
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link LongArrayParseHandle} that allocates an array of the exact length for each array.
+    * @param handle the {@link PrimitiveArrayConsumer} of the values.
+    */
+   public LongArrayParseHandle( PrimitiveArrayConsumer< long[] > handle ) {
+      this( long[]::new, handle );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link LongArrayParseHandle} that allocates an array of the exact length for each array.
+    * @param handle the {@link Consumer} of the values.
+    */
+   public LongArrayParseHandle( Consumer< long[] > handle ) {
+      this( ignoreKey( handle ) );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link Consumer} to ignore the key and length.
+    * @param handle the {@link Consumer} of the values.
+    * @return the {@link PrimitiveArrayConsumer}.
+    */
+   private static PrimitiveArrayConsumer< long[] > ignoreKey( Consumer< long[] > handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, values, length ) -> handle.accept( values );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArray( String key, JSONArray array ) {
+      int length = array.length();
+      long[] values = buffers.apply( length );
+      verifyBuffer( values == null ? -1 : values.length, length );
+      for ( int i = 0; i < length; i++ ) {
+         values[ i ] = array.optLong( i );
+      }
+      handle.accept( key, values, length );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,85 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * {@code long} {@link PrimitiveParseHandleImpl}, providing values without boxing them.
+ */
+public class LongPrimitiveParseHandle extends PrimitiveParseHandleImpl {
+
+   private final ObjLongConsumer< String > handle;
+   
+   /**
+    * Constructs a new {@link LongPrimitiveParseHandle}.
+    * @param handle the {@link ObjLongConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    * @param navigation the {@link JsonNavigation} to notify of objects and arrays, can be null.
+    */
+   public LongPrimitiveParseHandle( ObjLongConsumer< String > handle, Consumer< String > absentHandle, JsonNavigation navigation ) {
+      super( absentHandle, navigation );
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      this.handle = handle;
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link LongPrimitiveParseHandle}.
+    * @param handle the {@link ObjLongConsumer} of the key and value.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    */
+   public LongPrimitiveParseHandle( ObjLongConsumer< String > handle, Consumer< String > absentHandle ) {
+      this( handle, absentHandle, null );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link LongPrimitiveParseHandle} ignoring missing values.
+    * @param handle the {@link LongConsumer} of the value.
+    */
+   public LongPrimitiveParseHandle( LongConsumer handle ) {
+      this( ignoreKey( handle ), JsonNavigation.DO_NOTHING_CONSUMER );
+   }//End Constructor
+   
+   /**
+    * Method to adapt the given {@link LongConsumer} to ignore the key.
+    * @param handle the {@link LongConsumer} of the value.
+    * @return the {@link ObjLongConsumer} of the key and value.
+    */
+   private static ObjLongConsumer< String > ignoreKey( LongConsumer handle ) {
+      if ( handle == null ) {
+         throw new IllegalArgumentException( "Null handle is not permitted." );
+      }
+      return ( k, v ) -> handle.accept( v );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleKeyPresent( String key, JSONObject object ) {
+      handle.accept( key, object.optLong( key ) );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
+      handle.accept( key, array.optLong( index ) );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,26 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+/**
+ * The {@link ObjBooleanConsumer} accepts an object and a {@code boolean} without boxing it, as the 
+ * {@link java.util.function.ObjIntConsumer} does for {@code int}.
+ * @param <ObjectTypeT> the type of object accepted.
+ */
+public interface ObjBooleanConsumer< ObjectTypeT > {
+
+   /**
+    * Method to accept the given object and value.
+    * @param object the object.
+    * @param value the value.
+    */
+   public void accept( ObjectTypeT object, boolean value );
+   
+}//End Interface
@@ -0,0 +1,27 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+/**
+ * The {@link PrimitiveArrayConsumer} accepts the values of a json array as an array of primitives, which
+ * may be longer than the number of values when it is a buffer being reused.
+ * @param <ArrayTypeT> the type of primitive array, such as {@code double[]}.
+ */
+public interface PrimitiveArrayConsumer< ArrayTypeT > {
+
+   /**
+    * Method to accept the given values.
+    * @param key the key the values are for.
+    * @param values the array holding the values from index zero.
+    * @param length the number of values.
+    */
+   public void accept( String key, ArrayTypeT values, int length );
+   
+}//End Interface
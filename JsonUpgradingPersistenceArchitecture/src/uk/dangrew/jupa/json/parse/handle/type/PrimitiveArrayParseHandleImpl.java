@@ -0,0 +1,84 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+
+/**
+ * The {@link PrimitiveArrayParseHandleImpl} provides the common structure of a {@link JsonArrayHandle} that
+ * decodes a whole {@link JSONArray} into an array of primitives in a single pass, where the type specific 
+ * decoding is defined by extensions.
+ */
+public abstract class PrimitiveArrayParseHandleImpl implements JsonArrayHandle {
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedObject( String key ) {
+      //not navigated
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedObject( String key ) {
+      //not navigated
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedArray( String key ) {
+      //not navigated
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedArray( String key ) {
+      //not navigated
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONObject object ) {
+      Object value = object.opt( key );
+      if ( value instanceof JSONArray ) {
+         handleArray( key, ( JSONArray )value );
+      }
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONArray array, int index ) {
+      Object value = array.opt( index );
+      if ( value instanceof JSONArray ) {
+         handleArray( key, ( JSONArray )value );
+      }
+   }//End Method
+   
+   /**
+    * Method to verify that the given buffer can hold the given number of values.
+    * @param bufferLength the length of the buffer, or -1 if there is none.
+    * @param length the number of values.
+    * @throws IllegalStateException if the buffer is too short.
+    */
+   protected static void verifyBuffer( int bufferLength, int length ) {
+      if ( bufferLength < length ) {
+         throw new IllegalStateException( "Buffer must hold at least " + length + " values." );
+      }
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,125 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * The {@link PrimitiveParseHandleImpl} provides the common structure of a {@link JsonHandle} that provides
+ * primitive values, without boxing, where the type specific methods are defined by extensions. Rather than
+ * providing null for a missing or null value, an absent handle is called with the key.
+ */
+public abstract class PrimitiveParseHandleImpl implements JsonHandle {
+   
+   private final Consumer< String > absentHandle;
+   private final JsonNavigation navigation;
+   
+   /**
+    * Constructs a new {@link PrimitiveParseHandleImpl}.
+    * @param absentHandle the {@link Consumer} of the key when the value is missing or null.
+    * @param navigation the {@link JsonNavigation} to notify of objects and arrays, can be null.
+    */
+   protected PrimitiveParseHandleImpl( Consumer< String > absentHandle, JsonNavigation navigation ) {
+      if ( absentHandle == null ) {
+         throw new IllegalArgumentException( "Null absent handle is not permitted." );
+      }
+      this.absentHandle = absentHandle;
+      this.navigation = navigation;
+   }//End Constructor
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedObject( String key ) {
+      if ( navigation != null ) {
+         navigation.startedObject( key );
+      }
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedObject( String key ) {
+      if ( navigation != null ) {
+         navigation.finishedObject( key );
+      }
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedArray( String key ) {
+      if ( navigation != null ) {
+         navigation.startedArray( key );
+      }
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedArray( String key ) {
+      if ( navigation != null ) {
+         navigation.finishedArray( key );
+      }
+   }//End Method
+   
+   /**
+    * Method to determine whether the given value is missing.
+    * @param value the value found, can be null.
+    * @return true if there is no value to provide.
+    */
+   private static boolean isAbsent( Object value ) {
+      return value == null || value == JSONObject.NULL;
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONObject object ) {
+      if ( isAbsent( object.opt( key ) ) ) {
+         absentHandle.accept( key );
+      } else {
+         handleKeyPresent( key, object );
+      }
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONArray array, int index ) {
+      if ( isAbsent( array.opt( index ) ) ) {
+         absentHandle.accept( key );
+      } else {
+         handleArrayIndexPresent( key, array, index );
+      }
+   }//End Method
+   
+   /**
+    * Method to retrieve the value from the {@link JSONObject} as the correct primitive.
+    * @param key the key to retrieve value from.
+    * @param object the {@link JSONObject} to look in.
+    */
+   public abstract void handleKeyPresent( String key, JSONObject object );
+   
+   /**
+    * Method to retrieve the value from the {@link JSONArray} as the correct primitive.
+    * @param key the key to retrieve value from.
+    * @param array the {@link JSONArray} to look in.
+    * @param index the index of item to get.
+    */
+   public abstract void handleArrayIndexPresent( String key, JSONArray array, int index );
+   
+}//End Class
@@ -15,20 +15,34 @@ import java.util.function.Consumer;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import uk.dangrew.jupa.json.parse.JsonStringPool;
 import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 import uk.dangrew.jupa.json.parse.handle.key.JsonValueParseHandler;
 
 /**
- * {@link String} {@link JsonParseHandleImpl}.
+ * {@link String} {@link JsonParseHandleImpl}, optionally resolving values to canonical instances
+ * in a {@link JsonStringPool}.
  */
 public class StringParseHandle extends JsonParseHandleImpl< String > {
    
+   private final JsonStringPool pool;
+   
    /**
     * Constructs a new {@link StringParseHandle}.
     * @param handle the {@link JsonKeyParseHandle} associated.
     */
    public StringParseHandle( JsonKeyParseHandle< String > handle ) {
+      this( handle, null );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link StringParseHandle}.
+    * @param handle the {@link JsonKeyParseHandle} associated.
+    * @param pool the {@link JsonStringPool} to resolve values with, null to provide values as parsed.
+    */
+   public StringParseHandle( JsonKeyParseHandle< String > handle, JsonStringPool pool ) {
       super( handle );
+      this.pool = pool;
    }//End Constructor
    
    /**
@@ -47,11 +61,38 @@ public class StringParseHandle extends JsonParseHandleImpl< String > {
       this( new JsonValueParseHandler<>( handle ) );
    }//End Constructor
    
+   /**
+    * Constructs a new {@link StringParseHandle} with the given method in a {@link JsonValueParseHandler}.
+    * @param handle the handle to use in a {@link JsonValueParseHandler}.
+    * @param pool the {@link JsonStringPool} to resolve values with, null to provide values as parsed.
+    */
+   public StringParseHandle( BiConsumer< String, String > handle, JsonStringPool pool ) {
+      this( new JsonValueParseHandler<>( handle ), pool );
+   }//End Constructor
+   
+   /**
+    * Constructs a new {@link StringParseHandle} with the given method in a {@link JsonValueParseHandler}.
+    * @param handle the handle to use in a {@link JsonValueParseHandler}.
+    * @param pool the {@link JsonStringPool} to resolve values with, null to provide values as parsed.
+    */
+   public StringParseHandle( Consumer< String > handle, JsonStringPool pool ) {
+      this( new JsonValueParseHandler<>( handle ), pool );
+   }//End Constructor
+   
+   /**
+    * Method to resolve the given value in the {@link JsonStringPool}, if there is one.
+    * @param value the value parsed.
+    * @return the value to provide.
+    */
+   private String canonical( String value ) {
+      return pool == null ? value : pool.canonical( value );
+   }//End Method
+   
    /**
     * {@inheritDoc}
     */
    @Override public void handleKeyPresent( String key, JSONObject object ) {
-      String value = object.optString( key );
+      String value = canonical( object.optString( key ) );
       super.handle( key, value );
    }//End Method
    
@@ -59,7 +100,7 @@ public class StringParseHandle extends JsonParseHandleImpl< String > {
     * {@inheritDoc}
     */
    @Override public void handleArrayIndexPresent( String key, JSONArray array, int index ) {
-      String value = array.optString( index );
+      String value = canonical( array.optString( index ) );
       super.handle( key, value );
    }//End Method
 
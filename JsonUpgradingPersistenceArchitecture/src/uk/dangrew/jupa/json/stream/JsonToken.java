@@ -0,0 +1,47 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.stream;
+
+/**
+ * The {@link JsonToken} defines the types of token the {@link JsonTokenizer} can produce
+ * while reading json incrementally.
+ */
+public enum JsonToken {
+
+   START_OBJECT,
+   END_OBJECT,
+   START_ARRAY,
+   END_ARRAY,
+   KEY,
+   STRING,
+   NUMBER,
+   TRUE,
+   FALSE,
+   NULL,
+   END_DOCUMENT;
+
+   /**
+    * Method to determine whether the token represents a single value, rather than structure.
+    * @return true if a {@link #STRING}, {@link #NUMBER}, {@link #TRUE}, {@link #FALSE} or {@link #NULL}.
+    */
+   public boolean isValue() {
+      switch ( this ) {
+         case STRING:
+         case NUMBER:
+         case TRUE:
+         case FALSE:
+         case NULL:
+            return true;
+         default:
+            return false;
+      }
+   }//End Method
+
+}//End Enum
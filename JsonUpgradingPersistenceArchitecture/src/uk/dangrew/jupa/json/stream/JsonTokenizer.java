@@ -0,0 +1,543 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.stream;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The {@link JsonTokenizer} reads json from a {@link Reader} one {@link JsonToken} at a time, using
+ * a fixed read buffer so that the input never needs to be held in memory as a whole. Any number of
+ * top level values can be read in sequence, {@link JsonToken#END_DOCUMENT} is given when the input is exhausted.
+ * As with {@link org.json.JSONTokener}, single quoted and unquoted keys and values are accepted.
+ */
+public class JsonTokenizer {
+
+   static final int DEFAULT_BUFFER_SIZE = 8192;
+   private static final String UNQUOTED_TERMINATORS = ",:]}/\\\"[{;=#";
+   private static final int MAXIMUM_LONG_DIGITS = 18;
+   private static final int MAXIMUM_DOUBLE_DIGITS = 15;
+
+   private static final int OBJECT_FIRST = 0;
+   private static final int OBJECT_KEY = 1;
+   private static final int OBJECT_VALUE = 2;
+   private static final int OBJECT_AFTER = 3;
+   private static final int ARRAY_FIRST = 4;
+   private static final int ARRAY_VALUE = 5;
+   private static final int ARRAY_AFTER = 6;
+
+   private final Reader reader;
+   private final char[] buffer;
+   private int position;
+   private int limit;
+   private int lastRead;
+
+   private char[] text;
+   private int textLength;
+
+   private int[] states;
+   private int depth;
+   private JsonToken current;
+
+   /**
+    * Constructs a new {@link JsonTokenizer}.
+    * @param reader the {@link Reader} to tokenize.
+    */
+   public JsonTokenizer( Reader reader ) {
+      this( reader, DEFAULT_BUFFER_SIZE );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonTokenizer}.
+    * @param reader the {@link Reader} to tokenize.
+    * @param bufferSize the number of characters to read from the {@link Reader} at a time.
+    */
+   public JsonTokenizer( Reader reader, int bufferSize ) {
+      if ( reader == null ) {
+         throw new IllegalArgumentException( "Cannot tokenize null Reader." );
+      }
+      this.reader = reader;
+      this.buffer = new char[ bufferSize ];
+      this.text = new char[ 64 ];
+      this.states = new int[ 32 ];
+   }//End Constructor
+
+   /**
+    * Method to read the next {@link JsonToken}.
+    * @return the {@link JsonToken} read.
+    * @throws JSONException if the input is not valid json.
+    */
+   public JsonToken next() {
+      current = readNext();
+      return current;
+   }//End Method
+
+   /**
+    * Getter for the last {@link JsonToken} read.
+    * @return the current {@link JsonToken}, null before reading.
+    */
+   public JsonToken current() {
+      return current;
+   }//End Method
+
+   /**
+    * Getter for the depth of nesting the tokenizer is currently in, zero being outside of any
+    * object or array.
+    * @return the depth.
+    */
+   public int depth() {
+      return depth;
+   }//End Method
+
+   /**
+    * Method to get the text of the current {@link JsonToken#KEY}, {@link JsonToken#STRING} or
+    * {@link JsonToken#NUMBER}.
+    * @return the {@link String} text of the token.
+    */
+   public String text() {
+      return new String( text, 0, textLength );
+   }//End Method
+
+   /**
+    * Method to convert the current value token into the same representation a {@link JSONObject}
+    * would hold for it, except that a decimal with more significant digits than a double holds exactly
+    * is given as a {@link BigDecimal}. Integers are decoded directly from the characters read.
+    * @return the value as a {@link String}, {@link Number}, {@link Boolean} or {@link JSONObject#NULL}.
+    */
+   public Object value() {
+      switch ( current ) {
+         case STRING:
+            return text();
+         case NUMBER:
+            return number();
+         case TRUE:
+            return Boolean.TRUE;
+         case FALSE:
+            return Boolean.FALSE;
+         case NULL:
+            return JSONObject.NULL;
+         default:
+            throw new IllegalStateException( current + " is not a value." );
+      }
+   }//End Method
+
+   /**
+    * Method to skip over the value that has just been started. If the current {@link JsonToken} is
+    * {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY} this reads up to and including
+    * its matching end, otherwise nothing is read.
+    */
+   public void skipValue() {
+      if ( current != JsonToken.START_OBJECT && current != JsonToken.START_ARRAY ) {
+         return;
+      }
+
+      int target = depth - 1;
+      while ( depth > target ) {
+         if ( next() == JsonToken.END_DOCUMENT ) {
+            return;
+         }
+      }
+   }//End Method
+
+   /**
+    * Method to recover from invalid input by discarding the remainder of the current line and any
+    * nesting in progress, so that reading continues with the next line as a new top level value.
+    */
+   public void skipToNextLine() {
+      depth = 0;
+      current = null;
+      int c = lastRead;
+      while ( c != '\n' && c != -1 ) {
+         c = read();
+      }
+   }//End Method
+
+   /**
+    * Method to read the next token from the input.
+    * @return the {@link JsonToken} read.
+    */
+   private JsonToken readNext() {
+      int c = nextClean();
+      if ( depth == 0 ) {
+         if ( c == -1 ) {
+            return JsonToken.END_DOCUMENT;
+         }
+         return readValue( c );
+      }
+
+      switch ( states[ depth - 1 ] ) {
+         case OBJECT_FIRST:
+            if ( c == '}' ) {
+               depth--;
+               return JsonToken.END_OBJECT;
+            }
+            return readKey( c );
+         case OBJECT_KEY:
+            return readKey( c );
+         case OBJECT_VALUE:
+            return readValue( c );
+         case OBJECT_AFTER:
+            if ( c == ',' ) {
+               states[ depth - 1 ] = OBJECT_KEY;
+               return readKey( nextClean() );
+            } else if ( c == '}' ) {
+               depth--;
+               return JsonToken.END_OBJECT;
+            }
+            throw syntaxError( "Expected a ',' or '}'" );
+         case ARRAY_FIRST:
+            if ( c == ']' ) {
+               depth--;
+               return JsonToken.END_ARRAY;
+            }
+            return readValue( c );
+         case ARRAY_VALUE:
+            return readValue( c );
+         case ARRAY_AFTER:
+            if ( c == ',' ) {
+               states[ depth - 1 ] = ARRAY_VALUE;
+               return readValue( nextClean() );
+            } else if ( c == ']' ) {
+               depth--;
+               return JsonToken.END_ARRAY;
+            }
+            throw syntaxError( "Expected a ',' or ']'" );
+         default:
+            throw new IllegalStateException( "Unknown tokenizer state." );
+      }
+   }//End Method
+
+   /**
+    * Method to read a key, including the separator following it.
+    * @param c the first character of the key.
+    * @return {@link JsonToken#KEY}.
+    */
+   private JsonToken readKey( int c ) {
+      if ( c == '"' || c == '\'' ) {
+         readString( ( char )c );
+      } else if ( c == -1 || UNQUOTED_TERMINATORS.indexOf( c ) >= 0 ) {
+         throw syntaxError( "Expected a key" );
+      } else {
+         readUnquoted( ( char )c );
+      }
+      
+      if ( nextClean() != ':' ) {
+         throw syntaxError( "Expected a ':' after a key" );
+      }
+      states[ depth - 1 ] = OBJECT_VALUE;
+      return JsonToken.KEY;
+   }//End Method
+
+   /**
+    * Method to read a value, starting with the given character.
+    * @param c the first character of the value.
+    * @return the {@link JsonToken} for the value.
+    */
+   private JsonToken readValue( int c ) {
+      if ( depth > 0 ) {
+         states[ depth - 1 ] = states[ depth - 1 ] == OBJECT_VALUE ? OBJECT_AFTER : ARRAY_AFTER;
+      }
+
+      switch ( c ) {
+         case '{':
+            push( OBJECT_FIRST );
+            return JsonToken.START_OBJECT;
+         case '[':
+            push( ARRAY_FIRST );
+            return JsonToken.START_ARRAY;
+         case '"':
+         case '\'':
+            readString( ( char )c );
+            return JsonToken.STRING;
+         case -1:
+            throw syntaxError( "Unexpected end of input" );
+         default:
+            if ( UNQUOTED_TERMINATORS.indexOf( c ) >= 0 ) {
+               throw syntaxError( "Unexpected character '" + ( char )c + "'" );
+            }
+            readUnquoted( ( char )c );
+            return classifyUnquoted();
+      }
+   }//End Method
+
+   /**
+    * Method to push a new level of nesting.
+    * @param state the initial state of the level.
+    */
+   private void push( int state ) {
+      if ( depth == states.length ) {
+         int[] expanded = new int[ states.length * 2 ];
+         System.arraycopy( states, 0, expanded, 0, depth );
+         states = expanded;
+      }
+      states[ depth++ ] = state;
+   }//End Method
+
+   /**
+    * Method to read the remainder of a string into the text buffer, the opening quote having been read.
+    * @param quote the quote character that ends the string.
+    */
+   private void readString( char quote ) {
+      textLength = 0;
+      while ( true ) {
+         int c = read();
+         if ( c == quote ) {
+            return;
+         }
+         switch ( c ) {
+            case -1:
+            case '\n':
+            case '\r':
+               throw syntaxError( "Unterminated string" );
+            case '\\':
+               appendText( readEscape() );
+               break;
+            default:
+               appendText( ( char )c );
+         }
+      }
+   }//End Method
+
+   /**
+    * Method to read an escaped character, the backslash having been read.
+    * @return the character represented.
+    */
+   private char readEscape() {
+      int c = read();
+      switch ( c ) {
+         case 'b':
+            return '\b';
+         case 't':
+            return '\t';
+         case 'n':
+            return '\n';
+         case 'f':
+            return '\f';
+         case 'r':
+            return '\r';
+         case 'u':
+            int code = 0;
+            for ( int i = 0; i < 4; i++ ) {
+               int digit = Character.digit( read(), 16 );
+               if ( digit < 0 ) {
+                  throw syntaxError( "Illegal escape" );
+               }
+               code = ( code << 4 ) + digit;
+            }
+            return ( char )code;
+         case '"':
+         case '\'':
+         case '\\':
+         case '/':
+            return ( char )c;
+         default:
+            throw syntaxError( "Illegal escape" );
+      }
+   }//End Method
+
+   /**
+    * Method to read the remainder of an unquoted key or value into the text buffer, trimming trailing spaces.
+    * @param first the first character.
+    */
+   private void readUnquoted( char first ) {
+      textLength = 0;
+      appendText( first );
+      while ( true ) {
+         int c = peek();
+         if ( c < ' ' || UNQUOTED_TERMINATORS.indexOf( c ) >= 0 ) {
+            break;
+         }
+         appendText( ( char )read() );
+      }
+      while ( text[ textLength - 1 ] == ' ' ) {
+         textLength--;
+      }
+   }//End Method
+
+   /**
+    * Method to convert the number in the text buffer to its value.
+    * @return the {@link Integer} or {@link Long} if integral and small enough, otherwise as 
+    * {@link #decimal()} provides.
+    */
+   private Object number() {
+      int start = text[ 0 ] == '-' ? 1 : 0;
+      int digits = textLength - start;
+      if ( digits == 0 || digits > MAXIMUM_LONG_DIGITS || ( text[ start ] == '0' && ( digits > 1 || start == 1 ) ) ) {
+         return decimal();
+      }
+
+      long value = 0;
+      for ( int i = start; i < textLength; i++ ) {
+         char c = text[ i ];
+         if ( c < '0' || c > '9' ) {
+            return decimal();
+         }
+         value = value * 10 + ( c - '0' );
+      }
+      if ( start == 1 ) {
+         value = -value;
+      }
+      
+      if ( value == ( int )value ) {
+         return Integer.valueOf( ( int )value );
+      }
+      return Long.valueOf( value );
+   }//End Method
+
+   /**
+    * Method to convert the number in the text buffer to its value where it is not a small integer.
+    * @return a {@link BigDecimal} if a decimal with more significant digits than a double holds exactly,
+    * otherwise the value {@link JSONObject#stringToValue(String)} gives.
+    */
+   private Object decimal() {
+      int significant = 0;
+      boolean decimal = false;
+      for ( int i = 0; i < textLength; i++ ) {
+         char c = text[ i ];
+         if ( c == '.' ) {
+            decimal = true;
+         } else if ( c == 'e' || c == 'E' ) {
+            decimal = true;
+            break;
+         } else if ( ( c >= '1' && c <= '9' ) || ( c == '0' && significant > 0 ) ) {
+            significant++;
+         }
+      }
+
+      if ( decimal && significant > MAXIMUM_DOUBLE_DIGITS ) {
+         try {
+            return new BigDecimal( text, 0, textLength );
+         } catch ( NumberFormatException exception ) {
+            //not a number - as a string below
+         }
+      }
+      return JSONObject.stringToValue( text() );
+   }//End Method
+
+   /**
+    * Method to determine the {@link JsonToken} for the unquoted value in the text buffer, following
+    * the same rules as {@link JSONObject#stringToValue(String)}.
+    * @return the {@link JsonToken} for the value.
+    */
+   private JsonToken classifyUnquoted() {
+      if ( textMatches( "true" ) ) {
+         return JsonToken.TRUE;
+      } else if ( textMatches( "false" ) ) {
+         return JsonToken.FALSE;
+      } else if ( textMatches( "null" ) ) {
+         return JsonToken.NULL;
+      }
+      
+      char first = text[ 0 ];
+      if ( first == '-' || ( first >= '0' && first <= '9' ) ) {
+         return JsonToken.NUMBER;
+      }
+      return JsonToken.STRING;
+   }//End Method
+
+   /**
+    * Method to determine whether the text buffer matches the given literal, ignoring case.
+    * @param literal the literal to compare.
+    * @return true if matching.
+    */
+   private boolean textMatches( String literal ) {
+      if ( textLength != literal.length() ) {
+         return false;
+      }
+      for ( int i = 0; i < textLength; i++ ) {
+         if ( Character.toLowerCase( text[ i ] ) != literal.charAt( i ) ) {
+            return false;
+         }
+      }
+      return true;
+   }//End Method
+
+   /**
+    * Method to append a character to the text buffer.
+    * @param c the character to append.
+    */
+   private void appendText( char c ) {
+      if ( textLength == text.length ) {
+         char[] expanded = new char[ text.length * 2 ];
+         System.arraycopy( text, 0, expanded, 0, textLength );
+         text = expanded;
+      }
+      text[ textLength++ ] = c;
+   }//End Method
+
+   /**
+    * Method to read the next character that is not whitespace.
+    * @return the character, or -1 if the input is exhausted.
+    */
+   private int nextClean() {
+      while ( true ) {
+         int c = read();
+         if ( c == -1 || c > ' ' ) {
+            return c;
+         }
+      }
+   }//End Method
+
+   /**
+    * Method to read the next character.
+    * @return the character, or -1 if the input is exhausted.
+    */
+   private int read() {
+      if ( position == limit && !fill() ) {
+         lastRead = -1;
+         return -1;
+      }
+      lastRead = buffer[ position++ ];
+      return lastRead;
+   }//End Method
+
+   /**
+    * Method to look at the next character without consuming it.
+    * @return the character, or -1 if the input is exhausted.
+    */
+   private int peek() {
+      if ( position == limit && !fill() ) {
+         return -1;
+      }
+      return buffer[ position ];
+   }//End Method
+
+   /**
+    * Method to fill the buffer from the {@link Reader}.
+    * @return true if any characters were read.
+    */
+   private boolean fill() {
+      try {
+         int read = reader.read( buffer, 0, buffer.length );
+         if ( read <= 0 ) {
+            return false;
+         }
+         position = 0;
+         limit = read;
+         return true;
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+   }//End Method
+
+   /**
+    * Method to construct a {@link JSONException} for invalid input.
+    * @param message the description of the problem.
+    * @return the {@link JSONException}.
+    */
+   private JSONException syntaxError( String message ) {
+      return new JSONException( message + " at depth " + depth );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,515 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.stream;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The {@link JsonWriter} writes json to a {@link Writer} one structure, key or value at a time, the counterpart
+ * of the {@link JsonTokenizer}, so that json can be written without first being held in memory as a whole. Values
+ * are written as a {@link JSONObject} would write them, and {@link JSONObject}s and {@link JSONArray}s given as
+ * values are written through this {@link JsonWriter} rather than being rendered to a {@link String}. Output is
+ * compact, or indented with each member on its own line. {@link JSONObject}s and {@link JSONArray}s given as values
+ * are laid out exactly as {@link JSONObject#toString(int)} would lay them out, those with a single member or element
+ * being kept on one line. The text written for a value can be captured, and written again verbatim as a fragment,
+ * so that json that has not changed need not be rendered again.
+ */
+public class JsonWriter {
+
+   private final CaptureWriter writer;
+   private final int indentFactor;
+   private final int baseLevel;
+
+   private boolean[] objects;
+   private boolean[] populated;
+   private boolean[] inline;
+   private int[] levels;
+   private int depth;
+   private boolean keyWritten;
+   private boolean rootWritten;
+
+   /**
+    * Constructs a new compact {@link JsonWriter}.
+    * @param writer the {@link Writer} to write to, which should be buffered.
+    */
+   public JsonWriter( Writer writer ) {
+      this( writer, 0 );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonWriter}.
+    * @param writer the {@link Writer} to write to, which should be buffered.
+    * @param indentFactor the number of spaces to indent each level by, 0 for compact output.
+    */
+   public JsonWriter( Writer writer, int indentFactor ) {
+      this( writer, indentFactor, 0 );
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonWriter} for json that will be placed at the given level of indentation within
+    * other json, such as a value written separately and then given to another {@link JsonWriter} as a
+    * {@link #fragment(String)}.
+    * @param writer the {@link Writer} to write to, which should be buffered.
+    * @param indentFactor the number of spaces to indent each level by, 0 for compact output.
+    * @param level the {@link #level()} the json will be placed at.
+    */
+   public JsonWriter( Writer writer, int indentFactor, int level ) {
+      if ( writer == null ) {
+         throw new IllegalArgumentException( "Cannot write to null Writer." );
+      }
+      if ( indentFactor < 0 || level < 0 ) {
+         throw new IllegalArgumentException( "Indent factor and level must not be negative." );
+      }
+      this.writer = new CaptureWriter( writer );
+      this.indentFactor = indentFactor;
+      this.baseLevel = level;
+      this.objects = new boolean[ 16 ];
+      this.populated = new boolean[ 16 ];
+      this.inline = new boolean[ 16 ];
+      this.levels = new int[ 16 ];
+   }//End Constructor
+
+   /**
+    * Getter for the number of spaces each level is indented by.
+    * @return the indent factor, 0 if compact.
+    */
+   public int getIndentFactor() {
+      return indentFactor;
+   }//End Method
+
+   /**
+    * Getter for the level of indentation the next value is written at, which text captured at one level
+    * is only valid at.
+    * @return the level, that constructed with for a value not within an object or array.
+    */
+   public int level() {
+      return depth == 0 ? baseLevel : levels[ depth - 1 ];
+   }//End Method
+
+   /**
+    * Getter for the number of objects and arrays started and not yet ended.
+    * @return the depth.
+    */
+   public int depth() {
+      return depth;
+   }//End Method
+
+   /**
+    * Method to start an object, as a value.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if a value cannot be written here or the {@link Writer} fails.
+    */
+   public JsonWriter startObject() {
+      return start( true, '{', false );
+   }//End Method
+
+   /**
+    * Method to end the current object.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if an object is not open or the {@link Writer} fails.
+    */
+   public JsonWriter endObject() {
+      return end( true, '}' );
+   }//End Method
+
+   /**
+    * Method to start an array, as a value.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if a value cannot be written here or the {@link Writer} fails.
+    */
+   public JsonWriter startArray() {
+      return start( false, '[', false );
+   }//End Method
+
+   /**
+    * Method to end the current array.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if an array is not open or the {@link Writer} fails.
+    */
+   public JsonWriter endArray() {
+      return end( false, ']' );
+   }//End Method
+
+   /**
+    * Method to write the key of the next member of the current object.
+    * @param key the key.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if an object is not open, a key has been written without its value,
+    * or the {@link Writer} fails.
+    */
+   public JsonWriter key( String key ) {
+      if ( key == null ) {
+         throw new IllegalArgumentException( "Cannot write null key." );
+      }
+      if ( depth == 0 || !objects[ depth - 1 ] || keyWritten ) {
+         throw new JSONException( "Key '" + key + "' is not expected." );
+      }
+
+      try {
+         separate();
+         JSONObject.quote( key, writer );
+         writer.write( ':' );
+         if ( indentFactor > 0 ) {
+            writer.write( ' ' );
+         }
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+      keyWritten = true;
+      return this;
+   }//End Method
+
+   /**
+    * Method to write a value, as a {@link JSONObject} would write it. {@link java.util.Map}s, {@link Collection}s
+    * and arrays are written as the {@link JSONObject}s and {@link JSONArray}s they are wrapped in.
+    * @param value the value, null or {@link JSONObject#NULL} written as null.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if a value cannot be written here, is not valid json, or the {@link Writer} fails.
+    */
+   public JsonWriter value( Object value ) {
+      if ( value instanceof JSONObject ) {
+         return object( ( JSONObject )value );
+      } else if ( value instanceof JSONArray ) {
+         return array( ( JSONArray )value );
+      } else if ( value instanceof Map ) {
+         return object( new JSONObject( ( Map< ?, ? > )value ) );
+      } else if ( value instanceof Collection ) {
+         return array( new JSONArray( ( Collection< ? > )value ) );
+      } else if ( value != null && value.getClass().isArray() ) {
+         return array( new JSONArray( value ) );
+      }
+
+      beginValue();
+      try {
+         if ( value == null || value.equals( null ) ) {
+            writer.write( "null" );
+         } else if ( value instanceof String ) {
+            JSONObject.quote( ( String )value, writer );
+         } else if ( value instanceof Number ) {
+            writer.write( JSONObject.numberToString( ( Number )value ) );
+         } else if ( value instanceof Boolean ) {
+            writer.write( value.toString() );
+         } else if ( value instanceof Enum ) {
+            JSONObject.quote( ( ( Enum< ? > )value ).name(), writer );
+         } else {
+            writer.write( JSONObject.valueToString( value ) );
+         }
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+      endValue();
+      return this;
+   }//End Method
+
+   /**
+    * Method to write, as a value, a fragment of json text captured by {@link #endCapture(int)} for a value
+    * written at the same {@link #level()} with the same indent factor. The fragment is not verified.
+    * @param fragment the json text of a single value.
+    * @return this {@link JsonWriter}.
+    * @throws JSONException if a value cannot be written here or the {@link Writer} fails.
+    */
+   public JsonWriter fragment( String fragment ) {
+      if ( fragment == null ) {
+         throw new IllegalArgumentException( "Cannot write null fragment." );
+      }
+
+      beginValue();
+      try {
+         writer.write( fragment );
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+      endValue();
+      return this;
+   }//End Method
+
+   /**
+    * Method to start capturing the text written, such as to capture the next value as a fragment. Captures can
+    * be nested, each being ended in the reverse order started.
+    * @return the mark to end the capture with.
+    */
+   public int startCapture() {
+      return writer.startCapture();
+   }//End Method
+
+   /**
+    * Method to end the capture started with the given mark.
+    * @param mark the mark given by {@link #startCapture()}.
+    * @return the text written since the capture started.
+    * @throws IllegalStateException if no capture is started.
+    */
+   public String endCapture( int mark ) {
+      return writer.endCapture( mark );
+   }//End Method
+
+   /**
+    * Method to write the given {@link JSONObject} as a value, member by member.
+    * @param object the {@link JSONObject}.
+    * @return this {@link JsonWriter}.
+    */
+   private JsonWriter object( JSONObject object ) {
+      start( true, '{', object.length() == 1 );
+      Iterator< String > keys = object.keys();
+      while ( keys.hasNext() ) {
+         String key = keys.next();
+         key( key );
+         value( object.opt( key ) );
+      }
+      return endObject();
+   }//End Method
+
+   /**
+    * Method to write the given {@link JSONArray} as a value, element by element.
+    * @param array the {@link JSONArray}.
+    * @return this {@link JsonWriter}.
+    */
+   private JsonWriter array( JSONArray array ) {
+      start( false, '[', array.length() == 1 );
+      for ( int i = 0; i < array.length(); i++ ) {
+         value( array.opt( i ) );
+      }
+      return endArray();
+   }//End Method
+
+   /**
+    * Method to flush the {@link Writer}.
+    * @throws JSONException if the {@link Writer} fails.
+    */
+   public void flush() {
+      try {
+         writer.flush();
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+   }//End Method
+
+   /**
+    * Method to start an object or array.
+    * @param object whether an object is started.
+    * @param opening the character opening it.
+    * @param oneLine whether its single member or element is kept on the same line.
+    * @return this {@link JsonWriter}.
+    */
+   private JsonWriter start( boolean object, char opening, boolean oneLine ) {
+      beginValue();
+      try {
+         writer.write( opening );
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+
+      if ( depth == objects.length ) {
+         objects = Arrays.copyOf( objects, depth * 2 );
+         populated = Arrays.copyOf( populated, depth * 2 );
+         inline = Arrays.copyOf( inline, depth * 2 );
+         levels = Arrays.copyOf( levels, depth * 2 );
+      }
+      int base = level();
+      objects[ depth ] = object;
+      populated[ depth ] = false;
+      inline[ depth ] = oneLine && indentFactor > 0;
+      levels[ depth ] = inline[ depth ] ? base : base + 1;
+      depth++;
+      keyWritten = false;
+      return this;
+   }//End Method
+
+   /**
+    * Method to end an object or array.
+    * @param object whether an object is ended.
+    * @param closing the character closing it.
+    * @return this {@link JsonWriter}.
+    */
+   private JsonWriter end( boolean object, char closing ) {
+      if ( depth == 0 || objects[ depth - 1 ] != object || keyWritten ) {
+         throw new JSONException( "'" + closing + "' is not expected." );
+      }
+
+      depth--;
+      try {
+         if ( populated[ depth ] && !inline[ depth ] ) {
+            newLine( levels[ depth ] - 1 );
+         }
+         writer.write( closing );
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+      endValue();
+      return this;
+   }//End Method
+
+   /**
+    * Method to verify a value can be written and to separate it from any before it.
+    */
+   private void beginValue() {
+      if ( depth == 0 ) {
+         if ( rootWritten ) {
+            try {
+               writer.write( '\n' );
+            } catch ( IOException exception ) {
+               throw new JSONException( exception );
+            }
+         }
+         return;
+      }
+
+      if ( objects[ depth - 1 ] ) {
+         if ( !keyWritten ) {
+            throw new JSONException( "A key must be written before a value in an object." );
+         }
+         return;
+      }
+
+      try {
+         separate();
+      } catch ( IOException exception ) {
+         throw new JSONException( exception );
+      }
+   }//End Method
+
+   /**
+    * Method to record that a value has been written.
+    */
+   private void endValue() {
+      keyWritten = false;
+      if ( depth == 0 ) {
+         rootWritten = true;
+      }
+   }//End Method
+
+   /**
+    * Method to write the separator before the next member or element of the current structure.
+    * @throws IOException if the {@link Writer} fails.
+    */
+   private void separate() throws IOException {
+      if ( populated[ depth - 1 ] ) {
+         writer.write( ',' );
+      }
+      populated[ depth - 1 ] = true;
+      if ( !inline[ depth - 1 ] ) {
+         newLine( levels[ depth - 1 ] );
+      }
+   }//End Method
+
+   /**
+    * Method to start a new line indented to the given level, if indenting.
+    * @param level the level to indent to.
+    * @throws IOException if the {@link Writer} fails.
+    */
+   private void newLine( int level ) throws IOException {
+      if ( indentFactor == 0 ) {
+         return;
+      }
+      writer.write( '\n' );
+      for ( int i = level * indentFactor; i > 0; i-- ) {
+         writer.write( ' ' );
+      }
+   }//End Method
+
+   /**
+    * The {@link CaptureWriter} passes the text written to the {@link Writer} given, recording it while captured.
+    */
+   private static class CaptureWriter extends Writer {
+
+      private final Writer writer;
+      private final StringBuilder captured;
+      private int captures;
+
+      /**
+       * Constructs a new {@link CaptureWriter}.
+       * @param writer the {@link Writer} to write to.
+       */
+      private CaptureWriter( Writer writer ) {
+         this.writer = writer;
+         this.captured = new StringBuilder();
+      }//End Constructor
+
+      /**
+       * Method to start capturing.
+       * @return the mark of the capture.
+       */
+      private int startCapture() {
+         captures++;
+         return captured.length();
+      }//End Method
+
+      /**
+       * Method to end capturing.
+       * @param mark the mark of the capture.
+       * @return the text captured since the mark.
+       */
+      private String endCapture( int mark ) {
+         if ( captures == 0 || mark < 0 || mark > captured.length() ) {
+            throw new IllegalStateException( "No capture started at " + mark + "." );
+         }
+         String text = captured.substring( mark );
+         captures--;
+         if ( captures == 0 ) {
+            captured.setLength( 0 );
+         }
+         return text;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void write( int character ) throws IOException {
+         writer.write( character );
+         if ( captures > 0 ) {
+            captured.append( ( char )character );
+         }
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void write( char[] buffer, int offset, int length ) throws IOException {
+         writer.write( buffer, offset, length );
+         if ( captures > 0 ) {
+            captured.append( buffer, offset, length );
+         }
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void write( String string, int offset, int length ) throws IOException {
+         writer.write( string, offset, length );
+         if ( captures > 0 ) {
+            captured.append( string, offset, offset + length );
+         }
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void flush() throws IOException {
+         writer.flush();
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void close() throws IOException {
+         writer.close();
+      }//End Method
+
+   }//End Class
+
+}//End Class
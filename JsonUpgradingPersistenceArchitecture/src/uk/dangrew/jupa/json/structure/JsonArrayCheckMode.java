@@ -0,0 +1,27 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import org.json.JSONArray;
+
+/**
+ * The {@link JsonArrayCheckMode} defines how the elements of a large {@link JSONArray} are checked
+ * for compatibility with a {@link JsonStructure}.
+ */
+public enum JsonArrayCheckMode {
+
+   /** Every element is checked, in order, on the checking thread. */
+   FULL,
+   /** Every element is checked, in portions of consecutive elements checked on a {@link java.util.concurrent.ForkJoinPool}. */
+   PARALLEL,
+   /** Only the first, last and some randomly chosen elements are checked, assuming the rest are alike. */
+   SAMPLED;
+
+}//End Enum
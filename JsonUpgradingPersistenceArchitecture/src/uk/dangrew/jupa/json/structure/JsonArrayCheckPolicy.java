@@ -0,0 +1,223 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.json.JSONArray;
+
+/**
+ * The {@link JsonArrayCheckPolicy} configures how a {@link JsonStructure} checks the elements of 
+ * {@link JSONArray}s with at least a threshold number of elements, as one of the {@link JsonArrayCheckMode}s.
+ * Smaller {@link JSONArray}s are always checked in full. Note that {@link JsonArrayCheckMode#SAMPLED} 
+ * can accept json that a full check would not, where an element that is not sampled is incompatible.
+ */
+public final class JsonArrayCheckPolicy {
+
+   static final int PORTIONS_PER_THREAD = 4;
+
+   private static final JsonArrayCheckPolicy FULL = new JsonArrayCheckPolicy( 
+            JsonArrayCheckMode.FULL, Integer.MAX_VALUE, null, 0, 0, 0 
+   );
+   
+   private final JsonArrayCheckMode mode;
+   private final int threshold;
+   private final ForkJoinPool pool;
+   private final int first;
+   private final int last;
+   private final int random;
+
+   /**
+    * Constructs a new {@link JsonArrayCheckPolicy}.
+    * @param mode the {@link JsonArrayCheckMode}.
+    * @param threshold the minimum number of elements for the mode to apply.
+    * @param pool the {@link ForkJoinPool} to check on, if parallel.
+    * @param first the number of leading elements to sample.
+    * @param last the number of trailing elements to sample.
+    * @param random the number of other elements to sample at random.
+    */
+   private JsonArrayCheckPolicy( JsonArrayCheckMode mode, int threshold, ForkJoinPool pool, int first, int last, int random ) {
+      this.mode = mode;
+      this.threshold = threshold;
+      this.pool = pool;
+      this.first = first;
+      this.last = last;
+      this.random = random;
+   }//End Constructor
+   
+   /**
+    * Method to get the {@link JsonArrayCheckPolicy} checking every element of every {@link JSONArray} in order,
+    * being the default.
+    * @return the {@link JsonArrayCheckPolicy}.
+    */
+   public static JsonArrayCheckPolicy full() {
+      return FULL;
+   }//End Method
+   
+   /**
+    * Method to construct a {@link JsonArrayCheckPolicy} checking every element of large {@link JSONArray}s
+    * in portions on the given {@link ForkJoinPool}.
+    * @param threshold the minimum number of elements for an array to be checked in parallel.
+    * @param pool the {@link ForkJoinPool} to check on.
+    * @return the {@link JsonArrayCheckPolicy}.
+    */
+   public static JsonArrayCheckPolicy parallel( int threshold, ForkJoinPool pool ) {
+      verifyThreshold( threshold );
+      if ( pool == null ) {
+         throw new IllegalArgumentException( "Cannot use null ForkJoinPool." );
+      }
+      return new JsonArrayCheckPolicy( JsonArrayCheckMode.PARALLEL, threshold, pool, 0, 0, 0 );
+   }//End Method
+   
+   /**
+    * Method to construct a {@link JsonArrayCheckPolicy} checking only a sample of the elements of large 
+    * {@link JSONArray}s, each sampled element being checked in full.
+    * @param threshold the minimum number of elements for an array to be sampled.
+    * @param first the number of leading elements to check.
+    * @param last the number of trailing elements to check.
+    * @param random the number of other elements to check, chosen at random for each check.
+    * @return the {@link JsonArrayCheckPolicy}.
+    */
+   public static JsonArrayCheckPolicy sampled( int threshold, int first, int last, int random ) {
+      verifyThreshold( threshold );
+      if ( first < 0 || last < 0 || random < 0 ) {
+         throw new IllegalArgumentException( "Cannot sample a negative number of elements." );
+      }
+      if ( first + last + random < 1 ) {
+         throw new IllegalArgumentException( "Must sample at least one element." );
+      }
+      return new JsonArrayCheckPolicy( JsonArrayCheckMode.SAMPLED, threshold, null, first, last, random );
+   }//End Method
+   
+   /**
+    * Method to verify the threshold for applying a {@link JsonArrayCheckMode} is valid.
+    * @param threshold the minimum number of elements for the mode to apply.
+    * @throws IllegalArgumentException if the threshold is not positive.
+    */
+   private static void verifyThreshold( int threshold ) {
+      if ( threshold < 1 ) {
+         throw new IllegalArgumentException( "Threshold must be positive." );
+      }
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonArrayCheckMode}.
+    * @return the {@link JsonArrayCheckMode}.
+    */
+   public JsonArrayCheckMode getMode() {
+      return mode;
+   }//End Method
+   
+   /**
+    * Getter for the minimum number of elements for the {@link JsonArrayCheckMode} to apply.
+    * @return the threshold.
+    */
+   public int getThreshold() {
+      return threshold;
+   }//End Method
+   
+   /**
+    * Getter for the {@link ForkJoinPool} to check on.
+    * @return the {@link ForkJoinPool}, null unless {@link JsonArrayCheckMode#PARALLEL}.
+    */
+   public ForkJoinPool getPool() {
+      return pool;
+   }//End Method
+   
+   /**
+    * Getter for the number of leading elements sampled.
+    * @return the number of elements.
+    */
+   public int getFirst() {
+      return first;
+   }//End Method
+   
+   /**
+    * Getter for the number of trailing elements sampled.
+    * @return the number of elements.
+    */
+   public int getLast() {
+      return last;
+   }//End Method
+   
+   /**
+    * Getter for the number of other elements sampled at random.
+    * @return the number of elements.
+    */
+   public int getRandom() {
+      return random;
+   }//End Method
+   
+   /**
+    * Method to determine whether the given {@link JSONArray} is checked in full, in order.
+    * @param array the {@link JSONArray}.
+    * @return true if not large enough for the {@link JsonArrayCheckMode}, or {@link JsonArrayCheckMode#FULL}.
+    */
+   boolean checksInFull( JSONArray array ) {
+      return mode == JsonArrayCheckMode.FULL || array.length() < threshold;
+   }//End Method
+   
+   /**
+    * Method to determine the number of elements in each portion of an array checked in parallel.
+    * @param length the length of the array.
+    * @return the number of elements per portion.
+    */
+   int portionSize( int length ) {
+      int portions = pool.getParallelism() * PORTIONS_PER_THREAD;
+      return Math.max( 1, ( length + portions - 1 ) / portions );
+   }//End Method
+   
+   /**
+    * Method to choose the indices of the elements to sample from an array of the given length.
+    * @param length the length of the array.
+    * @return the ascending, distinct indices.
+    */
+   int[] sample( int length ) {
+      int leading = Math.min( first, length );
+      int trailingFrom = Math.max( leading, length - last );
+      int middle = trailingFrom - leading;
+      int chosen = Math.min( random, middle );
+      
+      int[] indices = new int[ leading + chosen + length - trailingFrom ];
+      int next = 0;
+      for ( int i = 0; i < leading; i++ ) {
+         indices[ next++ ] = i;
+      }
+      
+      if ( chosen == middle ) {
+         for ( int i = leading; i < trailingFrom; i++ ) {
+            indices[ next++ ] = i;
+         }
+      } else {
+         //Floyd's algorithm, choosing distinct indices without shuffling the whole range
+         ThreadLocalRandom generator = ThreadLocalRandom.current();
+         Set< Integer > randoms = new HashSet<>();
+         for ( int j = middle - chosen; j < middle; j++ ) {
+            int candidate = generator.nextInt( j + 1 );
+            randoms.add( randoms.contains( candidate ) ? j : candidate );
+         }
+         int from = next;
+         for ( int index : randoms ) {
+            indices[ next++ ] = leading + index;
+         }
+         Arrays.sort( indices, from, next );
+      }
+      
+      for ( int i = trailingFrom; i < length; i++ ) {
+         indices[ next++ ] = i;
+      }
+      return indices;
+   }//End Method
+
+}//End Class
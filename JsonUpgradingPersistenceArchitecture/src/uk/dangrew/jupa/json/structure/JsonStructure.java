@@ -9,6 +9,8 @@
  */
 package uk.dangrew.jupa.json.structure;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Function;
 
 import org.json.JSONObject;
@@ -21,9 +23,13 @@ import org.json.JSONObject;
  */
 public class JsonStructure {
    
+   public static final String VERSION_KEY = "jupaVersion";
+   public static final int UNVERSIONED = 0;
+   
    private final JsonStructureTree tree;
    private final JsonStructureBuilder builder;
    private final JsonStructureCompatibility compatibility;
+   private int version;
    
    /**
     * Constructs a new {@link JsonStructure}.
@@ -104,11 +110,101 @@ public class JsonStructure {
    }//End Method
    
    /**
-    * Method to build the structure into the given {@link JSONObject}.
+    * Method to get the children recorded for the given node, in the order recorded.
+    * @param node the unique id of the node, such as {@link #root()}.
+    * @return the unmodifiable ids of the children, empty for a value.
+    */
+   public Collection< String > children( String node ) {
+      return Collections.unmodifiableCollection( tree.getChildrenOf( node ) );
+   }//End Method
+   
+   /**
+    * Method to determine whether the given node is an array.
+    * @param node the unique id of the node.
+    * @return true if recorded with {@link #array(String, String, Function)}.
+    */
+   public boolean isArray( String node ) {
+      return tree.isArray( node );
+   }//End Method
+   
+   /**
+    * Method to get the current size of the given array.
+    * @param node the unique id of the array.
+    * @return the size given by its array size function.
+    * @throws NullPointerException if no size is given.
+    */
+   public int arraySize( String node ) {
+      Integer size = tree.getArraySize( node );
+      if ( size == null ) {
+         throw new NullPointerException( node + " should have array size." );
+      }
+      return size;
+   }//End Method
+   
+   /**
+    * Setter for the version of the structure, written with it under {@link #VERSION_KEY} so that json written
+    * for an earlier version can be recognised and upgraded, such as by a {@link uk.dangrew.jupa.json.upgrade.JsonUpgrade}.
+    * @param version the version, {@link #UNVERSIONED} to not write a version.
+    */
+   public void setVersion( int version ) {
+      if ( version < UNVERSIONED ) {
+         throw new IllegalArgumentException( "Version must not be negative." );
+      }
+      this.version = version;
+   }//End Method
+   
+   /**
+    * Getter for the version of the structure.
+    * @return the version, {@link #UNVERSIONED} by default.
+    */
+   public int getVersion() {
+      return version;
+   }//End Method
+   
+   /**
+    * Method to build the structure into the given {@link JSONObject}, including the version if versioned.
     * @param jsonObject the {@link JSONObject} to build into.
     */
    public void build( JSONObject jsonObject ) {
       builder.build( jsonObject );
+      if ( version != UNVERSIONED ) {
+         jsonObject.put( VERSION_KEY, version );
+      }
+   }//End Method
+   
+   /**
+    * Method to get a fingerprint of the structure as it currently is, which changes when anything affecting
+    * compatibility changes and is stable between runs, so that compatibility verdicts can be kept.
+    * @return the fingerprint, a digest in hexadecimal.
+    */
+   public String fingerprint() {
+      return tree.getSchema().fingerprint();
+   }//End Method
+   
+   /**
+    * Setter for the {@link JsonArrayCheckPolicy} used by {@link #isCompatible(JSONObject)} to check the elements
+    * of large {@link org.json.JSONArray}s.
+    * @param arrayCheckPolicy the {@link JsonArrayCheckPolicy}.
+    */
+   public void setArrayCheckPolicy( JsonArrayCheckPolicy arrayCheckPolicy ) {
+      compatibility.setArrayCheckPolicy( arrayCheckPolicy );
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonArrayCheckPolicy} used to check the elements of large {@link org.json.JSONArray}s.
+    * @return the {@link JsonArrayCheckPolicy}, {@link JsonArrayCheckPolicy#full()} by default.
+    */
+   public JsonArrayCheckPolicy getArrayCheckPolicy() {
+      return compatibility.getArrayCheckPolicy();
+   }//End Method
+   
+   /**
+    * Method to get a {@link JsonStructureCheck} for checking json against the structure as it currently is,
+    * a level at a time, while it is navigated.
+    * @return the {@link JsonStructureCheck}.
+    */
+   public JsonStructureCheck checker() {
+      return new JsonStructureCheck( tree.getSchema(), compatibility );
    }//End Method
    
    /**
@@ -9,14 +9,16 @@
  */
 package uk.dangrew.jupa.json.structure;
 
-import java.util.Collection;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import uk.dangrew.jupa.json.traversal.JsonTraversal;
+import uk.dangrew.jupa.json.traversal.JsonTraversalFrame;
+
 /**
  * The {@link JsonStructureBuilder} is responsible for providing a mechanism for building
- * a {@link JsonStructureTree} into a {@link JSONObject}.
+ * a {@link JsonStructureTree} into a {@link JSONObject}, navigating the {@link JsonStructureSchema} compiled
+ * from it.
  */
 class JsonStructureBuilder {
    
@@ -39,75 +41,72 @@ class JsonStructureBuilder {
     * @param object the {@link JSONObject} to build the structre into.
     */
    void build( JSONObject object ){
-      String root = tree.getRoot();
-      
-      Collection< String > rootChildren = tree.getChildrenOf( root );
-      rootChildren.forEach( child -> buildChild( object, child ) );
+      JsonStructureSchema schema = tree.getSchema();
+      new JsonTraversal( new ChildrenBuild( schema, object, JsonStructureSchema.ROOT ) ).run();
    }//End Method
    
    /**
     * Method to build a child into the given {@link Object}.
+    * @param schema the {@link JsonStructureSchema} being built.
     * @param object either the {@link JSONObject} or {@link JSONArray} to put a child in.
-    * @param node the name of the node to get children for.
+    * @param node the id of the node to build.
+    * @param traversal the {@link JsonTraversal} to build nested structures with.
     */
-   private void buildChild( Object object, String node ){
-      if ( tree.isArray( node ) ) {
-         buildJsonArray( object, node );
+   private void buildChild( JsonStructureSchema schema, Object object, int node, JsonTraversal traversal ){
+      if ( schema.isArray( node ) ) {
+         buildJsonArray( schema, object, node, traversal );
       } else {
-         buildJsonObject( object, node );
+         buildJsonObject( schema, object, node, traversal );
       }
    }//End Method
    
    /**
     * Method to build a {@link JSONObject} for the the given node into the given {@link Object}.
+    * @param schema the {@link JsonStructureSchema} being built.
     * @param object either a {@link JSONObject} or {@link JSONArray} to build into.
-    * @param node the node to build for.
+    * @param node the id of the node to build for.
+    * @param traversal the {@link JsonTraversal} to build the children with.
     */
-   private void buildJsonObject( Object object, String node ){
-      Collection< String > children = tree.getChildrenOf( node );
-      if ( children.isEmpty() ) {
-         put( object, node, PLACEHOLDER );
+   private void buildJsonObject( JsonStructureSchema schema, Object object, int node, JsonTraversal traversal ){
+      if ( schema.childCount( node ) == 0 ) {
+         put( object, schema.name( node ), PLACEHOLDER );
          return;
       }
       
       JSONObject childObject = new JSONObject();
-      put( object, node, childObject );
+      put( object, schema.name( node ), childObject );
       
-      for ( String child : children ) {
-         buildChild( childObject, child );
-      }
+      traversal.push( new ChildrenBuild( schema, childObject, node ) );
    }//End Method
    
    /**
     * Method to build a {@link JSONArray} for the the given node into the given {@link Object}.
+    * @param schema the {@link JsonStructureSchema} being built.
     * @param object either a {@link JSONObject} or {@link JSONArray} to build into.
-    * @param node the node to build for.
+    * @param node the id of the node to build for.
+    * @param traversal the {@link JsonTraversal} to build the elements with.
     */
-   private void buildJsonArray( Object object, String node ){
-      Collection< String > children = tree.getChildrenOf( node );
-      
+   private void buildJsonArray( JsonStructureSchema schema, Object object, int node, JsonTraversal traversal ){
       JSONArray array = new JSONArray();
-      put( object, node, array );
-
-      Integer size = tree.getArraySize( node );
+      put( object, schema.name( node ), array );
+      Integer size = schema.arraySize( node );
       if ( size == null ) {
-         throw new NullPointerException( node + " should have array size." );
+         throw new NullPointerException( schema.name( node ) + " should have array size." );
       }
       
-      if ( children.isEmpty() ) {
+      int children = schema.childCount( node );
+      if ( children == 0 ) {
          for ( int i = 0; i < size; i++ ) {
             array.put( PLACEHOLDER );
          }
          return;
       }
       
-      if ( children.size() != 1 ) {
-         throw new IllegalStateException( node + " should have at most one child." );
+      if ( children != 1 ) {
+         throw new IllegalStateException( schema.name( node ) + " should have at most one child." );
       }
       
-      for ( int i = 0; i < size; i++ ) {
-         buildChild( array, children.iterator().next() );
-      }
+      traversal.push( new ElementsBuild( schema, array, schema.child( schema.firstSlot( node ) ), size ) );
    }//End Method
    
    /**
@@ -135,4 +134,78 @@ class JsonStructureBuilder {
       return PLACEHOLDER;
    }//End Method
    
+   /**
+    * The {@link ChildrenBuild} builds the children of a node into a json structure, one child per step.
+    */
+   private class ChildrenBuild implements JsonTraversalFrame {
+      
+      private final JsonStructureSchema schema;
+      private final Object jsonStructure;
+      private final int endSlot;
+      private int slot;
+      
+      /**
+       * Constructs a new {@link ChildrenBuild}.
+       * @param schema the {@link JsonStructureSchema} being built.
+       * @param jsonStructure either a {@link JSONObject} or {@link JSONArray} to build into.
+       * @param node the id of the node whose children are built.
+       */
+      private ChildrenBuild( JsonStructureSchema schema, Object jsonStructure, int node ) {
+         this.schema = schema;
+         this.jsonStructure = jsonStructure;
+         this.slot = schema.firstSlot( node );
+         this.endSlot = schema.endSlot( node );
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( slot == endSlot ) {
+            return false;
+         }
+         buildChild( schema, jsonStructure, schema.child( slot++ ), traversal );
+         return true;
+      }//End Method
+      
+   }//End Class
+   
+   /**
+    * The {@link ElementsBuild} builds the elements of an array, one element per step.
+    */
+   private class ElementsBuild implements JsonTraversalFrame {
+      
+      private final JsonStructureSchema schema;
+      private final JSONArray array;
+      private final int element;
+      private int remaining;
+      
+      /**
+       * Constructs a new {@link ElementsBuild}.
+       * @param schema the {@link JsonStructureSchema} being built.
+       * @param array the {@link JSONArray} to build into.
+       * @param element the id of the node of each element.
+       * @param size the number of elements to build.
+       */
+      private ElementsBuild( JsonStructureSchema schema, JSONArray array, int element, int size ) {
+         this.schema = schema;
+         this.array = array;
+         this.element = element;
+         this.remaining = size;
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( remaining <= 0 ) {
+            return false;
+         }
+         remaining--;
+         buildChild( schema, array, element, traversal );
+         return true;
+      }//End Method
+      
+   }//End Class
+   
 }//End Class
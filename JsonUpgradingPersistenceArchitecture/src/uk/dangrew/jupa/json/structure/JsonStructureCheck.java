@@ -0,0 +1,126 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * The {@link JsonStructureCheck} checks json against a {@link JsonStructure} one level at a time, as it is
+ * navigated by something else, such as a {@link uk.dangrew.jupa.json.parse.JsonParser}, so that compatibility
+ * can be determined in the same pass as the json is parsed. Nodes are identified by the ids of the 
+ * {@link JsonStructure} as it was when the {@link JsonStructureCheck} was created, json with no node 
+ * in the structure being {@link #UNCHECKED}. Together the checks accept exactly the json that 
+ * {@link JsonStructure#isCompatible(JSONObject)} accepts when checking {@link JsonArrayCheckPolicy#full()}, as
+ * every element navigated is checked, the {@link JsonArrayCheckPolicy} applying only to json not navigated.
+ */
+public final class JsonStructureCheck {
+   
+   public static final int UNCHECKED = JsonStructureSchema.NONE;
+   
+   private final JsonStructureSchema schema;
+   private final JsonStructureCompatibility compatibility;
+
+   /**
+    * Constructs a new {@link JsonStructureCheck}.
+    * @param schema the {@link JsonStructureSchema} to check against.
+    * @param compatibility the {@link JsonStructureCompatibility} to check whole subtrees with.
+    */
+   JsonStructureCheck( JsonStructureSchema schema, JsonStructureCompatibility compatibility ) {
+      this.schema = schema;
+      this.compatibility = compatibility;
+   }//End Constructor
+   
+   /**
+    * Getter for the node of the root {@link JSONObject}.
+    * @return the id of the root.
+    */
+   public int root() {
+      return JsonStructureSchema.ROOT;
+   }//End Method
+   
+   /**
+    * Method to get the node of the value for the given key of a {@link JSONObject}.
+    * @param node the id of the node of the {@link JSONObject}.
+    * @param key the key of the value.
+    * @return the id of the node, {@link #UNCHECKED} if the key is not part of the structure there.
+    */
+   public int child( int node, String key ) {
+      if ( node == UNCHECKED || schema.isArray( node ) ) {
+         return UNCHECKED;
+      }
+      
+      int child = schema.id( key );
+      if ( child == UNCHECKED ) {
+         return UNCHECKED;
+      }
+      for ( int slot = schema.firstSlot( node ); slot < schema.endSlot( node ); slot++ ) {
+         if ( schema.child( slot ) == child ) {
+            return child;
+         }
+      }
+      return UNCHECKED;
+   }//End Method
+   
+   /**
+    * Method to get the node of each element of a {@link JSONArray}.
+    * @param node the id of the node of the {@link JSONArray}.
+    * @return the id of the node, {@link #UNCHECKED} if the elements are not checked.
+    */
+   public int element( int node ) {
+      if ( node == UNCHECKED || !schema.isArray( node ) || schema.childCount( node ) != 1 ) {
+         return UNCHECKED;
+      }
+      return schema.child( schema.firstSlot( node ) );
+   }//End Method
+   
+   /**
+    * Method to determine whether the given value is acceptable for the given node, without checking what
+    * is nested within it: an array must be a {@link JSONArray}, and a node with children must be a 
+    * {@link JSONObject} with every child that is not optional.
+    * @param node the id of the node, can be {@link #UNCHECKED}.
+    * @param value the value.
+    * @return true if acceptable.
+    */
+   public boolean accepts( int node, Object value ) {
+      if ( node == UNCHECKED ) {
+         return true;
+      }
+      if ( schema.isArray( node ) ) {
+         return value instanceof JSONArray && schema.childCount( node ) <= 1;
+      }
+      if ( schema.childCount( node ) == 0 ) {
+         return true;
+      }
+      if ( !( value instanceof JSONObject ) ) {
+         return false;
+      }
+      
+      JSONObject object = ( JSONObject )value;
+      for ( int slot = schema.firstSlot( node ); slot < schema.endSlot( node ); slot++ ) {
+         if ( !schema.isOptional( slot ) && !object.has( schema.name( schema.child( slot ) ) ) ) {
+            return false;
+         }
+      }
+      return true;
+   }//End Method
+   
+   /**
+    * Method to determine whether the given value is compatible with the given node, including everything 
+    * nested within it, for json that will not be navigated.
+    * @param node the id of the node, can be {@link #UNCHECKED}.
+    * @param value the value.
+    * @return true if compatible.
+    */
+   public boolean isCompatible( int node, Object value ) {
+      return node == UNCHECKED || compatibility.isCompatible( schema, node, value );
+   }//End Method
+
+}//End Class
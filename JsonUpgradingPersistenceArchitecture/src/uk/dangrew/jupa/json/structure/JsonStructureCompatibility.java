@@ -9,19 +9,28 @@
  */
 package uk.dangrew.jupa.json.structure;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import uk.dangrew.jupa.json.traversal.JsonTraversal;
+import uk.dangrew.jupa.json.traversal.JsonTraversalFrame;
+
 /**
  * The {@link JsonStructureCompatibility} provides a mechanism for verifying that a given
  * {@link JSONObject} matches the {@link JsonStructureTree} associated. Extra keys are permitted
- * but the structure defined ones must be present.
+ * but the structure defined ones must be present. The {@link JsonStructureSchema} compiled from the
+ * {@link JsonStructureTree} is navigated, so nodes are identified by index rather than by name. Large
+ * {@link JSONArray}s are checked according to the {@link JsonArrayCheckPolicy}.
  */
 class JsonStructureCompatibility {
    
    private final JsonStructureTree structureTree;
+   private volatile JsonArrayCheckPolicy arrayCheckPolicy;
 
    /**
     * Constructs a new {@link JsonStructureCompatibility}.
@@ -33,7 +42,27 @@ class JsonStructureCompatibility {
       }
       
       this.structureTree = structureTree;
+      this.arrayCheckPolicy = JsonArrayCheckPolicy.full();
    }//End Constructor
+   
+   /**
+    * Setter for the {@link JsonArrayCheckPolicy} used to check large {@link JSONArray}s.
+    * @param arrayCheckPolicy the {@link JsonArrayCheckPolicy}.
+    */
+   void setArrayCheckPolicy( JsonArrayCheckPolicy arrayCheckPolicy ) {
+      if ( arrayCheckPolicy == null ) {
+         throw new IllegalArgumentException( "Cannot use null JsonArrayCheckPolicy." );
+      }
+      this.arrayCheckPolicy = arrayCheckPolicy;
+   }//End Method
+   
+   /**
+    * Getter for the {@link JsonArrayCheckPolicy} used to check large {@link JSONArray}s.
+    * @return the {@link JsonArrayCheckPolicy}, {@link JsonArrayCheckPolicy#full()} by default.
+    */
+   JsonArrayCheckPolicy getArrayCheckPolicy() {
+      return arrayCheckPolicy;
+   }//End Method
 
    /**
     * Method to determine whether the given {@link JSONObject} is compatible with the associated
@@ -43,39 +72,60 @@ class JsonStructureCompatibility {
     * @return true if compatible (can be parsed), false otherwise. 
     */
    boolean isCompatible( JSONObject object ) {
-      return isCompatible( object, structureTree.getRoot() );
+      return isCompatible( structureTree.getSchema(), JsonStructureSchema.ROOT, object );
    }//End Method
    
    /**
-    * Method to determine whether the given {@link Object} is compatible given its associated node name
-    * in the {@link JsonStructureTree}.
+    * Method to determine whether the given {@link Object} is compatible with the given node of the given 
+    * {@link JsonStructureSchema}, checking all that is nested within it.
+    * @param schema the {@link JsonStructureSchema} to check against.
+    * @param node the id of the node the {@link Object} is for.
+    * @param object the {@link Object} in question.
+    * @return true if compatible, false otherwise.
+    */
+   boolean isCompatible( JsonStructureSchema schema, int node, Object object ) {
+      Verdict verdict = new Verdict( schema, arrayCheckPolicy );
+      if ( !isCompatible( object, node, verdict ) ) {
+         return false;
+      }
+      
+      verdict.traversal.run();
+      return !verdict.incompatible.get();
+   }//End Method
+   
+   /**
+    * Method to determine whether the given {@link Object} is compatible given its associated node
+    * in the {@link JsonStructureSchema}. Nested elements are checked as the {@link Verdict}s traversal runs.
     * @param object the {@link Object} to check.
-    * @param nodeName the node name of the {@link Object} in the {@link JsonStructureTree}.
+    * @param node the id of the node of the {@link Object} in the {@link JsonStructureSchema}.
+    * @param verdict the {@link Verdict} being reached.
+    * @return false if known to be incompatible, true if compatible so far.
     */
-   private boolean isCompatible( Object object, String nodeName ) {
-      if ( structureTree.isArray( nodeName ) ) {
-         return processExpectedArray( object, nodeName );
+   private boolean isCompatible( Object object, int node, Verdict verdict ) {
+      if ( verdict.schema.isArray( node ) ) {
+         return processExpectedArray( object, node, verdict );
       } else {
-         return processExpectedObject( object, nodeName );
+         return processExpectedObject( object, node, verdict );
       }
    }//End Method
    
    /**
     * Method to process an {@link Object} for an expected {@link JSONArray}.
     * @param object the {@link Object} expected to be a {@link JSONArray}.
-    * @param nodeName the node name of the array in the tree.
+    * @param node the id of the node of the array in the schema.
+    * @param verdict the {@link Verdict} being reached.
     * @return true if the {@link JSONArray} is defined according to the {@link JsonStructureTree}, 
-    * and all children.
+    * with all children to be checked or checked in parallel.
     */
-   private boolean processExpectedArray( Object object, String nodeName ) {
+   private boolean processExpectedArray( Object object, int node, Verdict verdict ) {
       if ( !( object instanceof JSONArray ) ) {
          return false;
       }
       
-      Collection< String > rootElements = structureTree.getChildrenOf( nodeName );
-      if ( rootElements.isEmpty() ) {
+      int rootElements = verdict.schema.childCount( node );
+      if ( rootElements == 0 ) {
          return true;
-      } else if ( rootElements.size() > 1 ) {
+      } else if ( rootElements > 1 ) {
          return false;
       }
       
@@ -85,27 +135,60 @@ class JsonStructureCompatibility {
          return true;
       }
       
-      String onlyChild = rootElements.iterator().next();
-      for ( int i = 0; i < jsonArray.length(); i++ ) {
-         boolean successful = isCompatible( jsonArray.get( i ), onlyChild );
-         if ( !successful ) {
-            return false;
-         }
+      int onlyChild = verdict.schema.child( verdict.schema.firstSlot( node ) );
+      JsonArrayCheckPolicy policy = verdict.policy;
+      if ( policy.checksInFull( jsonArray ) ) {
+         verdict.traversal.push( new ElementsCheck( jsonArray, onlyChild, verdict, null, 0, jsonArray.length() ) );
+      } else if ( policy.getMode() == JsonArrayCheckMode.SAMPLED ) {
+         int[] sample = policy.sample( jsonArray.length() );
+         verdict.traversal.push( new ElementsCheck( jsonArray, onlyChild, verdict, sample, 0, sample.length ) );
+      } else {
+         return checkInParallel( jsonArray, onlyChild, verdict );
       }
-      
       return true;
    }//End Method
    
+   /**
+    * Method to check the elements of the given {@link JSONArray} in portions on the {@link java.util.concurrent.ForkJoinPool}
+    * of the {@link JsonArrayCheckPolicy}, returning once all are checked or one is found to be incompatible.
+    * @param jsonArray the {@link JSONArray} to check.
+    * @param element the id of the node expected for each element.
+    * @param verdict the {@link Verdict} being reached.
+    * @return true if all elements are compatible.
+    */
+   private boolean checkInParallel( JSONArray jsonArray, int element, Verdict verdict ) {
+      int length = jsonArray.length();
+      int portionSize = verdict.policy.portionSize( length );
+      
+      List< ForkJoinTask< Boolean > > portions = new ArrayList<>();
+      for ( int from = 0; from < length; from += portionSize ) {
+         Verdict portion = new Verdict( verdict );
+         int to = Math.min( from + portionSize, length );
+         portion.traversal.push( new ElementsCheck( jsonArray, element, portion, null, from, to ) );
+         portions.add( verdict.policy.getPool().submit( () -> {
+            portion.traversal.run();
+            return !portion.incompatible.get();
+         } ) );
+      }
+      
+      boolean compatible = true;
+      for ( ForkJoinTask< Boolean > portion : portions ) {
+         compatible &= portion.join();
+      }
+      return compatible;
+   }//End Method
+   
    /**
     * Method to process an {@link Object} that can be either a key value or a nested {@link JSONObject}.
     * @param object the {@link Object} process}.
-    * @param nodeName the node name of the array in the tree.
-    * @return true if it is a {@link JSONObject} and is compliant (and all children) with the {@link JsonStructureTree},
-    * also true if any other object where no children are expected.
+    * @param node the id of the node in the schema.
+    * @param verdict the {@link Verdict} being reached.
+    * @return true if it is a {@link JSONObject} and is compliant with the {@link JsonStructureTree}, with all children
+    * to be checked, also true if any other object where no children are expected.
     */
-   private boolean processExpectedObject( Object object, String nodeName ) {
-      Collection< String > rootElements = structureTree.getChildrenOf( nodeName );
-      if ( rootElements.isEmpty() ) {
+   private boolean processExpectedObject( Object object, int node, Verdict verdict ) {
+      JsonStructureSchema schema = verdict.schema;
+      if ( schema.childCount( node ) == 0 ) {
          return true;
       }
       
@@ -115,23 +198,151 @@ class JsonStructureCompatibility {
       
       JSONObject jsonObject = ( JSONObject ) object;
       
-      for ( String element : rootElements ) {
-         if ( !jsonObject.has( element ) && !structureTree.isOptional( element, nodeName ) ) {
+      for ( int slot = schema.firstSlot( node ); slot < schema.endSlot( node ); slot++ ) {
+         if ( !schema.isOptional( slot ) && !jsonObject.has( schema.name( schema.child( slot ) ) ) ) {
             return false;
          }
       }
       
-      for ( String element : rootElements ) {
-         if ( !jsonObject.has( element ) ) {
-            continue;
+      verdict.traversal.push( new ChildrenCheck( jsonObject, node, verdict ) );
+      return true;
+   }//End Method
+   
+   /**
+    * The {@link Verdict} holds the {@link JsonStructureSchema} and {@link JsonTraversal} for a single compatibility 
+    * check and its outcome, which is shared with the {@link Verdict}s of portions checked in parallel.
+    */
+   private static class Verdict {
+      
+      private final JsonStructureSchema schema;
+      private final JsonArrayCheckPolicy policy;
+      private final JsonTraversal traversal;
+      private final AtomicBoolean incompatible;
+      
+      /**
+       * Constructs a new {@link Verdict}.
+       * @param schema the {@link JsonStructureSchema} being checked against.
+       * @param policy the {@link JsonArrayCheckPolicy} to check large {@link JSONArray}s with.
+       */
+      private Verdict( JsonStructureSchema schema, JsonArrayCheckPolicy policy ) {
+         this.schema = schema;
+         this.policy = policy;
+         this.traversal = new JsonTraversal();
+         this.incompatible = new AtomicBoolean();
+      }//End Constructor
+      
+      /**
+       * Constructs a new {@link Verdict} for a portion of the check of the given, sharing its outcome.
+       * @param source the {@link Verdict} being reached.
+       */
+      private Verdict( Verdict source ) {
+         this.schema = source.schema;
+         this.policy = source.policy;
+         this.traversal = new JsonTraversal();
+         this.incompatible = source.incompatible;
+      }//End Constructor
+      
+      /**
+       * Method to record that the json is incompatible, stopping any further checks.
+       */
+      private void incompatible() {
+         incompatible.set( true );
+         traversal.stop();
+      }//End Method
+      
+   }//End Class
+   
+   /**
+    * The {@link ChildrenCheck} checks the children of a {@link JSONObject}, one child per step.
+    */
+   private class ChildrenCheck implements JsonTraversalFrame {
+      
+      private final JSONObject jsonObject;
+      private final int endSlot;
+      private final Verdict verdict;
+      private int slot;
+      
+      /**
+       * Constructs a new {@link ChildrenCheck}.
+       * @param jsonObject the {@link JSONObject} to check.
+       * @param node the id of the node whose children are expected.
+       * @param verdict the {@link Verdict} being reached.
+       */
+      private ChildrenCheck( JSONObject jsonObject, int node, Verdict verdict ) {
+         this.jsonObject = jsonObject;
+         this.slot = verdict.schema.firstSlot( node );
+         this.endSlot = verdict.schema.endSlot( node );
+         this.verdict = verdict;
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         while ( slot < endSlot ) {
+            int element = verdict.schema.child( slot++ );
+            Object value = jsonObject.opt( verdict.schema.name( element ) );
+            if ( value == null ) {
+               continue;
+            }
+            
+            if ( !isCompatible( value, element, verdict ) ) {
+               verdict.incompatible();
+            }
+            return true;
          }
-         boolean successful = isCompatible( jsonObject.get( element ), element );
-         if ( !successful ) {
+         return false;
+      }//End Method
+      
+   }//End Class
+   
+   /**
+    * The {@link ElementsCheck} checks the elements of a {@link JSONArray}, one element per step, abandoning
+    * the check if the json is found to be incompatible elsewhere.
+    */
+   private class ElementsCheck implements JsonTraversalFrame {
+      
+      private final JSONArray jsonArray;
+      private final int element;
+      private final Verdict verdict;
+      private final int[] sample;
+      private final int to;
+      private int position;
+      
+      /**
+       * Constructs a new {@link ElementsCheck}.
+       * @param jsonArray the {@link JSONArray} to check.
+       * @param element the id of the node expected for each element.
+       * @param verdict the {@link Verdict} being reached.
+       * @param sample the indices of the elements to check, null to check by index.
+       * @param from the first position to check, inclusive.
+       * @param to the last position to check, exclusive.
+       */
+      private ElementsCheck( JSONArray jsonArray, int element, Verdict verdict, int[] sample, int from, int to ) {
+         this.jsonArray = jsonArray;
+         this.element = element;
+         this.verdict = verdict;
+         this.sample = sample;
+         this.position = from;
+         this.to = to;
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( position == to || verdict.incompatible.get() ) {
             return false;
          }
-      }
+         
+         int index = sample == null ? position : sample[ position ];
+         position++;
+         if ( !isCompatible( jsonArray.get( index ), element, verdict ) ) {
+            verdict.incompatible();
+         }
+         return true;
+      }//End Method
       
-      return true;
-   }//End Method
+   }//End Class
    
 }//End Class
@@ -0,0 +1,228 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The {@link JsonStructureSchema} is an immutable compilation of a {@link JsonStructureTree}, identifying each
+ * node reachable from the root by an int, the root being 0. The children of each node occupy a contiguous range
+ * of slots, each slot holding the id of the child and whether it is optional within that parent, so that the 
+ * structure can be navigated by index without hashing the names of the nodes or allocating collections.
+ */
+final class JsonStructureSchema {
+   
+   static final int ROOT = 0;
+   static final int NONE = -1;
+   
+   static final String FINGERPRINT_ALGORITHM = "SHA-256";
+   
+   private final Map< String, Integer > ids;
+   private final String[] names;
+   private final boolean[] arrays;
+   private final Function< String, Integer >[] arraySizeFunctions;
+   private final int[] firstSlots;
+   private final int[] children;
+   private final boolean[] optionals;
+   private final String fingerprint;
+
+   /**
+    * Constructs a new {@link JsonStructureSchema} compiled from the current state of the given {@link JsonStructureTree}.
+    * @param tree the {@link JsonStructureTree} to compile.
+    */
+   @SuppressWarnings( { "unchecked", "rawtypes" } ) JsonStructureSchema( JsonStructureTree tree ) {
+      Map< String, Integer > ids = new HashMap<>();
+      List< String > nodes = new ArrayList<>();
+      ids.put( tree.getRoot(), ROOT );
+      nodes.add( tree.getRoot() );
+      
+      int slots = 0;
+      for ( int i = 0; i < nodes.size(); i++ ) {
+         Collection< String > nodeChildren = tree.getChildrenOf( nodes.get( i ) );
+         slots += nodeChildren.size();
+         for ( String child : nodeChildren ) {
+            if ( !ids.containsKey( child ) ) {
+               ids.put( child, nodes.size() );
+               nodes.add( child );
+            }
+         }
+      }
+      
+      this.ids = ids;
+      this.names = nodes.toArray( new String[ nodes.size() ] );
+      this.arrays = new boolean[ names.length ];
+      this.arraySizeFunctions = new Function[ names.length ];
+      this.firstSlots = new int[ names.length + 1 ];
+      this.children = new int[ slots ];
+      this.optionals = new boolean[ slots ];
+      
+      int slot = 0;
+      for ( int node = 0; node < names.length; node++ ) {
+         String name = names[ node ];
+         arrays[ node ] = tree.isArray( name );
+         if ( arrays[ node ] ) {
+            arraySizeFunctions[ node ] = tree.getArraySizeFunction( name );
+         }
+         firstSlots[ node ] = slot;
+         for ( String child : tree.getChildrenOf( name ) ) {
+            children[ slot ] = ids.get( child );
+            optionals[ slot ] = tree.isOptional( child, name );
+            slot++;
+         }
+      }
+      firstSlots[ names.length ] = slot;
+      this.fingerprint = computeFingerprint();
+   }//End Constructor
+   
+   /**
+    * Method to compute the fingerprint of the compiled structure, as a {@link #FINGERPRINT_ALGORITHM} digest of 
+    * the full names, kinds and relationships of the nodes. Array size functions are not included as they do not 
+    * affect compatibility.
+    * @return the fingerprint, in hexadecimal.
+    */
+   private String computeFingerprint() {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try ( DataOutputStream data = new DataOutputStream( bytes ) ) {
+         data.writeInt( names.length );
+         for ( int node = 0; node < names.length; node++ ) {
+            byte[] name = names[ node ].getBytes( StandardCharsets.UTF_8 );
+            data.writeInt( name.length );
+            data.write( name );
+            data.writeBoolean( arrays[ node ] );
+            data.writeInt( childCount( node ) );
+            for ( int slot = firstSlots[ node ]; slot < firstSlots[ node + 1 ]; slot++ ) {
+               data.writeInt( children[ slot ] );
+               data.writeBoolean( optionals[ slot ] );
+            }
+         }
+      } catch ( IOException exception ) {
+         throw new IllegalStateException( "Writing to memory should not fail.", exception );
+      }
+      
+      try {
+         byte[] digest = MessageDigest.getInstance( FINGERPRINT_ALGORITHM ).digest( bytes.toByteArray() );
+         return String.format( "%0" + ( digest.length * 2 ) + "x", new BigInteger( 1, digest ) );
+      } catch ( NoSuchAlgorithmException exception ) {
+         throw new IllegalStateException( FINGERPRINT_ALGORITHM + " should always be available.", exception );
+      }
+   }//End Method
+   
+   /**
+    * Getter for the fingerprint of the structure compiled, equal for structures with the same nodes in the 
+    * same relationships, and stable between runs.
+    * @return the fingerprint, in hexadecimal.
+    */
+   String fingerprint() {
+      return fingerprint;
+   }//End Method
+   
+   /**
+    * Getter for the number of nodes reachable from the root.
+    * @return the number of nodes.
+    */
+   int size() {
+      return names.length;
+   }//End Method
+   
+   /**
+    * Getter for the id of the node with the given name.
+    * @param name the name of the node.
+    * @return the id, {@link #NONE} if no node reachable from the root has the name.
+    */
+   int id( String name ) {
+      Integer id = ids.get( name );
+      return id == null ? NONE : id;
+   }//End Method
+   
+   /**
+    * Getter for the name of the given node, being its key in the json.
+    * @param node the id of the node.
+    * @return the name.
+    */
+   String name( int node ) {
+      return names[ node ];
+   }//End Method
+   
+   /**
+    * Method to determine whether the given node is an array.
+    * @param node the id of the node.
+    * @return true if an array.
+    */
+   boolean isArray( int node ) {
+      return arrays[ node ];
+   }//End Method
+   
+   /**
+    * Method to get the current size of the given array.
+    * @param node the id of the array.
+    * @return the size given by its array size function, null if not given.
+    */
+   Integer arraySize( int node ) {
+      return arraySizeFunctions[ node ].apply( names[ node ] );
+   }//End Method
+   
+   /**
+    * Getter for the number of children of the given node.
+    * @param node the id of the node.
+    * @return the number of children.
+    */
+   int childCount( int node ) {
+      return firstSlots[ node + 1 ] - firstSlots[ node ];
+   }//End Method
+   
+   /**
+    * Getter for the first slot holding the children of the given node.
+    * @param node the id of the node.
+    * @return the first slot.
+    */
+   int firstSlot( int node ) {
+      return firstSlots[ node ];
+   }//End Method
+   
+   /**
+    * Getter for the slot after the last holding the children of the given node.
+    * @param node the id of the node.
+    * @return the end slot.
+    */
+   int endSlot( int node ) {
+      return firstSlots[ node + 1 ];
+   }//End Method
+   
+   /**
+    * Getter for the child in the given slot.
+    * @param slot the slot.
+    * @return the id of the child.
+    */
+   int child( int slot ) {
+      return children[ slot ];
+   }//End Method
+   
+   /**
+    * Method to determine whether the child in the given slot is optional within its parent.
+    * @param slot the slot.
+    * @return true if optional.
+    */
+   boolean isOptional( int slot ) {
+      return optionals[ slot ];
+   }//End Method
+
+}//End Class
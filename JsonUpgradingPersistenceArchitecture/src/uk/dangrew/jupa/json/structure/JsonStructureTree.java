@@ -10,6 +10,7 @@
 package uk.dangrew.jupa.json.structure;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -18,7 +19,8 @@ import java.util.function.Function;
 
 /**
  * The {@link JsonStructureTree} is responsible for defining the relationships between items
- * within a {@link org.json.JSONObject} in the form of a tree.
+ * within a {@link org.json.JSONObject} in the form of a tree. The tree is compiled into a {@link JsonStructureSchema}
+ * when first navigated, which is kept until the tree next changes.
  */
 class JsonStructureTree {
    
@@ -27,6 +29,7 @@ class JsonStructureTree {
    private final Map< String, Set< String > > parentToChildren;
    private final HashMap< String, Function< String, Integer > > arrays;
    private final Map< String, Set< String > > optionals;
+   private volatile JsonStructureSchema schema;
 
    /**
     * Constructs a new {@link JsonStructureTree}.
@@ -53,7 +56,7 @@ class JsonStructureTree {
    Collection< String > getChildrenOf( String parent ) {
       Collection< String > children = parentToChildren.get( parent );
       if ( children == null ) {
-         return new LinkedHashSet<>();
+         return Collections.emptySet();
       } else {
          return children;
       }
@@ -77,6 +80,7 @@ class JsonStructureTree {
       }
       
       children.add( child );
+      schema = null;
    }//End Method
    
    /**
@@ -94,6 +98,7 @@ class JsonStructureTree {
          optionals.put( parent, optionalSet );
       }
       optionalSet.add( child );
+      schema = null;
    }//End Method
 
    /**
@@ -109,6 +114,7 @@ class JsonStructureTree {
       
       addChild( array, parent );
       arrays.put( array, arraySizeFunction );
+      schema = null;
    }//End Method
 
    /**
@@ -128,7 +134,22 @@ class JsonStructureTree {
       Function< String, Integer > arraySizeFunction = arrays.get( child );
       return arraySizeFunction.apply( child );
    }//End Method
+   
+   /**
+    * Getter for the {@link Function} providing the size of the array associated with the given child.
+    * @param child the child in question.
+    * @return the {@link Function}, or null if not an array.
+    */
+   Function< String, Integer > getArraySizeFunction( String child ) {
+      return arrays.get( child );
+   }//End Method
 
+   /**
+    * Method to determine whether the given child is optional within the given parent.
+    * @param child the child in question.
+    * @param parent the parent of the child.
+    * @return true if added with {@link #addOptionalChild(String, String)}.
+    */
    boolean isOptional( String child, String parent ) {
       Set< String > optionalSet = optionals.get( parent );
       if ( optionalSet == null ) {
@@ -138,4 +159,18 @@ class JsonStructureTree {
       return optionalSet.contains( child );
    }//End Method
 
+   /**
+    * Getter for the {@link JsonStructureSchema} compiled from the tree as it currently is, compiled again only
+    * once the tree has changed.
+    * @return the {@link JsonStructureSchema}.
+    */
+   JsonStructureSchema getSchema() {
+      JsonStructureSchema compiled = schema;
+      if ( compiled == null ) {
+         compiled = new JsonStructureSchema( this );
+         schema = compiled;
+      }
+      return compiled;
+   }//End Method
+
 }//End Class
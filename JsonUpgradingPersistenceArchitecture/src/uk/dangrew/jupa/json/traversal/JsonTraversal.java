@@ -0,0 +1,150 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.traversal;
+
+import java.util.Arrays;
+
+/**
+ * The {@link JsonTraversal} walks nested json using an explicit stack of {@link JsonTraversalFrame}s rather
+ * than recursion, so the depth of nesting is bounded only by the heap. The walk can be run to completion,
+ * or run for a limited number of steps and resumed later, such as when time slicing on a user interface thread.
+ */
+public class JsonTraversal {
+
+   private static final int INITIAL_DEPTH = 16;
+
+   private JsonTraversalFrame[] frames;
+   private boolean[] completed;
+   private int depth;
+   private boolean paused;
+   private boolean stopped;
+
+   /**
+    * Constructs a new {@link JsonTraversal}.
+    */
+   public JsonTraversal() {
+      this.frames = new JsonTraversalFrame[ INITIAL_DEPTH ];
+      this.completed = new boolean[ INITIAL_DEPTH ];
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link JsonTraversal}.
+    * @param root the {@link JsonTraversalFrame} to start with.
+    */
+   public JsonTraversal( JsonTraversalFrame root ) {
+      this();
+      push( root );
+   }//End Constructor
+
+   /**
+    * Method to push a {@link JsonTraversalFrame} to be completed before the current frame continues.
+    * @param frame the {@link JsonTraversalFrame} to push.
+    */
+   public void push( JsonTraversalFrame frame ) {
+      if ( frame == null ) {
+         throw new IllegalArgumentException( "Cannot push null JsonTraversalFrame." );
+      }
+      if ( depth == frames.length ) {
+         frames = Arrays.copyOf( frames, depth * 2 );
+         completed = Arrays.copyOf( completed, depth * 2 );
+      }
+      completed[ depth ] = false;
+      frames[ depth++ ] = frame;
+   }//End Method
+
+   /**
+    * Method to run the traversal until complete or paused.
+    * @return true if complete, false if paused.
+    */
+   public boolean run() {
+      return run( Long.MAX_VALUE );
+   }//End Method
+
+   /**
+    * Method to run the traversal for, at most, the given number of steps, or until complete or paused.
+    * @param steps the maximum number of steps to perform.
+    * @return true if complete, false if there is work remaining.
+    */
+   public boolean run( long steps ) {
+      paused = false;
+      long remaining = steps;
+      while ( depth > 0 && remaining > 0 && !paused ) {
+         remaining--;
+         
+         int level = depth - 1;
+         JsonTraversalFrame frame = frames[ level ];
+         if ( !completed[ level ] ) {
+            boolean complete = !frame.step( this );
+            completed[ level ] = complete;
+            if ( !complete || depth != level + 1 ) {
+               continue;
+            }
+         }
+         
+         frames[ level ] = null;
+         depth = level;
+         frame.finish();
+      }
+      return depth == 0;
+   }//End Method
+
+   /**
+    * Method to pause the traversal once the current step completes. This is intended to be called
+    * during a step, causing {@link #run()} to return so that it can be resumed later.
+    */
+   public void pause() {
+      paused = true;
+   }//End Method
+
+   /**
+    * Method to stop the traversal, discarding all remaining work without finishing any frames.
+    */
+   public void stop() {
+      Arrays.fill( frames, 0, depth, null );
+      depth = 0;
+      stopped = true;
+   }//End Method
+
+   /**
+    * Method to determine whether the traversal ended because it was {@link #stop()}ped.
+    * @return true if stopped.
+    */
+   public boolean isStopped() {
+      return stopped;
+   }//End Method
+
+   /**
+    * Method to mark the innermost {@link JsonTraversalFrame} in progress as complete, so that it is not stepped
+    * again and is finished once any frames it has pushed are complete. When called while a frame is being 
+    * finished, this completes the frame that pushed it.
+    */
+   public void completeCurrentFrame() {
+      if ( depth > 0 ) {
+         completed[ depth - 1 ] = true;
+      }
+   }//End Method
+
+   /**
+    * Method to determine whether the traversal has no remaining work.
+    * @return true if complete.
+    */
+   public boolean isComplete() {
+      return depth == 0;
+   }//End Method
+
+   /**
+    * Getter for the current number of {@link JsonTraversalFrame}s in progress.
+    * @return the depth.
+    */
+   public int depth() {
+      return depth;
+   }//End Method
+
+}//End Class
@@ -0,0 +1,34 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.traversal;
+
+/**
+ * The {@link JsonTraversalFrame} is a single level of a {@link JsonTraversal}, such as an object or array
+ * being walked. Each step performs a small unit of work, pushing further {@link JsonTraversalFrame}s for
+ * anything nested rather than recursing into it.
+ */
+public interface JsonTraversalFrame {
+
+   /**
+    * Method to perform the next unit of work for the frame. Any {@link JsonTraversalFrame}s pushed onto
+    * the {@link JsonTraversal} are completed before this frame is stepped again, or finished if complete.
+    * @param traversal the {@link JsonTraversal} performing the step.
+    * @return true if the frame has further work, false if it is complete.
+    */
+   public boolean step( JsonTraversal traversal );
+
+   /**
+    * Method called once the frame is complete, after all frames it pushed have completed.
+    */
+   public default void finish() {
+      //nothing to finish by default
+   }//End Method
+
+}//End Interface
@@ -0,0 +1,86 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import uk.dangrew.jupa.json.stream.JsonWriter;
+
+/**
+ * The {@link JsonEventSink} receives json as a sequence of events, in the order they are read, so that 
+ * json can be transformed on its way from a {@link uk.dangrew.jupa.json.stream.JsonTokenizer} to a 
+ * {@link JsonWriter} without being held as a whole.
+ */
+interface JsonEventSink {
+
+   /**
+    * Method to receive the start of an object.
+    */
+   public void startObject();
+
+   /**
+    * Method to receive the end of an object.
+    */
+   public void endObject();
+
+   /**
+    * Method to receive the start of an array.
+    */
+   public void startArray();
+
+   /**
+    * Method to receive the end of an array.
+    */
+   public void endArray();
+
+   /**
+    * Method to receive a key of an object, followed by its value.
+    * @param key the key.
+    */
+   public void key( String key );
+
+   /**
+    * Method to receive a single value.
+    * @param value the value, as {@link org.json.JSONObject} would hold it.
+    */
+   public void value( Object value );
+
+   /**
+    * Method to construct a {@link JsonEventSink} writing to the given {@link JsonWriter}.
+    * @param writer the {@link JsonWriter} to write to.
+    * @return the {@link JsonEventSink}.
+    */
+   public static JsonEventSink writingTo( JsonWriter writer ) {
+      return new JsonEventSink() {
+         @Override public void startObject() {
+            writer.startObject();
+         }//End Method
+         
+         @Override public void endObject() {
+            writer.endObject();
+         }//End Method
+         
+         @Override public void startArray() {
+            writer.startArray();
+         }//End Method
+         
+         @Override public void endArray() {
+            writer.endArray();
+         }//End Method
+         
+         @Override public void key( String key ) {
+            writer.key( key );
+         }//End Method
+         
+         @Override public void value( Object value ) {
+            writer.value( value );
+         }//End Method
+      };
+   }//End Method
+
+}//End Interface
@@ -0,0 +1,134 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link JsonMigration} defines the transforms that upgrade json from one version of a {@link JsonStructure}
+ * to the next. Each transform applies to the value of the key at the end of a path of the earlier version, as 
+ * {@link uk.dangrew.jupa.json.parse.JsonParser#whenPath(String, uk.dangrew.jupa.json.JsonHandle)}, to every value 
+ * the path reaches, including through arrays. The transforms are applied while the json is streamed, so
+ * only values that are moved, converted or split off are held, and transforms within them are not applied.
+ */
+public class JsonMigration {
+
+   private final int fromVersion;
+   private final JsonMigrationNode root;
+
+   /**
+    * Constructs a new {@link JsonMigration}.
+    * @param fromVersion the version upgraded from, to the next.
+    */
+   JsonMigration( int fromVersion ) {
+      this.fromVersion = fromVersion;
+      this.root = new JsonMigrationNode();
+   }//End Constructor
+
+   /**
+    * Getter for the version upgraded from.
+    * @return the version.
+    */
+   public int getFromVersion() {
+      return fromVersion;
+   }//End Method
+   
+   /**
+    * Method to rename the key at the end of the given path, keeping its value.
+    * @param path the path of the key.
+    * @param key the new key.
+    * @throws IllegalArgumentException if the path or key is invalid, the value is already moved, or it is within
+    * a value already moved, converted or split.
+    */
+   public void renameKey( String path, String key ) {
+      verifyKey( key );
+      root.nodeAt( path, JsonMigrationNode.keysOf( path ) ).rename( path, key );
+   }//End Method
+   
+   /**
+    * Method to move the value at the end of the given path to the key at the end of the other path, which must
+    * be in the same object or an object enclosing it, such as moving 'a.b.c' to 'a.d'. The value is written once
+    * the enclosing object has been read, so the other path must not already be present, and must not be reached
+    * through an array the value is within unless that array is also enclosing both, such as 'a[].b.c' to 'a[].d'.
+    * @param path the path of the value to move.
+    * @param toPath the path to move the value to.
+    * @throws IllegalArgumentException if either path is invalid, the destination does not enclose the value, or
+    * the value is already transformed, is within a transformed value or has transforms within it.
+    */
+   public void moveSubtree( String path, String toPath ) {
+      String[] from = JsonMigrationNode.keysOf( path );
+      String[] to = JsonMigrationNode.keysOf( toPath );
+      int depth = to.length - 1;
+      if ( depth >= from.length || !Arrays.equals( Arrays.copyOf( from, depth ), Arrays.copyOf( to, depth ) ) ) {
+         throw new IllegalArgumentException( "'" + toPath + "' must be within an object enclosing '" + path + "'." );
+      }
+      root.nodeAt( path, from ).move( path, depth, to[ depth ] );
+   }//End Method
+   
+   /**
+    * Method to convert the value at the end of the given path, such as from a {@link String} to a number.
+    * Objects and arrays are given to the {@link Function} as {@link JSONObject}s and {@link JSONArray}s.
+    * @param path the path of the value.
+    * @param conversion the {@link Function} converting the value read to the value written, where null
+    * writes null.
+    * @throws IllegalArgumentException if the path or conversion is invalid, or the value is already transformed, 
+    * is within a transformed value or has transforms within it.
+    */
+   public void convertValue( String path, Function< Object, Object > conversion ) {
+      if ( conversion == null ) {
+         throw new IllegalArgumentException( "Cannot use null conversion." );
+      }
+      root.nodeAt( path, JsonMigrationNode.keysOf( path ) ).convert( path, conversion );
+   }//End Method
+   
+   /**
+    * Method to split the elements of the array at the end of the given path, moving those identified into a new 
+    * array with the given key, in the same object. Each element is given to the {@link Predicate} whole, as 
+    * {@link JSONObject}s, {@link JSONArray}s or simple values, and the new array follows the original.
+    * @param path the path of the array.
+    * @param key the key of the new array.
+    * @param predicate the {@link Predicate} identifying the elements to move.
+    * @throws IllegalArgumentException if the path, key or predicate is invalid, or the value is already transformed,
+    * is within a transformed value or has transforms within it.
+    */
+   public void splitArray( String path, String key, Predicate< Object > predicate ) {
+      verifyKey( key );
+      if ( predicate == null ) {
+         throw new IllegalArgumentException( "Cannot use null predicate." );
+      }
+      root.nodeAt( path, JsonMigrationNode.keysOf( path ) ).split( path, key, predicate );
+   }//End Method
+   
+   /**
+    * Method to verify the given key is valid.
+    * @param key the key.
+    */
+   private void verifyKey( String key ) {
+      if ( key == null || key.isEmpty() ) {
+         throw new IllegalArgumentException( "Cannot use null or empty key." );
+      }
+   }//End Method
+   
+   /**
+    * Method to get a copy of the transforms currently defined.
+    * @return the root {@link JsonMigrationNode} of the copy.
+    */
+   JsonMigrationNode compile() {
+      return root.copy();
+   }//End Method
+
+}//End Class
@@ -0,0 +1,248 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The {@link JsonMigrationNode} is a node in the trie of paths transformed by a {@link JsonMigration}, 
+ * holding the transforms for the value of the key at the node and the nodes for each key the path continues with.
+ * Paths are keys separated by '.', where a key may be followed by '[]' to indicate it holds an array. As
+ * the elements of an array are associated with the key of the array, '[]' does not change the path.
+ */
+class JsonMigrationNode {
+
+   static final String SEPARATOR = "\\.";
+   static final String ARRAY_SUFFIX = "[]";
+   
+   private final Map< String, JsonMigrationNode > children;
+   private String rename;
+   private String moveKey;
+   private int moveDepth;
+   private Function< Object, Object > conversion;
+   private String splitKey;
+   private Predicate< Object > splitPredicate;
+
+   /**
+    * Constructs a new {@link JsonMigrationNode}.
+    */
+   JsonMigrationNode() {
+      this.children = new HashMap<>();
+   }//End Constructor
+   
+   /**
+    * Method to split the given path into the keys it is made of, as {@link uk.dangrew.jupa.json.parse.JsonParser#whenPath(String, uk.dangrew.jupa.json.JsonHandle)}.
+    * @param path the path, such as 'users[].address.city'.
+    * @return the keys of the path.
+    * @throws IllegalArgumentException if the path is null or contains an empty key.
+    */
+   static String[] keysOf( String path ) {
+      if ( path == null ) {
+         throw new IllegalArgumentException( "Cannot use null path." );
+      }
+
+      String[] keys = path.split( SEPARATOR, -1 );
+      for ( int i = 0; i < keys.length; i++ ) {
+         String key = keys[ i ];
+         while ( key.endsWith( ARRAY_SUFFIX ) ) {
+            key = key.substring( 0, key.length() - ARRAY_SUFFIX.length() );
+         }
+         if ( key.isEmpty() ) {
+            throw new IllegalArgumentException( "Path '" + path + "' contains an empty key." );
+         }
+         keys[ i ] = key;
+      }
+      return keys;
+   }//End Method
+   
+   /**
+    * Method to get the node at the end of the path made of the given keys, creating any missing. As values moved,
+    * converted or split are held whole, nothing within them can be transformed, so no node on the way can be.
+    * @param path the path, for reporting.
+    * @param keys the keys of the path, relative to this node.
+    * @return the {@link JsonMigrationNode}.
+    * @throws IllegalArgumentException if the path is within a value already moved, converted or split.
+    */
+   JsonMigrationNode nodeAt( String path, String[] keys ) {
+      JsonMigrationNode node = this;
+      for ( String key : keys ) {
+         if ( node.isValueTransformed() ) {
+            throw new IllegalArgumentException( "'" + path + "' is within a value already moved, converted or split." );
+         }
+         node = node.children.computeIfAbsent( key, k -> new JsonMigrationNode() );
+      }
+      return node;
+   }//End Method
+   
+   /**
+    * Method to get the node for the given key.
+    * @param key the key.
+    * @return the {@link JsonMigrationNode}, null if nothing is transformed at or within the key.
+    */
+   JsonMigrationNode child( String key ) {
+      return children.get( key );
+   }//End Method
+   
+   /**
+    * Method to copy this node and all that follow it, so the copy is unaffected by later changes.
+    * @return the copy.
+    */
+   JsonMigrationNode copy() {
+      JsonMigrationNode copy = new JsonMigrationNode();
+      copy.rename = rename;
+      copy.moveKey = moveKey;
+      copy.moveDepth = moveDepth;
+      copy.conversion = conversion;
+      copy.splitKey = splitKey;
+      copy.splitPredicate = splitPredicate;
+      for ( Entry< String, JsonMigrationNode > entry : children.entrySet() ) {
+         copy.children.put( entry.getKey(), entry.getValue().copy() );
+      }
+      return copy;
+   }//End Method
+   
+   /**
+    * Method to determine whether the value of the node is moved, converted or split, and so held whole.
+    * @return true if transformed.
+    */
+   private boolean isValueTransformed() {
+      return moveKey != null || conversion != null || splitKey != null;
+   }//End Method
+   
+   /**
+    * Method to determine whether any transform is defined for a node following this one.
+    * @return true if any is.
+    */
+   private boolean isTransformedWithin() {
+      for ( JsonMigrationNode child : children.values() ) {
+         if ( child.rename != null || child.isValueTransformed() || child.isTransformedWithin() ) {
+            return true;
+         }
+      }
+      return false;
+   }//End Method
+   
+   /**
+    * Method to verify that no transform of the value has been defined, other than a rename, and that nothing 
+    * within it is transformed, as the value is to be held whole.
+    * @param path the path of the node, for reporting.
+    */
+   private void verifyValueUntransformed( String path ) {
+      if ( isValueTransformed() ) {
+         throw new IllegalArgumentException( "'" + path + "' is already moved, converted or split." );
+      }
+      if ( isTransformedWithin() ) {
+         throw new IllegalArgumentException( "'" + path + "' has transforms within it." );
+      }
+   }//End Method
+   
+   /**
+    * Method to rename the key of the node.
+    * @param path the path of the node, for reporting.
+    * @param key the new key.
+    */
+   void rename( String path, String key ) {
+      if ( moveKey != null ) {
+         throw new IllegalArgumentException( "'" + path + "' is already moved." );
+      }
+      this.rename = key;
+   }//End Method
+   
+   /**
+    * Method to move the value of the node into an enclosing object.
+    * @param path the path of the node, for reporting.
+    * @param depth the number of keys from the root to the enclosing object.
+    * @param key the key in the enclosing object.
+    */
+   void move( String path, int depth, String key ) {
+      verifyValueUntransformed( path );
+      if ( rename != null ) {
+         throw new IllegalArgumentException( "'" + path + "' is already renamed." );
+      }
+      this.moveDepth = depth;
+      this.moveKey = key;
+   }//End Method
+   
+   /**
+    * Method to convert the value of the node.
+    * @param path the path of the node, for reporting.
+    * @param conversion the {@link Function} converting the value.
+    */
+   void convert( String path, Function< Object, Object > conversion ) {
+      verifyValueUntransformed( path );
+      this.conversion = conversion;
+   }//End Method
+   
+   /**
+    * Method to split the elements of the array of the node.
+    * @param path the path of the node, for reporting.
+    * @param key the key of the array to split the elements into.
+    * @param predicate the {@link Predicate} identifying the elements to split.
+    */
+   void split( String path, String key, Predicate< Object > predicate ) {
+      verifyValueUntransformed( path );
+      this.splitKey = key;
+      this.splitPredicate = predicate;
+   }//End Method
+   
+   /**
+    * Method to get the key the value is written with, given the key read.
+    * @param key the key read.
+    * @return the key to write.
+    */
+   String keyFor( String key ) {
+      return rename == null ? key : rename;
+   }//End Method
+   
+   /**
+    * Getter for the key in the enclosing object the value is moved to.
+    * @return the key, null if not moved.
+    */
+   String moveKey() {
+      return moveKey;
+   }//End Method
+   
+   /**
+    * Getter for the number of keys from the root to the object the value is moved to.
+    * @return the depth.
+    */
+   int moveDepth() {
+      return moveDepth;
+   }//End Method
+   
+   /**
+    * Getter for the conversion of the value.
+    * @return the {@link Function}, null if not converted.
+    */
+   Function< Object, Object > conversion() {
+      return conversion;
+   }//End Method
+   
+   /**
+    * Getter for the key of the array elements are split into.
+    * @return the key, null if not split.
+    */
+   String splitKey() {
+      return splitKey;
+   }//End Method
+   
+   /**
+    * Getter for the {@link Predicate} identifying the elements to split.
+    * @return the {@link Predicate}, null if not split.
+    */
+   Predicate< Object > splitPredicate() {
+      return splitPredicate;
+   }//End Method
+
+}//End Class
@@ -0,0 +1,328 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.json.JSONException;
+
+/**
+ * The {@link JsonMigrationStage} applies the transforms of a single {@link JsonMigration} to the json events
+ * it receives, passing the result on to the next {@link JsonEventSink}. Events pass straight through unless a
+ * transform applies, only values moved, converted or split off being held, as {@link JsonValueCapture}s.
+ */
+class JsonMigrationStage implements JsonEventSink {
+
+   private final JsonMigrationNode root;
+   private final JsonEventSink next;
+   private final List< Frame > frames;
+   
+   private String pendingKey;
+   private JsonMigrationNode pendingNode;
+   
+   private JsonValueCapture capture;
+   private Capture captureMode;
+   private String captureKey;
+   private JsonMigrationNode captureNode;
+   private Frame captureTarget;
+
+   /**
+    * The modes in which a value is captured.
+    */
+   private enum Capture {
+      MOVE,
+      CONVERT,
+      SPLIT_ELEMENT;
+   }//End Enum
+   
+   /**
+    * Constructs a new {@link JsonMigrationStage}.
+    * @param root the root {@link JsonMigrationNode} of the transforms.
+    * @param next the {@link JsonEventSink} to pass the migrated json on to.
+    */
+   JsonMigrationStage( JsonMigrationNode root, JsonEventSink next ) {
+      this.root = root;
+      this.next = next;
+      this.frames = new ArrayList<>();
+   }//End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startObject() {
+      if ( capturing() || startValue( true ) ) {
+         capture.startObject();
+         return;
+      }
+      next.startObject();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void endObject() {
+      if ( capturing() ) {
+         capture.endObject();
+         completeCapture();
+         return;
+      }
+      Frame frame = frames.remove( frames.size() - 1 );
+      if ( frame.moved != null ) {
+         for ( Entry< String, Object > entry : frame.moved.entrySet() ) {
+            writeKey( frame, entry.getKey() );
+            JsonValueCapture.replay( entry.getValue(), next );
+         }
+      }
+      next.endObject();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startArray() {
+      if ( capturing() || startValue( false ) ) {
+         capture.startArray();
+         return;
+      }
+      next.startArray();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void endArray() {
+      if ( capturing() ) {
+         capture.endArray();
+         completeCapture();
+         return;
+      }
+      Frame frame = frames.remove( frames.size() - 1 );
+      next.endArray();
+      if ( frame.split != null ) {
+         writeKey( frames.get( frames.size() - 1 ), frame.node.splitKey() );
+         next.startArray();
+         for ( Object element : frame.split ) {
+            JsonValueCapture.replay( element, next );
+         }
+         next.endArray();
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void key( String key ) {
+      if ( capturing() ) {
+         capture.key( key );
+         return;
+      }
+      JsonMigrationNode node = frames.get( frames.size() - 1 ).node;
+      pendingKey = key;
+      pendingNode = node == null ? null : node.child( key );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void value( Object value ) {
+      if ( capturing() || startValue( null ) ) {
+         capture.value( value );
+         completeCapture();
+         return;
+      }
+      next.value( value );
+   }//End Method
+   
+   /**
+    * Method to determine whether a value is being captured.
+    * @return true if capturing.
+    */
+   private boolean capturing() {
+      return capture != null;
+   }//End Method
+   
+   /**
+    * Method to handle the start of a value, writing its key and tracking it if it is an object or array.
+    * @param object true for an object, false for an array, null for a single value.
+    * @return true if the value is to be captured rather than passed on.
+    */
+   private boolean startValue( Boolean object ) {
+      if ( frames.isEmpty() ) {
+         push( object, root, 0 );
+         return false;
+      }
+      
+      Frame frame = frames.get( frames.size() - 1 );
+      if ( !frame.object ) {
+         if ( frame.split != null ) {
+            startCapture( Capture.SPLIT_ELEMENT, null, frame.node, frame );
+            return true;
+         }
+         push( object, frame.node, frame.keyDepth );
+         return false;
+      }
+      
+      String key = pendingKey;
+      JsonMigrationNode node = pendingNode;
+      pendingKey = null;
+      pendingNode = null;
+      if ( node == null ) {
+         writeKey( frame, key );
+         push( object, null, frame.keyDepth + 1 );
+         return false;
+      }
+      
+      if ( node.moveKey() != null ) {
+         startCapture( Capture.MOVE, node.moveKey(), node, enclosingObject( node.moveDepth() ) );
+         return true;
+      }
+      
+      writeKey( frame, node.keyFor( key ) );
+      if ( node.conversion() != null ) {
+         startCapture( Capture.CONVERT, null, node, null );
+         return true;
+      }
+      
+      Frame pushed = push( object, node, frame.keyDepth + 1 );
+      if ( pushed != null && !pushed.object && node.splitKey() != null ) {
+         pushed.split = new ArrayList<>();
+      }
+      return false;
+   }//End Method
+   
+   /**
+    * Method to write the given key into the object of the given {@link Frame}, verifying that the keys written 
+    * into objects that can receive keys moved or split into them are unique.
+    * @param frame the {@link Frame} of the object.
+    * @param key the key.
+    * @throws JSONException if the key has already been written into the object.
+    */
+   private void writeKey( Frame frame, String key ) {
+      if ( frame.keys != null && !frame.keys.add( key ) ) {
+         throw new JSONException( "Duplicate key \"" + key + "\" written into object." );
+      }
+      next.key( key );
+   }//End Method
+   
+   /**
+    * Method to track the object or array started.
+    * @param object true for an object, false for an array, null for a single value, which is not tracked.
+    * @param node the {@link JsonMigrationNode} for the value, null if nothing within is transformed.
+    * @param keyDepth the number of keys from the root to the value.
+    * @return the {@link Frame} pushed, null if not tracked.
+    */
+   private Frame push( Boolean object, JsonMigrationNode node, int keyDepth ) {
+      if ( object == null ) {
+         return null;
+      }
+      Frame frame = new Frame( object, node, keyDepth );
+      frames.add( frame );
+      return frame;
+   }//End Method
+   
+   /**
+    * Method to find the innermost object being read that is the given number of keys from the root.
+    * @param keyDepth the number of keys from the root.
+    * @return the {@link Frame} of the object.
+    * @throws JSONException if there is no such object, such as when reached through an array of arrays.
+    */
+   private Frame enclosingObject( int keyDepth ) {
+      for ( int i = frames.size() - 1; i >= 0; i-- ) {
+         Frame frame = frames.get( i );
+         if ( frame.object && frame.keyDepth == keyDepth ) {
+            return frame;
+         }
+      }
+      throw new JSONException( "No object enclosing value to move." );
+   }//End Method
+   
+   /**
+    * Method to start capturing the value starting.
+    * @param mode the {@link Capture} mode.
+    * @param key the key the value is held under, if moved.
+    * @param node the {@link JsonMigrationNode} of the value.
+    * @param target the {@link Frame} the value is held in, if moved or split.
+    */
+   private void startCapture( Capture mode, String key, JsonMigrationNode node, Frame target ) {
+      this.capture = new JsonValueCapture();
+      this.captureMode = mode;
+      this.captureKey = key;
+      this.captureNode = node;
+      this.captureTarget = target;
+   }//End Method
+   
+   /**
+    * Method to complete the capture, if the whole value has been received, applying its transform.
+    */
+   private void completeCapture() {
+      if ( !capture.isComplete() ) {
+         return;
+      }
+      
+      Object value = capture.captured();
+      capture = null;
+      switch ( captureMode ) {
+         case MOVE:
+            if ( captureTarget.moved == null ) {
+               captureTarget.moved = new LinkedHashMap<>();
+            }
+            if ( captureTarget.moved.put( captureKey, value ) != null ) {
+               throw new JSONException( "Duplicate key \"" + captureKey + "\" moved into object." );
+            }
+            break;
+         case CONVERT:
+            JsonValueCapture.replay( captureNode.conversion().apply( value ), next );
+            break;
+         case SPLIT_ELEMENT:
+            if ( captureNode.splitPredicate().test( value ) ) {
+               captureTarget.split.add( value );
+            } else {
+               JsonValueCapture.replay( value, next );
+            }
+            break;
+      }
+      captureTarget = null;
+      captureNode = null;
+   }//End Method
+   
+   /**
+    * The {@link Frame} tracks an object or array being read.
+    */
+   private static class Frame {
+      
+      private final boolean object;
+      private final JsonMigrationNode node;
+      private final int keyDepth;
+      private final Set< String > keys;
+      private Map< String, Object > moved;
+      private List< Object > split;
+      
+      /**
+       * Constructs a new {@link Frame}.
+       * @param object true for an object, false for an array.
+       * @param node the {@link JsonMigrationNode} whose children apply within, or for an array, to its elements.
+       * @param keyDepth the number of keys from the root.
+       */
+      private Frame( boolean object, JsonMigrationNode node, int keyDepth ) {
+         this.object = object;
+         this.node = node;
+         this.keyDepth = keyDepth;
+         this.keys = object && node != null ? new HashSet<>() : null;
+      }//End Constructor
+      
+   }//End Class
+
+}//End Class
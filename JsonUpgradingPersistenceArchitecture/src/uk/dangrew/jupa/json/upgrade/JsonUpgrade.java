@@ -0,0 +1,291 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.stream.JsonToken;
+import uk.dangrew.jupa.json.stream.JsonTokenizer;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link JsonUpgrade} upgrades json written for an earlier version of a {@link JsonStructure} to its current
+ * {@link JsonStructure#getVersion()}, using the {@link JsonMigration} defined from each earlier version to the next.
+ * The version of json is held under {@link JsonStructure#VERSION_KEY}, json without it being {@link JsonStructure#UNVERSIONED}.
+ * Upgrades are streamed, so a {@link File} is never held as a whole, apart from the values migrations move, convert
+ * or split off.
+ */
+public class JsonUpgrade {
+
+   static final String UPGRADING_SUFFIX = ".upgrading";
+   static final int DEFAULT_INDENT_FACTOR = 3;
+   
+   private final JsonStructure structure;
+   private final Map< Integer, JsonMigration > migrations;
+   private int indentFactor;
+
+   /**
+    * Constructs a new {@link JsonUpgrade}.
+    * @param structure the {@link JsonStructure} upgraded to.
+    */
+   public JsonUpgrade( JsonStructure structure ) {
+      if ( structure == null ) {
+         throw new IllegalArgumentException( "Cannot upgrade to null structure." );
+      }
+      this.structure = structure;
+      this.migrations = new TreeMap<>();
+      this.indentFactor = DEFAULT_INDENT_FACTOR;
+   }//End Constructor
+   
+   /**
+    * Getter for the {@link JsonStructure} upgraded to.
+    * @return the {@link JsonStructure}.
+    */
+   public JsonStructure getStructure() {
+      return structure;
+   }//End Method
+   
+   /**
+    * Method to set the number of spaces each level of the json written by {@link #upgrade(File)} is indented by.
+    * @param indentFactor the indent factor, 0 to write compactly without any whitespace.
+    */
+   public void setIndentFactor( int indentFactor ) {
+      if ( indentFactor < 0 ) {
+         throw new IllegalArgumentException( "Indent factor must not be negative." );
+      }
+      this.indentFactor = indentFactor;
+   }//End Method
+   
+   /**
+    * Getter for the number of spaces each level of the json written by {@link #upgrade(File)} is indented by.
+    * @return the indent factor, 0 if compact, {@link #DEFAULT_INDENT_FACTOR} by default.
+    */
+   public int getIndentFactor() {
+      return indentFactor;
+   }//End Method
+   
+   /**
+    * Method to get the {@link JsonMigration} from the given version to the next, defining it if not already.
+    * Versions without a {@link JsonMigration} are upgraded without change.
+    * @param fromVersion the version migrated from.
+    * @return the {@link JsonMigration}.
+    */
+   public JsonMigration migrate( int fromVersion ) {
+      if ( fromVersion < JsonStructure.UNVERSIONED ) {
+         throw new IllegalArgumentException( "Version must not be negative." );
+      }
+      return migrations.computeIfAbsent( fromVersion, JsonMigration::new );
+   }//End Method
+   
+   /**
+    * Method to compile the {@link JsonMigration}s needed to upgrade from the given version to the version
+    * of the {@link JsonStructure}.
+    * @param fromVersion the version upgraded from.
+    * @return the {@link JsonUpgradePlan}.
+    * @throws IllegalArgumentException if the version is negative or later than the {@link JsonStructure}.
+    */
+   public JsonUpgradePlan compile( int fromVersion ) {
+      int toVersion = structure.getVersion();
+      if ( fromVersion < JsonStructure.UNVERSIONED || fromVersion > toVersion ) {
+         throw new IllegalArgumentException( "Cannot upgrade from version " + fromVersion + " to " + toVersion + "." );
+      }
+      
+      List< JsonMigrationNode > plan = new ArrayList<>();
+      for ( JsonMigration migration : migrations.values() ) {
+         if ( migration.getFromVersion() >= fromVersion && migration.getFromVersion() < toVersion ) {
+            plan.add( migration.compile() );
+         }
+      }
+      return new JsonUpgradePlan( plan, toVersion );
+   }//End Method
+   
+   /**
+    * Method to read the version of the json object in the given {@link Reader}, reading only the members of the root
+    * object up to the version, so that json written with the version first is barely read.
+    * @param reader the {@link Reader} to read from.
+    * @return the version, {@link JsonStructure#UNVERSIONED} if there is none.
+    * @throws JSONException if the json is not an object, is invalid or has a version that is not a number.
+    */
+   public int versionOf( Reader reader ) {
+      JsonTokenizer tokenizer = new JsonTokenizer( reader );
+      if ( tokenizer.next() != JsonToken.START_OBJECT ) {
+         throw new JSONException( "Expected object to find version of." );
+      }
+      
+      while ( tokenizer.next() == JsonToken.KEY ) {
+         boolean version = JsonStructure.VERSION_KEY.equals( tokenizer.text() );
+         JsonToken value = tokenizer.next();
+         if ( !version ) {
+            tokenizer.skipValue();
+         } else if ( value == JsonToken.NUMBER ) {
+            return ( ( Number )tokenizer.value() ).intValue();
+         } else {
+            throw new JSONException( JsonStructure.VERSION_KEY + " must be a number." );
+         }
+      }
+      
+      if ( tokenizer.current() != JsonToken.END_OBJECT ) {
+         throw new JSONException( "Unexpected end of object to find version of." );
+      }
+      return JsonStructure.UNVERSIONED;
+   }//End Method
+   
+   /**
+    * Method to read the version of the json object in the given {@link File}.
+    * @param file the {@link File} to read from.
+    * @return the version, {@link JsonStructure#UNVERSIONED} if there is none, or null if the {@link File} cannot be 
+    * read or is invalid.
+    */
+   public Integer versionOf( File file ) {
+      try ( Reader reader = open( file ) ) {
+         return versionOf( reader );
+      } catch ( IOException | JSONException exception ) {
+         return null;
+      }
+   }//End Method
+   
+   /**
+    * Method to determine whether the json in the given {@link File} is for an earlier version of the {@link JsonStructure}.
+    * @param file the {@link File} to check.
+    * @return true if earlier, false if current, later, or the {@link File} cannot be read.
+    */
+   public boolean isOutdated( File file ) {
+      Integer version = versionOf( file );
+      return version != null && version < structure.getVersion();
+   }//End Method
+   
+   /**
+    * Method to read the json object in the given {@link File}, upgraded to the version of the {@link JsonStructure}.
+    * @param file the {@link File} to read from.
+    * @return the upgraded {@link JSONObject}, or null if anything goes wrong, including the {@link File} being for
+    * a later version.
+    */
+   public JSONObject read( File file ) {
+      Integer version = versionOf( file );
+      if ( version == null ) {
+         return null;
+      }
+      return read( file, version );
+   }//End Method
+   
+   /**
+    * Method to read the json object in the given {@link File}, as {@link #read(File)}, where its version is already
+    * known, such as from {@link #versionOf(File)}, so that it is not read again.
+    * @param file the {@link File} to read from.
+    * @param version the version of the json in the {@link File}.
+    * @return the upgraded {@link JSONObject}, or null if anything goes wrong, including the version being later than
+    * the {@link JsonStructure}.
+    */
+   public JSONObject read( File file, int version ) {
+      JsonUpgradePlan plan = planFor( version );
+      if ( plan == null ) {
+         return null;
+      }
+      
+      try ( Reader reader = open( file ) ) {
+         return plan.upgrade( new JsonTokenizer( reader ) );
+      } catch ( IOException | JSONException exception ) {
+         return null;
+      }
+   }//End Method
+   
+   /**
+    * Method to upgrade the json object in the given {@link File} to the version of the {@link JsonStructure}, in place.
+    * The upgraded json is streamed to a {@link File} beside it, which then replaces it, so the {@link File} is left
+    * unchanged if anything goes wrong.
+    * @param file the {@link File} to upgrade.
+    * @return true if upgraded or already current, false if anything goes wrong, including the {@link File} being for
+    * a later version.
+    */
+   public boolean upgrade( File file ) {
+      Integer version = versionOf( file );
+      if ( version == null ) {
+         return false;
+      }
+      return upgrade( file, version );
+   }//End Method
+   
+   /**
+    * Method to upgrade the json object in the given {@link File} in place, as {@link #upgrade(File)}, where its version
+    * is already known, such as from {@link #versionOf(File)}, so that it is not read again.
+    * @param file the {@link File} to upgrade.
+    * @param version the version of the json in the {@link File}.
+    * @return true if upgraded or already current, false if anything goes wrong, including the version being later 
+    * than the {@link JsonStructure}.
+    */
+   public boolean upgrade( File file, int version ) {
+      if ( version == structure.getVersion() ) {
+         return true;
+      }
+      JsonUpgradePlan plan = planFor( version );
+      if ( plan == null ) {
+         return false;
+      }
+      
+      File upgrading = new File( file.getPath() + UPGRADING_SUFFIX );
+      try {
+         try ( 
+                  Reader reader = open( file ); 
+                  Writer writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( upgrading ), StandardCharsets.UTF_8 ) )
+         ) {
+            JsonWriter jsonWriter = new JsonWriter( writer, indentFactor );
+            plan.upgrade( new JsonTokenizer( reader ), jsonWriter );
+            jsonWriter.flush();
+         }
+         Files.move( upgrading.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+         return true;
+      } catch ( IOException | JSONException exception ) {
+         upgrading.delete();
+         return false;
+      }
+   }//End Method
+   
+   /**
+    * Method to compile the {@link JsonUpgradePlan} for the given version.
+    * @param version the version.
+    * @return the {@link JsonUpgradePlan}, null if the version cannot be upgraded.
+    */
+   private JsonUpgradePlan planFor( int version ) {
+      if ( version < JsonStructure.UNVERSIONED || version > structure.getVersion() ) {
+         return null;
+      }
+      return compile( version );
+   }//End Method
+   
+   /**
+    * Method to open the given {@link File} for reading as UTF-8.
+    * @param file the {@link File}.
+    * @return the {@link Reader}.
+    * @throws IOException if it cannot be opened.
+    */
+   private Reader open( File file ) throws IOException {
+      return new InputStreamReader( new FileInputStream( file ), StandardCharsets.UTF_8 );
+   }//End Method
+
+}//End Class
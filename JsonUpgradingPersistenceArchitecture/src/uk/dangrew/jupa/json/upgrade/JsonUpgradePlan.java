@@ -0,0 +1,135 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.stream.JsonToken;
+import uk.dangrew.jupa.json.stream.JsonTokenizer;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+
+/**
+ * The {@link JsonUpgradePlan} is the chain of {@link JsonMigration}s that upgrade json from one version to 
+ * another, applied together as the json is streamed from a {@link JsonTokenizer}, so that any number of 
+ * versions are upgraded in a single pass. It is unaffected by changes to the {@link JsonMigration}s after it is made.
+ */
+public final class JsonUpgradePlan {
+
+   private final List< JsonMigrationNode > migrations;
+   private final int toVersion;
+
+   /**
+    * Constructs a new {@link JsonUpgradePlan}.
+    * @param migrations the {@link JsonMigrationNode}s of each {@link JsonMigration}, in the order to apply them.
+    * @param toVersion the version upgraded to.
+    */
+   JsonUpgradePlan( List< JsonMigrationNode > migrations, int toVersion ) {
+      this.migrations = migrations;
+      this.toVersion = toVersion;
+   }//End Constructor
+   
+   /**
+    * Getter for the version upgraded to.
+    * @return the version.
+    */
+   public int getToVersion() {
+      return toVersion;
+   }//End Method
+   
+   /**
+    * Getter for the number of {@link JsonMigration}s applied.
+    * @return the number of {@link JsonMigration}s.
+    */
+   public int getMigrationCount() {
+      return migrations.size();
+   }//End Method
+   
+   /**
+    * Method to upgrade the object read from the given {@link JsonTokenizer}, writing it to the given {@link JsonWriter}.
+    * @param tokenizer the {@link JsonTokenizer} to read an object from.
+    * @param writer the {@link JsonWriter} to write the upgraded object to.
+    * @throws JSONException if the json read is not an object or is invalid, or cannot be migrated.
+    */
+   public void upgrade( JsonTokenizer tokenizer, JsonWriter writer ) {
+      upgrade( tokenizer, JsonEventSink.writingTo( writer ) );
+   }//End Method
+   
+   /**
+    * Method to upgrade the object read from the given {@link JsonTokenizer} into a {@link JSONObject}.
+    * @param tokenizer the {@link JsonTokenizer} to read an object from.
+    * @return the upgraded {@link JSONObject}.
+    * @throws JSONException if the json read is not an object or is invalid, or cannot be migrated.
+    */
+   public JSONObject upgrade( JsonTokenizer tokenizer ) {
+      JsonValueCapture capture = new JsonValueCapture();
+      upgrade( tokenizer, capture );
+      return ( JSONObject )capture.captured();
+   }//End Method
+   
+   /**
+    * Method to upgrade the object read from the given {@link JsonTokenizer}, sending it to the given {@link JsonEventSink}.
+    * @param tokenizer the {@link JsonTokenizer} to read an object from.
+    * @param sink the {@link JsonEventSink} to send the upgraded object to.
+    */
+   void upgrade( JsonTokenizer tokenizer, JsonEventSink sink ) {
+      JsonEventSink chain = new JsonVersionStamp( toVersion, sink );
+      for ( int i = migrations.size() - 1; i >= 0; i-- ) {
+         chain = new JsonMigrationStage( migrations.get( i ), chain );
+      }
+      
+      JsonToken token = tokenizer.next();
+      if ( token != JsonToken.START_OBJECT ) {
+         throw new JSONException( "Expected object to upgrade but found " + token + "." );
+      }
+      while ( true ) {
+         dispatch( token, tokenizer, chain );
+         if ( tokenizer.depth() == 0 ) {
+            return;
+         }
+         token = tokenizer.next();
+         if ( token == JsonToken.END_DOCUMENT ) {
+            throw new JSONException( "Unexpected end of object to upgrade." );
+         }
+      }
+   }//End Method
+   
+   /**
+    * Method to send the given {@link JsonToken} to the given {@link JsonEventSink}.
+    * @param token the {@link JsonToken} read.
+    * @param tokenizer the {@link JsonTokenizer} read from.
+    * @param sink the {@link JsonEventSink} to send to.
+    */
+   private void dispatch( JsonToken token, JsonTokenizer tokenizer, JsonEventSink sink ) {
+      switch ( token ) {
+         case START_OBJECT:
+            sink.startObject();
+            break;
+         case END_OBJECT:
+            sink.endObject();
+            break;
+         case START_ARRAY:
+            sink.startArray();
+            break;
+         case END_ARRAY:
+            sink.endArray();
+            break;
+         case KEY:
+            sink.key( tokenizer.text() );
+            break;
+         default:
+            sink.value( tokenizer.value() );
+            break;
+      }
+   }//End Method
+
+}//End Class
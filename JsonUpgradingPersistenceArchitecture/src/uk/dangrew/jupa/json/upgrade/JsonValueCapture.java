@@ -0,0 +1,249 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import uk.dangrew.jupa.json.traversal.JsonTraversal;
+import uk.dangrew.jupa.json.traversal.JsonTraversalFrame;
+
+/**
+ * The {@link JsonValueCapture} is a {@link JsonEventSink} that builds the single value it receives into
+ * a {@link JSONObject}, {@link JSONArray} or simple value, for the parts of json that must be held while
+ * upgrading. It can also replay any such value as events.
+ */
+class JsonValueCapture implements JsonEventSink {
+
+   private final List< Object > containers;
+   private String pendingKey;
+   private Object captured;
+   private boolean complete;
+
+   /**
+    * Constructs a new {@link JsonValueCapture}.
+    */
+   JsonValueCapture() {
+      this.containers = new ArrayList<>();
+   }//End Constructor
+
+   /**
+    * Method to determine whether the whole value has been received.
+    * @return true if complete.
+    */
+   boolean isComplete() {
+      return complete;
+   }//End Method
+
+   /**
+    * Getter for the value captured.
+    * @return the value, only whole once {@link #isComplete()}.
+    */
+   Object captured() {
+      return captured;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startObject() {
+      open( new JSONObject() );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void endObject() {
+      close();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startArray() {
+      open( new JSONArray() );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void endArray() {
+      close();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void key( String key ) {
+      pendingKey = key;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void value( Object value ) {
+      if ( containers.isEmpty() ) {
+         captured = value;
+         complete = true;
+      } else {
+         add( value );
+      }
+   }//End Method
+
+   /**
+    * Method to open a container, adding it to the container it is within.
+    * @param container the {@link JSONObject} or {@link JSONArray}.
+    */
+   private void open( Object container ) {
+      if ( containers.isEmpty() ) {
+         captured = container;
+      } else {
+         add( container );
+      }
+      containers.add( container );
+   }//End Method
+
+   /**
+    * Method to close the current container, completing the capture if outermost.
+    */
+   private void close() {
+      containers.remove( containers.size() - 1 );
+      complete = containers.isEmpty();
+   }//End Method
+
+   /**
+    * Method to add the given value to the current container.
+    * @param value the value to add.
+    */
+   private void add( Object value ) {
+      Object container = containers.get( containers.size() - 1 );
+      if ( container instanceof JSONObject ) {
+         ( ( JSONObject )container ).put( pendingKey, value );
+      } else {
+         ( ( JSONArray )container ).put( value );
+      }
+   }//End Method
+
+   /**
+    * Method to send the given value to the given {@link JsonEventSink} as events, nested values being
+    * walked with a {@link JsonTraversal} rather than recursively.
+    * @param value the {@link JSONObject}, {@link JSONArray} or simple value.
+    * @param sink the {@link JsonEventSink} to send to.
+    */
+   static void replay( Object value, JsonEventSink sink ) {
+      JsonTraversal traversal = new JsonTraversal();
+      replay( value, sink, traversal );
+      traversal.run();
+   }//End Method
+
+   /**
+    * Method to send the given value to the given {@link JsonEventSink}, pushing a frame for anything nested.
+    * @param value the value.
+    * @param sink the {@link JsonEventSink} to send to.
+    * @param traversal the {@link JsonTraversal} to push onto.
+    */
+   private static void replay( Object value, JsonEventSink sink, JsonTraversal traversal ) {
+      if ( value instanceof JSONObject ) {
+         sink.startObject();
+         traversal.push( new ObjectReplay( ( JSONObject )value, sink ) );
+      } else if ( value instanceof JSONArray ) {
+         sink.startArray();
+         traversal.push( new ArrayReplay( ( JSONArray )value, sink ) );
+      } else {
+         sink.value( value == null ? JSONObject.NULL : value );
+      }
+   }//End Method
+
+   /**
+    * The {@link ObjectReplay} replays the members of a {@link JSONObject}, one per step.
+    */
+   private static class ObjectReplay implements JsonTraversalFrame {
+
+      private final JSONObject object;
+      private final Iterator< String > keys;
+      private final JsonEventSink sink;
+
+      /**
+       * Constructs a new {@link ObjectReplay}.
+       * @param object the {@link JSONObject} to replay.
+       * @param sink the {@link JsonEventSink} to replay to.
+       */
+      private ObjectReplay( JSONObject object, JsonEventSink sink ) {
+         this.object = object;
+         this.keys = object.keys();
+         this.sink = sink;
+      }//End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( !keys.hasNext() ) {
+            return false;
+         }
+         String key = keys.next();
+         sink.key( key );
+         replay( object.get( key ), sink, traversal );
+         return true;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finish() {
+         sink.endObject();
+      }//End Method
+
+   }//End Class
+
+   /**
+    * The {@link ArrayReplay} replays the elements of a {@link JSONArray}, one per step.
+    */
+   private static class ArrayReplay implements JsonTraversalFrame {
+
+      private final JSONArray array;
+      private final JsonEventSink sink;
+      private int index;
+
+      /**
+       * Constructs a new {@link ArrayReplay}.
+       * @param array the {@link JSONArray} to replay.
+       * @param sink the {@link JsonEventSink} to replay to.
+       */
+      private ArrayReplay( JSONArray array, JsonEventSink sink ) {
+         this.array = array;
+         this.sink = sink;
+      }//End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( index == array.length() ) {
+            return false;
+         }
+         replay( array.get( index++ ), sink, traversal );
+         return true;
+      }//End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void finish() {
+         sink.endArray();
+      }//End Method
+
+   }//End Class
+
+}//End Class
@@ -0,0 +1,121 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * The {@link JsonVersionStamp} is the last {@link JsonEventSink} of an upgrade, writing the version upgraded to
+ * as the first member of the root object, under {@link JsonStructure#VERSION_KEY}, in place of any version read.
+ */
+class JsonVersionStamp implements JsonEventSink {
+
+   private final int version;
+   private final JsonEventSink next;
+   private int depth;
+   private boolean discarding;
+   private int discardDepth;
+
+   /**
+    * Constructs a new {@link JsonVersionStamp}.
+    * @param version the version to stamp.
+    * @param next the {@link JsonEventSink} to pass the stamped json on to.
+    */
+   JsonVersionStamp( int version, JsonEventSink next ) {
+      this.version = version;
+      this.next = next;
+   }//End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startObject() {
+      if ( discarding ) {
+         discardDepth++;
+         return;
+      }
+      next.startObject();
+      if ( ++depth == 1 ) {
+         next.key( JsonStructure.VERSION_KEY );
+         next.value( version );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void endObject() {
+      if ( discarding ) {
+         endDiscarded();
+         return;
+      }
+      depth--;
+      next.endObject();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startArray() {
+      if ( discarding ) {
+         discardDepth++;
+         return;
+      }
+      depth++;
+      next.startArray();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void endArray() {
+      if ( discarding ) {
+         endDiscarded();
+         return;
+      }
+      depth--;
+      next.endArray();
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void key( String key ) {
+      if ( discarding ) {
+         return;
+      }
+      if ( depth == 1 && JsonStructure.VERSION_KEY.equals( key ) ) {
+         discarding = true;
+         discardDepth = 0;
+         return;
+      }
+      next.key( key );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void value( Object value ) {
+      if ( discarding ) {
+         discarding = discardDepth > 0;
+         return;
+      }
+      next.value( value );
+   }//End Method
+   
+   /**
+    * Method to handle the end of an object or array within the version discarded.
+    */
+   private void endDiscarded() {
+      discardDepth--;
+      discarding = discardDepth > 0;
+   }//End Method
+
+}//End Class
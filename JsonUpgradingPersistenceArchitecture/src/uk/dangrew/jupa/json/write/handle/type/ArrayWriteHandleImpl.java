@@ -0,0 +1,88 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * The {@link ArrayWriteHandleImpl} provides the common structure of a {@link JsonArrayWriteHandle}, filling
+ * the {@link JSONArray} for its key, or putting a new {@link JSONArray} where there is none, where the type
+ * specific source of elements is defined by extensions.
+ */
+public abstract class ArrayWriteHandleImpl implements JsonArrayWriteHandle {
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedObject( String key ) {
+      //not navigated
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedObject( String key ) {
+      //not navigated
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedArray( String key ) {
+      //not navigated
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedArray( String key ) {
+      //not navigated
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONObject object ) {
+      Object value = object.opt( key );
+      if ( value instanceof JSONArray ) {
+         handleArray( key, ( JSONArray )value );
+      } else {
+         JSONArray array = new JSONArray();
+         handleArray( key, array );
+         object.put( key, array );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, JSONArray array, int index ) {
+      Object value = array.opt( index );
+      if ( value instanceof JSONArray ) {
+         handleArray( key, ( JSONArray )value );
+      } else {
+         JSONArray elements = new JSONArray();
+         handleArray( key, elements );
+         array.put( index, elements );
+      }
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handleArray( String key, JSONArray array ) {
+      for ( int i = array.length() - 1; i >= 0; i-- ) {
+         array.remove( i );
+      }
+      writeElements( key, element -> array.put( element == null ? JSONObject.NULL : element ) );
+   }//End Method
+
+}//End Class
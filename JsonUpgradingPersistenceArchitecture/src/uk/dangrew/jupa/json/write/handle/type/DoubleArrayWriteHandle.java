@@ -0,0 +1,84 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@code double[]} {@link ArrayWriteHandleImpl}, writing each value of the array without an indexed retrieval per element.
+ */
+public class DoubleArrayWriteHandle extends ArrayWriteHandleImpl {
+
+   private final Function< String, double[] > values;
+
+   /**
+    * Constructs a new {@link DoubleArrayWriteHandle}.
+    * @param values the {@link Function} providing the values for the key.
+    */
+   public DoubleArrayWriteHandle( Function< String, double[] > values ) {
+      if ( values == null ) {
+         throw new IllegalArgumentException( "Null values is not permitted." );
+      }
+      this.values = values;
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link DoubleArrayWriteHandle}.
+    * @param values the {@link Supplier} of the values.
+    */
+   public DoubleArrayWriteHandle( Supplier< double[] > values ) {
+      this( ignoreKey( values ) );
+   }//End Constructor
+
+   /**
+    * Method to adapt the given {@link Supplier} to ignore the key.
+    * @param values the {@link Supplier} of the values.
+    * @return the {@link Function}.
+    */
+   private static Function< String, double[] > ignoreKey( Supplier< double[] > values ) {
+      if ( values == null ) {
+         throw new IllegalArgumentException( "Null values is not permitted." );
+      }
+      return key -> values.get();
+   }//End Method
+
+   /**
+    * Method to get the values for the given key.
+    * @param key the key.
+    * @return the values.
+    * @throws IllegalStateException if there are none.
+    */
+   private double[] valuesFor( String key ) {
+      double[] array = values.apply( key );
+      if ( array == null ) {
+         throw new IllegalStateException( key + ": no values provided." );
+      }
+      return array;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int size( String key ) {
+      return valuesFor( key ).length;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void writeElements( String key, Consumer< Object > elements ) {
+      for ( double value : valuesFor( key ) ) {
+         elements.accept( value );
+      }
+   }//End Method
+
+}//End Class
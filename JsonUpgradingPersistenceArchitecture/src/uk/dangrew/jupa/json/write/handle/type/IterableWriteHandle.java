@@ -0,0 +1,94 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link Iterable} {@link ArrayWriteHandleImpl}, writing each element in the order iterated, such as from a
+ * {@link java.util.LinkedList} or any {@link Collection}. The size of a {@link Collection} is its 
+ * {@link Collection#size()}, otherwise the elements are counted by iterating.
+ */
+public class IterableWriteHandle extends ArrayWriteHandleImpl {
+
+   private final Function< String, ? extends Iterable< ? > > elements;
+
+   /**
+    * Constructs a new {@link IterableWriteHandle}.
+    * @param elements the {@link Function} providing the {@link Iterable} of the elements for the key.
+    */
+   public IterableWriteHandle( Function< String, ? extends Iterable< ? > > elements ) {
+      if ( elements == null ) {
+         throw new IllegalArgumentException( "Null elements is not permitted." );
+      }
+      this.elements = elements;
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link IterableWriteHandle}.
+    * @param elements the {@link Supplier} of the {@link Iterable} of the elements.
+    */
+   public IterableWriteHandle( Supplier< ? extends Iterable< ? > > elements ) {
+      this( ignoreKey( elements ) );
+   }//End Constructor
+
+   /**
+    * Method to adapt the given {@link Supplier} to ignore the key.
+    * @param elements the {@link Supplier} of the elements.
+    * @return the {@link Function}.
+    */
+   private static Function< String, Iterable< ? > > ignoreKey( Supplier< ? extends Iterable< ? > > elements ) {
+      if ( elements == null ) {
+         throw new IllegalArgumentException( "Null elements is not permitted." );
+      }
+      return key -> elements.get();
+   }//End Method
+
+   /**
+    * Method to get the {@link Iterable} for the given key.
+    * @param key the key.
+    * @return the {@link Iterable}.
+    * @throws IllegalStateException if there is none.
+    */
+   private Iterable< ? > elementsFor( String key ) {
+      Iterable< ? > iterable = elements.apply( key );
+      if ( iterable == null ) {
+         throw new IllegalStateException( key + ": no elements provided." );
+      }
+      return iterable;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int size( String key ) {
+      Iterable< ? > iterable = elementsFor( key );
+      if ( iterable instanceof Collection ) {
+         return ( ( Collection< ? > )iterable ).size();
+      }
+
+      int size = 0;
+      for ( @SuppressWarnings( "unused" ) Object element : iterable ) {
+         size++;
+      }
+      return size;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void writeElements( String key, Consumer< Object > consumer ) {
+      elementsFor( key ).forEach( consumer );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,47 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+
+/**
+ * The {@link JsonArrayWriteHandle} is a {@link JsonArrayHandle} that writes a whole array for its key in one
+ * go, from data that need not be indexed, rather than retrieving each element by index. The number of elements
+ * is derived from the data, so {@link #size(String)} can serve as the size function of an array in a
+ * {@link uk.dangrew.jupa.json.structure.JsonStructure}, or the key can simply be a value in the
+ * {@link uk.dangrew.jupa.json.structure.JsonStructure} that the array is written as.
+ */
+public interface JsonArrayWriteHandle extends JsonArrayHandle {
+
+   /**
+    * Method to get the number of elements to write for the given key.
+    * @param key the key of the array.
+    * @return the number of elements.
+    */
+   public int size( String key );
+
+   /**
+    * Method to write each element for the given key, in order.
+    * @param key the key of the array.
+    * @param elements the {@link Consumer} of each element, null elements being written as null.
+    */
+   public void writeElements( String key, Consumer< Object > elements );
+
+   /**
+    * {@inheritDoc}
+    * Replaces the contents of the given {@link JSONArray} with the elements.
+    */
+   @Override public void handleArray( String key, JSONArray array );
+
+}//End Interface
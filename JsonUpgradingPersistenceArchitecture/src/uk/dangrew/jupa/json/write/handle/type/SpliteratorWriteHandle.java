@@ -0,0 +1,94 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link Spliterator} {@link ArrayWriteHandleImpl}, writing each element the {@link Spliterator} traverses, such
+ * as from a {@link java.util.stream.Stream}. A new {@link Spliterator} is requested each time the elements are
+ * needed. The size is the exact size of a {@link Spliterator#SIZED} {@link Spliterator}, otherwise the elements
+ * of a further {@link Spliterator} are counted.
+ */
+public class SpliteratorWriteHandle extends ArrayWriteHandleImpl {
+
+   private final Function< String, ? extends Spliterator< ? > > elements;
+
+   /**
+    * Constructs a new {@link SpliteratorWriteHandle}.
+    * @param elements the {@link Function} providing a new {@link Spliterator} of the elements for the key.
+    */
+   public SpliteratorWriteHandle( Function< String, ? extends Spliterator< ? > > elements ) {
+      if ( elements == null ) {
+         throw new IllegalArgumentException( "Null elements is not permitted." );
+      }
+      this.elements = elements;
+   }//End Constructor
+
+   /**
+    * Constructs a new {@link SpliteratorWriteHandle}.
+    * @param elements the {@link Supplier} of a new {@link Spliterator} of the elements.
+    */
+   public SpliteratorWriteHandle( Supplier< ? extends Spliterator< ? > > elements ) {
+      this( ignoreKey( elements ) );
+   }//End Constructor
+
+   /**
+    * Method to adapt the given {@link Supplier} to ignore the key.
+    * @param elements the {@link Supplier} of the elements.
+    * @return the {@link Function}.
+    */
+   private static Function< String, Spliterator< ? > > ignoreKey( Supplier< ? extends Spliterator< ? > > elements ) {
+      if ( elements == null ) {
+         throw new IllegalArgumentException( "Null elements is not permitted." );
+      }
+      return key -> elements.get();
+   }//End Method
+
+   /**
+    * Method to get a new {@link Spliterator} for the given key.
+    * @param key the key.
+    * @return the {@link Spliterator}.
+    * @throws IllegalStateException if there is none.
+    */
+   private Spliterator< ? > elementsFor( String key ) {
+      Spliterator< ? > spliterator = elements.apply( key );
+      if ( spliterator == null ) {
+         throw new IllegalStateException( key + ": no elements provided." );
+      }
+      return spliterator;
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int size( String key ) {
+      Spliterator< ? > spliterator = elementsFor( key );
+      long size = spliterator.getExactSizeIfKnown();
+      if ( size < 0 ) {
+         size = 0;
+         while ( spliterator.tryAdvance( element -> {} ) ) {
+            size++;
+         }
+      }
+      return Math.toIntExact( size );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void writeElements( String key, Consumer< Object > consumer ) {
+      elementsFor( key ).forEachRemaining( consumer );
+   }//End Method
+
+}//End Class
@@ -27,6 +27,7 @@ public class ArbitraryLocationProtocolTest {
     @Test
     public void shouldProvideFileInformation(){
         assertThat(systemUnderTest.getSource(), is(file));
+        assertThat(systemUnderTest.getFile(), is(file));
         when(file.getAbsolutePath()).thenReturn("anything");
         assertThat(systemUnderTest.getLocation(), is("anything"));
     }
@@ -131,4 +131,9 @@ public class JarJsonPersistingProtocolTest {
       assertThat( fullLocation, containsString( thisLocation.getParentFile().getAbsolutePath() + "/anything/" + FILENAME ) );
    }//End Method
    
+   @Test public void shouldProvideFileAtLocation(){
+      systemUnderTest = new JarJsonPersistingProtocol( "anything", FILENAME, getClass() );
+      assertThat( systemUnderTest.getFile().getAbsolutePath(), is( systemUnderTest.getLocation() ) );
+   }//End Method
+   
 }//End Class
@@ -0,0 +1,154 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.bind;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.scene.layout.Priority;
+
+/**
+ * {@link JsonFieldBinding} test.
+ */
+public class JsonFieldBindingTest {
+
+   /**
+    * Model of every supported type.
+    */
+   static class Model {
+      @JsonKey( "a.string" ) String stringValue;
+      @JsonKey( "int" ) int intValue;
+      @JsonKey( "boxedInt" ) Integer boxedIntValue;
+      @JsonKey( "long" ) long longValue;
+      @JsonKey( "boxedLong" ) Long boxedLongValue;
+      @JsonKey( "double" ) double doubleValue;
+      @JsonKey( "boxedDouble" ) Double boxedDoubleValue;
+      @JsonKey( "boolean" ) boolean booleanValue;
+      @JsonKey( "boxedBoolean" ) Boolean boxedBooleanValue;
+      @JsonKey( "decimal" ) BigDecimal decimalValue;
+      @JsonKey( "integer" ) BigInteger integerValue;
+      @JsonKey( value = "enum", optional = true ) Priority enumValue;
+      @JsonKey( "list" ) List< String > unsupported;
+      @JsonKey( "final" ) final String finalValue = "";
+      @JsonKey( "empty..key" ) String emptyKey;
+   }//End Class
+   
+   private Model model;
+   
+   @Before public void initialiseSystemUnderTest() {
+      model = new Model();
+   }//End Method
+   
+   /**
+    * Method to bind the named field of the {@link Model}.
+    * @param name the name of the field.
+    * @return the {@link JsonFieldBinding}.
+    */
+   private JsonFieldBinding bind( String name ) {
+      try {
+         return new JsonFieldBinding( Model.class.getDeclaredField( name ), Model.class.getDeclaredField( name ).getAnnotation( JsonKey.class ) );
+      } catch ( NoSuchFieldException exception ) {
+         throw new AssertionError( exception );
+      }
+   }//End Method
+   
+   /**
+    * Method to read the given value into the given field of the {@link Model}.
+    * @param name the name of the field.
+    * @param value the value to read.
+    */
+   private void read( String name, Object value ) {
+      JsonFieldBinding binding = bind( name );
+      JSONObject object = new JSONObject();
+      object.put( binding.getKey(), value );
+      binding.readHandle( model ).handle( binding.getKey(), object );
+   }//End Method
+   
+   @Test public void shouldProvidePathAndKeys() {
+      JsonFieldBinding binding = bind( "stringValue" );
+      assertThat( binding.getPath(), is( "a.string" ) );
+      assertThat( binding.getKeys().length, is( 2 ) );
+      assertThat( binding.getKey(), is( "string" ) );
+      assertThat( binding.isOptional(), is( false ) );
+      assertThat( bind( "enumValue" ).isOptional(), is( true ) );
+   }//End Method
+   
+   @Test public void shouldReadEachSupportedType() {
+      read( "stringValue", "text" );
+      read( "intValue", 4 );
+      read( "boxedIntValue", 5 );
+      read( "longValue", 6L );
+      read( "boxedLongValue", 7L );
+      read( "doubleValue", 8.5 );
+      read( "boxedDoubleValue", 9.5 );
+      read( "booleanValue", true );
+      read( "boxedBooleanValue", true );
+      read( "decimalValue", "10.25" );
+      read( "integerValue", "11" );
+      read( "enumValue", "ALWAYS" );
+      
+      assertThat( model.stringValue, is( "text" ) );
+      assertThat( model.intValue, is( 4 ) );
+      assertThat( model.boxedIntValue, is( 5 ) );
+      assertThat( model.longValue, is( 6L ) );
+      assertThat( model.boxedLongValue, is( 7L ) );
+      assertThat( model.doubleValue, is( 8.5 ) );
+      assertThat( model.boxedDoubleValue, is( 9.5 ) );
+      assertThat( model.booleanValue, is( true ) );
+      assertThat( model.boxedBooleanValue, is( true ) );
+      assertThat( model.decimalValue, is( new BigDecimal( "10.25" ) ) );
+      assertThat( model.integerValue, is( new BigInteger( "11" ) ) );
+      assertThat( model.enumValue, is( Priority.ALWAYS ) );
+   }//End Method
+   
+   @Test public void shouldLeavePrimitiveUnchangedWhenNull() {
+      model.intValue = 3;
+      read( "intValue", JSONObject.NULL );
+      assertThat( model.intValue, is( 3 ) );
+   }//End Method
+   
+   @Test public void shouldGetValuesToWrite() {
+      model.intValue = 4;
+      model.enumValue = Priority.NEVER;
+      
+      assertThat( bind( "intValue" ).get( model ), is( 4 ) );
+      assertThat( bind( "enumValue" ).get( model ), is( "NEVER" ) );
+      assertThat( bind( "stringValue" ).get( model ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldWriteValue() {
+      model.doubleValue = 2.5;
+      JSONObject object = new JSONObject();
+      bind( "doubleValue" ).writeHandle( model ).handle( "double", object );
+      assertThat( object.getDouble( "double" ), is( 2.5 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotBindUnsupportedType() {
+      bind( "unsupported" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotBindFinalField() {
+      bind( "finalValue" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotBindPathWithEmptyKey() {
+      bind( "emptyKey" );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,185 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.bind;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javafx.scene.layout.Priority;
+import uk.dangrew.jupa.file.protocol.JsonPersistingProtocol;
+import uk.dangrew.jupa.json.marshall.ModelMarshaller;
+import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * {@link JsonModelBinding} test.
+ */
+public class JsonModelBindingTest {
+
+   /**
+    * Model with common fields.
+    */
+   static class BaseModel {
+      @JsonKey( "id" ) private String id;
+   }//End Class
+   
+   /**
+    * Model bound by the test.
+    */
+   static class Model extends BaseModel {
+      @JsonKey( "details.name" ) private String name;
+      @JsonKey( "details.count" ) private int count;
+      @JsonKey( "details.priority" ) private Priority priority;
+      @JsonKey( value = "score", optional = true ) private Double score;
+      private String unbound;
+   }//End Class
+   
+   /**
+    * Model binding a key twice.
+    */
+   static class DuplicateModel {
+      @JsonKey( "first.name" ) private String first;
+      @JsonKey( "second.name" ) private String second;
+   }//End Class
+   
+   /**
+    * Model binding nothing.
+    */
+   static class UnboundModel {
+      @SuppressWarnings("unused") private String unbound;
+   }//End Class
+   
+   private Model model;
+   private JsonModelBinding< Model > systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest() {
+      model = new Model();
+      systemUnderTest = JsonModelBinding.of( Model.class );
+   }//End Method
+   
+   @Test public void shouldShareBindingForType() {
+      assertThat( JsonModelBinding.of( Model.class ), is( sameInstance( systemUnderTest ) ) );
+      assertThat( systemUnderTest.getModelType(), is( sameInstance( Model.class ) ) );
+   }//End Method
+   
+   @Test public void shouldBindAnnotatedFieldsIncludingSuperclass() {
+      assertThat( systemUnderTest.getPaths(), contains( 
+               "details.name", "details.count", "details.priority", "score", "id" 
+      ) );
+   }//End Method
+   
+   @Test public void shouldReadIntoFields() {
+      JsonParser parser = new JsonParser();
+      systemUnderTest.registerReads( parser, model );
+      
+      parser.parse( new JSONObject( 
+               "{\"id\":\"A1\",\"score\":2.5,\"details\":{\"name\":\"Dan\",\"count\":3,\"priority\":\"NEVER\"}}" 
+      ) );
+      assertThat( ( ( BaseModel )model ).id, is( "A1" ) );
+      assertThat( model.name, is( "Dan" ) );
+      assertThat( model.count, is( 3 ) );
+      assertThat( model.priority, is( Priority.NEVER ) );
+      assertThat( model.score, is( 2.5 ) );
+      assertThat( model.unbound, is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldOnlyReadAlongPaths() {
+      JsonParser parser = new JsonParser();
+      systemUnderTest.registerReads( parser, model );
+      
+      parser.parse( new JSONObject( "{\"name\":\"Dan\",\"other\":{\"count\":3}}" ) );
+      assertThat( model.name, is( nullValue() ) );
+      assertThat( model.count, is( 0 ) );
+   }//End Method
+   
+   @Test public void shouldWriteFieldsIntoStructure() {
+      model.name = "Dan";
+      model.count = 3;
+      model.priority = Priority.ALWAYS;
+      ( ( BaseModel )model ).id = "A1";
+      
+      JSONObject object = new JSONObject();
+      systemUnderTest.structure().build( object );
+      JsonParser parser = new JsonParser();
+      systemUnderTest.registerWrites( parser, model );
+      parser.parse( object );
+      
+      assertThat( object.getString( "id" ), is( "A1" ) );
+      assertThat( object.get( "score" ), is( JSONObject.NULL ) );
+      JSONObject details = object.getJSONObject( "details" );
+      assertThat( details.getString( "name" ), is( "Dan" ) );
+      assertThat( details.getInt( "count" ), is( 3 ) );
+      assertThat( details.getString( "priority" ), is( "ALWAYS" ) );
+   }//End Method
+   
+   @Test public void shouldDescribeStructure() {
+      JsonStructure structure = systemUnderTest.structure();
+      
+      assertThat( structure.isCompatible( new JSONObject( 
+               "{\"id\":\"A1\",\"details\":{\"name\":\"Dan\",\"count\":3,\"priority\":\"NEVER\"}}" 
+      ) ), is( true ) );
+      assertThat( structure.isCompatible( new JSONObject( 
+               "{\"id\":\"A1\",\"details\":{\"name\":\"Dan\",\"priority\":\"NEVER\"}}" 
+      ) ), is( false ) );
+   }//End Method
+   
+   @Test public void marshallerShouldWriteAndReadModel() {
+      model.name = "Dan";
+      model.count = 3;
+      model.priority = Priority.SOMETIMES;
+      model.score = 1.5;
+      ( ( BaseModel )model ).id = "A1";
+      
+      JsonPersistingProtocol protocol = mock( JsonPersistingProtocol.class );
+      ModelMarshaller marshaller = systemUnderTest.marshaller( model, protocol );
+      marshaller.write();
+      
+      ArgumentCaptor< JSONObject > captor = ArgumentCaptor.forClass( JSONObject.class );
+      verify( protocol ).writeToLocation( captor.capture() );
+      
+      Model readModel = new Model();
+      when( protocol.readFromLocation() ).thenReturn( new JSONObject( captor.getValue().toString() ) );
+      systemUnderTest.marshaller( readModel, protocol ).read();
+      
+      assertThat( readModel.name, is( "Dan" ) );
+      assertThat( readModel.count, is( 3 ) );
+      assertThat( readModel.priority, is( Priority.SOMETIMES ) );
+      assertThat( readModel.score, is( 1.5 ) );
+      assertThat( ( ( BaseModel )readModel ).id, is( "A1" ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotBindKeyTwice() {
+      JsonModelBinding.of( DuplicateModel.class );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotBindModelWithoutKeys() {
+      JsonModelBinding.of( UnboundModel.class );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullType() {
+      JsonModelBinding.of( null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotRegisterNullModel() {
+      systemUnderTest.registerReads( new JsonParser(), null );
+   }//End Method
+   
+}//End Class
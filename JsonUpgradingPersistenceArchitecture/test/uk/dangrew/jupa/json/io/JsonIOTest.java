@@ -16,6 +16,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -23,8 +24,16 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONString;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -34,6 +43,12 @@ import org.mockito.MockitoAnnotations;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.parse.JsonRecordListener;
+import uk.dangrew.jupa.json.parse.handle.type.StringParseHandle;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.write.handle.key.JsonValueWriteHandler;
+import uk.dangrew.jupa.json.write.handle.type.JsonWriteHandleImpl;
 import uk.dangrew.kode.utility.io.IoCommon;
 import uk.dangrew.sd.core.lockdown.DigestMessageReceiver;
 import uk.dangrew.sd.core.lockdown.DigestMessageReceiverImpl;
@@ -48,6 +63,7 @@ public class JsonIOTest {
    private static final String POPULATING_FILE = "populating-file.json";
    private static final String SUB_FOLDER_FILE = "testing/populating-file.json";
    private static final String INVALID_FILE = "invalid-file.json";
+   private static final String RECORDS_FILE = "records-file.json";
    
    private JSONObject jsonObject;
    @Mock private JsonIODigest digest;
@@ -100,6 +116,89 @@ public class JsonIOTest {
       verify( digest ).failedToParseInput( invalidFile );
    }//End Method
    
+   @Test public void shouldDigestContentWhileReading() throws Exception {
+      final File file = constructFileFor( EXISITNG_FILE );
+      MessageDigest contentDigest = MessageDigest.getInstance( "SHA-256" );
+      
+      jsonObject = systemUnderTest.read( file, contentDigest );
+      assertThat( jsonObject.get( "SomeKey" ), is( "SomeValue" ) );
+      assertThat( 
+               contentDigest.digest(), 
+               is( MessageDigest.getInstance( "SHA-256" ).digest( Files.readAllBytes( file.toPath() ) ) ) 
+      );
+   }//End Method
+   
+   @Test( expected = NullPointerException.class ) public void readShouldNotAcceptNullContentDigest(){
+      systemUnderTest.read( constructFileFor( EXISITNG_FILE ), null );
+   }//End Method
+   
+   @Test public void digestingReadShouldIgnoreNonExistentAndInvalidFiles() throws Exception {
+      MessageDigest contentDigest = MessageDigest.getInstance( "SHA-256" );
+      assertThat( systemUnderTest.read( new File( "something that does not exist" ), contentDigest ), is( nullValue() ) );
+      
+      File invalidFile = constructFileFor( INVALID_FILE );
+      assertThat( systemUnderTest.read( invalidFile, contentDigest ), is( nullValue() ) );
+      verify( digest ).failedToParseInput( invalidFile );
+   }//End Method
+   
+   @Test public void shouldParseTestableFileIntoParser() {
+      final File file = constructFileFor( EXISITNG_FILE );
+      final StringBuilder value = new StringBuilder();
+      JsonParser parser = new JsonParser();
+      parser.when( "SomeKey", new StringParseHandle( value::append ) );
+      
+      assertThat( systemUnderTest.parse( file, parser ), is( true ) );
+      assertThat( value.toString(), is( "SomeValue" ) );
+   }//End Method
+   
+   @Test public void parseShouldIgnoreNonExistentFile(){
+      assertThat( systemUnderTest.parse( new File( "something that does not exist" ), new JsonParser() ), is( false ) );
+   }//End Method
+   
+   @Test public void parseShouldReportInvalidFileData(){
+      File invalidFile = constructFileFor( INVALID_FILE );
+      assertThat( systemUnderTest.parse( invalidFile, new JsonParser() ), is( false ) );
+      verify( digest ).failedToParseInput( invalidFile );
+   }//End Method
+   
+   @Test( expected = NullPointerException.class ) public void parseShouldNotAcceptNullParser(){
+      systemUnderTest.parse( constructFileFor( EXISITNG_FILE ), null );
+   }//End Method
+   
+   @Test public void shouldParseEachRecordOfFileIntoParser() {
+      final File file = constructFileFor( RECORDS_FILE );
+      final List< String > values = new ArrayList<>();
+      JsonParser parser = new JsonParser();
+      parser.when( "SomeKey", new StringParseHandle( ( String value ) -> values.add( value ) ) );
+      
+      assertThat( systemUnderTest.parseRecords( file, parser, null, false ), is( true ) );
+      assertThat( values, is( Arrays.asList( "First", "Second" ) ) );
+   }//End Method
+   
+   @Test public void parseRecordsShouldIgnoreNonExistentFile(){
+      assertThat( systemUnderTest.parseRecords( 
+               new File( "something that does not exist" ), new JsonParser(), null, false 
+      ), is( false ) );
+   }//End Method
+   
+   @Test public void parseRecordsShouldReportInvalidFileData(){
+      File invalidFile = constructFileFor( INVALID_FILE );
+      assertThat( systemUnderTest.parseRecords( invalidFile, new JsonParser(), null, false ), is( false ) );
+      verify( digest ).failedToParseInput( invalidFile );
+   }//End Method
+   
+   @Test public void parseRecordsShouldSkipInvalidFileDataWhenRequested(){
+      File invalidFile = constructFileFor( INVALID_FILE );
+      JsonRecordListener listener = mock( JsonRecordListener.class );
+      assertThat( systemUnderTest.parseRecords( invalidFile, new JsonParser(), listener, true ), is( true ) );
+      verify( listener ).recordSkipped( Mockito.eq( 0L ), Mockito.any() );
+      verify( digest, never() ).failedToParseInput( invalidFile );
+   }//End Method
+   
+   @Test( expected = NullPointerException.class ) public void parseRecordsShouldNotAcceptNullParser(){
+      systemUnderTest.parseRecords( constructFileFor( RECORDS_FILE ), null, null, false );
+   }//End Method
+   
    @Test public void writeShouldNotAcceptNullFile(){
       final JSONObject input = mock( JSONObject.class );
       try {
@@ -158,12 +257,149 @@ public class JsonIOTest {
       shouldWriteTestableFile( filename );
    }//End Method
    
+   @Test public void shouldIndentByDefaultAndAcceptIndentFactor(){
+      assertThat( systemUnderTest.getIndentFactor(), is( JsonIO.DEFAULT_INDENT_FACTOR ) );
+      systemUnderTest.setIndentFactor( 0 );
+      assertThat( systemUnderTest.getIndentFactor(), is( 0 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNegativeIndentFactor(){
+      systemUnderTest.setIndentFactor( -1 );
+   }//End Method
+   
+   @Test public void shouldWriteCompactly(){
+      JSONObject writeObject = constructNestedObject();
+      systemUnderTest.setIndentFactor( 0 );
+      
+      final File file = constructFileFor( POPULATING_FILE );
+      assertThat( systemUnderTest.write( file, writeObject ), is( true ) );
+      assertThat( new IoCommon().readFileIntoString( getClass(), POPULATING_FILE ), is( writeObject.toString() ) );
+   }//End Method
+   
+   @Test public void shouldLayOutNestedJsonAsJsonObjectWould(){
+      JSONObject writeObject = constructNestedObject();
+      
+      final File file = constructFileFor( POPULATING_FILE );
+      assertThat( systemUnderTest.write( file, writeObject ), is( true ) );
+      assertThat( new IoCommon().readFileIntoString( getClass(), POPULATING_FILE ), is( writeObject.toString( 3 ) ) );
+      
+      systemUnderTest.setIndentFactor( 1 );
+      assertThat( systemUnderTest.write( file, writeObject ), is( true ) );
+      assertThat( new IoCommon().readFileIntoString( getClass(), POPULATING_FILE ), is( writeObject.toString( 1 ) ) );
+   }//End Method
+   
+   @Test public void shouldWriteLargeUnicodeContentAsUtf8AndReplacePrevious() throws IOException {
+      JSONObject writeObject = new JSONObject();
+      for ( int i = 0; i < 2000; i++ ) {
+         writeObject.put( "key\u00e9" + i, "value \u20ac\ud83d\ude00 " + i );
+      }
+      
+      final File file = constructFileFor( POPULATING_FILE );
+      assertThat( systemUnderTest.write( file, writeObject ), is( true ) );
+      assertThat( systemUnderTest.read( file ).similar( writeObject ), is( true ) );
+      
+      JSONObject smaller = new JSONObject().put( "key", "value" );
+      assertThat( systemUnderTest.write( file, smaller ), is( true ) );
+      assertThat( new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 ), is( smaller.toString( 3 ) ) );
+   }//End Method
+   
+   @Test public void writeShouldFailGracefullyForInvalidJson(){
+      JSONObject writeObject = new JSONObject();
+      writeObject.put( "invalid", new InvalidJson() );
+      
+      assertThat( systemUnderTest.write( constructFileFor( POPULATING_FILE ), writeObject ), is( false ) );
+   }//End Method
+   
+   @Test public void writeShouldLeavePreviousFileUnchangedWhenFailingPartway() throws IOException {
+      File file = constructFileFor( POPULATING_FILE );
+      JSONObject previous = new JSONObject().put( "key", "value" );
+      assertThat( systemUnderTest.write( file, previous ), is( true ) );
+      
+      JSONObject writeObject = new JSONObject();
+      for ( int i = 0; i < 2000; i++ ) {
+         writeObject.put( "key" + i, new JSONArray().put( "value " + i ).put( i ) );
+      }
+      writeObject.put( "invalid", new InvalidJson() );
+      
+      assertThat( systemUnderTest.write( file, writeObject ), is( false ) );
+      assertThat( new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 ), is( previous.toString( 3 ) ) );
+      assertThat( new File( file.getPath() + JsonIO.WRITING_SUFFIX ).exists(), is( false ) );
+   }//End Method
+   
+   @Test public void shouldWriteStructureStreamedFromHandles(){
+      JsonStructure structure = new JsonStructure();
+      structure.child( "parent", structure.root() );
+      structure.value( "name", "parent" );
+      JsonParser parser = new JsonParser();
+      parser.when( "name", new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> "streamed \u00e9" ) ) );
+      
+      final File file = constructFileFor( POPULATING_FILE );
+      assertThat( systemUnderTest.writeStream( file, parser, structure, null ), is( true ) );
+      
+      JSONObject expected = new JSONObject().put( "parent", new JSONObject().put( "name", "streamed \u00e9" ) );
+      assertThat( systemUnderTest.read( file ).similar( expected ), is( true ) );
+   }//End Method
+   
+   @Test public void writeStreamShouldLeavePreviousFileUnchangedWhenHandleFails() throws IOException {
+      File file = constructFileFor( POPULATING_FILE );
+      JSONObject previous = new JSONObject().put( "key", "value" );
+      assertThat( systemUnderTest.write( file, previous ), is( true ) );
+      
+      JsonStructure structure = new JsonStructure();
+      structure.value( "invalid", structure.root() );
+      JsonParser parser = new JsonParser();
+      parser.when( "invalid", new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> new InvalidJson() ) ) );
+      
+      assertThat( systemUnderTest.writeStream( file, parser, structure, null ), is( false ) );
+      assertThat( new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 ), is( previous.toString( 3 ) ) );
+      assertThat( new File( file.getPath() + JsonIO.WRITING_SUFFIX ).exists(), is( false ) );
+   }//End Method
+   
+   /**
+    * Method to construct a {@link JSONObject} with nested objects and arrays, some with a single entry.
+    * @return the {@link JSONObject}.
+    */
+   private JSONObject constructNestedObject(){
+      JSONObject writeObject = new JSONObject();
+      writeObject.put( "single", new JSONObject().put( "array", new JSONArray().put( 1 ).put( new JSONObject().put( "a", 2 ).put( "b", 3 ) ) ) );
+      writeObject.put( "singleElement", new JSONArray().put( new JSONObject().put( "c", true ).put( "d", JSONObject.NULL ) ) );
+      writeObject.put( "empty", new JSONObject() );
+      writeObject.put( "emptyArray", new JSONArray() );
+      writeObject.put( "text", "quoted \"value\"" );
+      writeObject.put( "decimal", 2.5 );
+      return writeObject;
+   }//End Method
+   
+   /**
+    * {@link JSONString} providing invalid json.
+    */
+   private static class InvalidJson implements JSONString {
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public String toJSONString() {
+         throw new IllegalStateException();
+      }//End Method
+   }//End Class
+   
    @Test public void writeShouldFailGracefullyIfFileCannotBeCreated() throws IOException{
-      File file = mock( File.class );
-      when( file.exists() ).thenReturn( false );
-      when( file.createNewFile() ).thenThrow( new IOException() );
+      File file = new File( constructFileFor( EXISITNG_FILE ), "not-a-directory/file.json" );
       
       assertThat( systemUnderTest.write( file, jsonObject ), is( false ) );
+      assertThat( file.exists(), is( false ) );
+   }//End Method
+   
+   @Test public void writeShouldNotCreateFileWhenFailing(){
+      File file = constructFileFor( POPULATING_FILE );
+      assertThat( file.exists(), is( false ) );
+      
+      JSONObject writeObject = new JSONObject();
+      writeObject.put( "invalid", new InvalidJson() );
+      
+      assertThat( systemUnderTest.write( file, writeObject ), is( false ) );
+      assertThat( file.exists(), is( false ) );
+      assertThat( new File( file.getPath() + JsonIO.WRITING_SUFFIX ).exists(), is( false ) );
    }//End Method
    
    @Test public void writeShouldFailGracefullyIfFileWriterCannotBeCreated() throws IOException{
@@ -0,0 +1,117 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.io;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link Utf8ChannelWriter} test.
+ */
+public class Utf8ChannelWriterTest {
+
+   private ByteArrayOutputStream bytes;
+   private Utf8ChannelWriter systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      bytes = new ByteArrayOutputStream();
+      systemUnderTest = new Utf8ChannelWriter( 4 );
+      systemUnderTest.open( Channels.newChannel( bytes ) );
+   }//End Method
+
+   /**
+    * Method to get the text written.
+    * @return the bytes written decoded as UTF-8.
+    */
+   private String written(){
+      return new String( bytes.toByteArray(), StandardCharsets.UTF_8 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptBufferTooSmallForSurrogatePairs(){
+      new Utf8ChannelWriter( 1 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullChannel(){
+      systemUnderTest.open( null );
+   }//End Method
+
+   @Test public void shouldWriteTextLongerThanBuffer() throws IOException {
+      systemUnderTest.write( "some text much longer than the buffer" );
+      systemUnderTest.write( '!' );
+      systemUnderTest.write( new char[] { 'a', 'b', 'c', 'd', 'e', 'f' }, 1, 4 );
+      systemUnderTest.finish();
+
+      assertThat( written(), is( "some text much longer than the buffer!bcde" ) );
+   }//End Method
+
+   @Test public void shouldEncodeMultiByteCharactersAndSurrogatePairsAcrossBuffers() throws IOException {
+      String text = "a\u00e9b\u20ac\ud83d\ude00c\ud83d\ude01";
+      for ( char character : text.toCharArray() ) {
+         systemUnderTest.write( character );
+      }
+      systemUnderTest.write( text );
+      systemUnderTest.finish();
+
+      assertThat( written(), is( text + text ) );
+   }//End Method
+
+   @Test public void shouldReplaceUnpairedSurrogates() throws IOException {
+      systemUnderTest.write( "a\ud83db" );
+      systemUnderTest.finish();
+
+      assertThat( written(), is( "a?b" ) );
+   }//End Method
+
+   @Test public void shouldWriteOnlyWhenFlushedOrFinished() throws IOException {
+      systemUnderTest.write( "ab" );
+      assertThat( bytes.size(), is( 0 ) );
+      systemUnderTest.flush();
+      assertThat( written(), is( "ab" ) );
+   }//End Method
+
+   @Test public void shouldReuseBuffersForEachChannel() throws IOException {
+      systemUnderTest.write( "first" );
+      systemUnderTest.finish();
+      assertThat( systemUnderTest.isOpen(), is( false ) );
+
+      ByteArrayOutputStream second = new ByteArrayOutputStream();
+      systemUnderTest.open( Channels.newChannel( second ) );
+      assertThat( systemUnderTest.isOpen(), is( true ) );
+      systemUnderTest.write( "second" );
+      systemUnderTest.close();
+
+      assertThat( written(), is( "first" ) );
+      assertThat( new String( second.toByteArray(), StandardCharsets.UTF_8 ), is( "second" ) );
+   }//End Method
+
+   @Test public void shouldDiscardUnwrittenWhenReopened() throws IOException {
+      systemUnderTest.write( "ab" );
+      systemUnderTest.release();
+      systemUnderTest.open( Channels.newChannel( bytes ) );
+      systemUnderTest.write( "cd" );
+      systemUnderTest.finish();
+
+      assertThat( written(), is( "cd" ) );
+   }//End Method
+
+   @Test( expected = IOException.class ) public void shouldNotWriteWhenNotOpen() throws IOException {
+      systemUnderTest.release();
+      systemUnderTest.write( 'a' );
+   }//End Method
+
+}//End Class
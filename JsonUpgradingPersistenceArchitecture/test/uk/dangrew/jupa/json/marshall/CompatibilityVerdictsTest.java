@@ -0,0 +1,122 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.marshall;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * {@link CompatibilityVerdicts} test.
+ */
+public class CompatibilityVerdictsTest {
+
+   private static final String CONTENT = "{ \"a\": 1 }";
+   
+   private File file;
+   private JSONObject fingerprint;
+   @Mock private JsonStructure structure;
+   private CompatibilityVerdicts systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest() throws IOException {
+      MockitoAnnotations.initMocks( this );
+      when( structure.fingerprint() ).thenReturn( "5" );
+      
+      file = File.createTempFile( "verdicts", ".json" );
+      Files.write( file.toPath(), CONTENT.getBytes( StandardCharsets.UTF_8 ) );
+      fingerprint = new JSONObject();
+      systemUnderTest = new CompatibilityVerdicts();
+   }//End Method
+   
+   @After public void cleanUp(){
+      systemUnderTest.sidecar( file ).delete();
+      file.delete();
+   }//End Method
+   
+   @Test public void shouldReadAndFingerprint() throws Exception {
+      JSONObject object = systemUnderTest.read( file, structure, fingerprint );
+      assertThat( object.getInt( "a" ), is( 1 ) );
+      
+      assertThat( fingerprint.getLong( CompatibilityVerdicts.SIZE ), is( file.length() ) );
+      assertThat( fingerprint.getLong( CompatibilityVerdicts.MODIFIED ), is( file.lastModified() ) );
+      assertThat( fingerprint.getString( CompatibilityVerdicts.STRUCTURE ), is( "5" ) );
+      
+      byte[] hash = MessageDigest.getInstance( CompatibilityVerdicts.CONTENT_ALGORITHM ).digest( 
+               CONTENT.getBytes( StandardCharsets.UTF_8 ) 
+      );
+      assertThat( fingerprint.getString( CompatibilityVerdicts.HASH ).length(), is( hash.length * 2 ) );
+      assertThat( fingerprint.getString( CompatibilityVerdicts.HASH ).substring( 0, 2 ), is( String.format( "%02x", hash[ 0 ] ) ) );
+   }//End Method
+   
+   @Test public void shouldNotFingerprintUnreadableFile(){
+      file.delete();
+      assertThat( systemUnderTest.read( file, structure, fingerprint ), is( nullValue() ) );
+      assertThat( fingerprint.length(), is( 0 ) );
+   }//End Method
+   
+   @Test public void shouldPlaceSidecarBesideFile(){
+      assertThat( systemUnderTest.sidecar( file ).getPath(), is( file.getPath() + CompatibilityVerdicts.SIDECAR_SUFFIX ) );
+   }//End Method
+   
+   @Test public void shouldOnlyKnowCompatibleOnceRecorded(){
+      systemUnderTest.read( file, structure, fingerprint );
+      assertThat( systemUnderTest.isKnownCompatible( file, fingerprint ), is( false ) );
+      
+      assertThat( systemUnderTest.recordCompatible( file, fingerprint ), is( true ) );
+      assertThat( systemUnderTest.isKnownCompatible( file, fingerprint ), is( true ) );
+   }//End Method
+   
+   @Test public void shouldNotKnowCompatibleWhenStructureChanges(){
+      systemUnderTest.read( file, structure, fingerprint );
+      systemUnderTest.recordCompatible( file, fingerprint );
+      
+      when( structure.fingerprint() ).thenReturn( "6" );
+      JSONObject changed = new JSONObject();
+      systemUnderTest.read( file, structure, changed );
+      assertThat( systemUnderTest.isKnownCompatible( file, changed ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldNotKnowCompatibleWhenContentChanges() throws IOException {
+      systemUnderTest.read( file, structure, fingerprint );
+      systemUnderTest.recordCompatible( file, fingerprint );
+      
+      long modified = file.lastModified();
+      Files.write( file.toPath(), "{ \"a\": 2 }".getBytes( StandardCharsets.UTF_8 ) );
+      file.setLastModified( modified );
+      
+      JSONObject changed = new JSONObject();
+      systemUnderTest.read( file, structure, changed );
+      assertThat( changed.getLong( CompatibilityVerdicts.SIZE ), is( fingerprint.getLong( CompatibilityVerdicts.SIZE ) ) );
+      assertThat( systemUnderTest.isKnownCompatible( file, changed ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldNotKnowCompatibleWhenSidecarInvalid() throws IOException {
+      systemUnderTest.read( file, structure, fingerprint );
+      Files.write( systemUnderTest.sidecar( file ).toPath(), "invalid".getBytes( StandardCharsets.UTF_8 ) );
+      assertThat( systemUnderTest.isKnownCompatible( file, fingerprint ), is( false ) );
+   }//End Method
+
+}//End Class
@@ -5,9 +5,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import uk.dangrew.jupa.file.protocol.JsonPersistingProtocol;
+import uk.dangrew.jupa.json.io.JsonIO;
 import uk.dangrew.jupa.json.parse.JsonParser;
 import uk.dangrew.jupa.json.structure.JsonStructure;
 
+import java.io.File;
+import java.io.StringWriter;
+
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -39,6 +43,33 @@ public class DynamicModelMarshallerTest {
         verify(protocol).writeToLocation(any());
     }
 
+    @Test
+    public void shouldWriteStreamedToFileWhereProtocolHasFile(){
+        File file = new File("marshalled.json");
+        JsonIO jsonIO = mock(JsonIO.class);
+        when(protocol.getFile()).thenReturn(file);
+        systemUnderTest = new DynamicModelMarshaller(
+                () -> jsonStructure,
+                parserWithReadHandles,
+                parserWithWriteHandles,
+                jsonIO
+        );
+
+        systemUnderTest.write(protocol);
+        verify(jsonIO).writeStream(file, parserWithWriteHandles, jsonStructure, null);
+        verify(jsonStructure, never()).build(any());
+        verify(protocol, never()).writeToLocation(any());
+    }
+
+    @Test
+    public void shouldWriteToWriter(){
+        StringWriter writer = new StringWriter();
+        systemUnderTest.write(writer);
+        verify(parserWithWriteHandles).writeStream(jsonStructure, writer);
+        verify(jsonStructure, never()).build(any());
+        verify(protocol, never()).writeToLocation(any());
+    }
+
     @Test
     public void shouldRead(){
         when(protocol.readFromLocation()).thenReturn(null);
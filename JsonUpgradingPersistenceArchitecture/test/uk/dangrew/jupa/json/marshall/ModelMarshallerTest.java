@@ -14,10 +14,19 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,9 +37,16 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import uk.dangrew.jupa.file.protocol.ArbitraryLocationProtocol;
 import uk.dangrew.jupa.file.protocol.JsonPersistingProtocol;
+import uk.dangrew.jupa.json.io.JsonIO;
 import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonArrayCheckPolicy;
 import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.upgrade.JsonUpgrade;
+import uk.dangrew.jupa.json.write.handle.key.JsonValueWriteHandler;
+import uk.dangrew.jupa.json.write.handle.type.JsonWriteHandleImpl;
 
 /**
  * {@link ModelMarshaller} test.
@@ -47,6 +63,7 @@ public class ModelMarshallerTest {
    @Before public void initialiseSystemUnderTest(){
       MockitoAnnotations.initMocks( this );
       when( structure.isCompatible( Mockito.any() ) ).thenReturn( true );
+      when( structure.getArrayCheckPolicy() ).thenReturn( JsonArrayCheckPolicy.full() );
       systemUnderTest = new ModelMarshaller( structure, parserWithReadHandles, parserWithWriteHandles, protocol );
    }//End Method
    
@@ -79,6 +96,60 @@ public class ModelMarshallerTest {
       order.verify( protocol ).writeToLocation( builtObject );
    }//End Method
    
+   @Test public void writeShouldStreamStructureToFileWhereProtocolHasFile() {
+      File file = new File( "marshalled.json" );
+      JsonIO jsonIO = mock( JsonIO.class );
+      when( protocol.getFile() ).thenReturn( file );
+      systemUnderTest = new ModelMarshaller( structure, parserWithReadHandles, parserWithWriteHandles, protocol, jsonIO );
+      
+      systemUnderTest.write();
+      
+      verify( jsonIO ).writeStream( file, parserWithWriteHandles, structure, systemUnderTest.getFragmentCache() );
+      verify( structure, never() ).build( Mockito.any() );
+      verify( parserWithWriteHandles, never() ).parse( Mockito.any( JSONObject.class ) );
+      verify( protocol, never() ).writeToLocation( Mockito.any() );
+   }//End Method
+   
+   @Test public void writeShouldReuseCachedJsonForUnchangedNodesInFile() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      try {
+         JsonStructure realStructure = new JsonStructure();
+         realStructure.child( "settings", realStructure.root() );
+         realStructure.value( "flag", "settings" );
+         AtomicInteger calls = new AtomicInteger();
+         JsonParser writeParser = new JsonParser();
+         writeParser.when( "flag", new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> calls.incrementAndGet() ) ) );
+         
+         systemUnderTest = new ModelMarshaller( realStructure, parserWithReadHandles, writeParser, new ArbitraryLocationProtocol( file ) );
+         systemUnderTest.getFragmentCache().track( "settings", () -> 0 );
+         
+         systemUnderTest.write();
+         systemUnderTest.write();
+         
+         assertThat( calls.get(), is( 1 ) );
+         assertThat( systemUnderTest.getFragmentCache().getHits(), is( 1L ) );
+         assertThat( new JsonIO().read( file ).getJSONObject( "settings" ).getInt( "flag" ), is( 1 ) );
+      } finally {
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void writeToWriterShouldStreamStructureWithoutBuildingOrProtocol() {
+      StringWriter writer = new StringWriter();
+      systemUnderTest.write( writer );
+      
+      verify( parserWithWriteHandles ).writeStream( 
+               Mockito.eq( structure ), Mockito.any( JsonWriter.class ), Mockito.eq( systemUnderTest.getFragmentCache() ) 
+      );
+      verify( structure, never() ).build( Mockito.any() );
+      verify( protocol, never() ).writeToLocation( Mockito.any() );
+   }//End Method
+   
+   @Test public void shouldProvideFragmentCacheTrackingNothing() {
+      assertThat( systemUnderTest.getFragmentCache(), is( not( nullValue() ) ) );
+      assertThat( systemUnderTest.getFragmentCache().isTracked( "anything" ), is( false ) );
+   }//End Method
+   
    @Test public void readShouldRequestProtocolReadAndParseUsingReadHandles() {
       final JSONObject readObject = new JSONObject();
       when( protocol.readFromLocation() ).thenReturn( readObject );
@@ -111,4 +182,189 @@ public class ModelMarshallerTest {
       systemUnderTest.read();
       verify( parserWithReadHandles ).parse( Mockito.any() );
    }//End Method
+   
+   @Test public void shouldNotReadInSinglePassByDefault(){
+      assertThat( systemUnderTest.isSinglePassRead(), is( false ) );
+   }//End Method
+   
+   @Test public void singlePassReadShouldParseAgainstStructureWithoutSeparateCheck(){
+      final JSONObject readObject = new JSONObject();
+      when( protocol.readFromLocation() ).thenReturn( readObject );
+      
+      systemUnderTest.setSinglePassRead( true );
+      assertThat( systemUnderTest.isSinglePassRead(), is( true ) );
+      systemUnderTest.read();
+      
+      verify( parserWithReadHandles ).parse( readObject, structure );
+      verify( parserWithReadHandles, never() ).parse( Mockito.any( JSONObject.class ) );
+      verify( structure, never() ).isCompatible( Mockito.any() );
+   }//End Method
+   
+   @Test public void shouldNotCacheCompatibilityByDefault(){
+      assertThat( systemUnderTest.isCacheCompatibility(), is( false ) );
+      systemUnderTest.setCacheCompatibility( true );
+      assertThat( systemUnderTest.isCacheCompatibility(), is( true ) );
+   }//End Method
+   
+   @Test public void shouldSkipCompatibilityCheckWhileFileAndStructureUnchanged() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      File sidecar = new File( file.getPath() + CompatibilityVerdicts.SIDECAR_SUFFIX );
+      try {
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setCacheCompatibility( true );
+         
+         systemUnderTest.read();
+         systemUnderTest.read();
+         verify( structure, times( 1 ) ).isCompatible( Mockito.any() );
+         verify( parserWithReadHandles, times( 2 ) ).parse( Mockito.any( JSONObject.class ) );
+         
+         when( structure.fingerprint() ).thenReturn( "changed" );
+         systemUnderTest.read();
+         verify( structure, times( 2 ) ).isCompatible( Mockito.any() );
+      } finally {
+         sidecar.delete();
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void shouldNotKeepVerdictFromSampledCheck() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      File sidecar = new File( file.getPath() + CompatibilityVerdicts.SIDECAR_SUFFIX );
+      try {
+         when( structure.getArrayCheckPolicy() ).thenReturn( JsonArrayCheckPolicy.sampled( 10, 1, 1, 1 ) );
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setCacheCompatibility( true );
+         
+         systemUnderTest.read();
+         systemUnderTest.read();
+         assertThat( sidecar.exists(), is( false ) );
+         verify( structure, times( 2 ) ).isCompatible( Mockito.any() );
+         
+         systemUnderTest.setSinglePassRead( true );
+         when( parserWithReadHandles.parse( Mockito.any( JSONObject.class ), Mockito.eq( structure ) ) ).thenReturn( true );
+         systemUnderTest.read();
+         assertThat( sidecar.exists(), is( true ) );
+      } finally {
+         sidecar.delete();
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void shouldNotKeepVerdictWhenIncompatible() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      File sidecar = new File( file.getPath() + CompatibilityVerdicts.SIDECAR_SUFFIX );
+      try {
+         when( structure.isCompatible( Mockito.any() ) ).thenReturn( false );
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setCacheCompatibility( true );
+         
+         systemUnderTest.read();
+         assertThat( sidecar.exists(), is( false ) );
+         verify( parserWithReadHandles, never() ).parse( Mockito.any( JSONObject.class ) );
+      } finally {
+         sidecar.delete();
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void shouldNotUpgradeByDefault(){
+      assertThat( systemUnderTest.getUpgrade(), is( nullValue() ) );
+      assertThat( systemUnderTest.isWritingUpgrades(), is( false ) );
+      
+      JsonUpgrade upgrade = new JsonUpgrade( structure );
+      systemUnderTest.setUpgrade( upgrade, true );
+      assertThat( systemUnderTest.getUpgrade(), is( upgrade ) );
+      assertThat( systemUnderTest.isWritingUpgrades(), is( true ) );
+   }//End Method
+   
+   @Test public void shouldUpgradeOutdatedFileAsReadLeavingFileUnchanged() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      try {
+         when( structure.getVersion() ).thenReturn( 1 );
+         JsonUpgrade upgrade = new JsonUpgrade( structure );
+         upgrade.migrate( 0 ).renameKey( "a", "b" );
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setUpgrade( upgrade, false );
+         
+         systemUnderTest.read();
+         verify( parserWithReadHandles ).parse( jsonObjectCaptor.capture() );
+         assertThat( jsonObjectCaptor.getValue().similar( new JSONObject( "{ \"jupaVersion\": 1, \"b\": 1 }" ) ), is( true ) );
+         assertThat( new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 ), is( "{ \"a\": 1 }" ) );
+      } finally {
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void shouldWriteUpgradeBackToFileBeforeReading() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      try {
+         when( structure.getVersion() ).thenReturn( 1 );
+         JsonUpgrade upgrade = new JsonUpgrade( structure );
+         upgrade.migrate( 0 ).renameKey( "a", "b" );
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setUpgrade( upgrade, true );
+         
+         systemUnderTest.read();
+         verify( parserWithReadHandles ).parse( jsonObjectCaptor.capture() );
+         assertThat( jsonObjectCaptor.getValue().similar( new JSONObject( "{ \"jupaVersion\": 1, \"b\": 1 }" ) ), is( true ) );
+         assertThat( upgrade.isOutdated( file ), is( false ) );
+      } finally {
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void shouldReadVersionOnceWhenUpgrading() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      try {
+         when( structure.getVersion() ).thenReturn( 1 );
+         JsonUpgrade upgrade = Mockito.spy( new JsonUpgrade( structure ) );
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setUpgrade( upgrade, true );
+         
+         systemUnderTest.read();
+         verify( upgrade, times( 1 ) ).versionOf( file );
+         verify( upgrade ).upgrade( file, JsonStructure.UNVERSIONED );
+         verify( upgrade, never() ).upgrade( file );
+         verify( upgrade, never() ).isOutdated( file );
+      } finally {
+         file.delete();
+      }
+   }//End Method
+   
+   @Test public void shouldNotReadVersionWhenUpgradingToUnversioned() throws IOException {
+      File file = File.createTempFile( "marshaller", ".json" );
+      Files.write( file.toPath(), "{ \"a\": 1 }".getBytes( StandardCharsets.UTF_8 ) );
+      try {
+         when( structure.getVersion() ).thenReturn( JsonStructure.UNVERSIONED );
+         JsonUpgrade upgrade = Mockito.spy( new JsonUpgrade( structure ) );
+         systemUnderTest = new ModelMarshaller( 
+                  structure, parserWithReadHandles, parserWithWriteHandles, new ArbitraryLocationProtocol( file ) 
+         );
+         systemUnderTest.setUpgrade( upgrade, false );
+         
+         systemUnderTest.read();
+         verify( upgrade, never() ).versionOf( file );
+         verify( parserWithReadHandles ).parse( Mockito.any( JSONObject.class ) );
+      } finally {
+         file.delete();
+      }
+   }//End Method
 }//End Class
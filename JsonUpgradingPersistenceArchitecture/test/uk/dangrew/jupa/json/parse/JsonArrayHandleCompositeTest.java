@@ -0,0 +1,80 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.json.JSONArray;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * {@link JsonArrayHandleComposite} test.
+ */
+public class JsonArrayHandleCompositeTest {
+
+   private static final String KEY = "anyKey";
+   private static final JSONArray ARRAY = new JSONArray();
+   
+   private JsonArrayHandle firstArrayHandle;
+   private JsonHandle elementHandle;
+   private JsonArrayHandle secondArrayHandle;
+   private JsonArrayHandleComposite systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest() {
+      firstArrayHandle = mock( JsonArrayHandle.class );
+      elementHandle = mock( JsonHandle.class );
+      secondArrayHandle = mock( JsonArrayHandle.class );
+      systemUnderTest = new JsonArrayHandleComposite( firstArrayHandle, elementHandle, secondArrayHandle );
+   }//End Method
+
+   @Test public void shouldGiveArrayWholeToArrayHandlesInOrder() {
+      systemUnderTest.handleArray( KEY, ARRAY );
+      
+      InOrder verifier = inOrder( firstArrayHandle, secondArrayHandle );
+      verifier.verify( firstArrayHandle ).handleArray( KEY, ARRAY );
+      verifier.verify( secondArrayHandle ).handleArray( KEY, ARRAY );
+      verify( elementHandle, never() ).handle( Mockito.eq( KEY ), Mockito.any( JSONArray.class ), Mockito.anyInt() );
+   }//End Method
+   
+   @Test public void shouldProvideOtherHandlesForElements() {
+      assertThat( JsonArrayHandleComposite.elementHandleOf( systemUnderTest ), is( elementHandle ) );
+      assertThat( JsonArrayHandleComposite.elementHandleOf( firstArrayHandle ), is( nullValue() ) );
+      
+      JsonHandle another = mock( JsonHandle.class );
+      systemUnderTest.add( another );
+      JsonHandle elementHandles = JsonArrayHandleComposite.elementHandleOf( systemUnderTest );
+      assertThat( ( ( JsonHandleComposite )elementHandles ).getHandles(), contains( elementHandle, another ) );
+      
+      systemUnderTest.remove( elementHandle );
+      systemUnderTest.remove( another );
+      assertThat( JsonArrayHandleComposite.elementHandleOf( systemUnderTest ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldCallEveryHandleForOtherValues() {
+      systemUnderTest.startedObject( KEY );
+      verify( firstArrayHandle ).startedObject( KEY );
+      verify( elementHandle ).startedObject( KEY );
+      verify( secondArrayHandle ).startedObject( KEY );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,59 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * {@link JsonArrayParallelism} test.
+ */
+public class JsonArrayParallelismTest {
+
+   @Test public void shouldProvideDefaults(){
+      JsonArrayParallelism systemUnderTest = new JsonArrayParallelism( 100, true );
+      assertThat( systemUnderTest.getThreshold(), is( 100 ) );
+      assertThat( systemUnderTest.isOrdered(), is( true ) );
+      assertThat( systemUnderTest.getPool(), is( ForkJoinPool.commonPool() ) );
+      assertThat( systemUnderTest.getElementParsers(), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldProvideConfiguration(){
+      ForkJoinPool pool = new ForkJoinPool( 2 );
+      Supplier< JsonParser > parsers = JsonParser::new;
+      JsonArrayParallelism systemUnderTest = new JsonArrayParallelism( 5, false, pool, parsers );
+      assertThat( systemUnderTest.getThreshold(), is( 5 ) );
+      assertThat( systemUnderTest.isOrdered(), is( false ) );
+      assertThat( systemUnderTest.getPool(), is( pool ) );
+      assertThat( systemUnderTest.getElementParsers(), is( parsers ) );
+   }//End Method
+
+   @Test public void shouldSplitIntoPortionsForEachThread(){
+      JsonArrayParallelism systemUnderTest = new JsonArrayParallelism( 1, true, new ForkJoinPool( 2 ), null );
+      assertThat( systemUnderTest.portionSize( 80 ), is( 10 ) );
+      assertThat( systemUnderTest.portionSize( 81 ), is( 11 ) );
+      assertThat( systemUnderTest.portionSize( 3 ), is( 1 ) );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNonPositiveThreshold(){
+      new JsonArrayParallelism( 0, true );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullPool(){
+      new JsonArrayParallelism( 1, true, null, null );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,44 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * {@link JsonArrayPortions} test.
+ */
+public class JsonArrayPortionsTest {
+
+   @Test public void shouldSplitIntoPortionsForEachThread(){
+      ForkJoinPool pool = new ForkJoinPool( 2 );
+      assertThat( JsonArrayPortions.portionSize( pool, 80 ), is( 10 ) );
+      assertThat( JsonArrayPortions.portionSize( pool, 81 ), is( 11 ) );
+      assertThat( JsonArrayPortions.portionSize( pool, 3 ), is( 1 ) );
+      assertThat( JsonArrayPortions.portionSize( pool, 0 ), is( 1 ) );
+   }//End Method
+
+   @Test public void shouldAcceptPositiveThreshold(){
+      JsonArrayPortions.verify( 1, ForkJoinPool.commonPool() );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNonPositiveThreshold(){
+      JsonArrayPortions.verifyThreshold( 0 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullPool(){
+      JsonArrayPortions.verify( 1, null );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,199 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * {@link JsonEventRecorder} test.
+ */
+public class JsonEventRecorderTest {
+
+   private static final String KEY = "Key";
+   
+   private JSONObject object;
+   private JSONArray array;
+   private JsonHandle first;
+   private JsonHandle second;
+   private JsonEventRecorder systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      object = new JSONObject();
+      array = new JSONArray();
+      first = mock( JsonHandle.class );
+      second = mock( JsonHandle.class );
+      systemUnderTest = new JsonEventRecorder();
+   }//End Method
+
+   @Test public void shouldRecordWithoutCalling(){
+      systemUnderTest.record( first ).startedObject( KEY );
+      systemUnderTest.record( first ).handle( KEY, new JSONObject() );
+      assertThat( systemUnderTest.size(), is( 2 ) );
+      verifyZeroInteractions( first );
+   }//End Method
+
+   @Test public void shouldReplayAllCallsInOrder(){
+      systemUnderTest.record( first ).startedObject( KEY );
+      systemUnderTest.record( second ).handle( KEY, object );
+      systemUnderTest.record( first ).finishedObject( KEY );
+      systemUnderTest.record( second ).startedArray( KEY );
+      systemUnderTest.record( first ).handle( KEY, array, 3 );
+      systemUnderTest.record( second ).finishedArray( KEY );
+
+      systemUnderTest.replay();
+      InOrder order = inOrder( first, second );
+      order.verify( first ).startedObject( KEY );
+      order.verify( second ).handle( KEY, object );
+      order.verify( first ).finishedObject( KEY );
+      order.verify( second ).startedArray( KEY );
+      order.verify( first ).handle( KEY, array, 3 );
+      order.verify( second ).finishedArray( KEY );
+      assertThat( systemUnderTest.size(), is( 0 ) );
+   }//End Method
+
+   @Test public void replayShouldMakeAllCallsInGroupBeforeSkipping(){
+      doThrow( JsonParseSignal.SKIP_SUBTREE ).when( first ).startedObject( KEY );
+      systemUnderTest.groupStarted();
+      systemUnderTest.record( first ).startedObject( KEY );
+      systemUnderTest.record( second ).startedObject( KEY );
+      systemUnderTest.groupValue();
+      systemUnderTest.record( second ).handle( KEY, new JSONObject() );
+      systemUnderTest.groupFinished();
+      systemUnderTest.record( first ).finishedObject( KEY );
+      systemUnderTest.record( second ).finishedObject( KEY );
+      
+      systemUnderTest.replay();
+      verify( second ).startedObject( KEY );
+      verify( second, never() ).handle( Mockito.anyString(), Mockito.any( JSONObject.class ) );
+      verify( first ).finishedObject( KEY );
+      verify( second ).finishedObject( KEY );
+      assertThat( systemUnderTest.size(), is( 0 ) );
+   }//End Method
+   
+   @Test public void replayShouldSkipSiblingsWithinEnclosingStructure(){
+      doThrow( JsonParseSignal.SKIP_SIBLINGS ).when( first ).handle( KEY, array, 0 );
+      systemUnderTest.groupStarted();
+      systemUnderTest.record( second ).startedArray( KEY );
+      systemUnderTest.groupValue();
+      systemUnderTest.record( first ).handle( KEY, array, 0 );
+      systemUnderTest.groupStarted();
+      systemUnderTest.record( second ).startedObject( KEY );
+      systemUnderTest.groupFinished();
+      systemUnderTest.record( second ).finishedObject( KEY );
+      systemUnderTest.groupFinished();
+      systemUnderTest.record( second ).finishedArray( KEY );
+      systemUnderTest.groupValue();
+      systemUnderTest.record( first ).handle( KEY, object );
+      
+      systemUnderTest.replay();
+      InOrder order = inOrder( first, second );
+      order.verify( second ).startedArray( KEY );
+      order.verify( first ).handle( KEY, array, 0 );
+      order.verify( second ).finishedArray( KEY );
+      order.verify( first ).handle( KEY, object );
+      verify( second, never() ).startedObject( KEY );
+      verify( second, never() ).finishedObject( KEY );
+   }//End Method
+   
+   @Test public void replayShouldSkipSiblingsOfSkippedStructureAfterFinishingIt(){
+      doThrow( JsonParseSignal.SKIP_SIBLINGS ).when( first ).startedObject( KEY );
+      systemUnderTest.groupStarted();
+      systemUnderTest.record( first ).startedObject( KEY );
+      systemUnderTest.groupValue();
+      systemUnderTest.record( second ).handle( KEY, object );
+      systemUnderTest.groupFinished();
+      systemUnderTest.record( first ).finishedObject( KEY );
+      systemUnderTest.groupValue();
+      systemUnderTest.record( second ).handle( KEY, array, 1 );
+      
+      try {
+         systemUnderTest.replay();
+         fail( "Should have skipped beyond the calls recorded." );
+      } catch ( JsonParseSignal signal ) {
+         assertThat( signal, is( sameInstance( JsonParseSignal.SKIP_SIBLINGS ) ) );
+      }
+      verify( first ).finishedObject( KEY );
+      verifyZeroInteractions( second );
+      assertThat( systemUnderTest.size(), is( 0 ) );
+   }//End Method
+   
+   @Test public void shouldNotCountGroupsAsCalls(){
+      systemUnderTest.groupStarted();
+      systemUnderTest.groupValue();
+      systemUnderTest.groupFinished();
+      assertThat( systemUnderTest.size(), is( 0 ) );
+   }//End Method
+   
+   @Test public void shouldGrowBeyondInitialCapacity(){
+      for ( int i = 0; i < JsonEventRecorder.INITIAL_CAPACITY * 3; i++ ) {
+         systemUnderTest.groupValue();
+         systemUnderTest.record( first ).handle( KEY, array, i );
+      }
+      assertThat( systemUnderTest.size(), is( JsonEventRecorder.INITIAL_CAPACITY * 3 ) );
+      
+      systemUnderTest.replay();
+      InOrder order = inOrder( first );
+      for ( int i = 0; i < JsonEventRecorder.INITIAL_CAPACITY * 3; i++ ) {
+         order.verify( first ).handle( KEY, array, i );
+      }
+   }//End Method
+   
+   @Test public void replayShouldEndOnStopSignal(){
+      doThrow( JsonParseSignal.STOP ).when( first ).startedObject( KEY );
+      systemUnderTest.record( first ).startedObject( KEY );
+      systemUnderTest.record( second ).startedObject( KEY );
+      
+      try {
+         systemUnderTest.replay();
+         fail( "Should have been stopped." );
+      } catch ( JsonParseSignal signal ) {
+         assertThat( signal, is( sameInstance( JsonParseSignal.STOP ) ) );
+      }
+      verifyZeroInteractions( second );
+      assertThat( systemUnderTest.size(), is( 0 ) );
+   }//End Method
+
+   @Test public void shouldRecordWholeArraysForArrayHandle(){
+      JsonArrayHandle arrayHandle = mock( JsonArrayHandle.class );
+      JsonHandle recording = systemUnderTest.record( arrayHandle );
+      assertThat( recording, is( instanceOf( JsonArrayHandle.class ) ) );
+      
+      ( ( JsonArrayHandle )recording ).handleArray( KEY, array );
+      verifyZeroInteractions( arrayHandle );
+      
+      systemUnderTest.replay();
+      verify( arrayHandle ).handleArray( KEY, array );
+   }//End Method
+
+   @Test public void shouldReuseRecordingHandle(){
+      assertThat( systemUnderTest.record( first ), is( sameInstance( systemUnderTest.record( first ) ) ) );
+   }//End Method
+
+}//End Class
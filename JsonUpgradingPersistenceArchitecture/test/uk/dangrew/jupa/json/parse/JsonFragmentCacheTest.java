@@ -0,0 +1,103 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonFragmentCache} test.
+ */
+public class JsonFragmentCacheTest {
+
+   private static final String NODE = "node";
+   private static final String JSON = "{\"a\":1}";
+
+   private AtomicLong version;
+   private JsonFragmentCache systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      version = new AtomicLong();
+      systemUnderTest = new JsonFragmentCache();
+      systemUnderTest.track( NODE, version::get );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullNode(){
+      systemUnderTest.track( null, version::get );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullVersion(){
+      systemUnderTest.track( NODE, null );
+   }//End Method
+
+   @Test public void shouldTrackAndUntrack(){
+      assertThat( systemUnderTest.isTracked( NODE ), is( true ) );
+      assertThat( systemUnderTest.isTracked( "other" ), is( false ) );
+      systemUnderTest.untrack( NODE );
+      assertThat( systemUnderTest.isTracked( NODE ), is( false ) );
+   }//End Method
+
+   @Test public void shouldProvideVersion(){
+      assertThat( systemUnderTest.version( NODE ), is( 0L ) );
+      version.set( 5 );
+      assertThat( systemUnderTest.version( NODE ), is( 5L ) );
+   }//End Method
+
+   @Test public void shouldMissUntilStored(){
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 1 ), is( nullValue() ) );
+      assertThat( systemUnderTest.getMisses(), is( 1L ) );
+
+      systemUnderTest.store( NODE, 0, 3, 1, JSON );
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 1 ), is( JSON ) );
+      assertThat( systemUnderTest.getHits(), is( 1L ) );
+   }//End Method
+
+   @Test public void shouldMissWhenVersionOrLayoutDiffers(){
+      systemUnderTest.store( NODE, 0, 3, 1, JSON );
+      assertThat( systemUnderTest.fragment( NODE, 1, 3, 1 ), is( nullValue() ) );
+      assertThat( systemUnderTest.fragment( NODE, 0, 0, 1 ), is( nullValue() ) );
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 2 ), is( nullValue() ) );
+      assertThat( systemUnderTest.getMisses(), is( 3L ) );
+      assertThat( systemUnderTest.getHits(), is( 0L ) );
+   }//End Method
+
+   @Test public void shouldMissWhenInvalidated(){
+      systemUnderTest.store( NODE, 0, 3, 1, JSON );
+      systemUnderTest.invalidate( NODE );
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 1 ), is( nullValue() ) );
+
+      systemUnderTest.store( NODE, 0, 3, 1, JSON );
+      systemUnderTest.invalidate();
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 1 ), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldDiscardWhenTrackedAgainOrUntracked(){
+      systemUnderTest.store( NODE, 0, 3, 1, JSON );
+      systemUnderTest.track( NODE, version::get );
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 1 ), is( nullValue() ) );
+
+      systemUnderTest.store( NODE, 0, 3, 1, JSON );
+      systemUnderTest.untrack( NODE );
+      systemUnderTest.track( NODE, version::get );
+      assertThat( systemUnderTest.fragment( NODE, 0, 3, 1 ), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldNotStoreUntrackedNodes(){
+      systemUnderTest.store( "other", 0, 3, 1, JSON );
+      assertThat( systemUnderTest.fragment( "other", 0, 3, 1 ), is( nullValue() ) );
+   }//End Method
+
+}//End Class
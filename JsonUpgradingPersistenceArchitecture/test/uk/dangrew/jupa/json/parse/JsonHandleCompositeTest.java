@@ -0,0 +1,162 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import uk.dangrew.jupa.json.JsonArrayHandle;
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * {@link JsonHandleComposite} test.
+ */
+public class JsonHandleCompositeTest {
+
+   private static final String KEY = "anyKey";
+   private static final JSONObject JSON = new JSONObject();
+   private static final JSONArray ARRAY = new JSONArray();
+   
+   private JsonHandle first;
+   private JsonHandle second;
+   private JsonHandle third;
+   private InOrder verifier;
+   private JsonHandleComposite systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest() {
+      first = mock( JsonHandle.class );
+      second = mock( JsonHandle.class );
+      third = mock( JsonHandle.class );
+      verifier = inOrder( first, second, third );
+      
+      systemUnderTest = new JsonHandleComposite( first, second, third );
+   }//End Method
+
+   @Test public void shouldStartObjectInOrder() {
+      systemUnderTest.startedObject( KEY );
+      verifier.verify( first ).startedObject( KEY );
+      verifier.verify( second ).startedObject( KEY );
+      verifier.verify( third ).startedObject( KEY );
+   }//End Method
+   
+   @Test public void shouldFinishObjectInOrder() {
+      systemUnderTest.finishedObject( KEY );
+      verifier.verify( first ).finishedObject( KEY );
+      verifier.verify( second ).finishedObject( KEY );
+      verifier.verify( third ).finishedObject( KEY );
+   }//End Method
+   
+   @Test public void shouldStartArrayInOrder() {
+      systemUnderTest.startedArray( KEY );
+      verifier.verify( first ).startedArray( KEY );
+      verifier.verify( second ).startedArray( KEY );
+      verifier.verify( third ).startedArray( KEY );
+   }//End Method
+   
+   @Test public void shouldFinishArrayInOrder() {
+      systemUnderTest.finishedArray( KEY );
+      verifier.verify( first ).finishedArray( KEY );
+      verifier.verify( second ).finishedArray( KEY );
+      verifier.verify( third ).finishedArray( KEY );
+   }//End Method
+   
+   @Test public void shouldHandleJsonInOrder() {
+      systemUnderTest.handle( KEY, JSON );
+      verifier.verify( first ).handle( KEY, JSON );
+      verifier.verify( second ).handle( KEY, JSON );
+      verifier.verify( third ).handle( KEY, JSON );
+   }//End Method
+   
+   @Test public void shouldHandleArrayInOrder() {
+      systemUnderTest.handle( KEY, ARRAY, 2 );
+      verifier.verify( first ).handle( KEY, ARRAY, 2 );
+      verifier.verify( second ).handle( KEY, ARRAY, 2 );
+      verifier.verify( third ).handle( KEY, ARRAY, 2 );
+   }//End Method
+   
+   @Test public void shouldFlattenCombinedComposites() {
+      JsonHandle fourth = mock( JsonHandle.class );
+      JsonHandleComposite outer = new JsonHandleComposite( fourth, systemUnderTest );
+      assertThat( outer.getHandles(), contains( fourth, first, second, third ) );
+   }//End Method
+   
+   @Test public void shouldAddAtEnd() {
+      JsonHandle fourth = mock( JsonHandle.class );
+      systemUnderTest.add( fourth );
+      assertThat( systemUnderTest.getHandles(), contains( first, second, third, fourth ) );
+   }//End Method
+   
+   @Test public void shouldAddFirst() {
+      JsonHandle fourth = mock( JsonHandle.class );
+      systemUnderTest.addFirst( fourth );
+      assertThat( systemUnderTest.getHandles(), contains( fourth, first, second, third ) );
+   }//End Method
+   
+   @Test public void shouldRemoveAndNoLongerCall() {
+      assertThat( systemUnderTest.remove( second ), is( true ) );
+      assertThat( systemUnderTest.getHandles(), contains( first, third ) );
+      
+      systemUnderTest.handle( KEY, JSON );
+      verifyZeroInteractions( second );
+   }//End Method
+   
+   @Test public void shouldIgnoreRemovalOfHandleNotCombined() {
+      assertThat( systemUnderTest.remove( mock( JsonHandle.class ) ), is( false ) );
+      assertThat( systemUnderTest.getHandles(), contains( first, second, third ) );
+   }//End Method
+   
+   @Test public void shouldCallNothingWhenEmpty() {
+      systemUnderTest = new JsonHandleComposite();
+      systemUnderTest.handle( KEY, JSON );
+      assertThat( systemUnderTest.getHandles(), is( empty() ) );
+   }//End Method
+   
+   @Test public void shouldNotCallFurtherHandlesWhenSignalled() {
+      doThrow( JsonParseSignal.STOP ).when( first ).handle( KEY, JSON );
+      try {
+         systemUnderTest.handle( KEY, JSON );
+      } catch ( JsonParseSignal signal ) {
+         //expected
+      }
+      verifyZeroInteractions( second, third );
+   }//End Method
+   
+   @Test public void shouldCombineArrayHandlesInArrayHandleComposite() {
+      JsonArrayHandle arrayHandle = mock( JsonArrayHandle.class );
+      assertThat( JsonHandleComposite.of( first, second ) instanceof JsonArrayHandle, is( false ) );
+      assertThat( JsonHandleComposite.of( first, arrayHandle ) instanceof JsonArrayHandleComposite, is( true ) );
+      assertThat( JsonHandleComposite.of( new JsonArrayHandleComposite( arrayHandle ), first ) instanceof JsonArrayHandleComposite, is( true ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptArrayHandle() {
+      systemUnderTest.add( mock( JsonArrayHandle.class ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullHandle() {
+      systemUnderTest.add( null );
+   }//End Method
+   
+   @Test( expected = UnsupportedOperationException.class ) public void shouldNotAllowHandlesToBeChangedThroughList() {
+      systemUnderTest.getHandles().clear();
+   }//End Method
+
+}//End Class
@@ -0,0 +1,83 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * {@link JsonHandleDispatch} test.
+ */
+public class JsonHandleDispatchTest {
+
+   private Map< String, JsonHandle > handles;
+   private JsonHandleDispatch systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      handles = new HashMap<>();
+      for ( int i = 0; i < 100; i++ ) {
+         handles.put( "Key" + i, mock( JsonHandle.class ) );
+      }
+      systemUnderTest = new JsonHandleDispatch( handles );
+   }//End Method
+
+   @Test public void shouldProvideEveryRegisteredHandle(){
+      assertThat( systemUnderTest.size(), is( 100 ) );
+      for ( int i = 0; i < 100; i++ ) {
+         assertThat( systemUnderTest.get( "Key" + i ), is( handles.get( "Key" + i ) ) );
+      }
+   }//End Method
+
+   @Test public void shouldProvideNullForUnregisteredKeys(){
+      assertThat( systemUnderTest.get( "Key100" ), is( nullValue() ) );
+      assertThat( systemUnderTest.get( "" ), is( nullValue() ) );
+      assertThat( systemUnderTest.get( null ), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldMatchKeysThatAreNotTheRegisteredInstance(){
+      String key = new String( "Key5" );
+      assertThat( systemUnderTest.get( key ), is( handles.get( "Key5" ) ) );
+   }//End Method
+
+   @Test public void shouldNotBeAffectedByLaterChangesToRegistrations(){
+      JsonHandle original = handles.get( "Key1" );
+      handles.put( "Key1", mock( JsonHandle.class ) );
+      handles.put( "Another", mock( JsonHandle.class ) );
+
+      assertThat( systemUnderTest.get( "Key1" ), is( original ) );
+      assertThat( systemUnderTest.get( "Another" ), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldIgnoreNullRegistrations(){
+      handles.clear();
+      handles.put( null, mock( JsonHandle.class ) );
+      handles.put( "Key", null );
+      systemUnderTest = new JsonHandleDispatch( handles );
+
+      assertThat( systemUnderTest.size(), is( 0 ) );
+      assertThat( systemUnderTest.get( "Key" ), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldSupportNoRegistrations(){
+      systemUnderTest = new JsonHandleDispatch( new HashMap<>() );
+      assertThat( systemUnderTest.get( "Key" ), is( nullValue() ) );
+   }//End Method
+
+}//End Class
@@ -12,23 +12,56 @@ package uk.dangrew.jupa.json.parse;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.ARRAY_FINISHED;
 import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.ARRAY_STARTED;
 import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.OBJECT_FINISHED;
 import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.OBJECT_STARTED;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
+import org.mockito.Mockito;
 
+import uk.dangrew.jupa.json.JsonArrayHandle;
 import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandler;
+import uk.dangrew.jupa.json.parse.handle.type.DoubleArrayParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.IntArrayParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.LongArrayParseHandle;
 import uk.dangrew.jupa.json.parse.handle.type.StringParseHandle;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.traversal.JsonTraversal;
+import uk.dangrew.jupa.json.write.handle.key.JsonValueWriteHandler;
+import uk.dangrew.jupa.json.write.handle.type.JsonWriteHandleImpl;
 
 /**
  * {@link JsonParser} test.
@@ -300,6 +333,182 @@ public class JsonParserTest {
       order.verify( firstHandle ).handle( KEY_A, json );
    }//End Method
    
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullReader(){
+      systemUnderTest.parseStream( ( Reader )null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullInputStream(){
+      systemUnderTest.parseStream( ( InputStream )null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullStructureToWrite(){
+      systemUnderTest.writeStream( null, new StringWriter() );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullWriterToWrite(){
+      systemUnderTest.writeStream( new JsonStructure(), ( Writer )null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullJsonWriterToWrite(){
+      systemUnderTest.writeStream( new JsonStructure(), ( JsonWriter )null );
+   }//End Method
+   
+   @Test public void shouldWriteStructureInSinglePassUsingHandles(){
+      JsonStructure structure = new JsonStructure();
+      structure.child( KEY_A, structure.root() );
+      structure.value( KEY_B, KEY_A );
+      systemUnderTest.when( KEY_B, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> "ValueB" ) ) );
+      
+      StringWriter output = new StringWriter();
+      systemUnderTest.writeStream( structure, output );
+      assertThat( output.toString(), is( "{\"KeyA\":{\"KeyB\":\"ValueB\"}}" ) );
+   }//End Method
+   
+   @Test public void shouldParseFromReaderWithoutJsonObject(){
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      
+      systemUnderTest.parseStream( new StringReader( "{\"KeyA\":{\"KeyB\":\"ValueB\"},\"KeyC\":\"ValueC\"}" ) );
+      
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullReaderForRecords(){
+      systemUnderTest.parseRecords( ( Reader )null, null, false );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullInputStreamForRecords(){
+      systemUnderTest.parseRecords( ( InputStream )null, null, false );
+   }//End Method
+   
+   @Test public void shouldParseNewlineDelimitedRecords(){
+      systemUnderTest.when( KEY_A, handle );
+      
+      assertThat( systemUnderTest.parseRecords( new StringReader( 
+               "{\"KeyA\":\"ValueA\"}\n\n{\"KeyA\":\"ValueB\"}\r\n{\"KeyA\":\"ValueC\"}\n" 
+      ), null, false ), is( 3L ) );
+      
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_A, VALUE_B );
+      keyRecorder.expect( KEY_A, VALUE_C );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void shouldParseConcatenatedRecords(){
+      systemUnderTest.when( KEY_A, handle );
+      
+      String json = "{\"KeyA\":\"ValueA\"}{\"KeyA\":[\"ValueB\"]} {\"KeyA\":\"ValueC\"}";
+      assertThat( systemUnderTest.parseRecords( 
+               new ByteArrayInputStream( json.getBytes( StandardCharsets.UTF_8 ) ), null, false 
+      ), is( 3L ) );
+      
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, VALUE_B );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expect( KEY_A, VALUE_C );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void shouldNotifyRecordBoundaries(){
+      JsonHandle recordHandle = mock( JsonHandle.class );
+      JsonRecordListener listener = mock( JsonRecordListener.class );
+      systemUnderTest.when( KEY_A, recordHandle );
+      
+      systemUnderTest.parseRecords( new StringReader( "{\"KeyA\":\"ValueA\"}\n{\"KeyA\":\"ValueB\"}" ), listener, false );
+      
+      InOrder order = inOrder( listener, recordHandle );
+      order.verify( listener ).recordStarted( 0 );
+      order.verify( recordHandle ).handle( Mockito.eq( KEY_A ), Mockito.any() );
+      order.verify( listener ).recordFinished( 0 );
+      order.verify( listener ).recordStarted( 1 );
+      order.verify( recordHandle ).handle( Mockito.eq( KEY_A ), Mockito.any() );
+      order.verify( listener ).recordFinished( 1 );
+   }//End Method
+   
+   @Test public void shouldSkipInvalidRecordsWhenRequested(){
+      JsonRecordListener listener = mock( JsonRecordListener.class );
+      systemUnderTest.when( KEY_A, handle );
+      
+      assertThat( systemUnderTest.parseRecords( new StringReader( 
+               "{\"KeyA\":\"ValueA\"}\n{\"KeyB\":[1, :]}\nnot json\n{\"KeyA\":\"ValueC\"}" 
+      ), listener, true ), is( 2L ) );
+      
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_A, VALUE_C );
+      keyRecorder.expectKeysFound();
+      verify( listener ).recordSkipped( Mockito.eq( 1L ), Mockito.any() );
+      verify( listener ).recordSkipped( Mockito.eq( 2L ), Mockito.any() );
+      verify( listener ).recordFinished( 3 );
+   }//End Method
+   
+   @Test public void shouldStopAtInvalidRecordByDefault(){
+      systemUnderTest.when( KEY_A, handle );
+      
+      try {
+         systemUnderTest.parseRecords( new StringReader( 
+                  "{\"KeyA\":\"ValueA\"}\nnot json\n{\"KeyA\":\"ValueC\"}" 
+         ), null, false );
+         fail( "Should have stopped at the invalid record." );
+      } catch ( JSONException exception ) {
+         //expected
+      }
+      
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void shouldParseFromInputStreamAsUtf8(){
+      systemUnderTest.when( KEY_A, handle );
+      
+      String json = "{\"KeyA\":[\"\u00e9t\u00e9\"]}";
+      systemUnderTest.parseStream( new ByteArrayInputStream( json.getBytes( StandardCharsets.UTF_8 ) ) );
+      
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, "\u00e9t\u00e9" );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void shouldCallRepeatedInterceptorsMostRecentFirst(){
+      JsonHandle firstHandle = mock( JsonHandle.class );
+      JsonHandle secondHandle = mock( JsonHandle.class );
+      JsonHandle thirdHandle = mock( JsonHandle.class );
+      systemUnderTest.when( KEY_A, firstHandle );
+      systemUnderTest.intercept( KEY_A, secondHandle );
+      systemUnderTest.intercept( KEY_A, thirdHandle );
+      
+      JSONObject json = new JSONObject();
+      json.put( KEY_A, VALUE_A );
+      systemUnderTest.parse( json );
+      
+      InOrder order = inOrder( firstHandle, secondHandle, thirdHandle );
+      order.verify( thirdHandle ).handle( KEY_A, json );
+      order.verify( secondHandle ).handle( KEY_A, json );
+      order.verify( firstHandle ).handle( KEY_A, json );
+   }//End Method
+   
+   @Test public void compiledParserShouldNotBeAffectedByLaterInterception(){
+      JsonHandle firstHandle = mock( JsonHandle.class );
+      JsonHandle secondHandle = mock( JsonHandle.class );
+      JsonHandle thirdHandle = mock( JsonHandle.class );
+      systemUnderTest.when( KEY_A, firstHandle );
+      systemUnderTest.intercept( KEY_A, secondHandle );
+      JsonParser compiled = systemUnderTest.compile();
+      systemUnderTest.intercept( KEY_A, thirdHandle );
+      
+      JSONObject json = new JSONObject();
+      json.put( KEY_A, VALUE_A );
+      compiled.parse( json );
+      
+      verify( secondHandle ).handle( KEY_A, json );
+      verify( firstHandle ).handle( KEY_A, json );
+      verify( thirdHandle, never() ).handle( KEY_A, json );
+   }//End Method
+   
    @Test public void shouldHandleIfNothingToIntercept(){
       JSONObject json = new JSONObject();
       json.put( KEY_A, VALUE_A );
@@ -311,4 +520,978 @@ public class JsonParserTest {
       verify( secondHandle ).handle( KEY_A, json );
    }//End Method
    
+   @Test public void compiledParserShouldHandleAsOriginal(){
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      JsonParser compiled = systemUnderTest.compile();
+      
+      JSONObject object = new JSONObject();
+      JSONObject nested = new JSONObject();
+      object.put( KEY_A, nested );
+      nested.put( KEY_B, VALUE_B );
+      object.put( KEY_C, VALUE_C );
+      compiled.parse( object );
+      
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+      
+      compiled.parseStream( new StringReader( object.toString() ) );
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void compiledParserShouldIncludeInterceptors(){
+      JsonHandle firstHandle = mock( JsonHandle.class );
+      JsonHandle secondHandle = mock( JsonHandle.class );
+      systemUnderTest.when( KEY_A, firstHandle );
+      systemUnderTest.intercept( KEY_A, secondHandle );
+      
+      JSONObject json = new JSONObject();
+      json.put( KEY_A, VALUE_A );
+      systemUnderTest.compile().parse( json );
+      
+      InOrder order = inOrder( firstHandle, secondHandle );
+      order.verify( secondHandle ).handle( KEY_A, json );
+      order.verify( firstHandle ).handle( KEY_A, json );
+   }//End Method
+   
+   @Test public void compiledParserShouldNotBeAffectedByLaterRegistrations(){
+      JsonParser compiled = systemUnderTest.compile();
+      systemUnderTest.when( KEY_A, handle );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY_A, VALUE_A );
+      compiled.parse( object );
+      keyRecorder.expectKeysFound();
+      
+      assertThat( systemUnderTest.isCompiled(), is( false ) );
+      assertThat( compiled.isCompiled(), is( true ) );
+   }//End Method
+   
+   @Test public void compileShouldProvideSameInstanceWhenAlreadyCompiled(){
+      JsonParser compiled = systemUnderTest.compile();
+      assertThat( compiled.compile(), is( sameInstance( compiled ) ) );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptWhen(){
+      systemUnderTest.compile().when( KEY_A, handle );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptIntercept(){
+      systemUnderTest.compile().intercept( KEY_A, handle );
+   }//End Method
+   
+   @Test public void shouldUseAlphabeticalOrderingByDefault(){
+      assertThat( systemUnderTest.getKeyOrdering(), is( JsonKeyOrdering.ALPHABETICAL ) );
+   }//End Method
+   
+   @Test public void shouldParseEachKeyWithUnorderedKeys(){
+      systemUnderTest.setKeyOrdering( JsonKeyOrdering.UNORDERED );
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      
+      JSONArray array = new JSONArray();
+      for ( int i = 0; i < 3; i++ ) {
+         JSONObject element = new JSONObject();
+         element.put( KEY_B, VALUE_B );
+         array.put( element );
+      }
+      JSONObject object = new JSONObject();
+      object.put( KEY_A, array );
+      systemUnderTest.parse( object );
+      
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      for ( int i = 0; i < 3; i++ ) {
+         keyRecorder.expect( KEY_A, OBJECT_STARTED );
+         keyRecorder.expect( KEY_B, VALUE_B );
+         keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      }
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void shouldParseAlphabeticallyForRepeatedShapes(){
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.when( KEY_C, handle );
+      
+      for ( int i = 0; i < 3; i++ ) {
+         JSONObject object = new JSONObject();
+         object.put( KEY_C, VALUE_C );
+         object.put( KEY_A, VALUE_A );
+         object.put( KEY_B, VALUE_B );
+         systemUnderTest.parse( object );
+         
+         keyRecorder.expect( KEY_A, VALUE_A );
+         keyRecorder.expect( KEY_B, VALUE_B );
+         keyRecorder.expect( KEY_C, VALUE_C );
+         keyRecorder.expectKeysFound();
+      }
+   }//End Method
+   
+   @Test public void documentOrderingShouldParseJSONObjectAlphabetically(){
+      systemUnderTest.setKeyOrdering( JsonKeyOrdering.DOCUMENT );
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.when( KEY_C, handle );
+      systemUnderTest.parse( new JSONObject( "{\"KeyC\":\"ValueC\",\"KeyA\":\"ValueA\",\"KeyB\":\"ValueB\"}" ) );
+      
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expect( KEY_C, VALUE_C );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void documentOrderingShouldParseStreamInOrderRead(){
+      systemUnderTest.setKeyOrdering( JsonKeyOrdering.DOCUMENT );
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.when( KEY_C, handle );
+      systemUnderTest.parseStream( new StringReader( "{\"KeyC\":\"ValueC\",\"KeyA\":\"ValueA\",\"KeyB\":\"ValueB\"}" ) );
+      
+      keyRecorder.expect( KEY_C, VALUE_C );
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void compiledParserShouldKeepKeyOrdering(){
+      systemUnderTest.setKeyOrdering( JsonKeyOrdering.DOCUMENT );
+      assertThat( systemUnderTest.compile().getKeyOrdering(), is( JsonKeyOrdering.DOCUMENT ) );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptKeyOrdering(){
+      systemUnderTest.compile().setKeyOrdering( JsonKeyOrdering.UNORDERED );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullKeyOrdering(){
+      systemUnderTest.setKeyOrdering( null );
+   }//End Method
+   
+   /**
+    * Method to construct the json for path testing, as:
+    * { KeyA: [ { KeyB: ValueB, KeyC: { KeyB: ValueA } } ], KeyC: { KeyB: ValueC } }.
+    * @return the {@link JSONObject}.
+    */
+   private JSONObject pathJson(){
+      JSONObject inner = new JSONObject();
+      inner.put( KEY_B, VALUE_A );
+      JSONObject element = new JSONObject();
+      element.put( KEY_B, VALUE_B );
+      element.put( KEY_C, inner );
+      JSONArray array = new JSONArray();
+      array.put( element );
+      JSONObject other = new JSONObject();
+      other.put( KEY_B, VALUE_C );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY_A, array );
+      object.put( KEY_C, other );
+      return object;
+   }//End Method
+   
+   @Test public void whenPathShouldOnlyHandleKeyAtPath(){
+      systemUnderTest.whenPath( "KeyA[].KeyB", handle );
+      systemUnderTest.parse( pathJson() );
+      
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void whenPathShouldNavigateStructuresAtPath(){
+      systemUnderTest.whenPath( "KeyA", handle );
+      systemUnderTest.whenPath( "KeyA.KeyC.KeyB", handle );
+      systemUnderTest.parse( pathJson() );
+      
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_A );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void whenPathShouldWorkAlongsideKeyHandles(){
+      systemUnderTest.whenPath( "KeyC.KeyB", handle );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.parse( pathJson() );
+      
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expect( KEY_B, VALUE_A );
+      keyRecorder.expect( KEY_B, VALUE_C );
+      keyRecorder.expect( KEY_B, VALUE_C );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void whenPathShouldSkipStructuresWithNoRegisteredPaths(){
+      systemUnderTest.whenPath( "KeyC.KeyB", handle );
+      JSONObject object = pathJson();
+      JSONObject skipped = spy( new JSONObject() );
+      skipped.put( KEY_B, VALUE_B );
+      object.put( KEY_B, skipped );
+      
+      systemUnderTest.parse( object );
+      keyRecorder.expect( KEY_B, VALUE_C );
+      keyRecorder.expectKeysFound();
+      verify( skipped, never() ).keySet();
+   }//End Method
+   
+   @Test public void whenPathShouldBeUsedWhenParsingStream(){
+      systemUnderTest.whenPath( "KeyA[].KeyC.KeyB", handle );
+      systemUnderTest.whenPath( "KeyC", handle );
+      systemUnderTest.parseStream( new StringReader( 
+               "{\"KeyA\":[{\"KeyB\":\"ValueB\",\"KeyC\":{\"KeyB\":\"ValueA\"}},[1,{\"KeyB\":2}]],"
+               + "\"KeyB\":{\"KeyC\":{\"KeyB\":\"Nope\"}},\"KeyC\":{\"KeyB\":\"ValueC\"}}" 
+      ) );
+      
+      keyRecorder.expect( KEY_B, VALUE_A );
+      keyRecorder.expect( KEY_C, OBJECT_STARTED );
+      keyRecorder.expect( KEY_C, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void compiledParserShouldIncludePaths(){
+      systemUnderTest.whenPath( "KeyA[].KeyB", handle );
+      JsonParser compiled = systemUnderTest.compile();
+      systemUnderTest.whenPath( "KeyC.KeyB", handle );
+      compiled.parse( pathJson() );
+      
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptWhenPath(){
+      systemUnderTest.compile().whenPath( "KeyA", handle );
+   }//End Method
+   
+   /**
+    * Method to construct json with an array of objects under {@link #KEY_A}, each holding its index under {@link #KEY_B}.
+    * @param length the length of the array.
+    * @return the {@link JSONObject}.
+    */
+   private JSONObject largeArrayJson( int length ){
+      JSONArray array = new JSONArray();
+      for ( int i = 0; i < length; i++ ) {
+         JSONObject element = new JSONObject();
+         element.put( KEY_B, Integer.toString( i ) );
+         array.put( element );
+      }
+      JSONObject object = new JSONObject();
+      object.put( KEY_A, array );
+      return object;
+   }//End Method
+   
+   @Test public void orderedParallelArraysShouldHandleAsSequential(){
+      List< String > sequential = new ArrayList<>();
+      systemUnderTest.when( KEY_A, new StringParseHandle( new JsonKeyParseHandler< String >( 
+               null, k -> sequential.add( "started" ), k -> sequential.add( "finished" ), null, null 
+      ) ) );
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> sequential.add( v ) ) );
+      systemUnderTest.parse( largeArrayJson( 500 ) );
+      
+      List< String > parallel = new ArrayList<>();
+      JsonParser parallelParser = new JsonParser();
+      parallelParser.setArrayParallelism( new JsonArrayParallelism( 10, true, new ForkJoinPool( 4 ), null ) );
+      parallelParser.when( KEY_A, new StringParseHandle( new JsonKeyParseHandler< String >( 
+               null, k -> parallel.add( "started" ), k -> parallel.add( "finished" ), null, null 
+      ) ) );
+      parallelParser.when( KEY_B, new StringParseHandle( ( k, v ) -> parallel.add( v ) ) );
+      parallelParser.parse( largeArrayJson( 500 ) );
+      
+      assertThat( parallel, is( sequential ) );
+      assertThat( parallel.size(), is( 1500 ) );
+   }//End Method
+   
+   @Test public void unorderedParallelArraysShouldHandleEveryElementWithinArrayBrackets(){
+      Set< String > values = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+      List< String > brackets = new ArrayList<>();
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, false ) );
+      systemUnderTest.when( KEY_A, new StringParseHandle( new JsonKeyParseHandler< String >( 
+               null, null, null, k -> brackets.add( "started " + values.size() ), k -> brackets.add( "finished " + values.size() ) 
+      ) ) );
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> values.add( v ) ) );
+      systemUnderTest.parse( largeArrayJson( 500 ) );
+      
+      assertThat( values.size(), is( 500 ) );
+      assertThat( brackets.size(), is( 2 ) );
+      assertThat( brackets.get( 0 ), is( "started 0" ) );
+      assertThat( brackets.get( 1 ), is( "finished 500" ) );
+   }//End Method
+   
+   @Test public void parallelArraysShouldUseElementParsersForEachPortion(){
+      AtomicInteger parsers = new AtomicInteger();
+      AtomicInteger total = new AtomicInteger();
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, false, new ForkJoinPool( 2 ), () -> {
+         parsers.incrementAndGet();
+         JsonParser parser = new JsonParser();
+         parser.whenPath( KEY_B, new StringParseHandle( ( k, v ) -> total.incrementAndGet() ) );
+         return parser;
+      } ) );
+      systemUnderTest.parse( largeArrayJson( 80 ) );
+      
+      assertThat( total.get(), is( 80 ) );
+      assertThat( parsers.get(), is( 8 ) );
+   }//End Method
+   
+   @Test public void shouldNavigateSequentiallyBelowThreshold(){
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, false ) );
+      List< String > threads = new ArrayList<>();
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> threads.add( Thread.currentThread().getName() ) ) );
+      systemUnderTest.parse( largeArrayJson( 9 ) );
+      
+      assertThat( threads.size(), is( 9 ) );
+      for ( String thread : threads ) {
+         assertThat( thread, is( Thread.currentThread().getName() ) );
+      }
+   }//End Method
+   
+   @Test public void compiledParserShouldKeepArrayParallelism(){
+      JsonArrayParallelism parallelism = new JsonArrayParallelism( 10, false );
+      systemUnderTest.setArrayParallelism( parallelism );
+      assertThat( systemUnderTest.compile().getArrayParallelism(), is( parallelism ) );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptArrayParallelism(){
+      systemUnderTest.compile().setArrayParallelism( null );
+   }//End Method
+   
+   @Test public void shouldProvideWriteParallelism(){
+      assertThat( systemUnderTest.getWriteParallelism(), is( nullValue() ) );
+      JsonWriteParallelism parallelism = new JsonWriteParallelism( 10 );
+      systemUnderTest.setWriteParallelism( parallelism );
+      assertThat( systemUnderTest.getWriteParallelism(), is( parallelism ) );
+      assertThat( systemUnderTest.compile().getWriteParallelism(), is( parallelism ) );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptWriteParallelism(){
+      systemUnderTest.compile().setWriteParallelism( null );
+   }//End Method
+   
+   @Test public void shouldProvideKeysFromKeyPool(){
+      List< String > keys = new ArrayList<>();
+      systemUnderTest.when( KEY_A, new StringParseHandle( ( String key, String value ) -> keys.add( key ) ) );
+      systemUnderTest.setKeyPool( new JsonStringPool() );
+      assertThat( systemUnderTest.getKeyPool().getCapacity(), is( JsonStringPool.DEFAULT_CAPACITY ) );
+      
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":\"a\",\"KeyB\":{\"KeyA\":\"b\"}}" ) );
+      systemUnderTest.parseStream( new StringReader( "{\"KeyA\":\"a\",\"KeyB\":{\"KeyA\":\"b\"}}" ) );
+      
+      assertThat( keys.size(), is( 4 ) );
+      for ( String key : keys ) {
+         assertThat( key, is( sameInstance( keys.get( 0 ) ) ) );
+      }
+      assertThat( systemUnderTest.getKeyPool().getHits(), greaterThan( 0L ) );
+   }//End Method
+   
+   @Test public void compiledParserShouldKeepKeyPool(){
+      JsonStringPool pool = new JsonStringPool();
+      systemUnderTest.setKeyPool( pool );
+      assertThat( systemUnderTest.compile().getKeyPool(), is( pool ) );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void compiledParserShouldNotAcceptKeyPool(){
+      systemUnderTest.compile().setKeyPool( null );
+   }//End Method
+   
+   @Test public void shouldParseNestingDeeperThanStack(){
+      systemUnderTest.when( KEY_B, handle );
+      JSONObject object = new JSONObject();
+      JSONObject current = object;
+      for ( int i = 0; i < 50000; i++ ) {
+         JSONObject next = new JSONObject();
+         current.put( KEY_A, next );
+         current = next;
+      }
+      current.put( KEY_B, VALUE_B );
+      
+      systemUnderTest.parse( object );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void traversalShouldParseInParts(){
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      JSONObject object = new JSONObject();
+      object.put( KEY_A, VALUE_A );
+      object.put( KEY_B, VALUE_B );
+      
+      JsonTraversal traversal = systemUnderTest.traverse( object );
+      keyRecorder.expectKeysFound();
+      
+      assertThat( traversal.run( 1 ), is( false ) );
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expectKeysFound();
+      
+      assertThat( traversal.run(), is( true ) );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   /**
+    * Method to register a {@link SignallingKeyRecorder} for {@link #KEY_A}, {@link #KEY_B} and {@link #KEY_C}.
+    * @param trigger the value to signal on.
+    * @param signal the {@link JsonParseSignal} to throw.
+    * @return the {@link SignallingKeyRecorder}.
+    */
+   private SignallingKeyRecorder signalOn( String trigger, JsonParseSignal signal ) {
+      SignallingKeyRecorder recorder = new SignallingKeyRecorder( trigger, signal );
+      JsonHandle signallingHandle = new StringParseHandle( recorder );
+      systemUnderTest.when( KEY_A, signallingHandle );
+      systemUnderTest.when( KEY_B, signallingHandle );
+      systemUnderTest.when( KEY_C, signallingHandle );
+      return recorder;
+   }//End Method
+   
+   /**
+    * Method to construct json with an object under {@link #KEY_A}, holding {@link #KEY_B} and {@link #KEY_C}, 
+    * followed by {@link #KEY_C}.
+    * @return the {@link JSONObject}.
+    */
+   private JSONObject nestedJson(){
+      return new JSONObject( "{\"KeyA\":{\"KeyB\":\"ValueB\",\"KeyC\":\"ValueC\"},\"KeyC\":\"Outer\"}" );
+   }//End Method
+   
+   @Test public void stopSignalShouldEndParseImmediately(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.STOP );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSiblingsSignalShouldSkipRestOfContainingObject(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSiblingsSignalShouldSkipRestOfContainingArray(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[\"ValueA\",\"ValueB\",\"ValueC\"],\"KeyC\":\"Outer\"}" ) );
+      
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, VALUE_A );
+      recorder.expect( KEY_A, VALUE_B );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSiblingsSignalOnFinishShouldSkipRestOfParent(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_FINISHED, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expect( KEY_C, VALUE_C );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSubtreeSignalShouldNotNavigateButShouldFinishStartedObject(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSubtreeSignalShouldNotNavigateButShouldFinishStartedArray(){
+      SignallingKeyRecorder recorder = signalOn( ARRAY_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[\"ValueA\",{\"KeyB\":\"ValueB\"}],\"KeyC\":\"Outer\"}" ) );
+      
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSiblingsSignalOnStartShouldFinishStartedObject(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSiblingsSignalOnStartShouldFinishStartedArray(){
+      SignallingKeyRecorder recorder = signalOn( ARRAY_STARTED, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[\"ValueA\"],\"KeyC\":\"Outer\"}" ) );
+      
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void stopSignalOnStartShouldNotFinishStartedObject(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.STOP );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSignalsShouldBalanceCallbacksWhenParsingStream(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      systemUnderTest.parseStream( new StringReader( nestedJson().toString() ) );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void pathHandleShouldBeCalledBeforeSkipFromKeyHandleIsHonoured(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.whenPath( "KeyA.KeyB", handle );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void pathHandleShouldBeStartedAndFinishedWhenKeyHandleSkipsSubtree(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      systemUnderTest.whenPath( "KeyA", handle );
+      systemUnderTest.parseStream( new StringReader( nestedJson().toString() ) );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void stopSignalFromKeyHandleShouldNotCallPathHandle(){
+      signalOn( VALUE_B, JsonParseSignal.STOP );
+      systemUnderTest.whenPath( "KeyA.KeyB", handle );
+      systemUnderTest.parse( nestedJson() );
+      
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSubtreeSignalShouldOnlyEndCallForValue(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.SKIP_SUBTREE );
+      systemUnderTest.parse( nestedJson() );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expect( KEY_C, VALUE_C );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void signalsShouldBeHonouredWhenParsingStream(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.parseStream( new StringReader( nestedJson().toString() ) );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "Outer" );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void stopSignalShouldNotReadFurtherFromStream(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_A, JsonParseSignal.STOP );
+      systemUnderTest.parseStream( new StringReader( "{\"KeyA\":\"ValueA\", ::: this is not json" ) );
+      
+      recorder.expect( KEY_A, VALUE_A );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void stopSignalShouldEndRecords(){
+      JsonRecordListener listener = mock( JsonRecordListener.class );
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.STOP );
+      
+      assertThat( systemUnderTest.parseRecords( new StringReader( 
+               "{\"KeyA\":\"ValueA\"}\n{\"KeyB\":\"ValueB\",\"KeyC\":\"ValueC\"}\n{\"KeyA\":\"ValueA\"}" 
+      ), listener, false ), is( 2L ) );
+      
+      recorder.expect( KEY_A, VALUE_A );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expectKeysFound();
+      verify( listener ).recordFinished( 1 );
+      verify( listener, never() ).recordStarted( 2 );
+   }//End Method
+   
+   @Test public void stopSignalShouldAbandonOrderedParallelArray(){
+      List< String > values = new ArrayList<>();
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, true ) );
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> {
+         values.add( v );
+         throw JsonParseSignal.STOP;
+      } ) );
+      systemUnderTest.when( KEY_C, handle );
+      JSONObject object = largeArrayJson( 500 );
+      object.put( KEY_C, VALUE_C );
+      systemUnderTest.parse( object );
+      
+      assertThat( values, is( Collections.singletonList( "0" ) ) );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void stopSignalShouldAbandonUnorderedParallelArray(){
+      List< String > brackets = new ArrayList<>();
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, false ) );
+      systemUnderTest.when( KEY_A, new StringParseHandle( new JsonKeyParseHandler< String >( 
+               null, null, null, k -> brackets.add( "started" ), k -> brackets.add( "finished" ) 
+      ) ) );
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> {
+         throw JsonParseSignal.STOP;
+      } ) );
+      systemUnderTest.when( KEY_C, handle );
+      JSONObject object = largeArrayJson( 500 );
+      object.put( KEY_C, VALUE_C );
+      systemUnderTest.parse( object );
+      
+      assertThat( brackets, is( Collections.singletonList( "started" ) ) );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void failureInOnePortionShouldCancelOtherPortions(){
+      ForkJoinPool pool = new ForkJoinPool( 1 );
+      AtomicInteger handled = new AtomicInteger();
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, false, pool, null ) );
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> {
+         if ( v.equals( "0" ) ) {
+            throw new IllegalStateException( "Failed in first portion." );
+         }
+         handled.incrementAndGet();
+         try {
+            Thread.sleep( 1 );
+         } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+         }
+      } ) );
+      
+      try {
+         systemUnderTest.parse( largeArrayJson( 500 ) );
+         fail( "Failure should be rethrown." );
+      } catch ( IllegalStateException exception ) {
+         //rethrown, possibly wrapping the original from the pool thread
+      } finally {
+         pool.shutdown();
+      }
+      pool.awaitQuiescence( 10, TimeUnit.SECONDS );
+      
+      int portion = 500 / JsonArrayPortions.PORTIONS_PER_THREAD;
+      assertThat( handled.get() <= portion, is( true ) );
+   }//End Method
+   
+   @Test public void skipSignalShouldBeHonouredWithinUnorderedParallelElements(){
+      Set< String > values = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, false ) );
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( k, v ) -> {
+         values.add( v );
+         throw JsonParseSignal.SKIP_SIBLINGS;
+      } ) );
+      systemUnderTest.when( KEY_C, handle );
+      JSONObject object = largeArrayJson( 500 );
+      object.put( KEY_C, VALUE_C );
+      systemUnderTest.parse( object );
+      
+      assertThat( values.size(), is( 500 ) );
+      keyRecorder.expect( KEY_C, VALUE_C );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void arrayHandleShouldReceiveWholeArrayWithoutNavigation(){
+      List< double[] > samples = new ArrayList<>();
+      JsonHandle arrayHandle = spy( new DoubleArrayParseHandle( ( double[] values ) -> samples.add( values ) ) );
+      systemUnderTest.when( KEY_A, arrayHandle );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[1.5,2.5,{\"KeyB\":\"ValueB\"}],\"KeyB\":\"Outer\"}" ) );
+      
+      assertThat( samples.size(), is( 1 ) );
+      assertThat( samples.get( 0 )[ 0 ], is( 1.5 ) );
+      assertThat( samples.get( 0 )[ 1 ], is( 2.5 ) );
+      assertThat( samples.get( 0 ).length, is( 3 ) );
+      verify( arrayHandle, never() ).startedArray( KEY_A );
+      verify( arrayHandle, never() ).handle( Mockito.eq( KEY_A ), Mockito.any( JSONArray.class ), Mockito.anyInt() );
+      keyRecorder.expect( KEY_B, "Outer" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void arrayHandleShouldReceiveWholeArrayWhenParsingStream(){
+      List< double[] > samples = new ArrayList<>();
+      systemUnderTest.when( KEY_A, new DoubleArrayParseHandle( ( double[] values ) -> samples.add( values ) ) );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.parseStream( new StringReader( "{\"KeyA\":[1.5,2.5,{\"KeyB\":\"ValueB\"}],\"KeyB\":\"Outer\"}" ) );
+      
+      assertThat( samples.size(), is( 1 ) );
+      assertThat( samples.get( 0 )[ 0 ], is( 1.5 ) );
+      assertThat( samples.get( 0 )[ 1 ], is( 2.5 ) );
+      assertThat( samples.get( 0 ).length, is( 3 ) );
+      keyRecorder.expect( KEY_B, "Outer" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void arrayHandleShouldNotPreventPathHandleNavigatingElements(){
+      List< long[] > samples = new ArrayList<>();
+      systemUnderTest.when( KEY_A, new LongArrayParseHandle( ( long[] values ) -> samples.add( values ) ) );
+      systemUnderTest.whenPath( KEY_A, handle );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[\"ValueA\",\"ValueB\"]}" ) );
+      
+      assertThat( samples.size(), is( 1 ) );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_A, VALUE_B );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void interceptedArrayHandleShouldStillReceiveWholeArray(){
+      List< double[] > samples = new ArrayList<>();
+      systemUnderTest.when( KEY_A, new DoubleArrayParseHandle( ( double[] values ) -> samples.add( values ) ) );
+      systemUnderTest.intercept( KEY_A, handle );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[\"ValueA\",\"ValueB\"]}" ) );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[1.5,2.5]}" ) );
+      
+      assertThat( samples.size(), is( 2 ) );
+      assertThat( samples.get( 1 )[ 0 ], is( 1.5 ) );
+      assertThat( samples.get( 1 )[ 1 ], is( 2.5 ) );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, VALUE_A );
+      keyRecorder.expect( KEY_A, VALUE_B );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, "1.5" );
+      keyRecorder.expect( KEY_A, "2.5" );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void interceptingWithArrayHandleShouldReceiveWholeArrayWhenParsingStream(){
+      List< double[] > samples = new ArrayList<>();
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.intercept( KEY_A, new DoubleArrayParseHandle( ( double[] values ) -> samples.add( values ) ) );
+      systemUnderTest.parseStream( new StringReader( "{\"KeyA\":[1.5,2.5]}" ) );
+      
+      assertThat( samples.size(), is( 1 ) );
+      assertThat( samples.get( 0 )[ 0 ], is( 1.5 ) );
+      assertThat( samples.get( 0 )[ 1 ], is( 2.5 ) );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, "1.5" );
+      keyRecorder.expect( KEY_A, "2.5" );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void interceptingArrayHandleWithArrayHandleShouldGiveBothWholeArray(){
+      List< double[] > samples = new ArrayList<>();
+      systemUnderTest.when( KEY_A, new DoubleArrayParseHandle( ( double[] values ) -> samples.add( values ) ) );
+      systemUnderTest.intercept( KEY_A, new DoubleArrayParseHandle( ( double[] values ) -> samples.add( values ) ) );
+      systemUnderTest.parse( new JSONObject( "{\"KeyA\":[1.5,2.5]}" ) );
+      systemUnderTest.parseStream( new StringReader( "{\"KeyA\":[1.5,2.5]}" ) );
+      
+      assertThat( samples.size(), is( 4 ) );
+      for ( double[] sample : samples ) {
+         assertThat( sample[ 0 ], is( 1.5 ) );
+         assertThat( sample[ 1 ], is( 2.5 ) );
+      }
+   }//End Method
+   
+   @Test public void arrayHandleShouldReceiveArraysInOrderWhenNavigatedInParallel(){
+      JSONArray elements = new JSONArray();
+      for ( int i = 0; i < 200; i++ ) {
+         JSONObject element = new JSONObject();
+         element.put( KEY_B, new JSONArray( new int[]{ i, i + 1 } ) );
+         elements.put( element );
+      }
+      JSONObject object = new JSONObject();
+      object.put( KEY_A, elements );
+      
+      List< Integer > firsts = new ArrayList<>();
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, true ) );
+      systemUnderTest.when( KEY_B, new IntArrayParseHandle( ( int[] values ) -> firsts.add( values[ 0 ] ) ) );
+      systemUnderTest.parse( object );
+      
+      assertThat( firsts.size(), is( 200 ) );
+      for ( int i = 0; i < 200; i++ ) {
+         assertThat( firsts.get( i ), is( i ) );
+      }
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void traverseShouldNotAcceptNull(){
+      systemUnderTest.traverse( null );
+   }//End Method
+   
+   /**
+    * Method to construct the {@link JsonStructure} for checked parsing, as:
+    * { KeyA: [ { KeyB } ], KeyC: { KeyB } }.
+    * @return the {@link JsonStructure}.
+    */
+   private JsonStructure checkedStructure(){
+      JsonStructure structure = new JsonStructure();
+      structure.array( KEY_A, structure.root(), key -> 1 );
+      structure.child( "element", KEY_A );
+      structure.value( KEY_B, "element" );
+      structure.child( KEY_C, structure.root() );
+      structure.value( KEY_B, KEY_C );
+      return structure;
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullJsonObjectToCheck(){
+      systemUnderTest.parse( null, checkedStructure() );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullStructureToCheck(){
+      systemUnderTest.parse( new JSONObject(), null );
+   }//End Method
+   
+   @Test public void checkedParseShouldHandleCompatibleAsParse(){
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      systemUnderTest.when( KEY_C, handle );
+      
+      assertThat( systemUnderTest.parse( pathJson(), checkedStructure() ), is( true ) );
+      
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expect( KEY_C, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_A );
+      keyRecorder.expect( KEY_C, OBJECT_FINISHED );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expect( KEY_C, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, VALUE_C );
+      keyRecorder.expect( KEY_C, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldNotHandleWhenRequiredKeyMissing(){
+      systemUnderTest.when( KEY_A, handle );
+      systemUnderTest.when( KEY_B, handle );
+      
+      JSONObject object = pathJson();
+      object.getJSONObject( KEY_C ).remove( KEY_B );
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( false ) );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldNotHandleWhenRootIncompatible(){
+      systemUnderTest.when( KEY_B, handle );
+      
+      JSONObject object = pathJson();
+      object.remove( KEY_C );
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( false ) );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldNotHandleWhenArrayElementIncompatible(){
+      systemUnderTest.when( KEY_B, handle );
+      
+      JSONObject object = pathJson();
+      object.getJSONArray( KEY_A ).put( VALUE_A );
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( false ) );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldNotHandleWhenSkippedStructureIncompatible(){
+      systemUnderTest.when( KEY_C, handle );
+      
+      JSONObject object = pathJson();
+      object.put( KEY_A, VALUE_A );
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( false ) );
+      
+      object = pathJson();
+      object.getJSONArray( KEY_A ).getJSONObject( 0 ).remove( KEY_B );
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( false ) );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldNotHandleWhenWholeArrayIncompatible(){
+      JsonArrayHandle arrayHandle = mock( JsonArrayHandle.class );
+      systemUnderTest.when( KEY_A, arrayHandle );
+      
+      JSONObject object = pathJson();
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( true ) );
+      verify( arrayHandle ).handleArray( Mockito.eq( KEY_A ), Mockito.any( JSONArray.class ) );
+      
+      object.getJSONArray( KEY_A ).getJSONObject( 0 ).remove( KEY_B );
+      assertThat( systemUnderTest.parse( object, checkedStructure() ), is( false ) );
+      verify( arrayHandle ).handleArray( Mockito.eq( KEY_A ), Mockito.any( JSONArray.class ) );
+   }//End Method
+   
+   @Test public void checkedParseShouldStopWhenSignalled(){
+      systemUnderTest.when( KEY_B, new StringParseHandle( ( key, value ) -> {
+         keyRecorder.handle( key, value );
+         throw JsonParseSignal.STOP;
+      } ) );
+      
+      assertThat( systemUnderTest.parse( pathJson(), checkedStructure() ), is( true ) );
+      keyRecorder.expect( KEY_B, VALUE_B );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldSkipSubtreesAsParse(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      
+      assertThat( systemUnderTest.parse( pathJson(), checkedStructure() ), is( true ) );
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, OBJECT_STARTED );
+      recorder.expect( KEY_C, OBJECT_FINISHED );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void checkedParseShouldSkipSiblingsAsParse(){
+      SignallingKeyRecorder recorder = signalOn( VALUE_B, JsonParseSignal.SKIP_SIBLINGS );
+      
+      assertThat( systemUnderTest.parse( pathJson(), checkedStructure() ), is( true ) );
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_B );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, OBJECT_STARTED );
+      recorder.expect( KEY_B, VALUE_C );
+      recorder.expect( KEY_C, OBJECT_FINISHED );
+      recorder.expectKeysFound();
+   }//End Method
+   
+   @Test public void skipSiblingsSignalShouldSkipRemainingPortionsOfOrderedParallelArray(){
+      SignallingKeyRecorder recorder = new SignallingKeyRecorder( OBJECT_STARTED, JsonParseSignal.SKIP_SIBLINGS );
+      systemUnderTest.setArrayParallelism( new JsonArrayParallelism( 10, true ) );
+      systemUnderTest.when( KEY_A, new StringParseHandle( recorder ) );
+      systemUnderTest.when( KEY_C, handle );
+      JSONObject object = largeArrayJson( 500 );
+      object.put( KEY_C, VALUE_C );
+      systemUnderTest.parse( object );
+      
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expectKeysFound();
+      keyRecorder.expect( KEY_C, VALUE_C );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
 }//End Class
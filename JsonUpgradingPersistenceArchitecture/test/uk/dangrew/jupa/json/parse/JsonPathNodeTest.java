@@ -0,0 +1,96 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.JsonHandle;
+
+/**
+ * {@link JsonPathNode} test.
+ */
+public class JsonPathNodeTest {
+
+   private JsonHandle handle;
+   private JsonPathNode systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      handle = mock( JsonHandle.class );
+      systemUnderTest = new JsonPathNode();
+   }//End Method
+
+   @Test public void shouldSplitPathIntoKeys(){
+      assertThat( JsonPathNode.keysOf( "users[].address.city" ), is( arrayContaining( "users", "address", "city" ) ) );
+      assertThat( JsonPathNode.keysOf( "matrix[][]" ), is( arrayContaining( "matrix" ) ) );
+      assertThat( JsonPathNode.keysOf( "single" ), is( arrayContaining( "single" ) ) );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullPath(){
+      JsonPathNode.keysOf( null );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptEmptyPath(){
+      JsonPathNode.keysOf( "" );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptEmptyKeyInPath(){
+      JsonPathNode.keysOf( "users..city" );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptArrayWithoutKey(){
+      JsonPathNode.keysOf( "users.[]" );
+   }//End Method
+
+   @Test public void shouldRegisterHandleAtEndOfPath(){
+      systemUnderTest.register( JsonPathNode.keysOf( "a.b.c" ), handle );
+      assertThat( systemUnderTest.handle(), is( nullValue() ) );
+      assertThat( systemUnderTest.child( "a" ).handle(), is( nullValue() ) );
+      assertThat( systemUnderTest.child( "a" ).child( "b" ).child( "c" ).handle(), is( handle ) );
+      assertThat( systemUnderTest.child( "a" ).child( "b" ).child( "c" ).isLeaf(), is( true ) );
+      assertThat( systemUnderTest.child( "b" ), is( nullValue() ) );
+   }//End Method
+
+   @Test public void shouldShareCommonPrefixes(){
+      JsonHandle other = mock( JsonHandle.class );
+      systemUnderTest.register( JsonPathNode.keysOf( "a.b" ), handle );
+      systemUnderTest.register( JsonPathNode.keysOf( "a.c" ), other );
+      assertThat( systemUnderTest.child( "a" ).child( "b" ).handle(), is( handle ) );
+      assertThat( systemUnderTest.child( "a" ).child( "c" ).handle(), is( other ) );
+   }//End Method
+
+   @Test public void shouldReplaceHandleForSamePath(){
+      JsonHandle other = mock( JsonHandle.class );
+      systemUnderTest.register( JsonPathNode.keysOf( "a[].b" ), handle );
+      systemUnderTest.register( JsonPathNode.keysOf( "a.b" ), other );
+      assertThat( systemUnderTest.child( "a" ).child( "b" ).handle(), is( other ) );
+   }//End Method
+
+   @Test public void frozenShouldBeIndependentOfLaterRegistrations(){
+      systemUnderTest.register( JsonPathNode.keysOf( "a.b" ), handle );
+      JsonPathNode frozen = systemUnderTest.freeze();
+      systemUnderTest.register( JsonPathNode.keysOf( "a.c" ), handle );
+      systemUnderTest.register( JsonPathNode.keysOf( "a.b" ), mock( JsonHandle.class ) );
+
+      assertThat( frozen.child( "a" ).child( "b" ).handle(), is( handle ) );
+      assertThat( frozen.child( "a" ).child( "c" ), is( nullValue() ) );
+   }//End Method
+
+   @Test( expected = UnsupportedOperationException.class ) public void frozenShouldNotAcceptRegistrations(){
+      systemUnderTest.freeze().register( JsonPathNode.keysOf( "a" ), handle );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,99 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonSortedKeyCache} test.
+ */
+public class JsonSortedKeyCacheTest {
+
+   private JsonSortedKeyCache systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      systemUnderTest = new JsonSortedKeyCache( 2, 1 );
+   }//End Method
+
+   /**
+    * Method to construct a {@link JSONObject} with the given keys.
+    * @param keys the keys.
+    * @return the {@link JSONObject}.
+    */
+   private JSONObject objectWith( String... keys ) {
+      JSONObject object = new JSONObject();
+      for ( String key : keys ) {
+         object.put( key, 0 );
+      }
+      return object;
+   }//End Method
+
+   @Test public void shouldSortKeysAlphabetically(){
+      assertThat( systemUnderTest.sortedKeys( objectWith( "c", "a", "b" ).keySet() ), is( arrayContaining( "a", "b", "c" ) ) );
+   }//End Method
+
+   @Test public void shouldProvideSameKeysForSameShape(){
+      String[] first = systemUnderTest.sortedKeys( objectWith( "c", "a", "b" ).keySet() );
+      String[] second = systemUnderTest.sortedKeys( objectWith( "b", "c", "a" ).keySet() );
+      assertThat( second, is( sameInstance( first ) ) );
+      assertThat( systemUnderTest.size(), is( 1 ) );
+   }//End Method
+
+   @Test public void shouldNotConfuseDifferentShapes(){
+      String[] first = systemUnderTest.sortedKeys( objectWith( "a", "b" ).keySet() );
+      String[] second = systemUnderTest.sortedKeys( objectWith( "a", "c" ).keySet() );
+      assertThat( second, is( not( sameInstance( first ) ) ) );
+      assertThat( second, is( arrayContaining( "a", "c" ) ) );
+   }//End Method
+
+   @Test public void shouldNotBeAffectedByChangesToObjectAfterCaching(){
+      JSONObject object = objectWith( "a", "b" );
+      systemUnderTest.sortedKeys( object.keySet() );
+      object.put( "c", 0 );
+      assertThat( systemUnderTest.sortedKeys( objectWith( "a", "b" ).keySet() ), is( arrayContaining( "a", "b" ) ) );
+      assertThat( systemUnderTest.sortedKeys( object.keySet() ), is( arrayContaining( "a", "b", "c" ) ) );
+   }//End Method
+
+   @Test public void shouldStopCachingAtCapacityButStillSort(){
+      systemUnderTest.sortedKeys( objectWith( "a" ).keySet() );
+      systemUnderTest.sortedKeys( objectWith( "b" ).keySet() );
+      assertThat( systemUnderTest.sortedKeys( objectWith( "d", "c" ).keySet() ), is( arrayContaining( "c", "d" ) ) );
+      assertThat( systemUnderTest.size(), is( 2 ) );
+   }//End Method
+
+   @Test public void shouldSortButNotCacheShapesWithFewKeys(){
+      systemUnderTest = new JsonSortedKeyCache( 2, 3 );
+      String[] first = systemUnderTest.sortedKeys( objectWith( "b", "a" ).keySet() );
+      String[] second = systemUnderTest.sortedKeys( objectWith( "a", "b" ).keySet() );
+      assertThat( second, is( arrayContaining( "a", "b" ) ) );
+      assertThat( second, is( not( sameInstance( first ) ) ) );
+      assertThat( systemUnderTest.size(), is( 0 ) );
+      
+      systemUnderTest.sortedKeys( objectWith( "c", "b", "a" ).keySet() );
+      assertThat( systemUnderTest.size(), is( 1 ) );
+   }//End Method
+
+   @Test public void shouldProvideNoKeysForEmpty(){
+      assertThat( systemUnderTest.sortedKeys( Collections.emptySet() ), is( emptyArray() ) );
+      assertThat( systemUnderTest.size(), is( 0 ) );
+   }//End Method
+
+}//End Class
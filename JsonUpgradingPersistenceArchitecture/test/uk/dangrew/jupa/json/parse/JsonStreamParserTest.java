@@ -0,0 +1,343 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.ARRAY_FINISHED;
+import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.ARRAY_STARTED;
+import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.OBJECT_FINISHED;
+import static uk.dangrew.jupa.json.parse.DefaultKeyRecorder.OBJECT_STARTED;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.JsonHandle;
+import uk.dangrew.jupa.json.parse.handle.type.DoubleArrayParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.IntArrayParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.IntegerParseHandle;
+import uk.dangrew.jupa.json.parse.handle.type.StringParseHandle;
+import uk.dangrew.jupa.json.stream.JsonTokenizer;
+
+/**
+ * {@link JsonStreamParser} test.
+ */
+public class JsonStreamParserTest {
+
+   private static final String KEY_A = "KeyA";
+   private static final String KEY_B = "KeyB";
+   private static final String KEY_C = "KeyC";
+
+   private Map< String, JsonHandle > handles;
+   private DefaultKeyRecorder keyRecorder;
+   private JsonHandle handle;
+   private JsonStreamParser systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      keyRecorder = new DefaultKeyRecorder();
+      handle = new StringParseHandle( keyRecorder );
+      handles = new HashMap<>();
+      systemUnderTest = new JsonStreamParser( handles::get );
+   }//End Method
+
+   /**
+    * Method to parse the given json input.
+    * @param input the json.
+    */
+   private void parse( String input ) {
+      systemUnderTest.parse( new JsonTokenizer( new StringReader( input ) ) );
+   }//End Method
+
+   @Test public void shouldHandleValuesInDocumentOrder(){
+      handles.put( KEY_A, handle );
+      handles.put( KEY_B, handle );
+      parse( "{\"KeyB\":\"b\",\"KeyC\":\"c\",\"KeyA\":\"a\"}" );
+
+      keyRecorder.expect( KEY_B, "b" );
+      keyRecorder.expect( KEY_A, "a" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldNavigateObjectsAndArraysAsTreeParsingWould(){
+      handles.put( KEY_A, handle );
+      handles.put( KEY_B, handle );
+      handles.put( KEY_C, handle );
+      parse( "{\"KeyA\":[{\"KeyB\":\"b\"},\"v\",[\"w\"]],\"KeyC\":{\"KeyB\":\"x\"}}" );
+
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, "b" );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expect( KEY_A, "v" );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, "w" );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expect( KEY_C, OBJECT_STARTED );
+      keyRecorder.expect( KEY_B, "x" );
+      keyRecorder.expect( KEY_C, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldNavigateThroughUnhandledStructures(){
+      handles.put( KEY_B, handle );
+      parse( "{\"KeyA\":[{\"KeyB\":\"b\"}],\"KeyC\":{\"KeyB\":\"x\"}}" );
+
+      keyRecorder.expect( KEY_B, "b" );
+      keyRecorder.expect( KEY_B, "x" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldGiveEachElementAtItsIndex(){
+      List< String > elements = new ArrayList<>();
+      handles.put( KEY_A, new StringParseHandle( ( String value ) -> {} ) {
+         @Override public void startedObject( String key ) {}
+         @Override public void finishedObject( String key ) {}
+         @Override public void startedArray( String key ) {}
+         @Override public void finishedArray( String key ) {}
+         @Override public void handle( String key, JSONArray array, int index ) {
+            elements.add( index + "=" + array.getString( index ) + "/" + array.length() );
+         }//End Method
+      } );
+      parse( "{\"KeyA\":[\"a\",{\"KeyB\":\"b\"},[\"c\"],\"d\"]}" );
+      
+      assertThat( elements, contains( "0=a/1", "0=c/1", "3=d/4" ) );
+   }//End Method
+
+   @Test public void shouldUseExistingTypeHandles(){
+      List< Integer > values = new ArrayList<>();
+      handles.put( KEY_A, new IntegerParseHandle( ( Integer value ) -> values.add( value ) ) );
+      parse( "{\"KeyA\":5,\"KeyB\":{\"KeyA\":6}}" );
+
+      assertThat( values.size(), is( 2 ) );
+      assertThat( values.get( 0 ), is( 5 ) );
+      assertThat( values.get( 1 ), is( 6 ) );
+   }//End Method
+
+   @Test public void shouldResolveKeysInKeyPool(){
+      List< String > keys = new ArrayList<>();
+      handles.put( KEY_A, new StringParseHandle( ( String key, String value ) -> keys.add( key ) ) );
+      JsonStringPool pool = new JsonStringPool();
+      systemUnderTest = new JsonStreamParser( handles::get, new JsonPathNode(), false, pool );
+      parse( "{\"KeyA\":\"a\",\"KeyB\":[{\"KeyA\":\"b\"},{\"KeyA\":\"c\"}]}" );
+      
+      assertThat( keys.size(), is( 3 ) );
+      assertThat( keys.get( 1 ), is( sameInstance( keys.get( 0 ) ) ) );
+      assertThat( keys.get( 2 ), is( sameInstance( keys.get( 0 ) ) ) );
+      assertThat( pool.getHits(), is( 2L ) );
+   }//End Method
+
+   @Test public void shouldStopReadingAtEndOfObject(){
+      handles.put( KEY_A, handle );
+      JsonTokenizer tokenizer = new JsonTokenizer( new StringReader( "{\"KeyA\":\"a\"}{\"KeyA\":\"b\"}" ) );
+
+      systemUnderTest.parse( tokenizer );
+      keyRecorder.expect( KEY_A, "a" );
+      keyRecorder.expectKeysFound();
+
+      systemUnderTest.parse( tokenizer );
+      keyRecorder.expect( KEY_A, "b" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   /**
+    * Method to register a {@link SignallingKeyRecorder} for all keys.
+    * @param trigger the value to signal on.
+    * @param signal the {@link JsonParseSignal} to throw.
+    * @return the {@link SignallingKeyRecorder}.
+    */
+   private SignallingKeyRecorder signalOn( String trigger, JsonParseSignal signal ) {
+      SignallingKeyRecorder recorder = new SignallingKeyRecorder( trigger, signal );
+      JsonHandle signallingHandle = new StringParseHandle( recorder );
+      handles.put( KEY_A, signallingHandle );
+      handles.put( KEY_B, signallingHandle );
+      handles.put( KEY_C, signallingHandle );
+      return recorder;
+   }//End Method
+
+   @Test public void shouldStopWithoutReadingFurther(){
+      SignallingKeyRecorder recorder = signalOn( "b", JsonParseSignal.STOP );
+      JsonTokenizer tokenizer = new JsonTokenizer( new StringReader( "{\"KeyA\":{\"KeyB\":\"b\",\"KeyC\":\"c\"}}{\"KeyA\":\"a\"}" ) );
+      
+      assertThat( systemUnderTest.parse( tokenizer ), is( false ) );
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, "b" );
+      recorder.expectKeysFound();
+      assertThat( tokenizer.depth(), is( 2 ) );
+   }//End Method
+
+   @Test public void shouldReadPastSkippedSiblings(){
+      SignallingKeyRecorder recorder = signalOn( "b", JsonParseSignal.SKIP_SIBLINGS );
+      JsonTokenizer tokenizer = new JsonTokenizer( new StringReader( 
+               "{\"KeyA\":[\"a\",\"b\",{\"KeyC\":\"c\"}],\"KeyC\":\"x\"}" 
+      ) );
+      
+      assertThat( systemUnderTest.parse( tokenizer ), is( true ) );
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, "a" );
+      recorder.expect( KEY_A, "b" );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldSkipSiblingsOfStartedStructure(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SIBLINGS );
+      handles.remove( KEY_B );
+      parse( "{\"KeyA\":[{\"KeyB\":\"b\"},{\"KeyB\":\"c\"}],\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldSkipSiblingsOfFinishedStructure(){
+      SignallingKeyRecorder recorder = signalOn( ARRAY_FINISHED, JsonParseSignal.SKIP_SIBLINGS );
+      parse( "{\"KeyB\":{\"KeyA\":[\"a\"],\"KeyC\":\"c\"},\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_B, OBJECT_STARTED );
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, "a" );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_B, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldSkipStartedSubtree(){
+      SignallingKeyRecorder recorder = signalOn( ARRAY_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      parse( "{\"KeyA\":[\"a\",[\"b\"]],\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldFinishStartedSubtreeWhenSkippingSiblings(){
+      SignallingKeyRecorder recorder = signalOn( ARRAY_STARTED, JsonParseSignal.SKIP_SIBLINGS );
+      parse( "{\"KeyB\":{\"KeyA\":[\"a\"],\"KeyC\":\"c\"},\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_B, OBJECT_STARTED );
+      recorder.expect( KEY_A, ARRAY_STARTED );
+      recorder.expect( KEY_A, ARRAY_FINISHED );
+      recorder.expect( KEY_B, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldNotFinishStartedSubtreeWhenStopping(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.STOP );
+      parse( "{\"KeyA\":{\"KeyB\":\"b\"},\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldFinishSkippedSubtreeForPathHandleAsWell(){
+      SignallingKeyRecorder recorder = signalOn( OBJECT_STARTED, JsonParseSignal.SKIP_SUBTREE );
+      JsonPathNode paths = new JsonPathNode();
+      paths.register( new String[]{ KEY_A }, handle );
+      systemUnderTest = new JsonStreamParser( handles::get, paths, false, new JsonStringPool() );
+      parse( "{\"KeyA\":{\"KeyB\":\"b\"},\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldCallPathHandleForValueBeforeHonouringSkip(){
+      SignallingKeyRecorder recorder = signalOn( "b", JsonParseSignal.SKIP_SIBLINGS );
+      JsonPathNode paths = new JsonPathNode();
+      paths.register( new String[]{ KEY_A, KEY_B }, handle );
+      systemUnderTest = new JsonStreamParser( handles::get, paths, false, new JsonStringPool() );
+      parse( "{\"KeyA\":{\"KeyB\":\"b\",\"KeyC\":\"c\"},\"KeyC\":\"x\"}" );
+      
+      recorder.expect( KEY_A, OBJECT_STARTED );
+      recorder.expect( KEY_B, "b" );
+      recorder.expect( KEY_A, OBJECT_FINISHED );
+      recorder.expect( KEY_C, "x" );
+      recorder.expectKeysFound();
+      keyRecorder.expect( KEY_B, "b" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldCollectArrayForArrayHandle(){
+      List< JSONArray > arrays = new ArrayList<>();
+      handles.put( KEY_A, new DoubleArrayParseHandle( ( double[] values ) -> {} ) {
+         @Override public void handleArray( String key, JSONArray array ) {
+            arrays.add( array );
+         }//End Method
+      } );
+      handles.put( KEY_B, handle );
+      parse( "{\"KeyA\":[1, \"two\", [3], {\"KeyB\":\"b\"}, null, 6],\"KeyB\":\"x\"}" );
+      
+      assertThat( arrays.size(), is( 1 ) );
+      assertThat( arrays.get( 0 ).toString(), is( "[1,\"two\",null,null,null,6]" ) );
+      keyRecorder.expect( KEY_B, "x" );
+      keyRecorder.expectKeysFound();
+   }//End Method
+
+   @Test public void shouldCollectArrayAndNavigateForOtherHandles(){
+      List< int[] > arrays = new ArrayList<>();
+      handles.put( KEY_A, new IntArrayParseHandle( ( int[] values ) -> arrays.add( values ) ) );
+      systemUnderTest = new JsonStreamParser( handles::get, pathTo( KEY_A, handle ), false, null );
+      parse( "{\"KeyA\":[1, {\"KeyB\":\"b\"}, 3]}" );
+      
+      assertThat( arrays.size(), is( 1 ) );
+      assertThat( arrays.get( 0 )[ 0 ], is( 1 ) );
+      assertThat( arrays.get( 0 )[ 2 ], is( 3 ) );
+      keyRecorder.expect( KEY_A, ARRAY_STARTED );
+      keyRecorder.expect( KEY_A, "1" );
+      keyRecorder.expect( KEY_A, OBJECT_STARTED );
+      keyRecorder.expect( KEY_A, OBJECT_FINISHED );
+      keyRecorder.expect( KEY_A, "3" );
+      keyRecorder.expect( KEY_A, ARRAY_FINISHED );
+      keyRecorder.expectKeysFound();
+   }//End Method
+   
+   /**
+    * Method to construct the {@link JsonPathNode}s for a single path.
+    * @param path the path.
+    * @param pathHandle the {@link JsonHandle} for the path.
+    * @return the root {@link JsonPathNode}.
+    */
+   private JsonPathNode pathTo( String path, JsonHandle pathHandle ) {
+      JsonPathNode root = new JsonPathNode();
+      root.register( JsonPathNode.keysOf( path ), pathHandle );
+      return root;
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectNonObject(){
+      parse( "[1, 2]" );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectTruncatedInput(){
+      parse( "{\"KeyA\":[1, 2" );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,404 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.stream.JsonWriter;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+import uk.dangrew.jupa.json.write.handle.key.JsonArrayWithObjectWriteHandler;
+import uk.dangrew.jupa.json.write.handle.key.JsonArrayWriteHandler;
+import uk.dangrew.jupa.json.write.handle.key.JsonValueWriteHandler;
+import uk.dangrew.jupa.json.write.handle.type.JsonWriteHandleImpl;
+
+/**
+ * {@link JsonStreamWriter} test.
+ */
+public class JsonStreamWriterTest {
+
+   private static final String NAME = "name";
+   private static final String DETAILS = "details";
+   private static final String AGE = "age";
+   private static final String SKILLS = "skills";
+   private static final String PROJECTS = "projects";
+   private static final String PROJECT = "project";
+   private static final String TITLE = "title";
+   private static final String MISSING = "missing";
+
+   private static final List< String > SKILL_VALUES = Arrays.asList( "Java", "Testing", "Design" );
+   private static final List< String > PROJECT_VALUES = Arrays.asList( "JUPA", "SystemDigest" );
+
+   private List< String > events;
+   private int projectIndex;
+   private JsonStructure structure;
+   private JsonParser parser;
+
+   @Before public void initialiseSystemUnderTest(){
+      events = new ArrayList<>();
+      projectIndex = -1;
+
+      structure = new JsonStructure();
+      structure.value( NAME, structure.root() );
+      structure.child( DETAILS, structure.root() );
+      structure.value( AGE, DETAILS );
+      structure.array( SKILLS, structure.root(), key -> SKILL_VALUES.size() );
+      structure.array( PROJECTS, structure.root(), key -> PROJECT_VALUES.size() );
+      structure.child( PROJECT, PROJECTS );
+      structure.value( TITLE, PROJECT );
+
+      parser = new JsonParser();
+      parser.when( NAME, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> "Dan" ) ) );
+      parser.when( AGE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> 30 ) ) );
+      parser.when( SKILLS, new JsonWriteHandleImpl( new JsonArrayWriteHandler( ( key, index ) -> SKILL_VALUES.get( index ) ) ) );
+      parser.when( PROJECTS, new JsonWriteHandleImpl( new JsonArrayWithObjectWriteHandler(
+               key -> { projectIndex++; events.add( "started " + key ); },
+               key -> events.add( "finished " + key ),
+               key -> events.add( "started array " + key ),
+               key -> events.add( "finished array " + key )
+      ) ) );
+      parser.when( TITLE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> PROJECT_VALUES.get( projectIndex ) ) ) );
+   }//End Method
+
+   /**
+    * Method to write the structure by building it and parsing the write handles over it.
+    * @return the {@link JSONObject} written.
+    */
+   private JSONObject writeByBuilding(){
+      projectIndex = -1;
+      JSONObject object = new JSONObject();
+      structure.build( object );
+      parser.parse( object );
+      return object;
+   }//End Method
+
+   /**
+    * Method to write the structure with the {@link JsonStreamWriter}.
+    * @param ordering the {@link JsonKeyOrdering} to write in.
+    * @return the json written.
+    */
+   private String writeByStreaming( JsonKeyOrdering ordering ){
+      projectIndex = -1;
+      parser.setKeyOrdering( ordering );
+      StringWriter output = new StringWriter();
+      parser.writeStream( structure, output );
+      return output.toString();
+   }//End Method
+
+   @Test public void shouldWriteSameJsonAsBuildingAndParsing(){
+      JSONObject expected = writeByBuilding();
+      assertThat( new JSONObject( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ) ).similar( expected ), is( true ) );
+      assertThat( new JSONObject( writeByStreaming( JsonKeyOrdering.DOCUMENT ) ).similar( expected ), is( true ) );
+   }//End Method
+
+   @Test public void shouldWriteArraysOfValuesAndObjects(){
+      JSONObject written = new JSONObject( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ) );
+
+      JSONArray skills = written.getJSONArray( SKILLS );
+      assertThat( skills.length(), is( SKILL_VALUES.size() ) );
+      for ( int i = 0; i < SKILL_VALUES.size(); i++ ) {
+         assertThat( skills.get( i ), is( SKILL_VALUES.get( i ) ) );
+      }
+
+      JSONArray projects = written.getJSONArray( PROJECTS );
+      assertThat( projects.length(), is( PROJECT_VALUES.size() ) );
+      for ( int i = 0; i < PROJECT_VALUES.size(); i++ ) {
+         assertThat( projects.getJSONObject( i ).get( TITLE ), is( PROJECT_VALUES.get( i ) ) );
+      }
+      assertThat( written.getJSONObject( DETAILS ).get( AGE ), is( 30 ) );
+   }//End Method
+
+   @Test public void shouldWriteKeysAlphabeticallyWhenOrdered(){
+      assertThat( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ), is(
+               "{\"details\":{\"age\":30},\"name\":\"Dan\",\"projects\":[{\"title\":\"JUPA\"},{\"title\":\"SystemDigest\"}],"
+               + "\"skills\":[\"Java\",\"Testing\",\"Design\"]}"
+      ) );
+   }//End Method
+
+   @Test public void shouldWriteKeysInStructureOrderOtherwise(){
+      assertThat( writeByStreaming( JsonKeyOrdering.DOCUMENT ), is(
+               "{\"name\":\"Dan\",\"details\":{\"age\":30},\"skills\":[\"Java\",\"Testing\",\"Design\"],"
+               + "\"projects\":[{\"title\":\"JUPA\"},{\"title\":\"SystemDigest\"}]}"
+      ) );
+   }//End Method
+
+   @Test public void shouldWriteVersionFirstWhenVersioned(){
+      structure.setVersion( 4 );
+      assertThat( writeByStreaming( JsonKeyOrdering.DOCUMENT ), is(
+               "{\"jupaVersion\":4,\"name\":\"Dan\",\"details\":{\"age\":30},\"skills\":[\"Java\",\"Testing\",\"Design\"],"
+               + "\"projects\":[{\"title\":\"JUPA\"},{\"title\":\"SystemDigest\"}]}"
+      ) );
+      assertThat( new JSONObject( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ) ).similar( writeByBuilding() ), is( true ) );
+   }//End Method
+
+   @Test public void shouldNotifyObjectAndArrayCallbacksAsParsing(){
+      writeByBuilding();
+      List< String > parsed = new ArrayList<>( events );
+      events.clear();
+
+      writeByStreaming( JsonKeyOrdering.ALPHABETICAL );
+      assertThat( events, is( parsed ) );
+      assertThat( events, contains(
+               "started array " + PROJECTS,
+               "started " + PROJECTS, "finished " + PROJECTS,
+               "started " + PROJECTS, "finished " + PROJECTS,
+               "finished array " + PROJECTS
+      ) );
+   }//End Method
+
+   @Test public void shouldWriteNullForValuesWithoutHandles(){
+      structure.value( MISSING, structure.root() );
+      JSONObject written = new JSONObject( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ) );
+      assertThat( written.has( MISSING ), is( true ) );
+      assertThat( written.isNull( MISSING ), is( true ) );
+   }//End Method
+
+   @Test public void shouldWriteValuesFromPathHandles(){
+      parser = new JsonParser();
+      parser.whenPath( DETAILS + "." + AGE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> 42 ) ) );
+
+      JSONObject written = new JSONObject( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ) );
+      assertThat( written.getJSONObject( DETAILS ).get( AGE ), is( 42 ) );
+      assertThat( written.isNull( NAME ), is( true ) );
+   }//End Method
+
+   @Test public void shouldWriteEmptyArrays(){
+      structure = new JsonStructure();
+      structure.array( SKILLS, structure.root(), key -> 0 );
+      assertThat( writeByStreaming( JsonKeyOrdering.ALPHABETICAL ), is( "{\"skills\":[]}" ) );
+   }//End Method
+
+   /**
+    * Method to write the structure with the {@link JsonStreamWriter} using the given {@link JsonFragmentCache}.
+    * @param fragments the {@link JsonFragmentCache}.
+    * @param indentFactor the indent factor to write with.
+    * @return the json written.
+    */
+   private String writeWithFragments( JsonFragmentCache fragments, int indentFactor ){
+      projectIndex = -1;
+      StringWriter output = new StringWriter();
+      parser.writeStream( structure, new JsonWriter( output, indentFactor ), fragments );
+      return output.toString();
+   }//End Method
+
+   @Test public void shouldReuseCachedFragmentsWithoutCallingHandlesWhileUnchanged(){
+      AtomicLong version = new AtomicLong();
+      AtomicInteger ageWrites = new AtomicInteger();
+      parser.when( AGE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> ageWrites.incrementAndGet() ) ) );
+
+      JsonFragmentCache fragments = new JsonFragmentCache();
+      fragments.track( DETAILS, version::get );
+
+      String first = writeWithFragments( fragments, 0 );
+      assertThat( ageWrites.get(), is( 1 ) );
+      assertThat( new JSONObject( first ).getJSONObject( DETAILS ).getInt( AGE ), is( 1 ) );
+
+      String second = writeWithFragments( fragments, 0 );
+      assertThat( second, is( first ) );
+      assertThat( ageWrites.get(), is( 1 ) );
+      assertThat( fragments.getHits(), is( 1L ) );
+
+      version.incrementAndGet();
+      String third = writeWithFragments( fragments, 0 );
+      assertThat( ageWrites.get(), is( 2 ) );
+      assertThat( new JSONObject( third ).getJSONObject( DETAILS ).getInt( AGE ), is( 2 ) );
+
+      fragments.invalidate( DETAILS );
+      writeWithFragments( fragments, 0 );
+      assertThat( ageWrites.get(), is( 3 ) );
+   }//End Method
+
+   @Test public void shouldCacheArraysAndValuesWithOthersWrittenAsNormal(){
+      JsonFragmentCache fragments = new JsonFragmentCache();
+      fragments.track( PROJECTS, () -> 0 );
+      fragments.track( NAME, () -> 0 );
+
+      String first = writeWithFragments( fragments, 0 );
+      events.clear();
+      String second = writeWithFragments( fragments, 0 );
+
+      assertThat( second, is( first ) );
+      assertThat( events.isEmpty(), is( true ) );
+      assertThat( new JSONObject( second ).similar( writeByBuilding() ), is( true ) );
+      assertThat( fragments.getHits(), is( 2L ) );
+   }//End Method
+
+   @Test public void shouldCacheNestedTrackedNodes(){
+      AtomicLong outer = new AtomicLong();
+      AtomicInteger ageWrites = new AtomicInteger();
+      parser.when( AGE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> ageWrites.incrementAndGet() ) ) );
+
+      JsonFragmentCache fragments = new JsonFragmentCache();
+      fragments.track( DETAILS, outer::get );
+      fragments.track( AGE, () -> 0 );
+
+      String first = writeWithFragments( fragments, 3 );
+      outer.incrementAndGet();
+      String second = writeWithFragments( fragments, 3 );
+
+      assertThat( second, is( first ) );
+      assertThat( ageWrites.get(), is( 1 ) );
+   }//End Method
+
+   @Test public void shouldWriteAgainWhenIndentationChanges(){
+      JsonFragmentCache fragments = new JsonFragmentCache();
+      fragments.track( DETAILS, () -> 0 );
+
+      String compact = writeWithFragments( fragments, 0 );
+      String indented = writeWithFragments( fragments, 2 );
+
+      assertThat( indented.contains( "\n" ), is( true ) );
+      assertThat( new JSONObject( indented ).similar( new JSONObject( compact ) ), is( true ) );
+      assertThat( writeWithFragments( fragments, 2 ), is( indented ) );
+   }//End Method
+
+   @Test public void shouldNotCacheNodesWithinArrays(){
+      JsonFragmentCache fragments = new JsonFragmentCache();
+      fragments.track( TITLE, () -> 0 );
+
+      writeWithFragments( fragments, 0 );
+      JSONObject written = new JSONObject( writeWithFragments( fragments, 0 ) );
+
+      JSONArray projects = written.getJSONArray( PROJECTS );
+      for ( int i = 0; i < PROJECT_VALUES.size(); i++ ) {
+         assertThat( projects.getJSONObject( i ).get( TITLE ), is( PROJECT_VALUES.get( i ) ) );
+      }
+      assertThat( fragments.getHits(), is( 0L ) );
+      assertThat( fragments.getMisses(), is( 0L ) );
+   }//End Method
+
+   @Test public void shouldWriteIndentedThroughJsonWriter(){
+      structure = new JsonStructure();
+      structure.value( NAME, structure.root() );
+      StringWriter output = new StringWriter();
+      new JsonStreamWriter( key -> null, new JsonPathNode(), JsonKeyOrdering.ALPHABETICAL )
+         .write( structure, new JsonWriter( output, 2 ) );
+      assertThat( output.toString(), is( "{\n  \"name\": null\n}" ) );
+   }//End Method
+
+   /**
+    * Method to write the structure with the {@link JsonStreamWriter} in parallel.
+    * @param threshold the threshold for arrays to be divided.
+    * @param fragments the {@link JsonFragmentCache}, can be null.
+    * @param indentFactor the indent factor to write with.
+    * @return the json written.
+    */
+   private String writeInParallel( int threshold, JsonFragmentCache fragments, int indentFactor ){
+      parser.setWriteParallelism( new JsonWriteParallelism( threshold, new ForkJoinPool( 2 ) ) );
+      String written = writeWithFragments( fragments, indentFactor );
+      parser.setWriteParallelism( null );
+      return written;
+   }//End Method
+
+   @Test public void shouldWriteSameJsonInParallelAsSequentially(){
+      String compact = writeWithFragments( null, 0 );
+      String indented = writeWithFragments( null, 3 );
+      List< String > sequentialEvents = new ArrayList<>( events );
+      events.clear();
+
+      assertThat( writeInParallel( 3, null, 0 ), is( compact ) );
+      assertThat( writeInParallel( 3, null, 3 ), is( indented ) );
+      assertThat( events, is( sequentialEvents ) );
+   }//End Method
+
+   @Test public void shouldDivideLargeArraysIntoPortionsWrittenOnPool(){
+      Set< Thread > threads = ConcurrentHashMap.newKeySet();
+      structure = new JsonStructure();
+      structure.value( NAME, structure.root() );
+      structure.array( SKILLS, structure.root(), key -> 1000 );
+      structure.array( PROJECTS, structure.root(), key -> 50 );
+      structure.child( PROJECT, PROJECTS );
+      structure.value( TITLE, PROJECT );
+      parser.when( SKILLS, new JsonWriteHandleImpl( new JsonArrayWriteHandler( ( key, index ) -> {
+         threads.add( Thread.currentThread() );
+         return index;
+      } ) ) );
+      parser.when( PROJECTS, new JsonWriteHandleImpl( new JsonArrayWithObjectWriteHandler(
+               key -> {}, key -> {}, key -> events.add( "started array " + key ), key -> events.add( "finished array " + key )
+      ) ) );
+      parser.when( TITLE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> TITLE ) ) );
+
+      String sequential = writeWithFragments( null, 2 );
+      threads.clear();
+      events.clear();
+
+      assertThat( writeInParallel( 10, null, 2 ), is( sequential ) );
+      assertThat( threads.isEmpty(), is( false ) );
+      assertThat( threads.contains( Thread.currentThread() ), is( false ) );
+      assertThat( events, contains( "started array " + PROJECTS, "finished array " + PROJECTS ) );
+   }//End Method
+
+   @Test public void failureInOnePortionShouldCancelOtherPortions(){
+      ForkJoinPool pool = new ForkJoinPool( 1 );
+      AtomicInteger written = new AtomicInteger();
+      structure = new JsonStructure();
+      structure.array( SKILLS, structure.root(), key -> 1000 );
+      parser.when( SKILLS, new JsonWriteHandleImpl( new JsonArrayWriteHandler( ( key, index ) -> {
+         if ( index == 0 ) {
+            throw new IllegalStateException( "Failed in first portion." );
+         }
+         written.incrementAndGet();
+         try {
+            Thread.sleep( 1 );
+         } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+         }
+         return index;
+      } ) ) );
+      parser.setWriteParallelism( new JsonWriteParallelism( 10, pool ) );
+      
+      try {
+         writeWithFragments( null, 0 );
+         fail( "Failure should be rethrown." );
+      } catch ( RuntimeException exception ) {
+         //rethrown, possibly wrapping the original from the pool thread
+      } finally {
+         pool.shutdown();
+      }
+      pool.awaitQuiescence( 10, TimeUnit.SECONDS );
+      
+      assertThat( written.get() <= 1000 / JsonArrayPortions.PORTIONS_PER_THREAD, is( true ) );
+   }//End Method
+
+   @Test public void shouldReuseCachedFragmentsInParallel(){
+      AtomicInteger ageWrites = new AtomicInteger();
+      parser.when( AGE, new JsonWriteHandleImpl( new JsonValueWriteHandler( () -> ageWrites.incrementAndGet() ) ) );
+      JsonFragmentCache fragments = new JsonFragmentCache();
+      fragments.track( DETAILS, () -> 0 );
+      fragments.track( SKILLS, () -> 0 );
+
+      String first = writeInParallel( 1, fragments, 3 );
+      String second = writeInParallel( 1, fragments, 3 );
+
+      assertThat( second, is( first ) );
+      assertThat( ageWrites.get(), is( 1 ) );
+      assertThat( fragments.getHits(), is( 2L ) );
+      assertThat( fragments.getMisses(), is( 2L ) );
+   }//End Method
+
+}//End Class
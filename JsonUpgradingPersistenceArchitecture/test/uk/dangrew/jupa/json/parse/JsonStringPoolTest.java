@@ -0,0 +1,107 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonStringPool} test.
+ */
+public class JsonStringPoolTest {
+
+   private JsonStringPool systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest() {
+      systemUnderTest = new JsonStringPool( 16, 8 );
+   }//End Method
+   
+   @Test public void shouldProvideFirstInstanceForEqualStrings() {
+      String first = new String( "value" );
+      String second = new String( "value" );
+      
+      assertThat( systemUnderTest.canonical( first ), is( sameInstance( first ) ) );
+      assertThat( systemUnderTest.canonical( second ), is( sameInstance( first ) ) );
+      assertThat( systemUnderTest.canonical( "other" ), is( "other" ) );
+   }//End Method
+   
+   @Test public void shouldCountHitsAndMisses() {
+      assertThat( systemUnderTest.getHitRate(), is( 0.0 ) );
+      
+      systemUnderTest.canonical( new String( "value" ) );
+      systemUnderTest.canonical( new String( "value" ) );
+      systemUnderTest.canonical( new String( "value" ) );
+      systemUnderTest.canonical( new String( "other" ) );
+      
+      assertThat( systemUnderTest.getHits(), is( 2L ) );
+      assertThat( systemUnderTest.getMisses(), is( 2L ) );
+      assertThat( systemUnderTest.getHitRate(), is( closeTo( 0.5, 0.0001 ) ) );
+   }//End Method
+   
+   @Test public void shouldNotPoolLongStringsOrNull() {
+      String first = new String( "longer than eight" );
+      systemUnderTest.canonical( first );
+      
+      assertThat( systemUnderTest.canonical( new String( first ) ), is( not( sameInstance( first ) ) ) );
+      assertThat( systemUnderTest.canonical( null ), is( nullValue() ) );
+      assertThat( systemUnderTest.getHits(), is( 0L ) );
+      assertThat( systemUnderTest.getMisses(), is( 0L ) );
+   }//End Method
+   
+   @Test public void shouldRemainBoundedByCapacity() {
+      for ( int i = 0; i < 1000; i++ ) {
+         systemUnderTest.canonical( Integer.toString( i ) );
+      }
+      assertThat( systemUnderTest.getCapacity(), is( 16 ) );
+      
+      int pooled = 0;
+      for ( int i = 0; i < 1000; i++ ) {
+         String value = new String( Integer.toString( i ) );
+         if ( systemUnderTest.canonical( value ) != value ) {
+            pooled++;
+         }
+      }
+      assertThat( pooled <= 16, is( true ) );
+   }//End Method
+   
+   @Test public void shouldRoundCapacityToPowerOfTwo() {
+      assertThat( new JsonStringPool( 100, 8 ).getCapacity(), is( 128 ) );
+      assertThat( new JsonStringPool( 1, 8 ).getCapacity(), is( 1 ) );
+      assertThat( new JsonStringPool().getCapacity(), is( JsonStringPool.DEFAULT_CAPACITY ) );
+      assertThat( new JsonStringPool().getMaximumLength(), is( JsonStringPool.DEFAULT_MAXIMUM_LENGTH ) );
+   }//End Method
+   
+   @Test public void shouldClearPoolAndStatistics() {
+      String first = new String( "value" );
+      systemUnderTest.canonical( first );
+      systemUnderTest.canonical( first );
+      systemUnderTest.clear();
+      
+      assertThat( systemUnderTest.getHits(), is( 0L ) );
+      assertThat( systemUnderTest.getMisses(), is( 0L ) );
+      assertThat( systemUnderTest.canonical( new String( "value" ) ), is( not( sameInstance( first ) ) ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptZeroCapacity() {
+      new JsonStringPool( 0, 8 );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNegativeMaximumLength() {
+      new JsonStringPool( 16, -1 );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,52 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * {@link JsonWriteParallelism} test.
+ */
+public class JsonWriteParallelismTest {
+
+   @Test public void shouldProvideDefaults(){
+      JsonWriteParallelism systemUnderTest = new JsonWriteParallelism( 100 );
+      assertThat( systemUnderTest.getThreshold(), is( 100 ) );
+      assertThat( systemUnderTest.getPool(), is( ForkJoinPool.commonPool() ) );
+   }//End Method
+
+   @Test public void shouldProvideConfiguration(){
+      ForkJoinPool pool = new ForkJoinPool( 2 );
+      JsonWriteParallelism systemUnderTest = new JsonWriteParallelism( 5, pool );
+      assertThat( systemUnderTest.getThreshold(), is( 5 ) );
+      assertThat( systemUnderTest.getPool(), is( pool ) );
+   }//End Method
+
+   @Test public void shouldSplitIntoPortionsForEachThread(){
+      JsonWriteParallelism systemUnderTest = new JsonWriteParallelism( 1, new ForkJoinPool( 2 ) );
+      assertThat( systemUnderTest.portionSize( 80 ), is( 10 ) );
+      assertThat( systemUnderTest.portionSize( 81 ), is( 11 ) );
+      assertThat( systemUnderTest.portionSize( 3 ), is( 1 ) );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNonPositiveThreshold(){
+      new JsonWriteParallelism( 0 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullPool(){
+      new JsonWriteParallelism( 1, null );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,81 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse;
+
+/**
+ * The {@link SignallingKeyRecorder} is a {@link DefaultKeyRecorder} that throws a {@link JsonParseSignal}
+ * once it has recorded a particular value.
+ */
+public class SignallingKeyRecorder extends DefaultKeyRecorder {
+
+   private final String trigger;
+   private final JsonParseSignal signal;
+   
+   /**
+    * Constructs a new {@link SignallingKeyRecorder}.
+    * @param trigger the value, or event such as {@link DefaultKeyRecorder#OBJECT_STARTED}, to signal on.
+    * @param signal the {@link JsonParseSignal} to throw.
+    */
+   SignallingKeyRecorder( String trigger, JsonParseSignal signal ) {
+      this.trigger = trigger;
+      this.signal = signal;
+   }//End Constructor
+   
+   /**
+    * Method to throw the {@link JsonParseSignal} if the given value is the trigger.
+    * @param value the value recorded.
+    */
+   private void signalOn( String value ) {
+      if ( trigger.equals( value ) ) {
+         throw signal;
+      }
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void handle( String key, String value ) {
+      super.handle( key, value );
+      signalOn( value );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedObject( String key ) {
+      super.startedObject( key );
+      signalOn( OBJECT_STARTED );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedObject( String key ) {
+      super.finishedObject( key );
+      signalOn( OBJECT_FINISHED );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void startedArray( String key ) {
+      super.startedArray( key );
+      signalOn( ARRAY_STARTED );
+   }//End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void finishedArray( String key ) {
+      super.finishedArray( key );
+      signalOn( ARRAY_FINISHED );
+   }//End Method
+      
+}//End Class
@@ -9,11 +9,16 @@
  */
 package uk.dangrew.jupa.json.parse.handle.type;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.function.BiConsumer;
 
 import org.json.JSONArray;
@@ -21,6 +26,7 @@ import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 
+import uk.dangrew.jupa.json.parse.JsonParser;
 import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 
 /**
@@ -58,6 +64,28 @@ public class BigDecimalParseHandleTest extends JsonParseHandleImplTest< BigDecim
       verifyNoMoreInteractions( handle );
    }//End Method
 
+   @Test public void shouldConvertValuesDirectly() {
+      assertThat( BigDecimalParseHandle.convert( 5 ), is( BigDecimal.valueOf( 5 ) ) );
+      assertThat( BigDecimalParseHandle.convert( 12345678901L ), is( BigDecimal.valueOf( 12345678901L ) ) );
+      assertThat( BigDecimalParseHandle.convert( new BigInteger( "123456789012345678901" ) ), is( new BigDecimal( "123456789012345678901" ) ) );
+      assertThat( BigDecimalParseHandle.convert( 2.5 ), is( new BigDecimal( "2.5" ) ) );
+      assertThat( BigDecimalParseHandle.convert( "1.10000000000000000001" ), is( new BigDecimal( "1.10000000000000000001" ) ) );
+   }//End Method
+   
+   @Test public void shouldProvideNullForNonNumbers() {
+      assertThat( BigDecimalParseHandle.convert( "abc" ), is( nullValue() ) );
+      assertThat( BigDecimalParseHandle.convert( true ), is( nullValue() ) );
+      assertThat( BigDecimalParseHandle.convert( JSONObject.NULL ), is( nullValue() ) );
+      assertThat( BigDecimalParseHandle.convert( null ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldHandleStreamedDecimalWithoutLosingPrecision() {
+      JsonParser parser = new JsonParser();
+      parser.when( KEY, systemUnderTest );
+      parser.parseStream( new StringReader( "{\"" + KEY + "\":1.10000000000000000001}" ) );
+      verify( handle ).handle( KEY, new BigDecimal( "1.10000000000000000001" ) );
+   }//End Method
+
    @Test @Override public void handleShouldForwardToKeyHandle(){
       final BigDecimal value = BigDecimal.valueOf( 348756 );
       systemUnderTest.handle( KEY, value );
@@ -9,10 +9,14 @@
  */
 package uk.dangrew.jupa.json.parse.handle.type;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.io.StringReader;
 import java.math.BigInteger;
 import java.util.function.BiConsumer;
 
@@ -21,6 +25,7 @@ import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 
+import uk.dangrew.jupa.json.parse.JsonParser;
 import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 
 /**
@@ -58,6 +63,27 @@ public class BigIntegerParseHandleTest extends JsonParseHandleImplTest< BigInteg
       verifyNoMoreInteractions( handle );
    }//End Method
 
+   @Test public void shouldConvertValuesDirectly() {
+      assertThat( BigIntegerParseHandle.convert( 5 ), is( BigInteger.valueOf( 5 ) ) );
+      assertThat( BigIntegerParseHandle.convert( 12345678901L ), is( BigInteger.valueOf( 12345678901L ) ) );
+      assertThat( BigIntegerParseHandle.convert( "123456789012345678901" ), is( new BigInteger( "123456789012345678901" ) ) );
+   }//End Method
+   
+   @Test public void shouldProvideNullForNonIntegers() {
+      assertThat( BigIntegerParseHandle.convert( 2.5 ), is( nullValue() ) );
+      assertThat( BigIntegerParseHandle.convert( "abc" ), is( nullValue() ) );
+      assertThat( BigIntegerParseHandle.convert( false ), is( nullValue() ) );
+      assertThat( BigIntegerParseHandle.convert( JSONObject.NULL ), is( nullValue() ) );
+      assertThat( BigIntegerParseHandle.convert( null ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldHandleStreamedIntegerWithoutLosingPrecision() {
+      JsonParser parser = new JsonParser();
+      parser.when( KEY, systemUnderTest );
+      parser.parseStream( new StringReader( "{\"" + KEY + "\":123456789012345678901}" ) );
+      verify( handle ).handle( KEY, new BigInteger( "123456789012345678901" ) );
+   }//End Method
+
    @Test @Override public void handleShouldForwardToKeyHandle(){
       final BigInteger value = BigInteger.valueOf( 348756 );
       systemUnderTest.handle( KEY, value );
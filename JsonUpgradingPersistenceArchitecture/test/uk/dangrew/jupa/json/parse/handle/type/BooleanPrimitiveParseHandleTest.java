@@ -0,0 +1,86 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link BooleanPrimitiveParseHandle} test.
+ */
+public class BooleanPrimitiveParseHandleTest extends PrimitiveParseHandleImplTest {
+   
+   private ObjBooleanConsumer< String > handle;
+   
+   @SuppressWarnings("unchecked") //safe - mocking generic objects
+   @Before @Override public void initialiseSystemUnderTest() {
+      super.initialiseSystemUnderTest();
+      handle = mock( ObjBooleanConsumer.class );
+      systemUnderTest = new BooleanPrimitiveParseHandle( handle, absentHandle, navigation );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override protected void verifyValueNotHandled() {
+      verify( handle, never() ).accept( anyString(), anyBoolean() );
+   }//End Method
+
+   @Test @Override public void shouldHandleObjectAndProvideValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, true );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( handle ).accept( KEY, true );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void shouldHandleArrayAndProvideValue() {
+      JSONArray array = new JSONArray();
+      array.put( false );
+      array.put( true );
+      array.put( false );
+      
+      systemUnderTest.handle( KEY, array, 1 );
+      verify( handle ).accept( KEY, true );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void valueConstructorShouldIgnoreKey() {
+      BooleanConsumer valueHandle = mock( BooleanConsumer.class );
+      systemUnderTest = new BooleanPrimitiveParseHandle( valueHandle );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY, true );
+      systemUnderTest.handle( KEY, object );
+      systemUnderTest.handle( KEY, new JSONObject() );
+      
+      verify( valueHandle ).accept( true );
+      verifyNoMoreInteractions( valueHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullHandle() {
+      new BooleanPrimitiveParseHandle( ( ObjBooleanConsumer< String > )null, absentHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullAbsentHandle() {
+      new BooleanPrimitiveParseHandle( handle, null );
+   }//End Method
+   
+}//End Class
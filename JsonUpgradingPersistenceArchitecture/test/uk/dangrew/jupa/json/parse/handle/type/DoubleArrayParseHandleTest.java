@@ -0,0 +1,123 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link DoubleArrayParseHandle} test.
+ */
+public class DoubleArrayParseHandleTest {
+   
+   private static final String KEY = "Key";
+   
+   private List< double[] > received;
+   private List< Integer > lengths;
+   private JSONArray array;
+   private DoubleArrayParseHandle systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest() {
+      received = new ArrayList<>();
+      lengths = new ArrayList<>();
+      array = new JSONArray();
+      array.put( 1.5 );
+      array.put( -2.25 );
+      array.put( 3e10 );
+      systemUnderTest = new DoubleArrayParseHandle( ( k, values, length ) -> {
+         assertThat( k, is( KEY ) );
+         received.add( values );
+         lengths.add( length );
+      } );
+   }//End Method
+
+   @Test public void shouldProvideAllValuesInOneCall() {
+      systemUnderTest.handleArray( KEY, array );
+      
+      assertThat( received.size(), is( 1 ) );
+      assertThat( lengths.get( 0 ), is( 3 ) );
+      assertThat( received.get( 0 ), is( new double[]{ 1.5, -2.25, 3e10 } ) );
+   }//End Method
+   
+   @Test public void shouldDecodeAsArrayWould() {
+      array.put( "anything" );
+      systemUnderTest.handleArray( KEY, array );
+      assertThat( received.get( 0 )[ 3 ], is( array.optDouble( 3 ) ) );
+   }//End Method
+   
+   @Test public void shouldFillBufferProvided() {
+      double[] buffer = new double[ 10 ];
+      systemUnderTest = new DoubleArrayParseHandle( length -> buffer, ( k, values, length ) -> {
+         received.add( values );
+         lengths.add( length );
+      } );
+      
+      systemUnderTest.handleArray( KEY, array );
+      systemUnderTest.handleArray( KEY, new JSONArray() );
+      
+      assertThat( received.get( 0 ), is( sameInstance( buffer ) ) );
+      assertThat( received.get( 1 ), is( sameInstance( buffer ) ) );
+      assertThat( lengths.get( 0 ), is( 3 ) );
+      assertThat( lengths.get( 1 ), is( 0 ) );
+      assertThat( buffer[ 2 ], is( 3e10 ) );
+   }//End Method
+   
+   @Test( expected = IllegalStateException.class ) public void shouldNotAcceptBufferTooShort() {
+      systemUnderTest = new DoubleArrayParseHandle( length -> new double[ 2 ], ( k, values, length ) -> {} );
+      systemUnderTest.handleArray( KEY, array );
+   }//End Method
+   
+   @Test public void valueConstructorShouldProvideExactArray() {
+      systemUnderTest = new DoubleArrayParseHandle( ( double[] values ) -> received.add( values ) );
+      systemUnderTest.handleArray( KEY, array );
+      assertThat( received.get( 0 ), is( new double[]{ 1.5, -2.25, 3e10 } ) );
+   }//End Method
+   
+   @Test public void shouldHandleArrayForKeyOfObject() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, array );
+      systemUnderTest.handle( KEY, object );
+      assertThat( received.get( 0 ), is( new double[]{ 1.5, -2.25, 3e10 } ) );
+   }//End Method
+   
+   @Test public void shouldHandleArrayWithinArray() {
+      JSONArray outer = new JSONArray();
+      outer.put( array );
+      systemUnderTest.handle( KEY, outer, 0 );
+      assertThat( received.get( 0 ), is( new double[]{ 1.5, -2.25, 3e10 } ) );
+   }//End Method
+   
+   @Test public void shouldIgnoreValuesThatAreNotArrays() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, 1.5 );
+      systemUnderTest.handle( KEY, object );
+      systemUnderTest.handle( KEY, array, 0 );
+      assertThat( received.isEmpty(), is( true ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullHandle() {
+      new DoubleArrayParseHandle( ( Consumer< double[] > )null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullBuffers() {
+      new DoubleArrayParseHandle( null, ( k, values, length ) -> {} );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,89 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.ObjDoubleConsumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link DoublePrimitiveParseHandle} test.
+ */
+public class DoublePrimitiveParseHandleTest extends PrimitiveParseHandleImplTest {
+   
+   private ObjDoubleConsumer< String > handle;
+   
+   @SuppressWarnings("unchecked") //safe - mocking generic objects
+   @Before @Override public void initialiseSystemUnderTest() {
+      super.initialiseSystemUnderTest();
+      handle = mock( ObjDoubleConsumer.class );
+      systemUnderTest = new DoublePrimitiveParseHandle( handle, absentHandle, navigation );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override protected void verifyValueNotHandled() {
+      verify( handle, never() ).accept( anyString(), anyDouble() );
+   }//End Method
+
+   @Test @Override public void shouldHandleObjectAndProvideValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, 34.75 );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( handle ).accept( KEY, 34.75 );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void shouldHandleArrayAndProvideValue() {
+      JSONArray array = new JSONArray();
+      array.put( 0.0 );
+      array.put( 34.75 );
+      array.put( 0.0 );
+      
+      systemUnderTest.handle( KEY, array, 1 );
+      verify( handle ).accept( KEY, 34.75 );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void valueConstructorShouldIgnoreKey() {
+      DoubleConsumer valueHandle = mock( DoubleConsumer.class );
+      systemUnderTest = new DoublePrimitiveParseHandle( valueHandle );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY, -1.5 );
+      systemUnderTest.handle( KEY, object );
+      systemUnderTest.handle( KEY, new JSONObject() );
+      
+      verify( valueHandle ).accept( -1.5 );
+      verifyNoMoreInteractions( valueHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullHandle() {
+      new DoublePrimitiveParseHandle( ( ObjDoubleConsumer< String > )null, absentHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullAbsentHandle() {
+      new DoublePrimitiveParseHandle( handle, null );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,119 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.scene.layout.Priority;
+
+/**
+ * {@link EnumLookup} test.
+ */
+public class EnumLookupTest {
+
+   private enum Shade {
+      Medium,
+      MEDIUM,
+      Green,
+      GREEN;
+   }//End Enum
+
+   private EnumLookup< Priority > systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest() {
+      systemUnderTest = EnumLookup.of( Priority.class );
+   }//End Method
+   
+   @Test public void shouldShareLookupForType() {
+      assertThat( EnumLookup.of( Priority.class ), is( sameInstance( systemUnderTest ) ) );
+      assertThat( systemUnderTest.caseInsensitive(), is( sameInstance( systemUnderTest.caseInsensitive() ) ) );
+      assertThat( systemUnderTest.getEnumType(), is( sameInstance( Priority.class ) ) );
+   }//End Method
+   
+   @Test public void shouldLookupExactNames() {
+      for ( Priority priority : Priority.values() ) {
+         assertThat( systemUnderTest.lookup( priority.name() ), is( priority ) );
+      }
+      assertThat( systemUnderTest.isCaseInsensitive(), is( false ) );
+      assertThat( systemUnderTest.lookup( "always" ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldProvideNullForUnrecognisedValues() {
+      assertThat( systemUnderTest.lookup( "anything" ), is( nullValue() ) );
+      assertThat( systemUnderTest.lookup( ( String )null ), is( nullValue() ) );
+      assertThat( systemUnderTest.lookup( ( Object )null ), is( nullValue() ) );
+      assertThat( systemUnderTest.lookup( ( Object )7 ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldLookupConstantsAndNamesAsValues() {
+      assertThat( systemUnderTest.lookup( ( Object )Priority.NEVER ), is( Priority.NEVER ) );
+      assertThat( systemUnderTest.lookup( ( Object )"SOMETIMES" ), is( Priority.SOMETIMES ) );
+   }//End Method
+   
+   @Test public void shouldLookupNamesIgnoringCase() {
+      EnumLookup< Priority > lookup = systemUnderTest.caseInsensitive();
+      assertThat( lookup.isCaseInsensitive(), is( true ) );
+      assertThat( lookup.lookup( "always" ), is( Priority.ALWAYS ) );
+      assertThat( lookup.lookup( "Sometimes" ), is( Priority.SOMETIMES ) );
+      assertThat( lookup.lookup( "NEVER" ), is( Priority.NEVER ) );
+      assertThat( lookup.lookup( "neverr" ), is( nullValue() ) );
+   }//End Method
+   
+   @Test public void shouldUseFirstDeclaredWhereNamesDifferOnlyInCase() {
+      EnumLookup< Shade > lookup = EnumLookup.of( Shade.class ).caseInsensitive();
+      assertThat( lookup.lookup( "medium" ), is( Shade.Medium ) );
+      assertThat( lookup.lookup( "green" ), is( Shade.Green ) );
+      assertThat( lookup.lookup( "MEDIUM" ), is( Shade.MEDIUM ) );
+      assertThat( lookup.withAlias( "shade", Shade.GREEN ).lookup( "GrEeN" ), is( Shade.Green ) );
+   }//End Method
+   
+   @Test public void shouldLookupAliasWithoutChangingShared() {
+      EnumLookup< Priority > lookup = systemUnderTest.withAlias( "often", Priority.ALWAYS );
+      assertThat( lookup, is( not( sameInstance( systemUnderTest ) ) ) );
+      assertThat( lookup.lookup( "often" ), is( Priority.ALWAYS ) );
+      assertThat( lookup.lookup( "OFTEN" ), is( nullValue() ) );
+      assertThat( lookup.lookup( "NEVER" ), is( Priority.NEVER ) );
+      assertThat( systemUnderTest.lookup( "often" ), is( nullValue() ) );
+      
+      assertThat( lookup.caseInsensitive().lookup( "OFTEN" ), is( Priority.ALWAYS ) );
+   }//End Method
+   
+   @Test public void shouldLookupCaseInsensitiveAlias() {
+      EnumLookup< Priority > lookup = systemUnderTest.caseInsensitive().withAlias( "Often", Priority.ALWAYS );
+      assertThat( lookup.lookup( "OFTEN" ), is( Priority.ALWAYS ) );
+      assertThat( lookup.lookup( "never" ), is( Priority.NEVER ) );
+      assertThat( systemUnderTest.caseInsensitive().lookup( "often" ), is( nullValue() ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullType() {
+      EnumLookup.of( null );
+   }//End Method
+   
+   @SuppressWarnings({ "unchecked", "rawtypes" }) //deliberately misused
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNonEnumType() {
+      EnumLookup.of( ( Class )String.class );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullAlias() {
+      systemUnderTest.withAlias( null, Priority.ALWAYS );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullAliasConstant() {
+      systemUnderTest.withAlias( "often", null );
+   }//End Method
+   
+}//End Class
@@ -58,6 +58,39 @@ public class EnumParseHandleTest extends JsonParseHandleImplTest< Priority > {
       verifyNoMoreInteractions( handle );
    }//End Method
 
+   @Test public void shouldHandleNameAndProvideValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, "SOMETIMES" );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( handle ).handle( KEY, Priority.SOMETIMES );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test public void shouldProvideNullForUnrecognisedValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, "anything" );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( handle ).handle( KEY, null );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test public void shouldUseGivenLookup() {
+      systemUnderTest = new EnumParseHandle< Priority >( 
+               EnumLookup.of( Priority.class ).caseInsensitive().withAlias( "often", Priority.ALWAYS ), handle 
+      );
+      JSONArray array = new JSONArray();
+      array.put( "never" );
+      array.put( "OFTEN" );
+      
+      systemUnderTest.handle( KEY, array, 0 );
+      systemUnderTest.handle( KEY, array, 1 );
+      verify( handle ).handle( KEY, Priority.NEVER );
+      verify( handle ).handle( KEY, Priority.ALWAYS );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+
    @Test @Override public void handleShouldForwardToKeyHandle(){
       final Priority value = Priority.ALWAYS;
       systemUnderTest.handle( KEY, value );
@@ -77,7 +110,11 @@ public class EnumParseHandleTest extends JsonParseHandleImplTest< Priority > {
    }//End Method
    
    @Test( expected = IllegalArgumentException.class ) public void constructorShouldNotAcceptNullEnumType(){
-      new EnumParseHandle<>( null, handle );
+      new EnumParseHandle<>( ( Class< Priority > )null, handle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void constructorShouldNotAcceptNullLookup(){
+      new EnumParseHandle<>( ( EnumLookup< Priority > )null, handle );
    }//End Method
    
    @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullHandle() {
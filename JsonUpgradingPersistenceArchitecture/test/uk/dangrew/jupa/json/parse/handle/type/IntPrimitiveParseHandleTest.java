@@ -0,0 +1,89 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link IntPrimitiveParseHandle} test.
+ */
+public class IntPrimitiveParseHandleTest extends PrimitiveParseHandleImplTest {
+   
+   private ObjIntConsumer< String > handle;
+   
+   @SuppressWarnings("unchecked") //safe - mocking generic objects
+   @Before @Override public void initialiseSystemUnderTest() {
+      super.initialiseSystemUnderTest();
+      handle = mock( ObjIntConsumer.class );
+      systemUnderTest = new IntPrimitiveParseHandle( handle, absentHandle, navigation );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override protected void verifyValueNotHandled() {
+      verify( handle, never() ).accept( anyString(), anyInt() );
+   }//End Method
+
+   @Test @Override public void shouldHandleObjectAndProvideValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, 347 );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( handle ).accept( KEY, 347 );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void shouldHandleArrayAndProvideValue() {
+      JSONArray array = new JSONArray();
+      array.put( 0 );
+      array.put( 347 );
+      array.put( 0 );
+      
+      systemUnderTest.handle( KEY, array, 1 );
+      verify( handle ).accept( KEY, 347 );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void valueConstructorShouldIgnoreKey() {
+      IntConsumer valueHandle = mock( IntConsumer.class );
+      systemUnderTest = new IntPrimitiveParseHandle( valueHandle );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY, -12 );
+      systemUnderTest.handle( KEY, object );
+      systemUnderTest.handle( KEY, new JSONObject() );
+      
+      verify( valueHandle ).accept( -12 );
+      verifyNoMoreInteractions( valueHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullHandle() {
+      new IntPrimitiveParseHandle( ( ObjIntConsumer< String > )null, absentHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullAbsentHandle() {
+      new IntPrimitiveParseHandle( handle, null );
+   }//End Method
+   
+}//End Class
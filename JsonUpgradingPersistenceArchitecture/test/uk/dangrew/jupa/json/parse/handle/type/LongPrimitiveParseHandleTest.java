@@ -0,0 +1,89 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link LongPrimitiveParseHandle} test.
+ */
+public class LongPrimitiveParseHandleTest extends PrimitiveParseHandleImplTest {
+   
+   private ObjLongConsumer< String > handle;
+   
+   @SuppressWarnings("unchecked") //safe - mocking generic objects
+   @Before @Override public void initialiseSystemUnderTest() {
+      super.initialiseSystemUnderTest();
+      handle = mock( ObjLongConsumer.class );
+      systemUnderTest = new LongPrimitiveParseHandle( handle, absentHandle, navigation );
+   }//End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override protected void verifyValueNotHandled() {
+      verify( handle, never() ).accept( anyString(), anyLong() );
+   }//End Method
+
+   @Test @Override public void shouldHandleObjectAndProvideValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, 98765432123L );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( handle ).accept( KEY, 98765432123L );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void shouldHandleArrayAndProvideValue() {
+      JSONArray array = new JSONArray();
+      array.put( 0L );
+      array.put( 98765432123L );
+      array.put( 0L );
+      
+      systemUnderTest.handle( KEY, array, 1 );
+      verify( handle ).accept( KEY, 98765432123L );
+      verifyNoMoreInteractions( handle );
+   }//End Method
+   
+   @Test @Override public void valueConstructorShouldIgnoreKey() {
+      LongConsumer valueHandle = mock( LongConsumer.class );
+      systemUnderTest = new LongPrimitiveParseHandle( valueHandle );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY, -12L );
+      systemUnderTest.handle( KEY, object );
+      systemUnderTest.handle( KEY, new JSONObject() );
+      
+      verify( valueHandle ).accept( -12L );
+      verifyNoMoreInteractions( valueHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullHandle() {
+      new LongPrimitiveParseHandle( ( ObjLongConsumer< String > )null, absentHandle );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) @Override public void constructorShouldNotAcceptNullAbsentHandle() {
+      new LongPrimitiveParseHandle( handle, null );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,119 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.parse.handle.type;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import uk.dangrew.jupa.json.JsonNavigation;
+
+/**
+ * {@link PrimitiveParseHandleImpl} test framework.
+ */
+public abstract class PrimitiveParseHandleImplTest {
+   
+   protected static final String KEY = "Key";
+   
+   protected PrimitiveParseHandleImpl systemUnderTest;
+   @Mock protected Consumer< String > absentHandle;
+   @Mock protected JsonNavigation navigation;
+   
+   @Before public void initialiseSystemUnderTest(){
+      MockitoAnnotations.initMocks( this );
+   }//End Method
+
+   @Test public void startedObjectShouldForwardToNavigation() {
+      systemUnderTest.startedObject( KEY );
+      verify( navigation ).startedObject( KEY );
+      verifyNoMoreInteractions( navigation );
+   }//End Method
+   
+   @Test public void finishedObjectShouldForwardToNavigation() {
+      systemUnderTest.finishedObject( KEY );
+      verify( navigation ).finishedObject( KEY );
+      verifyNoMoreInteractions( navigation );
+   }//End Method
+   
+   @Test public void startedArrayShouldForwardToNavigation() {
+      systemUnderTest.startedArray( KEY );
+      verify( navigation ).startedArray( KEY );
+      verifyNoMoreInteractions( navigation );
+   }//End Method
+   
+   @Test public void finishedArrayShouldForwardToNavigation() {
+      systemUnderTest.finishedArray( KEY );
+      verify( navigation ).finishedArray( KEY );
+      verifyNoMoreInteractions( navigation );
+   }//End Method
+   
+   @Test public void shouldHandleMissingKeyInObjectAsAbsent() {
+      systemUnderTest.handle( KEY, new JSONObject() );
+      verify( absentHandle ).accept( KEY );
+      verifyValueNotHandled();
+   }//End Method
+   
+   @Test public void shouldHandleNullInObjectAsAbsent() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, JSONObject.NULL );
+      
+      systemUnderTest.handle( KEY, object );
+      verify( absentHandle ).accept( KEY );
+      verifyValueNotHandled();
+   }//End Method
+   
+   @Test public void shouldHandleMissingItemInArrayAsAbsent() {
+      systemUnderTest.handle( KEY, new JSONArray(), 1 );
+      verify( absentHandle ).accept( KEY );
+      verifyValueNotHandled();
+   }//End Method
+   
+   @Test public void shouldHandleNullInArrayAsAbsent() {
+      JSONArray array = new JSONArray();
+      array.put( JSONObject.NULL );
+      
+      systemUnderTest.handle( KEY, array, 0 );
+      verify( absentHandle ).accept( KEY );
+      verifyValueNotHandled();
+   }//End Method
+   
+   @Test public void shouldNotCallAbsentHandleForValue() {
+      JSONObject object = new JSONObject();
+      object.put( KEY, 1 );
+      
+      systemUnderTest.handle( KEY, object );
+      verifyZeroInteractions( absentHandle );
+   }//End Method
+   
+   /**
+    * Method to verify that no value was given to the handle.
+    */
+   protected abstract void verifyValueNotHandled();
+   
+   @Test public abstract void shouldHandleObjectAndProvideValue();
+   
+   @Test public abstract void shouldHandleArrayAndProvideValue();
+   
+   @Test public abstract void valueConstructorShouldIgnoreKey();
+   
+   @Test public abstract void constructorShouldNotAcceptNullHandle();
+   
+   @Test public abstract void constructorShouldNotAcceptNullAbsentHandle();
+   
+}//End Class
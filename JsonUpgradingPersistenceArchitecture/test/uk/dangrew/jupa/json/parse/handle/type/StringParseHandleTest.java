@@ -9,17 +9,25 @@
  */
 package uk.dangrew.jupa.json.parse.handle.type;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiConsumer;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import uk.dangrew.jupa.json.parse.JsonStringPool;
 import uk.dangrew.jupa.json.parse.handle.key.JsonKeyParseHandle;
 
 /**
@@ -57,6 +65,36 @@ public class StringParseHandleTest extends JsonParseHandleImplTest< String > {
       verifyNoMoreInteractions( handle );
    }//End Method
 
+   @Test public void shouldProvidePooledValues() {
+      JsonStringPool pool = new JsonStringPool();
+      systemUnderTest = new StringParseHandle( handle, pool );
+      String pooled = pool.canonical( new String( "value" ) );
+      
+      JSONObject object = new JSONObject();
+      object.put( KEY, new String( "value" ) );
+      JSONArray array = new JSONArray();
+      array.put( new String( "value" ) );
+      
+      systemUnderTest.handle( KEY, object );
+      systemUnderTest.handle( KEY, array, 0 );
+      verify( handle, times( 2 ) ).handle( Mockito.eq( KEY ), Mockito.same( pooled ) );
+      verifyNoMoreInteractions( handle );
+      assertThat( pool.getHits(), is( 2L ) );
+   }//End Method
+   
+   @Test public void methodConstructorsShouldUsePool() {
+      JsonStringPool pool = new JsonStringPool();
+      String pooled = pool.canonical( new String( "value" ) );
+      List< String > values = new ArrayList<>();
+      JSONObject object = new JSONObject();
+      object.put( KEY, new String( "value" ) );
+      
+      new StringParseHandle( ( String value ) -> values.add( value ), pool ).handle( KEY, object );
+      new StringParseHandle( ( String key, String value ) -> values.add( value ), pool ).handle( KEY, object );
+      assertThat( values.get( 0 ), is( sameInstance( pooled ) ) );
+      assertThat( values.get( 1 ), is( sameInstance( pooled ) ) );
+   }//End Method
+
    @Test @Override public void handleShouldForwardToKeyHandle(){
       final String value = "some specific value";
       systemUnderTest.handle( KEY, value );
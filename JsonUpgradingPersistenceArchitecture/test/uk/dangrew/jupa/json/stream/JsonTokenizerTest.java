@@ -0,0 +1,256 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.stream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * {@link JsonTokenizer} test.
+ */
+public class JsonTokenizerTest {
+
+   private JsonTokenizer systemUnderTest;
+
+   /**
+    * Method to tokenize the given input with a small buffer to exercise refilling.
+    * @param input the json input.
+    */
+   private void tokenize( String input ) {
+      systemUnderTest = new JsonTokenizer( new StringReader( input ), 4 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullReader(){
+      new JsonTokenizer( null );
+   }//End Method
+
+   @Test public void shouldTokenizeObjectWithValues(){
+      tokenize( "{ \"a\" : \"text\", \"b\": 12, \"c\":true,\"d\":false, \"e\":null }" );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.text(), is( "a" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.text(), is( "text" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.value(), is( 12 ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.TRUE ) );
+      assertThat( systemUnderTest.value(), is( true ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.FALSE ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NULL ) );
+      assertThat( systemUnderTest.value(), is( JSONObject.NULL ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_DOCUMENT ) );
+   }//End Method
+
+   @Test public void shouldTokenizeNestedStructures(){
+      tokenize( "{\"a\":[1,[2,3],{\"b\":{}}],\"c\":[]}" );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_ARRAY ) );
+      assertThat( systemUnderTest.depth(), is( 2 ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_ARRAY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_ARRAY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_ARRAY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_ARRAY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_ARRAY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_OBJECT ) );
+      assertThat( systemUnderTest.depth(), is( 0 ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_DOCUMENT ) );
+   }//End Method
+
+   @Test public void shouldDecodeEscapes(){
+      tokenize( "[\"quote\\\" slash\\/ tab\\t unicode\\u0041\"]" );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.text(), is( "quote\" slash/ tab\t unicodeA" ) );
+   }//End Method
+
+   @Test public void shouldProvideNumbersAsJsonObjectWould(){
+      tokenize( "[1, -2.5, 12345678901, 1e3]" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( JSONObject.stringToValue( "1" ) ) );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( JSONObject.stringToValue( "-2.5" ) ) );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( JSONObject.stringToValue( "12345678901" ) ) );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.text(), is( "1e3" ) );
+   }//End Method
+
+   @Test public void shouldProvideEdgeNumbersAsJsonObjectWould(){
+      String[] numbers = { "0", "-0", "012", "-7", "2147483648", "-2147483648", "999999999999999999", 
+               "9223372036854775807", "12345678901234567890", "0.5", "1e400", "-", "1-2" };
+      tokenize( "[" + String.join( ",", numbers ) + "]" );
+      systemUnderTest.next();
+      for ( String number : numbers ) {
+         systemUnderTest.next();
+         assertThat( number, systemUnderTest.value(), is( JSONObject.stringToValue( number ) ) );
+      }
+   }//End Method
+
+   @Test public void shouldProvideLongDecimalsWithoutLosingPrecision(){
+      tokenize( "[1.10000000000000000001, -0.000123456789012345678, 1.2345678901234567e5, 12345.6789012345]" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( new BigDecimal( "1.10000000000000000001" ) ) );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( new BigDecimal( "-0.000123456789012345678" ) ) );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( new BigDecimal( "1.2345678901234567e5" ) ) );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.value(), is( JSONObject.stringToValue( "12345.6789012345" ) ) );
+   }//End Method
+
+   @Test public void shouldSkipValue(){
+      tokenize( "{\"a\":{\"b\":[1,{\"c\":2}]},\"d\":3}" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      systemUnderTest.skipValue();
+      assertThat( systemUnderTest.current(), is( JsonToken.END_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.text(), is( "d" ) );
+   }//End Method
+
+   @Test public void shouldReadConsecutiveDocuments(){
+      tokenize( "{\"a\":1}\n{\"b\":2} [3]" );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      systemUnderTest.skipValue();
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      systemUnderTest.skipValue();
+      assertThat( systemUnderTest.next(), is( JsonToken.START_ARRAY ) );
+      systemUnderTest.skipValue();
+      assertThat( systemUnderTest.next(), is( JsonToken.END_DOCUMENT ) );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectMissingSeparator(){
+      tokenize( "{\"a\" 1}" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectMissingComma(){
+      tokenize( "[\"a\" \"b\"]" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      systemUnderTest.next();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectUnterminatedString(){
+      tokenize( "[\"abc" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+   }//End Method
+
+   @Test public void shouldAcceptUnquotedAndSingleQuotedTextAsJsonObjectWould(){
+      tokenize( "{\n\tKey: Some Value, 'quoted': 'it\"s', flag: TRUE, n: 2 }" );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.text(), is( "Key" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.text(), is( "Some Value" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.text(), is( "quoted" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.text(), is( "it\"s" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.TRUE ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.value(), is( 2 ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_OBJECT ) );
+   }//End Method
+
+   @Test public void shouldClassifyUnquotedValues(){
+      tokenize( "[abc, 'it\"s', TRUE, Null, -4, tru]" );
+      systemUnderTest.next();
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.value(), is( "abc" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.value(), is( "it\"s" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.TRUE ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NULL ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.value(), is( -4 ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.STRING ) );
+      assertThat( systemUnderTest.value(), is( "tru" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_ARRAY ) );
+   }//End Method
+
+   @Test public void shouldResumeAtNextLineAfterInvalidInput(){
+      tokenize( "{\"a\":[1, :, 2]}\n{\"b\":3}" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      systemUnderTest.next();
+      systemUnderTest.next();
+      try {
+         systemUnderTest.next();
+         fail( "Should have rejected the input." );
+      } catch ( JSONException exception ) {
+         systemUnderTest.skipToNextLine();
+      }
+      
+      assertThat( systemUnderTest.depth(), is( 0 ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.text(), is( "b" ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.NUMBER ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.END_DOCUMENT ) );
+   }//End Method
+   
+   @Test public void shouldResumeAtNextLineAfterIncompleteLine(){
+      tokenize( "{\"a\":\n{\"b\":3}" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      systemUnderTest.skipToNextLine();
+      
+      assertThat( systemUnderTest.next(), is( JsonToken.START_OBJECT ) );
+      assertThat( systemUnderTest.next(), is( JsonToken.KEY ) );
+      assertThat( systemUnderTest.text(), is( "b" ) );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectMisplacedStructuralCharacter(){
+      tokenize( "[1, :]" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      systemUnderTest.next();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectEndOfInputInsideStructure(){
+      tokenize( "{\"a\":" );
+      systemUnderTest.next();
+      systemUnderTest.next();
+      systemUnderTest.next();
+   }//End Method
+
+}//End Class
@@ -0,0 +1,271 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.stream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonWriter} test.
+ */
+public class JsonWriterTest {
+
+   private StringWriter output;
+   private JsonWriter systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      output = new StringWriter();
+      systemUnderTest = new JsonWriter( output );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullWriter(){
+      new JsonWriter( null );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNegativeIndent(){
+      new JsonWriter( output, -1 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNegativeLevel(){
+      new JsonWriter( output, 2, -1 );
+   }//End Method
+
+   @Test public void shouldWriteAtLevelForPlacingAsFragment(){
+      StringWriter placed = new StringWriter();
+      JsonWriter nested = new JsonWriter( placed, 2, 1 );
+      assertThat( nested.level(), is( 1 ) );
+      nested.startObject().key( "b" ).value( 1 ).key( "c" ).value( 2 ).endObject();
+
+      systemUnderTest = new JsonWriter( output, 2 );
+      systemUnderTest.startObject().key( "a" );
+      int mark = systemUnderTest.startCapture();
+      systemUnderTest.startObject().key( "b" ).value( 1 ).key( "c" ).value( 2 ).endObject();
+      assertThat( placed.toString(), is( systemUnderTest.endCapture( mark ) ) );
+   }//End Method
+
+   @Test public void shouldBeCompactByDefault(){
+      assertThat( systemUnderTest.getIndentFactor(), is( 0 ) );
+      assertThat( new JsonWriter( output, 3 ).getIndentFactor(), is( 3 ) );
+   }//End Method
+
+   @Test public void shouldWriteEmptyStructures(){
+      systemUnderTest.startObject().key( "a" ).startArray().endArray().key( "b" ).startObject().endObject().endObject();
+      assertThat( output.toString(), is( "{\"a\":[],\"b\":{}}" ) );
+   }//End Method
+
+   @Test public void shouldWriteValuesAsJsonObjectWould(){
+      systemUnderTest.startObject()
+         .key( "string" ).value( "text" )
+         .key( "int" ).value( 45 )
+         .key( "double" ).value( 2.5 )
+         .key( "decimal" ).value( new BigDecimal( "1.10" ) )
+         .key( "boolean" ).value( true )
+         .key( "null" ).value( null )
+         .key( "NULL" ).value( JSONObject.NULL )
+         .key( "enum" ).value( TimeUnit.SECONDS )
+      .endObject();
+
+      assertThat( output.toString(), is(
+               "{\"string\":\"text\",\"int\":45,\"double\":2.5,\"decimal\":1.1,\"boolean\":true,"
+               + "\"null\":null,\"NULL\":null,\"enum\":\"SECONDS\"}"
+      ) );
+   }//End Method
+
+   @Test public void shouldEscapeKeysAndStrings(){
+      systemUnderTest.startObject().key( "quote\"d" ).value( "line\nbreak</tag>" ).endObject();
+      JSONObject written = new JSONObject( output.toString() );
+      assertThat( written.getString( "quote\"d" ), is( "line\nbreak</tag>" ) );
+      assertThat( output.toString(), is( "{" + JSONObject.quote( "quote\"d" ) + ":" + JSONObject.quote( "line\nbreak</tag>" ) + "}" ) );
+   }//End Method
+
+   @Test public void shouldWriteArrayElementsSeparated(){
+      systemUnderTest.startArray().value( 1 ).value( "two" ).startArray().value( 3 ).endArray().endArray();
+      assertThat( output.toString(), is( "[1,\"two\",[3]]" ) );
+   }//End Method
+
+   @Test public void shouldWriteNestedJsonObjectsAndArraysThroughWriter(){
+      JSONObject object = new JSONObject();
+      object.put( "list", new JSONArray().put( 1 ).put( new JSONObject().put( "x", "y" ) ) );
+
+      systemUnderTest.startObject().key( "nested" ).value( object ).endObject();
+
+      JSONObject written = new JSONObject( output.toString() );
+      assertThat( written.getJSONObject( "nested" ).similar( object ), is( true ) );
+      assertThat( systemUnderTest.depth(), is( 0 ) );
+   }//End Method
+
+   @Test public void shouldIndentEachMemberOnItsOwnLine(){
+      systemUnderTest = new JsonWriter( output, 2 );
+      systemUnderTest.startObject()
+         .key( "a" ).value( 1 )
+         .key( "b" ).startArray().value( 2 ).value( 3 ).endArray()
+         .key( "c" ).startObject().endObject()
+      .endObject();
+
+      assertThat( output.toString(), is(
+               "{\n  \"a\": 1,\n  \"b\": [\n    2,\n    3\n  ],\n  \"c\": {}\n}"
+      ) );
+   }//End Method
+
+   @Test public void shouldProduceSameJsonAsJSONObjectWhenIndented(){
+      JSONObject object = new JSONObject();
+      object.put( "a", "value" );
+      object.put( "b", new JSONArray().put( 1 ).put( new JSONObject().put( "c", false ) ) );
+
+      systemUnderTest = new JsonWriter( output, 4 );
+      systemUnderTest.value( object );
+
+      assertThat( new JSONObject( output.toString() ).similar( object ), is( true ) );
+   }//End Method
+
+   @Test public void shouldLayOutJsonObjectsExactlyAsJSONObjectWhenIndented(){
+      JSONObject object = new JSONObject();
+      object.put( "single", new JSONObject().put( "array", new JSONArray().put( 1 ).put( new JSONObject().put( "a", 2 ).put( "b", 3 ) ) ) );
+      object.put( "singleElement", new JSONArray().put( new JSONObject().put( "c", true ).put( "d", 4 ) ) );
+      object.put( "empty", new JSONObject() );
+
+      for ( int indent = 0; indent < 4; indent++ ) {
+         output = new StringWriter();
+         new JsonWriter( output, indent ).value( object );
+         assertThat( output.toString(), is( object.toString( indent ) ) );
+      }
+   }//End Method
+
+   @Test public void shouldWriteMapsCollectionsAndArraysAsJSONObjectWould(){
+      systemUnderTest.startObject()
+         .key( "map" ).value( Collections.singletonMap( "m", 5 ) )
+         .key( "list" ).value( Arrays.asList( 1, "two" ) )
+         .key( "array" ).value( new int[] { 3, 4 } )
+      .endObject();
+      assertThat( output.toString(), is( "{\"map\":{\"m\":5},\"list\":[1,\"two\"],\"array\":[3,4]}" ) );
+   }//End Method
+
+   @Test public void shouldCaptureValuesAndWriteThemAgainAsFragments(){
+      systemUnderTest = new JsonWriter( output, 2 );
+      systemUnderTest.startObject().key( "a" );
+      assertThat( systemUnderTest.level(), is( 1 ) );
+
+      int outer = systemUnderTest.startCapture();
+      systemUnderTest.startObject().key( "b" );
+      int inner = systemUnderTest.startCapture();
+      systemUnderTest.value( 1 );
+      assertThat( systemUnderTest.endCapture( inner ), is( "1" ) );
+      systemUnderTest.key( "c" ).value( 2 ).endObject();
+      String fragment = systemUnderTest.endCapture( outer );
+      assertThat( fragment, is( "{\n    \"b\": 1,\n    \"c\": 2\n  }" ) );
+
+      systemUnderTest.key( "d" ).fragment( fragment ).endObject();
+
+      JSONObject written = new JSONObject( output.toString() );
+      assertThat( written.getJSONObject( "d" ).similar( written.getJSONObject( "a" ) ), is( true ) );
+      assertThat( output.toString(), is(
+               "{\n  \"a\": " + fragment + ",\n  \"d\": " + fragment + "\n}"
+      ) );
+   }//End Method
+
+   @Test( expected = IllegalStateException.class ) public void shouldRejectEndingCaptureNotStarted(){
+      systemUnderTest.endCapture( 0 );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNullFragment(){
+      systemUnderTest.startArray().fragment( null );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectFragmentWithoutKeyInObject(){
+      systemUnderTest.startObject().fragment( "1" );
+   }//End Method
+
+   @Test public void shouldSeparateMultipleRootValuesByLine(){
+      systemUnderTest.startObject().endObject().value( 1 );
+      assertThat( output.toString(), is( "{}\n1" ) );
+   }//End Method
+
+   @Test public void shouldTrackDepth(){
+      assertThat( systemUnderTest.depth(), is( 0 ) );
+      systemUnderTest.startObject();
+      assertThat( systemUnderTest.depth(), is( 1 ) );
+      systemUnderTest.key( "a" ).startArray();
+      assertThat( systemUnderTest.depth(), is( 2 ) );
+      systemUnderTest.endArray();
+      assertThat( systemUnderTest.depth(), is( 1 ) );
+   }//End Method
+
+   @Test public void shouldWriteDeeplyNestedStructures(){
+      for ( int i = 0; i < 100; i++ ) {
+         systemUnderTest.startArray();
+      }
+      for ( int i = 0; i < 100; i++ ) {
+         systemUnderTest.endArray();
+      }
+      assertThat( output.toString().length(), is( 200 ) );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectValueWithoutKeyInObject(){
+      systemUnderTest.startObject().value( 1 );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectKeyOutsideObject(){
+      systemUnderTest.startArray().key( "a" );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectKeyAfterKey(){
+      systemUnderTest.startObject().key( "a" ).key( "b" );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNullKey(){
+      systemUnderTest.startObject().key( null );
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectMismatchedEnd(){
+      systemUnderTest.startObject().endArray();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectEndWithKeyPending(){
+      systemUnderTest.startObject().key( "a" ).endObject();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectEndWhenNothingStarted(){
+      systemUnderTest.endObject();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldRejectNonFiniteNumbers(){
+      systemUnderTest.startArray().value( Double.NaN );
+   }//End Method
+
+   @Test public void shouldFlushWriter() throws IOException {
+      Writer writer = mock( Writer.class );
+      new JsonWriter( writer ).flush();
+      verify( writer ).flush();
+   }//End Method
+
+   @Test( expected = JSONException.class ) public void shouldWrapWriterFailures() throws IOException {
+      Writer writer = mock( Writer.class );
+      doThrow( new IOException() ).when( writer ).write( '{' );
+      new JsonWriter( writer ).startObject();
+   }//End Method
+
+}//End Class
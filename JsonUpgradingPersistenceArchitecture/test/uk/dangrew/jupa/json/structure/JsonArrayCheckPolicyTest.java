@@ -0,0 +1,108 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.json.JSONArray;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonArrayCheckPolicy} test.
+ */
+public class JsonArrayCheckPolicyTest {
+
+   private ForkJoinPool pool;
+   private JsonArrayCheckPolicy systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      pool = new ForkJoinPool( 2 );
+      systemUnderTest = JsonArrayCheckPolicy.parallel( 10, pool );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptZeroThreshold(){
+      JsonArrayCheckPolicy.parallel( 0, pool );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullPool(){
+      JsonArrayCheckPolicy.parallel( 10, null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNegativeSample(){
+      JsonArrayCheckPolicy.sampled( 10, -1, 1, 1 );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptEmptySample(){
+      JsonArrayCheckPolicy.sampled( 10, 0, 0, 0 );
+   }//End Method
+   
+   @Test public void shouldProvideFullAsSingleInstance(){
+      assertThat( JsonArrayCheckPolicy.full(), is( sameInstance( JsonArrayCheckPolicy.full() ) ) );
+      assertThat( JsonArrayCheckPolicy.full().getMode(), is( JsonArrayCheckMode.FULL ) );
+      assertThat( JsonArrayCheckPolicy.full().checksInFull( new JSONArray( new int[ 1000 ] ) ), is( true ) );
+   }//End Method
+   
+   @Test public void shouldProvideParallelConfiguration(){
+      assertThat( systemUnderTest.getMode(), is( JsonArrayCheckMode.PARALLEL ) );
+      assertThat( systemUnderTest.getThreshold(), is( 10 ) );
+      assertThat( systemUnderTest.getPool(), is( pool ) );
+   }//End Method
+   
+   @Test public void shouldProvideSampledConfiguration(){
+      systemUnderTest = JsonArrayCheckPolicy.sampled( 10, 1, 2, 3 );
+      assertThat( systemUnderTest.getMode(), is( JsonArrayCheckMode.SAMPLED ) );
+      assertThat( systemUnderTest.getPool(), is( nullValue() ) );
+      assertThat( systemUnderTest.getFirst(), is( 1 ) );
+      assertThat( systemUnderTest.getLast(), is( 2 ) );
+      assertThat( systemUnderTest.getRandom(), is( 3 ) );
+   }//End Method
+   
+   @Test public void shouldCheckInFullBelowThreshold(){
+      assertThat( systemUnderTest.checksInFull( new JSONArray( new int[ 9 ] ) ), is( true ) );
+      assertThat( systemUnderTest.checksInFull( new JSONArray( new int[ 10 ] ) ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldSplitIntoPortionsPerThread(){
+      assertThat( systemUnderTest.portionSize( 80 ), is( 10 ) );
+      assertThat( systemUnderTest.portionSize( 81 ), is( 11 ) );
+      assertThat( systemUnderTest.portionSize( 1 ), is( 1 ) );
+   }//End Method
+   
+   @Test public void shouldSampleFirstAndLast(){
+      systemUnderTest = JsonArrayCheckPolicy.sampled( 10, 2, 3, 0 );
+      assertThat( systemUnderTest.sample( 100 ), is( new int[]{ 0, 1, 97, 98, 99 } ) );
+   }//End Method
+   
+   @Test public void shouldSampleEverythingWhenOverlapping(){
+      systemUnderTest = JsonArrayCheckPolicy.sampled( 1, 3, 3, 3 );
+      assertThat( systemUnderTest.sample( 5 ), is( new int[]{ 0, 1, 2, 3, 4 } ) );
+   }//End Method
+   
+   @Test public void shouldSampleDistinctRandomElementsInOrder(){
+      systemUnderTest = JsonArrayCheckPolicy.sampled( 10, 1, 1, 20 );
+      for ( int attempt = 0; attempt < 50; attempt++ ) {
+         int[] sample = systemUnderTest.sample( 1000 );
+         assertThat( sample.length, is( 22 ) );
+         assertThat( sample[ 0 ], is( 0 ) );
+         assertThat( sample[ 21 ], is( 999 ) );
+         for ( int i = 1; i < sample.length; i++ ) {
+            assertThat( sample[ i - 1 ], is( lessThan( sample[ i ] ) ) );
+         }
+      }
+   }//End Method
+
+}//End Class
@@ -186,6 +186,9 @@ public class JsonStructureBuilderTest {
       when( mockedTree.getChildrenOf( ROOT ) ).thenReturn( Arrays.asList( ARRAY ) );
       when( mockedTree.isArray( ARRAY ) ).thenReturn( true );
       when( mockedTree.getChildrenOf( ARRAY ) ).thenReturn( Arrays.asList( "one", "two" ) );
+      when( mockedTree.getArraySizeFunction( ARRAY ) ).thenReturn( ARRAY_SIZE_FUNCTION );
+      JsonStructureSchema schema = new JsonStructureSchema( mockedTree );
+      when( mockedTree.getSchema() ).thenReturn( schema );
       
       systemUnderTest.build( jsonObject );
    }//End Method
@@ -194,4 +197,19 @@ public class JsonStructureBuilderTest {
       assertThat( systemUnderTest.getPlaceholder(), is( JsonStructureBuilder.PLACEHOLDER ) );
    }//End Method
 
+   @Test public void shouldBuildNestingDeeperThanStack() {
+      String parent = ROOT;
+      for ( int i = 0; i < 50000; i++ ) {
+         tree.addChild( CHILD + i, parent );
+         parent = CHILD + i;
+      }
+      systemUnderTest.build( jsonObject );
+      
+      JSONObject current = jsonObject;
+      for ( int i = 0; i < 49999; i++ ) {
+         current = current.getJSONObject( CHILD + i );
+      }
+      assertThat( current.get( CHILD + 49999 ), is( JsonStructureBuilder.PLACEHOLDER ) );
+   }//End Method
+
 }//End Class
@@ -0,0 +1,123 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonStructureCheck} test.
+ */
+public class JsonStructureCheckTest {
+
+   private static final String ROOT = JsonStructureTree.ROOT;
+   private static final String NAME = "name";
+   private static final String DETAILS = "details";
+   private static final String AGE = "age";
+   private static final String NICKNAME = "nickname";
+   private static final String PROJECTS = "projects";
+   private static final String PROJECT = "project";
+   
+   private JsonStructureTree tree;
+   private JsonStructureCheck systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      tree = new JsonStructureTree();
+      tree.addChild( NAME, ROOT );
+      tree.addChild( DETAILS, ROOT );
+      tree.addChild( AGE, DETAILS );
+      tree.addOptionalChild( NICKNAME, DETAILS );
+      tree.addArray( PROJECTS, ROOT, key -> 1 );
+      tree.addChild( PROJECT, PROJECTS );
+      tree.addChild( NAME, PROJECT );
+      systemUnderTest = new JsonStructureCheck( tree.getSchema(), new JsonStructureCompatibility( tree ) );
+   }//End Method
+   
+   /**
+    * Method to construct json compatible with the structure.
+    * @return the {@link JSONObject}.
+    */
+   private JSONObject compatibleJson(){
+      JSONObject details = new JSONObject();
+      details.put( AGE, 30 );
+      JSONObject project = new JSONObject();
+      project.put( NAME, "jupa" );
+      JSONObject object = new JSONObject();
+      object.put( NAME, "dan" );
+      object.put( DETAILS, details );
+      object.put( PROJECTS, new JSONArray().put( project ) );
+      return object;
+   }//End Method
+   
+   @Test public void shouldProvideChildrenOfObjectNodes(){
+      int details = systemUnderTest.child( systemUnderTest.root(), DETAILS );
+      assertThat( tree.getSchema().name( details ), is( DETAILS ) );
+      assertThat( tree.getSchema().name( systemUnderTest.child( details, NICKNAME ) ), is( NICKNAME ) );
+   }//End Method
+   
+   @Test public void shouldNotCheckKeysOutsideOfStructure(){
+      int root = systemUnderTest.root();
+      assertThat( systemUnderTest.child( root, "anything" ), is( JsonStructureCheck.UNCHECKED ) );
+      assertThat( systemUnderTest.child( root, AGE ), is( JsonStructureCheck.UNCHECKED ) );
+      assertThat( systemUnderTest.child( JsonStructureCheck.UNCHECKED, NAME ), is( JsonStructureCheck.UNCHECKED ) );
+      
+      int projects = systemUnderTest.child( root, PROJECTS );
+      assertThat( systemUnderTest.child( projects, PROJECT ), is( JsonStructureCheck.UNCHECKED ) );
+   }//End Method
+   
+   @Test public void shouldProvideElementOfArrayNodes(){
+      int projects = systemUnderTest.child( systemUnderTest.root(), PROJECTS );
+      assertThat( tree.getSchema().name( systemUnderTest.element( projects ) ), is( PROJECT ) );
+      assertThat( systemUnderTest.element( systemUnderTest.root() ), is( JsonStructureCheck.UNCHECKED ) );
+      assertThat( systemUnderTest.element( JsonStructureCheck.UNCHECKED ), is( JsonStructureCheck.UNCHECKED ) );
+   }//End Method
+   
+   @Test public void shouldAcceptObjectsWithRequiredChildrenOnly(){
+      int details = systemUnderTest.child( systemUnderTest.root(), DETAILS );
+      assertThat( systemUnderTest.accepts( details, new JSONObject().put( AGE, 1 ) ), is( true ) );
+      assertThat( systemUnderTest.accepts( details, new JSONObject().put( NICKNAME, "d" ) ), is( false ) );
+      assertThat( systemUnderTest.accepts( details, "details" ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldAcceptArraysOnlyForArrayNodes(){
+      int projects = systemUnderTest.child( systemUnderTest.root(), PROJECTS );
+      assertThat( systemUnderTest.accepts( projects, new JSONArray() ), is( true ) );
+      assertThat( systemUnderTest.accepts( projects, new JSONObject() ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldAcceptAnythingForValuesAndUncheckedNodes(){
+      int name = systemUnderTest.child( systemUnderTest.root(), NAME );
+      assertThat( systemUnderTest.accepts( name, "anything" ), is( true ) );
+      assertThat( systemUnderTest.accepts( name, new JSONObject() ), is( true ) );
+      assertThat( systemUnderTest.accepts( JsonStructureCheck.UNCHECKED, "anything" ), is( true ) );
+   }//End Method
+   
+   @Test public void shouldNotCheckNestedWhenAccepting(){
+      JSONObject object = compatibleJson();
+      object.getJSONArray( PROJECTS ).getJSONObject( 0 ).remove( NAME );
+      assertThat( systemUnderTest.accepts( systemUnderTest.root(), object ), is( true ) );
+      assertThat( systemUnderTest.isCompatible( systemUnderTest.root(), object ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldCheckCompatibilityAsStructure(){
+      assertThat( systemUnderTest.isCompatible( systemUnderTest.root(), compatibleJson() ), is( true ) );
+      assertThat( new JsonStructureCompatibility( tree ).isCompatible( compatibleJson() ), is( true ) );
+      assertThat( systemUnderTest.isCompatible( JsonStructureCheck.UNCHECKED, "anything" ), is( true ) );
+      
+      int projects = systemUnderTest.child( systemUnderTest.root(), PROJECTS );
+      assertThat( systemUnderTest.isCompatible( projects, new JSONArray().put( "project" ) ), is( false ) );
+   }//End Method
+
+}//End Class
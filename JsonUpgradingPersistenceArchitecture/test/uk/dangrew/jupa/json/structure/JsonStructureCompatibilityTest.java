@@ -12,6 +12,7 @@ package uk.dangrew.jupa.json.structure;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import org.json.JSONArray;
@@ -251,4 +252,133 @@ public class JsonStructureCompatibilityTest {
       
       assertThat( systemUnderTest.isCompatible( object ), is( true ) );
    }//End Method
+   @Test public void shouldCheckNestingDeeperThanStack() {
+      String parent = structureTree.getRoot();
+      JSONObject current = object;
+      for ( int i = 0; i < 50000; i++ ) {
+         String child = CHILDA + i;
+         structureTree.addChild( child, parent );
+         JSONObject next = new JSONObject();
+         current.put( child, next );
+         current = next;
+         parent = child;
+      }
+      structureTree.addChild( CHILDB, parent );
+      current.put( CHILDB, 1 );
+      assertThat( systemUnderTest.isCompatible( object ), is( true ) );
+      
+      current.remove( CHILDB );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldStopAtFirstIncompatibleElement() {
+      structureTree.addArray( CHILDA, structureTree.getRoot(), SIZE_RETRIEVER );
+      structureTree.addChild( CHILDB, CHILDA );
+      structureTree.addChild( CHILDC, CHILDB );
+      
+      JSONArray array = new JSONArray();
+      array.put( new JSONObject() );
+      array.put( new JSONObject() {
+         @Override public boolean has( String key ) {
+            throw new AssertionError( "Should not check after incompatible element." );
+         }//End Method
+      } );
+      object.put( CHILDA, array );
+      
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+
+   /**
+    * Method to construct a large array of { ChildC: value } for ChildA, with an incompatible element at the given index.
+    * @param length the number of elements.
+    * @param incompatible the index of the element missing ChildC, negative for none.
+    */
+   private void largeArray( int length, int incompatible ) {
+      structureTree.addArray( CHILDA, structureTree.getRoot(), SIZE_RETRIEVER );
+      structureTree.addChild( CHILDB, CHILDA );
+      structureTree.addChild( CHILDC, CHILDB );
+      
+      JSONArray array = new JSONArray();
+      for ( int i = 0; i < length; i++ ) {
+         JSONObject element = new JSONObject();
+         if ( i != incompatible ) {
+            element.put( CHILDC, i );
+         }
+         array.put( element );
+      }
+      object.put( CHILDA, array );
+   }//End Method
+   
+   @Test public void shouldCheckFullyByDefault() {
+      assertThat( systemUnderTest.getArrayCheckPolicy(), is( JsonArrayCheckPolicy.full() ) );
+      largeArray( 1000, 500 );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullArrayCheckPolicy() {
+      systemUnderTest.setArrayCheckPolicy( null );
+   }//End Method
+   
+   @Test public void shouldCheckEveryElementInParallel() {
+      systemUnderTest.setArrayCheckPolicy( JsonArrayCheckPolicy.parallel( 10, new ForkJoinPool( 3 ) ) );
+      largeArray( 1000, -1 );
+      assertThat( systemUnderTest.isCompatible( object ), is( true ) );
+      
+      for ( int incompatible : new int[]{ 0, 499, 999 } ) {
+         object = new JSONObject();
+         structureTree = new JsonStructureTree();
+         systemUnderTest = new JsonStructureCompatibility( structureTree );
+         systemUnderTest.setArrayCheckPolicy( JsonArrayCheckPolicy.parallel( 10, new ForkJoinPool( 3 ) ) );
+         largeArray( 1000, incompatible );
+         assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+      }
+   }//End Method
+   
+   @Test public void shouldCheckNestedArraysInParallel() {
+      structureTree.addArray( CHILDA, structureTree.getRoot(), SIZE_RETRIEVER );
+      structureTree.addArray( CHILDB, CHILDA, SIZE_RETRIEVER );
+      structureTree.addChild( CHILDC, CHILDB );
+      structureTree.addChild( CHILDD, CHILDC );
+      
+      JSONArray outer = new JSONArray();
+      for ( int i = 0; i < 20; i++ ) {
+         JSONArray inner = new JSONArray();
+         for ( int j = 0; j < 20; j++ ) {
+            inner.put( new JSONObject().put( CHILDD, j ) );
+         }
+         outer.put( inner );
+      }
+      object.put( CHILDA, outer );
+      systemUnderTest.setArrayCheckPolicy( JsonArrayCheckPolicy.parallel( 5, new ForkJoinPool( 2 ) ) );
+      assertThat( systemUnderTest.isCompatible( object ), is( true ) );
+      
+      outer.getJSONArray( 13 ).getJSONObject( 7 ).remove( CHILDD );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldCheckFullyBelowThreshold() {
+      systemUnderTest.setArrayCheckPolicy( JsonArrayCheckPolicy.sampled( 100, 1, 1, 0 ) );
+      largeArray( 50, 25 );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldCheckOnlySampleOfLargeArrays() {
+      systemUnderTest.setArrayCheckPolicy( JsonArrayCheckPolicy.sampled( 10, 2, 2, 0 ) );
+      largeArray( 100, 50 );
+      assertThat( systemUnderTest.isCompatible( object ), is( true ) );
+      
+      object.getJSONArray( CHILDA ).getJSONObject( 1 ).remove( CHILDC );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+      
+      object.getJSONArray( CHILDA ).getJSONObject( 1 ).put( CHILDC, 1 );
+      object.getJSONArray( CHILDA ).getJSONObject( 98 ).remove( CHILDC );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldCheckRandomSampleOfLargeArrays() {
+      systemUnderTest.setArrayCheckPolicy( JsonArrayCheckPolicy.sampled( 10, 0, 0, 100 ) );
+      largeArray( 100, 50 );
+      assertThat( systemUnderTest.isCompatible( object ), is( false ) );
+   }//End Method
+
 }//End Class
@@ -0,0 +1,152 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and 
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.structure;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonStructureSchema} test.
+ */
+public class JsonStructureSchemaTest {
+
+   private static final String ROOT = JsonStructureTree.ROOT;
+   private static final String NAME = "name";
+   private static final String DETAILS = "details";
+   private static final String AGE = "age";
+   private static final String NICKNAME = "nickname";
+   private static final String PROJECTS = "projects";
+   private static final String PROJECT = "project";
+   
+   private JsonStructureTree tree;
+   private JsonStructureSchema systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      tree = new JsonStructureTree();
+      tree.addChild( NAME, ROOT );
+      tree.addChild( DETAILS, ROOT );
+      tree.addChild( AGE, DETAILS );
+      tree.addOptionalChild( NICKNAME, DETAILS );
+      tree.addArray( PROJECTS, ROOT, key -> key.length() );
+      tree.addChild( PROJECT, PROJECTS );
+      tree.addChild( NAME, PROJECT );
+      systemUnderTest = new JsonStructureSchema( tree );
+   }//End Method
+   
+   /**
+    * Method to get the name of the child in the given slot.
+    * @param slot the slot.
+    * @return the name of the child.
+    */
+   private String childName( int slot ) {
+      return systemUnderTest.name( systemUnderTest.child( slot ) );
+   }//End Method
+   
+   @Test public void shouldIdentifyEachReachableNodeOnce(){
+      assertThat( systemUnderTest.size(), is( 7 ) );
+      assertThat( systemUnderTest.name( JsonStructureSchema.ROOT ), is( ROOT ) );
+   }//End Method
+   
+   @Test public void shouldProvideChildrenInOrderRecorded(){
+      int root = JsonStructureSchema.ROOT;
+      assertThat( systemUnderTest.childCount( root ), is( 3 ) );
+      int first = systemUnderTest.firstSlot( root );
+      assertThat( systemUnderTest.endSlot( root ), is( first + 3 ) );
+      assertThat( childName( first ), is( NAME ) );
+      assertThat( childName( first + 1 ), is( DETAILS ) );
+      assertThat( childName( first + 2 ), is( PROJECTS ) );
+   }//End Method
+   
+   @Test public void shouldShareNodesWithTheSameName(){
+      int projects = systemUnderTest.child( systemUnderTest.firstSlot( JsonStructureSchema.ROOT ) + 2 );
+      int project = systemUnderTest.child( systemUnderTest.firstSlot( projects ) );
+      assertThat( systemUnderTest.child( systemUnderTest.firstSlot( project ) ), is( 
+               systemUnderTest.child( systemUnderTest.firstSlot( JsonStructureSchema.ROOT ) ) 
+      ) );
+      assertThat( systemUnderTest.childCount( systemUnderTest.child( systemUnderTest.firstSlot( project ) ) ), is( 0 ) );
+   }//End Method
+   
+   @Test public void shouldFlagOptionalChildrenWithinParent(){
+      int details = systemUnderTest.child( systemUnderTest.firstSlot( JsonStructureSchema.ROOT ) + 1 );
+      int first = systemUnderTest.firstSlot( details );
+      assertThat( childName( first ), is( AGE ) );
+      assertThat( systemUnderTest.isOptional( first ), is( false ) );
+      assertThat( childName( first + 1 ), is( NICKNAME ) );
+      assertThat( systemUnderTest.isOptional( first + 1 ), is( true ) );
+   }//End Method
+   
+   @Test public void shouldFlagArraysAndProvideCurrentSize(){
+      int projects = systemUnderTest.child( systemUnderTest.firstSlot( JsonStructureSchema.ROOT ) + 2 );
+      assertThat( systemUnderTest.isArray( projects ), is( true ) );
+      assertThat( systemUnderTest.arraySize( projects ), is( PROJECTS.length() ) );
+      assertThat( systemUnderTest.isArray( JsonStructureSchema.ROOT ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldNotChangeWithTree(){
+      tree.addChild( "extra", ROOT );
+      assertThat( systemUnderTest.childCount( JsonStructureSchema.ROOT ), is( 3 ) );
+   }//End Method
+   
+   @Test public void shouldCompileEmptyTree(){
+      systemUnderTest = new JsonStructureSchema( new JsonStructureTree() );
+      assertThat( systemUnderTest.size(), is( 1 ) );
+      assertThat( systemUnderTest.childCount( JsonStructureSchema.ROOT ), is( 0 ) );
+   }//End Method
+
+   @Test public void shouldProvideIdByName(){
+      assertThat( systemUnderTest.id( ROOT ), is( JsonStructureSchema.ROOT ) );
+      assertThat( systemUnderTest.name( systemUnderTest.id( PROJECT ) ), is( PROJECT ) );
+      assertThat( systemUnderTest.id( "anything" ), is( JsonStructureSchema.NONE ) );
+   }//End Method
+   
+   @Test public void shouldFingerprintSameStructureEqually(){
+      JsonStructureTree same = new JsonStructureTree();
+      same.addChild( NAME, ROOT );
+      same.addChild( DETAILS, ROOT );
+      same.addChild( AGE, DETAILS );
+      same.addOptionalChild( NICKNAME, DETAILS );
+      same.addArray( PROJECTS, ROOT, key -> 100 );
+      same.addChild( PROJECT, PROJECTS );
+      same.addChild( NAME, PROJECT );
+      assertThat( new JsonStructureSchema( same ).fingerprint(), is( systemUnderTest.fingerprint() ) );
+      
+      same.addChild( NICKNAME, PROJECT );
+      assertThat( new JsonStructureSchema( same ).fingerprint(), is( not( systemUnderTest.fingerprint() ) ) );
+   }//End Method
+   
+   @Test public void shouldFingerprintOptionalityAndArrays(){
+      JsonStructureTree required = new JsonStructureTree();
+      required.addChild( NAME, ROOT );
+      JsonStructureTree optional = new JsonStructureTree();
+      optional.addOptionalChild( NAME, ROOT );
+      JsonStructureTree array = new JsonStructureTree();
+      array.addArray( NAME, ROOT, key -> 1 );
+      
+      String fingerprint = new JsonStructureSchema( required ).fingerprint();
+      assertThat( new JsonStructureSchema( optional ).fingerprint(), is( not( fingerprint ) ) );
+      assertThat( new JsonStructureSchema( array ).fingerprint(), is( not( fingerprint ) ) );
+   }//End Method
+   
+   @Test public void shouldFingerprintNamesWithCollidingHashCodesDifferently(){
+      assertThat( "Aa".hashCode(), is( "BB".hashCode() ) );
+      JsonStructureTree first = new JsonStructureTree();
+      first.addChild( "Aa", ROOT );
+      JsonStructureTree second = new JsonStructureTree();
+      second.addChild( "BB", ROOT );
+      
+      assertThat( new JsonStructureSchema( first ).fingerprint(), is( not( new JsonStructureSchema( second ).fingerprint() ) ) );
+      assertThat( new JsonStructureSchema( first ).fingerprint().length(), is( 64 ) );
+   }//End Method
+   
+}//End Class
@@ -9,11 +9,14 @@
  */
 package uk.dangrew.jupa.json.structure;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.function.Function;
 
 import org.json.JSONArray;
@@ -129,6 +132,48 @@ public class JsonStructureTest {
       verify( tree ).addArray( CHILDREN, PERSON, ARRAY_SIZE_FUNCTION );
    }//End Method
    
+   @Test public void childrenShouldProvideTreeChildrenUnmodifiable() {
+      when( tree.getChildrenOf( PEOPLE ) ).thenReturn( Arrays.asList( PERSON ) );
+      assertThat( systemUnderTest.children( PEOPLE ), contains( PERSON ) );
+   }//End Method
+   
+   @Test( expected = UnsupportedOperationException.class ) public void childrenShouldNotBeModifiable() {
+      when( tree.getChildrenOf( PEOPLE ) ).thenReturn( new ArrayList<>( Arrays.asList( PERSON ) ) );
+      systemUnderTest.children( PEOPLE ).add( AGE );
+   }//End Method
+   
+   @Test public void isArrayShouldCallThroughToTree() {
+      when( tree.isArray( PEOPLE ) ).thenReturn( true );
+      assertThat( systemUnderTest.isArray( PEOPLE ), is( true ) );
+      assertThat( systemUnderTest.isArray( PERSON ), is( false ) );
+   }//End Method
+   
+   @Test public void arraySizeShouldProvideTreeArraySize() {
+      when( tree.getArraySize( PEOPLE ) ).thenReturn( 4 );
+      assertThat( systemUnderTest.arraySize( PEOPLE ), is( 4 ) );
+   }//End Method
+   
+   @Test( expected = NullPointerException.class ) public void arraySizeShouldRejectNodeWithoutSize() {
+      systemUnderTest = new JsonStructure();
+      systemUnderTest.child( PERSON, systemUnderTest.root() );
+      systemUnderTest.arraySize( PERSON );
+   }//End Method
+   
+   @Test public void shouldProvideChildrenOfRealStructure() {
+      systemUnderTest = new JsonStructure();
+      systemUnderTest.array( PEOPLE, systemUnderTest.root(), ARRAY_SIZE_FUNCTION );
+      systemUnderTest.child( PERSON, PEOPLE );
+      systemUnderTest.value( FIRST_NAME, PERSON );
+      systemUnderTest.value( LAST_NAME, PERSON );
+      
+      assertThat( systemUnderTest.children( systemUnderTest.root() ), contains( PEOPLE ) );
+      assertThat( systemUnderTest.children( PERSON ), contains( FIRST_NAME, LAST_NAME ) );
+      assertThat( systemUnderTest.children( FIRST_NAME ).isEmpty(), is( true ) );
+      assertThat( systemUnderTest.isArray( PEOPLE ), is( true ) );
+      assertThat( systemUnderTest.isArray( PERSON ), is( false ) );
+      assertThat( systemUnderTest.arraySize( PEOPLE ), is( 4 ) );
+   }//End Method
+
    @Test public void buildSizeShouldCallThroughToBuilder() {
       systemUnderTest.build( jsonObject );
       verify( builder ).build( jsonObject );
@@ -145,4 +190,58 @@ public class JsonStructureTest {
       assertThat( systemUnderTest.isCompatible( jsonObject ), is( false ) );
    }//End Method
 
+   @Test public void shouldProvideCheckerForCurrentStructure(){
+      systemUnderTest = new JsonStructure();
+      systemUnderTest.child( PERSON, systemUnderTest.root() );
+      systemUnderTest.value( FIRST_NAME, PERSON );
+      
+      JsonStructureCheck check = systemUnderTest.checker();
+      int person = check.child( check.root(), PERSON );
+      assertThat( check.accepts( person, new JSONObject().put( FIRST_NAME, "first" ) ), is( true ) );
+      assertThat( check.accepts( person, new JSONObject() ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldSetArrayCheckPolicyOnCompatibility(){
+      JsonArrayCheckPolicy policy = JsonArrayCheckPolicy.sampled( 10, 1, 1, 1 );
+      systemUnderTest.setArrayCheckPolicy( policy );
+      verify( compatibilty ).setArrayCheckPolicy( policy );
+      
+      when( compatibilty.getArrayCheckPolicy() ).thenReturn( policy );
+      assertThat( systemUnderTest.getArrayCheckPolicy(), is( policy ) );
+   }//End Method
+   
+   @Test public void shouldProvideFingerprintOfCurrentStructure(){
+      systemUnderTest = new JsonStructure();
+      String empty = systemUnderTest.fingerprint();
+      assertThat( systemUnderTest.fingerprint(), is( empty ) );
+      
+      systemUnderTest.child( PERSON, systemUnderTest.root() );
+      assertThat( systemUnderTest.fingerprint().equals( empty ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldBeUnversionedByDefault(){
+      assertThat( systemUnderTest.getVersion(), is( JsonStructure.UNVERSIONED ) );
+      systemUnderTest.setVersion( 3 );
+      assertThat( systemUnderTest.getVersion(), is( 3 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNegativeVersion(){
+      systemUnderTest.setVersion( -1 );
+   }//End Method
+   
+   @Test public void shouldBuildVersionOnlyWhenVersioned(){
+      systemUnderTest = new JsonStructure();
+      systemUnderTest.value( FIRST_NAME, systemUnderTest.root() );
+      
+      jsonObject = new JSONObject();
+      systemUnderTest.build( jsonObject );
+      assertThat( jsonObject.has( JsonStructure.VERSION_KEY ), is( false ) );
+      
+      systemUnderTest.setVersion( 2 );
+      jsonObject = new JSONObject();
+      systemUnderTest.build( jsonObject );
+      assertThat( jsonObject.get( JsonStructure.VERSION_KEY ), is( 2 ) );
+      assertThat( jsonObject.has( FIRST_NAME ), is( true ) );
+   }//End Method
+   
 }//End Class
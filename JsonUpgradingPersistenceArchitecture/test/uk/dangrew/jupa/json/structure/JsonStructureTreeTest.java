@@ -13,6 +13,9 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 import java.util.function.Function;
@@ -106,4 +109,24 @@ public class JsonStructureTreeTest {
       assertThat( systemUnderTest.isOptional( "anything", ROOT ), is( false ) );
    }//End Method
 
+   @Test public void shouldCompileSchemaOnceUntilChanged(){
+      systemUnderTest.addChild( CHILD, ROOT );
+      JsonStructureSchema schema = systemUnderTest.getSchema();
+      assertThat( systemUnderTest.getSchema(), is( sameInstance( schema ) ) );
+      
+      systemUnderTest.addArray( ANOTHER_CHILD, CHILD, ARRAY_SIZE_FUNCTION );
+      JsonStructureSchema changed = systemUnderTest.getSchema();
+      assertThat( changed, is( not( sameInstance( schema ) ) ) );
+      assertThat( changed.size(), is( 3 ) );
+      
+      systemUnderTest.addOptionalChild( "optional", ROOT );
+      assertThat( systemUnderTest.getSchema(), is( not( sameInstance( changed ) ) ) );
+   }//End Method
+   
+   @Test public void shouldProvideArraySizeFunction(){
+      systemUnderTest.addArray( CHILD, ROOT, ARRAY_SIZE_FUNCTION );
+      assertThat( systemUnderTest.getArraySizeFunction( CHILD ), is( ARRAY_SIZE_FUNCTION ) );
+      assertThat( systemUnderTest.getArraySizeFunction( ROOT ), is( nullValue() ) );
+   }//End Method
+   
 }//End Class
@@ -0,0 +1,220 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.traversal;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonTraversal} test.
+ */
+public class JsonTraversalTest {
+
+   private List< String > events;
+   private JsonTraversal systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      events = new ArrayList<>();
+      systemUnderTest = new JsonTraversal();
+   }//End Method
+
+   /**
+    * {@link JsonTraversalFrame} recording its steps, nesting to the given depth.
+    */
+   private class NestingFrame implements JsonTraversalFrame {
+
+      private final String name;
+      private final int children;
+      private final int depth;
+      private int stepped;
+
+      /**
+       * Constructs a new {@link NestingFrame}.
+       * @param name the name to record.
+       * @param children the number of children to push.
+       * @param depth the number of levels to nest below.
+       */
+      private NestingFrame( String name, int children, int depth ) {
+         this.name = name;
+         this.children = children;
+         this.depth = depth;
+      }//End Constructor
+
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( stepped == children || depth == 0 ) {
+            return false;
+         }
+         events.add( name + " step " + stepped );
+         traversal.push( new NestingFrame( name + "." + stepped, children, depth - 1 ) );
+         stepped++;
+         return true;
+      }//End Method
+
+      @Override public void finish() {
+         events.add( name + " finish" );
+      }//End Method
+
+   }//End Class
+
+   @Test public void shouldCompleteNestedFramesBeforeContinuing(){
+      systemUnderTest.push( new NestingFrame( "r", 2, 2 ) );
+      assertThat( systemUnderTest.run(), is( true ) );
+
+      assertThat( events, contains( 
+               "r step 0", 
+               "r.0 step 0", "r.0.0 finish", "r.0 step 1", "r.0.1 finish", "r.0 finish", 
+               "r step 1", 
+               "r.1 step 0", "r.1.0 finish", "r.1 step 1", "r.1.1 finish", "r.1 finish",
+               "r finish" 
+      ) );
+      assertThat( systemUnderTest.isComplete(), is( true ) );
+   }//End Method
+
+   @Test public void shouldFinishFrameCompletingAsItPushes(){
+      systemUnderTest.push( new JsonTraversalFrame() {
+         @Override public boolean step( JsonTraversal traversal ) {
+            events.add( "step" );
+            traversal.push( new NestingFrame( "child", 0, 0 ) );
+            return false;
+         }//End Method
+
+         @Override public void finish() {
+            events.add( "finish" );
+         }//End Method
+      } );
+      systemUnderTest.run();
+      assertThat( events, contains( "step", "child finish", "finish" ) );
+   }//End Method
+
+   /**
+    * {@link JsonTraversalFrame} pushing a single child until the given depth is reached.
+    */
+   private static class DeepFrame implements JsonTraversalFrame {
+
+      private final int remaining;
+      private final List< Integer > finished;
+
+      /**
+       * Constructs a new {@link DeepFrame}.
+       * @param remaining the number of levels below.
+       * @param finished the {@link List} to record finishing in.
+       */
+      private DeepFrame( int remaining, List< Integer > finished ) {
+         this.remaining = remaining;
+         this.finished = finished;
+      }//End Constructor
+
+      @Override public boolean step( JsonTraversal traversal ) {
+         if ( remaining > 0 ) {
+            traversal.push( new DeepFrame( remaining - 1, finished ) );
+         }
+         return false;
+      }//End Method
+
+      @Override public void finish() {
+         finished.add( remaining );
+      }//End Method
+
+   }//End Class
+
+   @Test public void shouldNotBeLimitedByStackDepth(){
+      List< Integer > finished = new ArrayList<>();
+      systemUnderTest.push( new DeepFrame( 100000, finished ) );
+      assertThat( systemUnderTest.run(), is( true ) );
+      assertThat( finished.size(), is( 100001 ) );
+      assertThat( finished.get( 0 ), is( 0 ) );
+      assertThat( finished.get( 100000 ), is( 100000 ) );
+   }//End Method
+
+   @Test public void shouldRunForLimitedSteps(){
+      systemUnderTest.push( new NestingFrame( "r", 2, 2 ) );
+      assertThat( systemUnderTest.run( 3 ), is( false ) );
+      assertThat( events, contains( "r step 0", "r.0 step 0", "r.0.0 finish" ) );
+      assertThat( systemUnderTest.depth(), is( 2 ) );
+
+      assertThat( systemUnderTest.run(), is( true ) );
+      assertThat( events.size(), is( 13 ) );
+   }//End Method
+
+   @Test public void shouldPauseAndResume(){
+      systemUnderTest.push( new JsonTraversalFrame() {
+         private int steps;
+         @Override public boolean step( JsonTraversal traversal ) {
+            events.add( "step " + steps );
+            if ( ++steps == 2 ) {
+               traversal.pause();
+            }
+            return steps < 4;
+         }//End Method
+      } );
+
+      assertThat( systemUnderTest.run(), is( false ) );
+      assertThat( events, contains( "step 0", "step 1" ) );
+      assertThat( systemUnderTest.run(), is( true ) );
+      assertThat( events, contains( "step 0", "step 1", "step 2", "step 3" ) );
+   }//End Method
+
+   @Test public void shouldStopWithoutFinishing(){
+      systemUnderTest.push( new NestingFrame( "r", 2, 2 ) );
+      systemUnderTest.run( 2 );
+      systemUnderTest.stop();
+
+      assertThat( systemUnderTest.isComplete(), is( true ) );
+      assertThat( systemUnderTest.run(), is( true ) );
+      assertThat( events, contains( "r step 0", "r.0 step 0" ) );
+   }//End Method
+
+   @Test public void shouldOnlyBeStoppedWhenStopped(){
+      systemUnderTest.push( new NestingFrame( "r", 2, 2 ) );
+      systemUnderTest.run();
+      assertThat( systemUnderTest.isStopped(), is( false ) );
+      
+      systemUnderTest.stop();
+      assertThat( systemUnderTest.isStopped(), is( true ) );
+   }//End Method
+
+   @Test public void shouldCompleteFrameThatPushedFinishingFrame(){
+      systemUnderTest.push( new JsonTraversalFrame() {
+         @Override public boolean step( JsonTraversal traversal ) {
+            events.add( "step" );
+            traversal.push( new JsonTraversalFrame() {
+               @Override public boolean step( JsonTraversal traversal ) {
+                  return false;
+               }//End Method
+               
+               @Override public void finish() {
+                  events.add( "child finish" );
+                  systemUnderTest.completeCurrentFrame();
+               }//End Method
+            } );
+            return true;
+         }//End Method
+
+         @Override public void finish() {
+            events.add( "finish" );
+         }//End Method
+      } );
+      
+      assertThat( systemUnderTest.run(), is( true ) );
+      assertThat( events, contains( "step", "child finish", "finish" ) );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullFrame(){
+      systemUnderTest.push( null );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,161 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link JsonMigration} test.
+ */
+public class JsonMigrationTest {
+
+   private static final Function< Object, Object > CONVERSION = value -> value;
+   
+   private JsonMigration systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      systemUnderTest = new JsonMigration( 2 );
+   }//End Method
+   
+   @Test public void shouldProvideVersionMigratedFrom(){
+      assertThat( systemUnderTest.getFromVersion(), is( 2 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNullPath(){
+      systemUnderTest.renameKey( null, "a" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectEmptyKeyInPath(){
+      systemUnderTest.renameKey( "a..b", "a" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectArrayWithoutKeyInPath(){
+      systemUnderTest.convertValue( "a.[]", CONVERSION );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectEmptyKey(){
+      systemUnderTest.renameKey( "a", "" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNullConversion(){
+      systemUnderTest.convertValue( "a", null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNullPredicate(){
+      systemUnderTest.splitArray( "a", "b", null );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectMovingIntoItself(){
+      systemUnderTest.moveSubtree( "a.b", "a.b.c" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectMovingOutsideEnclosingObjects(){
+      systemUnderTest.moveSubtree( "a.b.c", "d.e" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectMovingRenamedValue(){
+      systemUnderTest.renameKey( "a.b", "c" );
+      systemUnderTest.moveSubtree( "a.b", "d" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectRenamingMovedValue(){
+      systemUnderTest.moveSubtree( "a.b", "d" );
+      systemUnderTest.renameKey( "a.b", "c" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectSplittingConvertedValue(){
+      systemUnderTest.convertValue( "a", CONVERSION );
+      systemUnderTest.splitArray( "a", "b", value -> true );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectConvertingWithinMovedValue(){
+      systemUnderTest.moveSubtree( "a", "b" );
+      systemUnderTest.convertValue( "a.x", CONVERSION );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectRenamingWithinConvertedValue(){
+      systemUnderTest.convertValue( "a", CONVERSION );
+      systemUnderTest.renameKey( "a.x", "y" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectMovingWithinSplitArray(){
+      systemUnderTest.splitArray( "a", "b", value -> true );
+      systemUnderTest.moveSubtree( "a[].x.y", "a[].z" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectMovingValueWithTransformsWithin(){
+      systemUnderTest.convertValue( "a.x", CONVERSION );
+      systemUnderTest.moveSubtree( "a", "b" );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectConvertingValueWithRenameWithin(){
+      systemUnderTest.renameKey( "a.b.x", "y" );
+      systemUnderTest.convertValue( "a", CONVERSION );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectSplittingArrayWithTransformsWithin(){
+      systemUnderTest.moveSubtree( "a[].x.y", "a[].z" );
+      systemUnderTest.splitArray( "a", "b", value -> true );
+   }//End Method
+   
+   @Test public void shouldAllowTransformingAlongsideTransformedValues(){
+      systemUnderTest.convertValue( "a.x", CONVERSION );
+      systemUnderTest.moveSubtree( "a.y", "a.z" );
+      systemUnderTest.renameKey( "a", "b" );
+      
+      JsonMigrationNode node = systemUnderTest.compile().child( "a" );
+      assertThat( node.keyFor( "a" ), is( "b" ) );
+      assertThat( node.child( "x" ).conversion(), is( CONVERSION ) );
+      assertThat( node.child( "y" ).moveKey(), is( "z" ) );
+   }//End Method
+   
+   @Test public void shouldAllowRenamingConvertedValue(){
+      systemUnderTest.convertValue( "a", CONVERSION );
+      systemUnderTest.renameKey( "a", "b" );
+      
+      JsonMigrationNode node = systemUnderTest.compile().child( "a" );
+      assertThat( node.keyFor( "a" ), is( "b" ) );
+      assertThat( node.conversion(), is( CONVERSION ) );
+   }//End Method
+   
+   @Test public void shouldMoveToEnclosingObjects(){
+      systemUnderTest.moveSubtree( "a[].b.c", "a[].d" );
+      systemUnderTest.moveSubtree( "e", "f" );
+      
+      JsonMigrationNode node = systemUnderTest.compile().child( "a" ).child( "b" ).child( "c" );
+      assertThat( node.moveDepth(), is( 1 ) );
+      assertThat( node.moveKey(), is( "d" ) );
+      assertThat( systemUnderTest.compile().child( "e" ).moveDepth(), is( 0 ) );
+   }//End Method
+   
+   @Test public void shouldTreatArraysAsTransparentInPaths(){
+      systemUnderTest.renameKey( "a[].b[][]", "c" );
+      assertThat( systemUnderTest.compile().child( "a" ).child( "b" ).keyFor( "b" ), is( "c" ) );
+      assertThat( systemUnderTest.compile().child( "a" ).keyFor( "a" ), is( "a" ) );
+   }//End Method
+   
+   @Test public void shouldCompileIndependentCopy(){
+      systemUnderTest.renameKey( "a", "b" );
+      JsonMigrationNode compiled = systemUnderTest.compile();
+      
+      systemUnderTest.renameKey( "a", "c" );
+      systemUnderTest.renameKey( "d", "e" );
+      assertThat( compiled.child( "a" ).keyFor( "a" ), is( "b" ) );
+      assertThat( compiled.child( "d" ), is( nullValue() ) );
+   }//End Method
+   
+}//End Class
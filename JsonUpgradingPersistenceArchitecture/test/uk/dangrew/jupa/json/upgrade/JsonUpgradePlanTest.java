@@ -0,0 +1,190 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.stream.JsonTokenizer;
+import uk.dangrew.jupa.json.stream.JsonWriter;
+
+/**
+ * {@link JsonUpgradePlan} test.
+ */
+public class JsonUpgradePlanTest {
+
+   private static final String VERSION = "{\"jupaVersion\":2,";
+   
+   private JsonMigration first;
+   private JsonMigration second;
+   private JsonUpgradePlan systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      first = new JsonMigration( 0 );
+      second = new JsonMigration( 1 );
+      compile();
+   }//End Method
+   
+   /**
+    * Method to compile the {@link JsonMigration}s into the {@link JsonUpgradePlan}.
+    */
+   private void compile(){
+      List< JsonMigrationNode > migrations = new ArrayList<>();
+      migrations.add( first.compile() );
+      migrations.add( second.compile() );
+      systemUnderTest = new JsonUpgradePlan( migrations, 2 );
+   }//End Method
+   
+   /**
+    * Method to upgrade the given json compactly.
+    * @param json the json to upgrade.
+    * @return the upgraded json.
+    */
+   private String upgrade( String json ){
+      StringWriter output = new StringWriter();
+      systemUnderTest.upgrade( new JsonTokenizer( new StringReader( json ) ), new JsonWriter( output, 0 ) );
+      return output.toString();
+   }//End Method
+   
+   @Test public void shouldProvideVersionAndMigrations(){
+      assertThat( systemUnderTest.getToVersion(), is( 2 ) );
+      assertThat( systemUnderTest.getMigrationCount(), is( 2 ) );
+   }//End Method
+   
+   @Test public void shouldStampVersionFirstReplacingAnyRead(){
+      assertThat( upgrade( "{ \"a\": 1, \"b\": { \"jupaVersion\": 1 } }" ), is( VERSION + "\"a\":1,\"b\":{\"jupaVersion\":1}}" ) );
+      assertThat( upgrade( "{ \"a\": 1, \"jupaVersion\": 1 }" ), is( VERSION + "\"a\":1}" ) );
+   }//End Method
+   
+   @Test public void shouldRenameKeysReachedThroughArrays(){
+      first.renameKey( "users[].name", "fullName" );
+      compile();
+      
+      assertThat( upgrade( "{ \"users\": [ { \"name\": \"a\" }, { \"name\": \"b\", \"other\": { \"name\": \"c\" } } ], \"name\": \"d\" }" ), is( 
+               VERSION + "\"users\":[{\"fullName\":\"a\"},{\"fullName\":\"b\",\"other\":{\"name\":\"c\"}}],\"name\":\"d\"}" 
+      ) );
+   }//End Method
+   
+   @Test public void shouldMoveSubtreeToEndOfEnclosingObject(){
+      first.moveSubtree( "a.b.c", "a.d" );
+      compile();
+      
+      assertThat( upgrade( "{ \"a\": { \"b\": { \"c\": { \"x\": [ 1, 2 ] }, \"e\": 1 }, \"f\": 2 }, \"g\": 3 }" ), is( 
+               VERSION + "\"a\":{\"b\":{\"e\":1},\"f\":2,\"d\":{\"x\":[1,2]}},\"g\":3}" 
+      ) );
+   }//End Method
+   
+   @Test public void shouldMoveWithinEachElementOfArray(){
+      first.moveSubtree( "a[].b.c", "a[].d" );
+      compile();
+      
+      assertThat( upgrade( "{ \"a\": [ { \"b\": { \"c\": 1 } }, { \"b\": { \"c\": 2 } } ] }" ), is( 
+               VERSION + "\"a\":[{\"b\":{},\"d\":1},{\"b\":{},\"d\":2}]}" 
+      ) );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectMovingSeveralValuesToSameKey(){
+      first.moveSubtree( "a[].b", "c" );
+      compile();
+      upgrade( "{ \"a\": [ { \"b\": 1 }, { \"b\": 2 } ] }" );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectMovingToKeyAlreadyInObject(){
+      first.moveSubtree( "a.b", "a.c" );
+      compile();
+      upgrade( "{ \"a\": { \"b\": 1, \"c\": 2 } }" );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectSplittingToKeyAlreadyInObject(){
+      first.splitArray( "a", "b", value -> true );
+      compile();
+      upgrade( "{ \"b\": 1, \"a\": [ 1 ] }" );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectKeyFollowingArraySplitIntoIt(){
+      first.splitArray( "a", "b", value -> true );
+      compile();
+      upgrade( "{ \"a\": [ 1 ], \"b\": 1 }" );
+   }//End Method
+   
+   @Test public void shouldConvertValuesUnderRenamedKey(){
+      first.convertValue( "a.b", value -> Integer.parseInt( ( String )value ) );
+      first.renameKey( "a.b", "c" );
+      first.convertValue( "o", value -> ( ( JSONObject )value ).getString( "x" ) );
+      first.convertValue( "n", value -> null );
+      compile();
+      
+      assertThat( upgrade( "{ \"a\": { \"b\": \"12\" }, \"o\": { \"x\": \"y\" }, \"n\": [ 1 ] }" ), is( 
+               VERSION + "\"a\":{\"c\":12},\"o\":\"y\",\"n\":null}" 
+      ) );
+   }//End Method
+   
+   @Test public void shouldSplitArrayIntoSiblingFollowingIt(){
+      first.splitArray( "numbers", "negative", value -> ( ( Number )value ).intValue() < 0 );
+      compile();
+      
+      assertThat( upgrade( "{ \"numbers\": [ 1, -2, 3, -4 ], \"z\": [ -1 ] }" ), is( 
+               VERSION + "\"numbers\":[1,3],\"negative\":[-2,-4],\"z\":[-1]}" 
+      ) );
+   }//End Method
+   
+   @Test public void shouldSplitArrayOfObjects(){
+      first.splitArray( "items", "archived", value -> ( ( JSONObject )value ).has( "old" ) );
+      compile();
+      
+      assertThat( upgrade( "{ \"items\": [ { \"old\": 1 }, { \"new\": 2 } ] }" ), is( 
+               VERSION + "\"items\":[{\"new\":2}],\"archived\":[{\"old\":1}]}" 
+      ) );
+   }//End Method
+   
+   @Test public void shouldApplyMigrationsInSequence(){
+      first.renameKey( "a", "b" );
+      second.renameKey( "b", "c" );
+      second.convertValue( "b", value -> ( ( Number )value ).intValue() + 1 );
+      compile();
+      
+      assertThat( upgrade( "{ \"a\": 1, \"d\": 5 }" ), is( VERSION + "\"c\":2,\"d\":5}" ) );
+   }//End Method
+   
+   @Test public void shouldUpgradeIntoObject(){
+      first.renameKey( "a", "b" );
+      compile();
+      
+      JSONObject upgraded = systemUnderTest.upgrade( new JsonTokenizer( new StringReader( "{ \"a\": [ 1 ] }" ) ) );
+      assertThat( upgraded.similar( new JSONObject( "{ \"jupaVersion\": 2, \"b\": [ 1 ] }" ) ), is( true ) );
+   }//End Method
+   
+   @Test public void shouldNotBeAffectedByLaterChangesToMigrations(){
+      first.renameKey( "a", "b" );
+      compile();
+      first.renameKey( "a", "c" );
+      
+      assertThat( upgrade( "{ \"a\": 1 }" ), is( VERSION + "\"b\":1}" ) );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectValuesOtherThanObjects(){
+      upgrade( "[ 1 ]" );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectIncompleteObject(){
+      upgrade( "{ \"a\": [ 1" );
+   }//End Method
+   
+}//End Class
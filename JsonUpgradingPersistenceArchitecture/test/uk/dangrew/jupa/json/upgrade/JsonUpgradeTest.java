@@ -0,0 +1,186 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * {@link JsonUpgrade} test.
+ */
+public class JsonUpgradeTest {
+
+   private File file;
+   private JsonStructure structure;
+   private JsonUpgrade systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest() throws IOException {
+      file = File.createTempFile( "upgrade", ".json" );
+      structure = new JsonStructure();
+      structure.setVersion( 2 );
+      systemUnderTest = new JsonUpgrade( structure );
+      systemUnderTest.migrate( 0 ).renameKey( "a", "b" );
+      systemUnderTest.migrate( 1 ).convertValue( "b", value -> value.toString() );
+   }//End Method
+   
+   @After public void cleanUp(){
+      new File( file.getPath() + JsonUpgrade.UPGRADING_SUFFIX ).delete();
+      file.delete();
+   }//End Method
+   
+   /**
+    * Method to write the given json to the {@link File}.
+    * @param json the json.
+    */
+   private void write( String json ) throws IOException {
+      Files.write( file.toPath(), json.getBytes( StandardCharsets.UTF_8 ) );
+   }//End Method
+   
+   /**
+    * Method to read the json in the {@link File}.
+    * @return the json.
+    */
+   private String contents() throws IOException {
+      return new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullStructure(){
+      new JsonUpgrade( null );
+   }//End Method
+   
+   @Test public void shouldProvideStructure(){
+      assertThat( systemUnderTest.getStructure(), is( structure ) );
+   }//End Method
+   
+   @Test public void shouldProvideSameMigrationForVersion(){
+      assertThat( systemUnderTest.migrate( 0 ), is( sameInstance( systemUnderTest.migrate( 0 ) ) ) );
+      assertThat( systemUnderTest.migrate( 4 ).getFromVersion(), is( 4 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNegativeMigrationVersion(){
+      systemUnderTest.migrate( -1 );
+   }//End Method
+   
+   @Test public void shouldIndentByDefault(){
+      assertThat( systemUnderTest.getIndentFactor(), is( JsonUpgrade.DEFAULT_INDENT_FACTOR ) );
+      systemUnderTest.setIndentFactor( 0 );
+      assertThat( systemUnderTest.getIndentFactor(), is( 0 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldRejectNegativeIndentFactor(){
+      systemUnderTest.setIndentFactor( -1 );
+   }//End Method
+   
+   @Test public void shouldCompileOnlyMigrationsToStructureVersion(){
+      systemUnderTest.migrate( 2 ).renameKey( "b", "c" );
+      assertThat( systemUnderTest.compile( 0 ).getMigrationCount(), is( 2 ) );
+      assertThat( systemUnderTest.compile( 1 ).getMigrationCount(), is( 1 ) );
+      assertThat( systemUnderTest.compile( 2 ).getMigrationCount(), is( 0 ) );
+      assertThat( systemUnderTest.compile( 2 ).getToVersion(), is( 2 ) );
+   }//End Method
+   
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotCompileFromLaterVersion(){
+      systemUnderTest.compile( 3 );
+   }//End Method
+   
+   @Test public void shouldReadVersionFromRootOnly(){
+      assertThat( systemUnderTest.versionOf( new StringReader( 
+               "{ \"a\": { \"jupaVersion\": 9 }, \"b\": [ 1, { \"c\": 2 } ], \"jupaVersion\": 3 }" 
+      ) ), is( 3 ) );
+      assertThat( systemUnderTest.versionOf( new StringReader( "{ \"a\": { \"jupaVersion\": 9 } }" ) ), is( JsonStructure.UNVERSIONED ) );
+      assertThat( systemUnderTest.versionOf( new StringReader( "{}" ) ), is( JsonStructure.UNVERSIONED ) );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectVersionThatIsNotNumber(){
+      systemUnderTest.versionOf( new StringReader( "{ \"jupaVersion\": \"1\" }" ) );
+   }//End Method
+   
+   @Test( expected = JSONException.class ) public void shouldRejectVersionOfNonObject(){
+      systemUnderTest.versionOf( new StringReader( "[]" ) );
+   }//End Method
+   
+   @Test public void shouldIdentifyOutdatedFiles() throws IOException {
+      write( "{ \"a\": 1 }" );
+      assertThat( systemUnderTest.versionOf( file ), is( JsonStructure.UNVERSIONED ) );
+      assertThat( systemUnderTest.isOutdated( file ), is( true ) );
+      
+      write( "{ \"jupaVersion\": 2, \"a\": 1 }" );
+      assertThat( systemUnderTest.isOutdated( file ), is( false ) );
+      
+      write( "{ \"a\": " );
+      assertThat( systemUnderTest.versionOf( file ), is( nullValue() ) );
+      assertThat( systemUnderTest.isOutdated( file ), is( false ) );
+   }//End Method
+   
+   @Test public void shouldReadUpgradedWithoutChangingFile() throws IOException {
+      write( "{ \"jupaVersion\": 1, \"b\": 1 }" );
+      
+      JSONObject upgraded = systemUnderTest.read( file );
+      assertThat( upgraded.similar( new JSONObject( "{ \"jupaVersion\": 2, \"b\": \"1\" }" ) ), is( true ) );
+      assertThat( contents(), is( "{ \"jupaVersion\": 1, \"b\": 1 }" ) );
+   }//End Method
+   
+   @Test public void shouldUpgradeFileInPlace() throws IOException {
+      write( "{ \"a\": 1 }" );
+      systemUnderTest.setIndentFactor( 0 );
+      
+      assertThat( systemUnderTest.upgrade( file ), is( true ) );
+      assertThat( contents(), is( "{\"jupaVersion\":2,\"b\":\"1\"}" ) );
+      assertThat( new File( file.getPath() + JsonUpgrade.UPGRADING_SUFFIX ).exists(), is( false ) );
+      
+      assertThat( systemUnderTest.upgrade( file ), is( true ) );
+      assertThat( contents(), is( "{\"jupaVersion\":2,\"b\":\"1\"}" ) );
+   }//End Method
+   
+   @Test public void shouldUpgradeFromVersionAlreadyRead() throws IOException {
+      write( "{ \"jupaVersion\": 1, \"b\": 1 }" );
+      systemUnderTest.setIndentFactor( 0 );
+      
+      assertThat( systemUnderTest.read( file, 1 ).similar( new JSONObject( "{ \"jupaVersion\": 2, \"b\": \"1\" }" ) ), is( true ) );
+      assertThat( systemUnderTest.read( file, 3 ), is( nullValue() ) );
+      assertThat( systemUnderTest.upgrade( file, 3 ), is( false ) );
+      assertThat( systemUnderTest.upgrade( file, 1 ), is( true ) );
+      assertThat( contents(), is( "{\"jupaVersion\":2,\"b\":\"1\"}" ) );
+   }//End Method
+   
+   @Test public void shouldLeaveFileUnchangedWhenUpgradeFails() throws IOException {
+      write( "{ \"jupaVersion\": 1, \"b\": [ 1" );
+      
+      assertThat( systemUnderTest.upgrade( file ), is( false ) );
+      assertThat( systemUnderTest.read( file ), is( nullValue() ) );
+      assertThat( contents(), is( "{ \"jupaVersion\": 1, \"b\": [ 1" ) );
+      assertThat( new File( file.getPath() + JsonUpgrade.UPGRADING_SUFFIX ).exists(), is( false ) );
+   }//End Method
+   
+   @Test public void shouldNotUpgradeLaterVersions() throws IOException {
+      write( "{ \"jupaVersion\": 3, \"a\": 1 }" );
+      
+      assertThat( systemUnderTest.upgrade( file ), is( false ) );
+      assertThat( systemUnderTest.read( file ), is( nullValue() ) );
+      assertThat( contents(), is( "{ \"jupaVersion\": 3, \"a\": 1 }" ) );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,101 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+/**
+ * {@link JsonValueCapture} test.
+ */
+public class JsonValueCaptureTest {
+
+   private JsonValueCapture systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      systemUnderTest = new JsonValueCapture();
+   }//End Method
+   
+   @Test public void shouldCaptureSingleValue(){
+      assertThat( systemUnderTest.isComplete(), is( false ) );
+      systemUnderTest.value( "anything" );
+      assertThat( systemUnderTest.isComplete(), is( true ) );
+      assertThat( systemUnderTest.captured(), is( "anything" ) );
+   }//End Method
+   
+   @Test public void shouldCaptureNestedObjectsAndArrays(){
+      systemUnderTest.startObject();
+      systemUnderTest.key( "a" );
+      systemUnderTest.value( 1 );
+      systemUnderTest.key( "b" );
+      systemUnderTest.startArray();
+      systemUnderTest.value( "x" );
+      systemUnderTest.startObject();
+      systemUnderTest.key( "c" );
+      systemUnderTest.value( true );
+      systemUnderTest.endObject();
+      systemUnderTest.endArray();
+      assertThat( systemUnderTest.isComplete(), is( false ) );
+      systemUnderTest.endObject();
+      
+      assertThat( systemUnderTest.isComplete(), is( true ) );
+      assertThat( ( ( JSONObject )systemUnderTest.captured() ).similar( 
+               new JSONObject( "{ \"a\": 1, \"b\": [ \"x\", { \"c\": true } ] }" ) 
+      ), is( true ) );
+   }//End Method
+   
+   @Test public void shouldReplayValueAsEvents(){
+      JsonEventSink sink = mock( JsonEventSink.class );
+      JsonValueCapture.replay( new JSONObject( "{ \"a\": [ 1, null, {} ] }" ), sink );
+      
+      InOrder order = inOrder( sink );
+      order.verify( sink ).startObject();
+      order.verify( sink ).key( "a" );
+      order.verify( sink ).startArray();
+      order.verify( sink ).value( 1 );
+      order.verify( sink ).value( JSONObject.NULL );
+      order.verify( sink ).startObject();
+      order.verify( sink ).endObject();
+      order.verify( sink ).endArray();
+      order.verify( sink ).endObject();
+      order.verifyNoMoreInteractions();
+   }//End Method
+   
+   @Test public void shouldReplayNullAsJsonNull(){
+      JsonValueCapture.replay( null, systemUnderTest );
+      assertThat( systemUnderTest.captured(), is( JSONObject.NULL ) );
+   }//End Method
+   
+   @Test public void shouldReplayDeeplyNestedValueWithoutRecursion(){
+      JSONArray deepest = new JSONArray();
+      JSONArray outermost = deepest;
+      for ( int i = 0; i < 20000; i++ ) {
+         outermost = new JSONArray().put( outermost );
+      }
+      
+      JsonValueCapture.replay( outermost, systemUnderTest );
+      assertThat( systemUnderTest.isComplete(), is( true ) );
+      
+      Object captured = systemUnderTest.captured();
+      for ( int i = 0; i < 20000; i++ ) {
+         captured = ( ( JSONArray )captured ).get( 0 );
+      }
+      assertThat( ( ( JSONArray )captured ).length(), is( 0 ) );
+   }//End Method
+   
+}//End Class
@@ -0,0 +1,97 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.upgrade;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * {@link JsonVersionStamp} test.
+ */
+public class JsonVersionStampTest {
+
+   private JsonEventSink next;
+   private JsonVersionStamp systemUnderTest;
+   
+   @Before public void initialiseSystemUnderTest(){
+      next = mock( JsonEventSink.class );
+      systemUnderTest = new JsonVersionStamp( 5, next );
+   }//End Method
+   
+   @Test public void shouldWriteVersionFirstInRoot(){
+      systemUnderTest.startObject();
+      systemUnderTest.key( "a" );
+      systemUnderTest.value( 1 );
+      systemUnderTest.endObject();
+      
+      InOrder order = inOrder( next );
+      order.verify( next ).startObject();
+      order.verify( next ).key( JsonStructure.VERSION_KEY );
+      order.verify( next ).value( 5 );
+      order.verify( next ).key( "a" );
+      order.verify( next ).value( 1 );
+      order.verify( next ).endObject();
+      order.verifyNoMoreInteractions();
+   }//End Method
+   
+   @Test public void shouldDiscardVersionReadIncludingAnythingWithin(){
+      systemUnderTest.startObject();
+      systemUnderTest.key( JsonStructure.VERSION_KEY );
+      systemUnderTest.startArray();
+      systemUnderTest.startObject();
+      systemUnderTest.key( "b" );
+      systemUnderTest.value( 2 );
+      systemUnderTest.endObject();
+      systemUnderTest.endArray();
+      systemUnderTest.key( "a" );
+      systemUnderTest.value( 1 );
+      systemUnderTest.key( JsonStructure.VERSION_KEY );
+      systemUnderTest.value( 3 );
+      systemUnderTest.endObject();
+      
+      InOrder order = inOrder( next );
+      order.verify( next ).startObject();
+      order.verify( next ).key( JsonStructure.VERSION_KEY );
+      order.verify( next ).value( 5 );
+      order.verify( next ).key( "a" );
+      order.verify( next ).value( 1 );
+      order.verify( next ).endObject();
+      order.verifyNoMoreInteractions();
+   }//End Method
+   
+   @Test public void shouldKeepVersionKeyBelowRoot(){
+      systemUnderTest.startObject();
+      systemUnderTest.key( "a" );
+      systemUnderTest.startObject();
+      systemUnderTest.key( JsonStructure.VERSION_KEY );
+      systemUnderTest.value( 1 );
+      systemUnderTest.endObject();
+      systemUnderTest.endObject();
+      
+      InOrder order = inOrder( next );
+      order.verify( next ).startObject();
+      order.verify( next ).key( JsonStructure.VERSION_KEY );
+      order.verify( next ).value( 5 );
+      order.verify( next ).key( "a" );
+      order.verify( next ).startObject();
+      order.verify( next ).key( JsonStructure.VERSION_KEY );
+      order.verify( next ).value( 1 );
+      order.verify( next, times( 2 ) ).endObject();
+      order.verifyNoMoreInteractions();
+   }//End Method
+   
+}//End Class
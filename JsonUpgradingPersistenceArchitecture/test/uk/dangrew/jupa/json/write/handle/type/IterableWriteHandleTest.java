@@ -0,0 +1,129 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * {@link IterableWriteHandle} test.
+ */
+public class IterableWriteHandleTest {
+
+   private static final String KEY = "Key";
+
+   private LinkedList< Object > elements;
+   private IterableWriteHandle systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      elements = new LinkedList<>( Arrays.asList( "a", 2, null, true ) );
+      systemUnderTest = new IterableWriteHandle( () -> elements );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullFunction(){
+      new IterableWriteHandle( ( Function< String, Iterable< ? > > )null );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullSupplier(){
+      new IterableWriteHandle( ( Supplier< Iterable< ? > > )null );
+   }//End Method
+
+   @Test( expected = IllegalStateException.class ) public void shouldRejectNoElements(){
+      new IterableWriteHandle( () -> null ).size( KEY );
+   }//End Method
+
+   @Test public void shouldProvideSizeOfCollection(){
+      assertThat( systemUnderTest.size( KEY ), is( 4 ) );
+   }//End Method
+
+   @Test public void shouldCountSizeOfIterable(){
+      Iterable< Object > iterable = () -> elements.iterator();
+      assertThat( new IterableWriteHandle( () -> iterable ).size( KEY ), is( 4 ) );
+   }//End Method
+
+   @Test public void shouldProvideElementsForKey(){
+      systemUnderTest = new IterableWriteHandle( key -> Arrays.asList( key, key ) );
+      List< Object > written = new ArrayList<>();
+      systemUnderTest.writeElements( KEY, written::add );
+      assertThat( written, is( Arrays.asList( KEY, KEY ) ) );
+   }//End Method
+
+   @Test public void shouldReplaceContentsOfArray(){
+      JSONArray array = new JSONArray().put( "placeholder" ).put( "placeholder" );
+      systemUnderTest.handleArray( KEY, array );
+      assertThat( array.similar( new JSONArray().put( "a" ).put( 2 ).put( JSONObject.NULL ).put( true ) ), is( true ) );
+   }//End Method
+
+   @Test public void shouldFillArrayForKeyInObject(){
+      JSONObject object = new JSONObject().put( KEY, new JSONArray().put( 1 ) );
+      systemUnderTest.handle( KEY, object );
+      assertThat( object.getJSONArray( KEY ).length(), is( 4 ) );
+   }//End Method
+
+   @Test public void shouldPutArrayForValueInObject(){
+      JSONObject object = new JSONObject().put( KEY, "placeholder" );
+      systemUnderTest.handle( KEY, object );
+      assertThat( object.getJSONArray( KEY ).get( 0 ), is( "a" ) );
+   }//End Method
+
+   @Test public void shouldPutArrayForElementOfArray(){
+      JSONArray array = new JSONArray().put( "placeholder" ).put( new JSONArray() );
+      systemUnderTest.handle( KEY, array, 0 );
+      systemUnderTest.handle( KEY, array, 1 );
+      assertThat( array.getJSONArray( 0 ).length(), is( 4 ) );
+      assertThat( array.getJSONArray( 1 ).length(), is( 4 ) );
+   }//End Method
+
+   @Test public void shouldWriteLinkedListThroughBuiltStructureWithDerivedSize(){
+      JsonStructure structure = new JsonStructure();
+      structure.array( KEY, structure.root(), systemUnderTest::size );
+      JsonParser parser = new JsonParser();
+      parser.when( KEY, systemUnderTest );
+
+      JSONObject object = new JSONObject();
+      structure.build( object );
+      parser.parse( object );
+
+      assertThat( object.getJSONArray( KEY ).toString(), is( "[\"a\",2,null,true]" ) );
+   }//End Method
+
+   @Test public void shouldStreamLinkedListWithoutStructureSize(){
+      JsonStructure structure = new JsonStructure();
+      structure.value( KEY, structure.root() );
+      JsonParser parser = new JsonParser();
+      parser.when( KEY, systemUnderTest );
+
+      StringWriter output = new StringWriter();
+      parser.writeStream( structure, output );
+      assertThat( output.toString(), is( "{\"Key\":[\"a\",2,null,true]}" ) );
+
+      JSONObject object = new JSONObject();
+      structure.build( object );
+      parser.parse( object );
+      assertThat( object.toString(), is( output.toString() ) );
+   }//End Method
+
+}//End Class
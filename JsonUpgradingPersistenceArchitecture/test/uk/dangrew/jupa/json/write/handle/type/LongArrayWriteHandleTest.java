@@ -0,0 +1,74 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringWriter;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.json.JSONArray;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.dangrew.jupa.json.parse.JsonParser;
+import uk.dangrew.jupa.json.structure.JsonStructure;
+
+/**
+ * {@link LongArrayWriteHandle} test.
+ */
+public class LongArrayWriteHandleTest {
+
+   private static final String KEY = "Key";
+   private static final long[] VALUES = { 1L, Long.MAX_VALUE };
+
+   private LongArrayWriteHandle systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      systemUnderTest = new LongArrayWriteHandle( () -> VALUES );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullFunction(){
+      new LongArrayWriteHandle( ( Function< String, long[] > )null );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullSupplier(){
+      new LongArrayWriteHandle( ( Supplier< long[] > )null );
+   }//End Method
+
+   @Test( expected = IllegalStateException.class ) public void shouldRejectNoValues(){
+      new LongArrayWriteHandle( key -> null ).size( KEY );
+   }//End Method
+
+   @Test public void shouldProvideLengthAsSize(){
+      assertThat( systemUnderTest.size( KEY ), is( VALUES.length ) );
+      assertThat( new LongArrayWriteHandle( key -> new long[ key.length() ] ).size( KEY ), is( KEY.length() ) );
+   }//End Method
+
+   @Test public void shouldReplaceContentsOfArray(){
+      JSONArray array = new JSONArray().put( "placeholder" );
+      systemUnderTest.handleArray( KEY, array );
+      assertThat( array.toString(), is( "[1,9223372036854775807]" ) );
+   }//End Method
+
+   @Test public void shouldStreamValues(){
+      JsonStructure structure = new JsonStructure();
+      structure.array( KEY, structure.root(), systemUnderTest::size );
+      JsonParser parser = new JsonParser();
+      parser.when( KEY, systemUnderTest );
+
+      StringWriter output = new StringWriter();
+      parser.writeStream( structure, output );
+      assertThat( output.toString(), is( "{\"Key\":[1,9223372036854775807]}" ) );
+   }//End Method
+
+}//End Class
@@ -0,0 +1,75 @@
+/*
+ * ----------------------------------------
+ *           Json Upgrading and
+ *        Persistence Architecture
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ *                 2016
+ * ----------------------------------------
+ */
+package uk.dangrew.jupa.json.write.handle.type;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link SpliteratorWriteHandle} test.
+ */
+public class SpliteratorWriteHandleTest {
+
+   private static final String KEY = "Key";
+
+   private SpliteratorWriteHandle systemUnderTest;
+
+   @Before public void initialiseSystemUnderTest(){
+      systemUnderTest = new SpliteratorWriteHandle( () -> Arrays.asList( "a", "b", "c" ).spliterator() );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullFunction(){
+      new SpliteratorWriteHandle( ( Function< String, Spliterator< ? > > )null );
+   }//End Method
+
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotAcceptNullSupplier(){
+      new SpliteratorWriteHandle( ( Supplier< Spliterator< ? > > )null );
+   }//End Method
+
+   @Test( expected = IllegalStateException.class ) public void shouldRejectNoElements(){
+      new SpliteratorWriteHandle( () -> null ).size( KEY );
+   }//End Method
+
+   @Test public void shouldProvideExactSize(){
+      assertThat( systemUnderTest.size( KEY ), is( 3 ) );
+   }//End Method
+
+   @Test public void shouldCountSizeWhenUnknown(){
+      systemUnderTest = new SpliteratorWriteHandle( () -> Stream.iterate( 1, i -> i + 1 ).limit( 5 ).filter( i -> i % 2 == 1 ).spliterator() );
+      assertThat( systemUnderTest.size( KEY ), is( 3 ) );
+   }//End Method
+
+   @Test public void shouldWriteEachElementOfNewSpliterator(){
+      systemUnderTest = new SpliteratorWriteHandle( key -> Stream.of( key, 1, null ).spliterator() );
+      List< Object > written = new ArrayList<>();
+      systemUnderTest.writeElements( KEY, written::add );
+      systemUnderTest.writeElements( KEY, written::add );
+      assertThat( written, is( Arrays.asList( KEY, 1, null, KEY, 1, null ) ) );
+   }//End Method
+
+   @Test public void shouldReplaceContentsOfArray(){
+      JSONArray array = new JSONArray().put( 1 );
+      systemUnderTest.handleArray( KEY, array );
+      assertThat( array.toString(), is( "[\"a\",\"b\",\"c\"]" ) );
+   }//End Method
+
+}//End Class